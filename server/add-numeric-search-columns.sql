@@ -0,0 +1,14 @@
+-- Numeric shadow columns for experience / CTC filtering and sorting
+-- (JPA ddl-auto=update creates these automatically; use this script for manually managed schemas.
+--  Existing rows are filled by CandidateNumericBackfillService on application startup.)
+
+USE privateappdb;
+
+ALTER TABLE candidates
+ADD COLUMN experience_months INT NULL AFTER expected_ctc,
+ADD COLUMN current_ctc_value DOUBLE NULL AFTER experience_months,
+ADD COLUMN expected_ctc_value DOUBLE NULL AFTER current_ctc_value;
+
+CREATE INDEX idx_experience_months ON candidates(experience_months);
+CREATE INDEX idx_current_ctc_value ON candidates(current_ctc_value);
+CREATE INDEX idx_expected_ctc_value ON candidates(expected_ctc_value);
@@ -83,6 +83,7 @@ CREATE INDEX idx_opening_dept_status ON openings(department, status);
 CREATE INDEX idx_opening_location_status ON openings(location, status);
 CREATE INDEX idx_opening_status_created ON openings(status, created_at);
 CREATE INDEX idx_opening_created_by_status ON openings(created_by, status);
+CREATE INDEX idx_opening_created_by_created_at ON openings(created_by, created_at);
 
 -- Full-text search index for text fields (MySQL 5.7+)
 ALTER TABLE openings ADD FULLTEXT INDEX idx_opening_fulltext (title, department, location, skills);
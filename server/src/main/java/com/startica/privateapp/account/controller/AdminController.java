@@ -9,6 +9,7 @@ import com.startica.privateapp.analytics.dto.HRPerformanceResponse;
 import com.startica.privateapp.analytics.service.AnalyticsService;
 import com.startica.privateapp.audit.dto.CandidateHistoryResponse;
 import com.startica.privateapp.audit.service.AuditService;
+import com.startica.privateapp.common.pagination.KeysetSlice;
 import com.startica.privateapp.common.response.ApiResponse;
 import com.startica.privateapp.common.response.PageResponse;
 import jakarta.validation.Valid;
@@ -127,5 +128,15 @@ public class AdminController {
 
         return ResponseEntity.ok(ApiResponse.success(PageResponse.of(auditLogs)));
     }
+
+    // Keyset mode, selected by the presence of ?cursor= (empty for the first page); skips the count query
+    @GetMapping(value = "/audit", params = "cursor")
+    public ResponseEntity<ApiResponse<PageResponse<CandidateHistoryResponse>>> getAuditLogsByCursor(
+            @RequestParam(required = false) Long actorId,
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        KeysetSlice<CandidateHistoryResponse> auditLogs = auditService.getAuditLogsByCursor(actorId, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(PageResponse.of(auditLogs, size, cursor.isEmpty())));
+    }
 }
 
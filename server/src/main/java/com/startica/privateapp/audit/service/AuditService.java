@@ -1,6 +1,8 @@
 package com.startica.privateapp.audit.service;
 
 import com.startica.privateapp.audit.dto.CandidateHistoryResponse;
+import com.startica.privateapp.common.pagination.KeysetPager;
+import com.startica.privateapp.common.pagination.KeysetSlice;
 import com.startica.privateapp.model.Candidate;
 import com.startica.privateapp.model.CandidateHistory;
 import com.startica.privateapp.model.User;
@@ -8,11 +10,14 @@ import com.startica.privateapp.repository.CandidateHistoryRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -89,6 +94,17 @@ public class AuditService {
         return history.map(this::mapToResponse);
     }
 
+    /**
+     * Keyset page of audit entries, newest first. actorId null returns entries of all actors.
+     */
+    public KeysetSlice<CandidateHistoryResponse> getAuditLogsByCursor(Long actorId, String cursor, int size) {
+        Specification<CandidateHistory> spec = (root, query, cb) ->
+                actorId != null ? cb.equal(root.get("actorId"), actorId) : cb.conjunction();
+        return KeysetPager.fetch(historyRepository, spec, Sort.by(Sort.Direction.DESC, "timestamp"), Set.of("timestamp"),
+                        cursor, size)
+                .map(this::mapToResponse);
+    }
+
     private String formatCandidateData(Candidate candidate) {
         return String.format("Name: %s %s, Email: %s, Phone: %s, Status: %s",
                 candidate.getFirstName(),
@@ -7,11 +7,14 @@ import com.startica.privateapp.audit.service.AuditService;
 import com.startica.privateapp.auth.service.AuthService;
 import com.startica.privateapp.candidate.dto.*;
 import com.startica.privateapp.candidate.service.CandidateService;
+import com.startica.privateapp.common.pagination.KeysetSlice;
 import com.startica.privateapp.common.response.ApiResponse;
 import com.startica.privateapp.common.response.PageResponse;
 import com.startica.privateapp.dto.UpdateAdminRemarkRequest;
 import com.startica.privateapp.model.Candidate.CandidateStatus;
 import com.startica.privateapp.model.User;
+import com.startica.privateapp.opening.dto.OpeningRecommendationResponse;
+import com.startica.privateapp.opening.service.OpeningMatchService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -34,6 +37,7 @@ public class HRController {
     private final AnalyticsService analyticsService;
     private final AuditService auditService;
     private final AuthService authService;
+    private final OpeningMatchService openingMatchService;
 
     // Candidate CRUD
 
@@ -55,6 +59,25 @@ public class HRController {
         return ResponseEntity.ok(ApiResponse.success(PageResponse.of(candidates)));
     }
 
+    // Keyset mode, selected by the presence of ?cursor= (empty for the first page); skips the count query
+    @GetMapping(value = "/candidates", params = "cursor")
+    public ResponseEntity<ApiResponse<PageResponse<CandidateResponse>>> getCandidatesByCursor(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) CandidateStatus status,
+            @RequestParam(required = false) Long sourceHrId,
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "DESC") String sortDir) {
+
+        User currentUser = authService.getCurrentUser();
+        Sort sort = Sort.by(sortDir.equalsIgnoreCase("ASC") ? Sort.Direction.ASC : Sort.Direction.DESC, sortBy);
+
+        KeysetSlice<CandidateResponse> candidates = candidateService.getCandidatesByCursor(
+                search, status, sourceHrId, currentUser, sort, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(PageResponse.of(candidates, size, cursor.isEmpty())));
+    }
+
     @GetMapping("/candidates/{id}")
     public ResponseEntity<ApiResponse<CandidateResponse>> getCandidateById(@PathVariable Long id) {
         User currentUser = authService.getCurrentUser();
@@ -62,6 +85,16 @@ public class HRController {
         return ResponseEntity.ok(ApiResponse.success(candidate));
     }
 
+    // Active openings that best fit the candidate, scored in memory
+    @GetMapping("/candidates/{id}/recommended-openings")
+    public ResponseEntity<ApiResponse<List<OpeningRecommendationResponse>>> getRecommendedOpenings(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "10") int limit) {
+        User currentUser = authService.getCurrentUser();
+        return ResponseEntity.ok(ApiResponse.success(
+                openingMatchService.getRecommendedOpenings(id, limit, currentUser)));
+    }
+
     @GetMapping("/candidates/{id}/resume")
     public ResponseEntity<?> getCandidateResume(@PathVariable Long id) {
         User currentUser = authService.getCurrentUser();
@@ -92,6 +125,21 @@ public class HRController {
         return ResponseEntity.ok(ApiResponse.success("Candidate created successfully", candidate));
     }
 
+    // Existing candidates that look like the same person, checked before creating one
+    @PostMapping("/candidates/duplicate-check")
+    public ResponseEntity<ApiResponse<List<DuplicateCandidate>>> checkDuplicates(@RequestBody CreateCandidateRequest request) {
+        User currentUser = authService.getCurrentUser();
+        return ResponseEntity.ok(ApiResponse.success(candidateService.checkDuplicates(request, currentUser)));
+    }
+
+    // Likely duplicate groups across all candidates, strongest first
+    @GetMapping("/candidates/duplicates")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<List<DuplicateGroup>>> getDuplicateGroups(
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(ApiResponse.success(candidateService.getDuplicateGroups(Math.min(Math.max(limit, 1), 1000))));
+    }
+
     @PutMapping("/candidates/{id}")
     public ResponseEntity<ApiResponse<CandidateResponse>> updateCandidate(
             @PathVariable Long id,
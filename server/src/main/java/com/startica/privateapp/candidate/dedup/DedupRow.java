@@ -0,0 +1,8 @@
+package com.startica.privateapp.candidate.dedup;
+
+/**
+ * The candidate columns duplicate detection looks at.
+ */
+public record DedupRow(Long id, String firstName, String lastName, String email, String phone,
+                       String company, String skills, Long sourceHrId) {
+}
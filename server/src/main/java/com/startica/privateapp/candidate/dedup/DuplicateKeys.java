@@ -0,0 +1,227 @@
+package com.startica.privateapp.candidate.dedup;
+
+import com.startica.privateapp.util.ContactNormalizer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Keys and pairwise comparison for duplicate candidate detection.
+ *
+ * Every candidate gets a small set of 64-bit keys; only candidates sharing a key are ever
+ * compared, which keeps detection linear in the number of candidates:
+ * <ul>
+ *   <li>MinHash/LSH: a {@value #HASHES}-value MinHash signature over the name trigrams and
+ *       skill tokens, cut into {@value #BANDS} bands of {@value #ROWS}. Two candidates share
+ *       a band with high probability once their shingle sets are more than ~60% similar, so
+ *       typos and re-ordered names still meet.</li>
+ *   <li>Blocking keys: canonical e-mail, canonical phone, and company plus name initials.</li>
+ * </ul>
+ * Changing the band layout or the key recipes invalidates the stored keys; clear
+ * candidate_dedup_keys and let the startup backfill recompute them.
+ */
+public final class DuplicateKeys {
+
+    static final int BANDS = 8;
+    static final int ROWS = 4;
+    static final int HASHES = BANDS * ROWS;
+
+    private static final long[] SEEDS = new long[HASHES];
+    private static final Pattern NON_LETTERS = Pattern.compile("[^\\p{L}]+");
+    private static final Pattern LIST_SEPARATOR = Pattern.compile("[,;|]");
+
+    static {
+        for (int i = 0; i < HASHES; i++) {
+            SEEDS[i] = mix(0x9E3779B97F4A7C15L * (i + 1));
+        }
+    }
+
+    private DuplicateKeys() {
+    }
+
+    /**
+     * Pre-computed comparison features of one candidate.
+     */
+    public record Features(DedupRow row, String email, String phone, String company, String nameKey,
+                           Set<String> nameTrigrams, Set<String> skills) {
+    }
+
+    public static Features features(DedupRow row) {
+        String nameKey = nameKey(row.firstName(), row.lastName());
+        return new Features(row,
+                ContactNormalizer.canonicalEmail(row.email()),
+                ContactNormalizer.canonicalPhone(row.phone()),
+                normalizeCompany(row.company()),
+                nameKey,
+                trigrams(nameKey),
+                skillTokens(row.skills()));
+    }
+
+    /**
+     * All keys of a candidate, without duplicates.
+     */
+    public static long[] keys(Features features) {
+        List<Long> keys = new ArrayList<>(BANDS + 3);
+        if (features.email() != null) {
+            keys.add(hash("e:" + features.email()));
+        }
+        if (features.phone() != null) {
+            keys.add(hash("p:" + features.phone()));
+        }
+        if (features.company() != null && !features.nameKey().isEmpty()) {
+            keys.add(hash("c:" + features.company() + "|" + initials(features.nameKey())));
+        }
+
+        // Name trigrams and skills in one shingle set, so either can carry a near-duplicate
+        Set<Long> shingles = new HashSet<>();
+        features.nameTrigrams().forEach(gram -> shingles.add(hash("n:" + gram)));
+        features.skills().forEach(skill -> shingles.add(hash("s:" + skill)));
+        if (!shingles.isEmpty()) {
+            long[] signature = new long[HASHES];
+            Arrays.fill(signature, Long.MAX_VALUE);
+            for (long shingle : shingles) {
+                for (int i = 0; i < HASHES; i++) {
+                    signature[i] = Math.min(signature[i], mix(shingle ^ SEEDS[i]));
+                }
+            }
+            for (int band = 0; band < BANDS; band++) {
+                long bandHash = mix(band + 1L);
+                for (int row = 0; row < ROWS; row++) {
+                    bandHash = mix(bandHash ^ signature[band * ROWS + row]);
+                }
+                keys.add(bandHash);
+            }
+        }
+        return keys.stream().distinct().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Compares two candidates that share a key. Returns null when they are not duplicates.
+     *
+     * @param nameThreshold   minimum name trigram similarity for a fuzzy match
+     * @param skillsThreshold minimum skills similarity corroborating a fuzzy name match
+     */
+    public static Comparison compare(Features a, Features b, double nameThreshold, double skillsThreshold) {
+        List<String> reasons = new ArrayList<>(3);
+        double score = 0;
+        if (a.email() != null && a.email().equals(b.email())) {
+            reasons.add("EMAIL");
+            score = 1;
+        }
+        if (a.phone() != null && a.phone().equals(b.phone())) {
+            reasons.add("PHONE");
+            score = 1;
+        }
+
+        double nameSimilarity = jaccard(a.nameTrigrams(), b.nameTrigrams());
+        if (nameSimilarity >= nameThreshold) {
+            boolean sameCompany = a.company() != null && a.company().equals(b.company());
+            double skillsSimilarity = jaccard(a.skills(), b.skills());
+            if (sameCompany || skillsSimilarity >= skillsThreshold) {
+                reasons.add("NAME");
+                if (sameCompany) {
+                    reasons.add("COMPANY");
+                }
+                if (skillsSimilarity >= skillsThreshold) {
+                    reasons.add("SKILLS");
+                }
+                score = Math.max(score, 0.6 * nameSimilarity + 0.2 * skillsSimilarity + (sameCompany ? 0.2 : 0));
+            }
+        }
+        return reasons.isEmpty() ? null : new Comparison(score, reasons);
+    }
+
+    public record Comparison(double score, List<String> reasons) {
+    }
+
+    // Lower-cased name tokens in sorted order, so "Smith John" equals "john smith"
+    private static String nameKey(String firstName, String lastName) {
+        String full = ((firstName != null ? firstName : "") + " " + (lastName != null ? lastName : ""))
+                .toLowerCase(Locale.ROOT);
+        String[] tokens = NON_LETTERS.split(full.trim());
+        Arrays.sort(tokens);
+        return String.join(" ", tokens).trim();
+    }
+
+    private static String initials(String nameKey) {
+        StringBuilder initials = new StringBuilder();
+        for (String token : nameKey.split(" ")) {
+            if (!token.isEmpty()) {
+                initials.append(token.charAt(0));
+            }
+        }
+        return initials.toString();
+    }
+
+    private static Set<String> trigrams(String nameKey) {
+        Set<String> grams = new HashSet<>();
+        if (nameKey.isEmpty()) {
+            return grams;
+        }
+        String padded = " " + nameKey + " ";
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    private static Set<String> skillTokens(String skills) {
+        Set<String> tokens = new HashSet<>();
+        if (skills != null) {
+            for (String skill : LIST_SEPARATOR.split(skills)) {
+                String token = skill.trim().toLowerCase(Locale.ROOT);
+                if (!token.isEmpty()) {
+                    tokens.add(token);
+                }
+            }
+        }
+        return tokens;
+    }
+
+    private static String normalizeCompany(String company) {
+        if (company == null) {
+            return null;
+        }
+        String normalized = NON_LETTERS.matcher(company.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+        return normalized.isEmpty() ? null : normalized;
+    }
+
+    private static double jaccard(Set<String> a, Set<String> b) {
+        if (a.isEmpty() || b.isEmpty()) {
+            return 0;
+        }
+        int common = 0;
+        for (String value : a.size() <= b.size() ? a : b) {
+            if ((a.size() <= b.size() ? b : a).contains(value)) {
+                common++;
+            }
+        }
+        return (double) common / (a.size() + b.size() - common);
+    }
+
+    // 64-bit FNV-1a over the UTF-8 bytes, finished with mix
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    // MurmurHash3 fmix64
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -7,6 +7,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @Builder
@@ -42,5 +43,7 @@ public class CandidateResponse {
     private String noticePeriod;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    // Only set on create: existing candidates that look like the same person
+    private List<DuplicateCandidate> possibleDuplicates;
 }
 
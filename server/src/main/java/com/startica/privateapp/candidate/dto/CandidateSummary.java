@@ -0,0 +1,54 @@
+package com.startica.privateapp.candidate.dto;
+
+import com.startica.privateapp.model.Candidate.CandidateStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Row shape for candidate lists and search results.
+ * Selected with a constructor expression, so the TEXT columns (notes, hrRemark, adminRemark,
+ * employmentHistory, education) and the candidateOpenings collection are never read for list
+ * pages; the details view loads them by id.
+ * Field order must match CandidateSummaryRepositoryImpl.SELECTION and CandidateRepository.SUMMARY_SELECT.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CandidateSummary {
+
+    // Properties candidate lists may be sorted by in cursor mode (KeysetPager)
+    public static final Set<String> SORTABLE = Set.of("firstName", "lastName", "email", "location", "company",
+            "passingYear", "percentage", "experienceMonths", "currentCtcValue", "expectedCtcValue", "status",
+            "createdAt", "updatedAt");
+
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String phone;
+    private String location;
+    private String company;
+    private String profile;
+    private String degree;
+    private Integer passingYear;
+    private Float percentage;
+    private String experience;
+    private String currentPackage;
+    private String expectedCTC;
+    private Integer experienceMonths;
+    private Double currentCtcValue;
+    private Double expectedCtcValue;
+    private String gap;
+    private String skills;
+    private String resumeUrl;
+    private CandidateStatus status;
+    private Long sourceHrId;
+    private String experienceLevel;
+    private String noticePeriod;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
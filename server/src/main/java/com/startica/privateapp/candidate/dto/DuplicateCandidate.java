@@ -0,0 +1,28 @@
+package com.startica.privateapp.candidate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateCandidate {
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String phone;
+    private String company;
+    private Long sourceHrId;
+
+    // 0..1, 1 for an exact e-mail or phone match
+    private double score;
+
+    // EMAIL, PHONE, NAME, COMPANY, SKILLS
+    private List<String> reasons;
+}
@@ -0,0 +1,22 @@
+package com.startica.privateapp.candidate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Candidates linked by pairwise duplicate matches. Score and reasons are those of the
+ * strongest pair in the group.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateGroup {
+    private List<DuplicateCandidate> candidates;
+    private double score;
+    private List<String> reasons;
+}
@@ -0,0 +1,29 @@
+package com.startica.privateapp.candidate.event;
+
+import com.startica.privateapp.model.Candidate;
+
+/**
+ * Published by the candidate write paths once per changed candidate.
+ * Listeners that cache derived data should use {@code @TransactionalEventListener}
+ * so they only react after the write has committed.
+ *
+ * @param candidateId the candidate, or null when any candidate may have changed
+ * @param sourceHrId  owning HR of the candidate, null if it has none
+ */
+public record CandidateChangedEvent(Long candidateId, Long sourceHrId) {
+
+    public static CandidateChangedEvent of(Candidate candidate) {
+        return new CandidateChangedEvent(candidate.getId(), candidate.getSourceHrId());
+    }
+
+    /**
+     * Bulk change that may touch every candidate.
+     */
+    public static CandidateChangedEvent all() {
+        return new CandidateChangedEvent(null, null);
+    }
+
+    public boolean affectsAll() {
+        return candidateId == null;
+    }
+}
@@ -0,0 +1,33 @@
+package com.startica.privateapp.candidate.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One duplicate-detection key of a candidate (see DuplicateKeys): a MinHash band of the
+ * name/skills shingles or a blocking key. Candidates sharing a key are compared pairwise.
+ */
+@Entity
+@Table(name = "candidate_dedup_keys", indexes = {
+    @Index(name = "idx_dedup_key_hash", columnList = "key_hash, candidate_id"),
+    @Index(name = "idx_dedup_key_candidate", columnList = "candidate_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CandidateDedupKey {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "candidate_id", nullable = false)
+    private Long candidateId;
+
+    @Column(name = "key_hash", nullable = false)
+    private Long keyHash;
+}
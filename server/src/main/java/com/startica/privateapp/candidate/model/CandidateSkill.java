@@ -0,0 +1,32 @@
+package com.startica.privateapp.candidate.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One skill of a candidate, derived from the free-text skills column on every write.
+ */
+@Entity
+@Table(name = "candidate_skills", indexes = {
+    @Index(name = "idx_candidate_skill", columnList = "candidate_id, skill_id", unique = true),
+    @Index(name = "idx_skill_candidate", columnList = "skill_id, candidate_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CandidateSkill {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "candidate_id", nullable = false)
+    private Long candidateId;
+
+    @Column(name = "skill_id", nullable = false)
+    private Long skillId;
+}
@@ -0,0 +1,26 @@
+package com.startica.privateapp.candidate.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Dictionary entry of a normalized (trimmed, lowercased) skill name, shared by all candidates.
+ */
+@Entity
+@Table(name = "skills")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Skill {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 100)
+    private String name;
+}
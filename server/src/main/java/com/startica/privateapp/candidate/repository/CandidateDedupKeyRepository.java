@@ -0,0 +1,48 @@
+package com.startica.privateapp.candidate.repository;
+
+import com.startica.privateapp.candidate.dedup.DedupRow;
+import com.startica.privateapp.candidate.model.CandidateDedupKey;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface CandidateDedupKeyRepository extends JpaRepository<CandidateDedupKey, Long> {
+
+    String DEDUP_ROW_SELECT = "SELECT new com.startica.privateapp.candidate.dedup.DedupRow(" +
+           "c.id, c.firstName, c.lastName, c.email, c.phone, c.company, c.skills, c.sourceHrId) FROM Candidate c ";
+
+    @Query("SELECT DISTINCT k.candidateId FROM CandidateDedupKey k WHERE k.keyHash IN :keyHashes")
+    List<Long> findCandidateIdsByKeyHashIn(@Param("keyHashes") Collection<Long> keyHashes, Pageable pageable);
+
+    // (keyHash, candidateId) of every key shared by more than one candidate, grouped by key
+    @Query("SELECT k.keyHash, k.candidateId FROM CandidateDedupKey k WHERE k.keyHash IN (" +
+           "SELECT k2.keyHash FROM CandidateDedupKey k2 GROUP BY k2.keyHash HAVING COUNT(k2) > 1) " +
+           "ORDER BY k.keyHash, k.candidateId")
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+        @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    Stream<Object[]> streamSharedKeys();
+
+    @Query(DEDUP_ROW_SELECT + "WHERE c.id IN :ids")
+    List<DedupRow> findDedupRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Backfill: candidates written before keys were maintained
+    @Query(DEDUP_ROW_SELECT + "WHERE c.id > :lastId AND NOT EXISTS (" +
+           "SELECT 1 FROM CandidateDedupKey k WHERE k.candidateId = c.id) ORDER BY c.id")
+    List<DedupRow> findRowsWithoutKeys(@Param("lastId") Long lastId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM CandidateDedupKey k WHERE k.candidateId = :candidateId")
+    int deleteByCandidateId(@Param("candidateId") Long candidateId);
+}
@@ -0,0 +1,41 @@
+package com.startica.privateapp.candidate.repository;
+
+import com.startica.privateapp.candidate.model.CandidateSkill;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CandidateSkillRepository extends JpaRepository<CandidateSkill, Long> {
+
+    // (candidateId, sourceHrId) in id order, for the index build
+    @Query("SELECT c.id, c.sourceHrId FROM Candidate c WHERE c.id > :lastId ORDER BY c.id")
+    List<Object[]> findOwnerRows(@Param("lastId") Long lastId, Pageable pageable);
+
+    // (candidateId, skillId) of the candidates in an id range
+    @Query("SELECT s.candidateId, s.skillId FROM CandidateSkill s WHERE s.candidateId BETWEEN :fromId AND :toId")
+    List<Object[]> findSkillRows(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    // Backfill: (candidateId, skills) of candidates written before skills were normalized
+    @Query("SELECT c.id, c.skills FROM Candidate c WHERE c.id > :lastId AND c.skills IS NOT NULL AND c.skills <> '' " +
+           "AND NOT EXISTS (SELECT 1 FROM CandidateSkill s WHERE s.candidateId = c.id) ORDER BY c.id")
+    List<Object[]> findRowsWithoutSkills(@Param("lastId") Long lastId, Pageable pageable);
+
+    // Renormalization: (candidateId, skills) of every candidate with skills, in id order
+    @Query("SELECT c.id, c.skills FROM Candidate c WHERE c.id > :lastId AND c.skills IS NOT NULL AND c.skills <> '' " +
+           "ORDER BY c.id")
+    List<Object[]> findSkillsRows(@Param("lastId") Long lastId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM CandidateSkill s WHERE s.candidateId = :candidateId")
+    int deleteByCandidateId(@Param("candidateId") Long candidateId);
+
+    @Modifying
+    @Query("DELETE FROM CandidateSkill s WHERE s.candidateId BETWEEN :fromId AND :toId")
+    int deleteByCandidateIdBetween(@Param("fromId") Long fromId, @Param("toId") Long toId);
+}
@@ -0,0 +1,14 @@
+package com.startica.privateapp.candidate.repository;
+
+import com.startica.privateapp.candidate.model.Skill;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface SkillRepository extends JpaRepository<Skill, Long> {
+
+    List<Skill> findByNameIn(Collection<String> names);
+}
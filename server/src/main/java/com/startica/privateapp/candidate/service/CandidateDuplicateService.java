@@ -0,0 +1,305 @@
+package com.startica.privateapp.candidate.service;
+
+import com.startica.privateapp.candidate.dedup.DedupRow;
+import com.startica.privateapp.candidate.dedup.DuplicateKeys;
+import com.startica.privateapp.candidate.dto.DuplicateCandidate;
+import com.startica.privateapp.candidate.dto.DuplicateGroup;
+import com.startica.privateapp.candidate.repository.CandidateDedupKeyRepository;
+import com.startica.privateapp.model.Candidate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Duplicate candidate detection on top of the keys in candidate_dedup_keys (see {@link DuplicateKeys}).
+ *
+ * Keys are rewritten with every candidate create/update, so the on-create check is one indexed
+ * lookup of the new candidate's keys followed by a handful of comparisons. The full report
+ * streams the keys shared by more than one candidate, compares only within those buckets and
+ * joins the matching pairs into groups, so its cost grows with the number of candidates rather
+ * than with the number of pairs.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CandidateDuplicateService {
+
+    private static final String INSERT_KEY = "INSERT INTO candidate_dedup_keys (candidate_id, key_hash) VALUES (?, ?)";
+
+    private final CandidateDedupKeyRepository keyRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${dedup.name-threshold:0.7}")
+    private double nameThreshold;
+
+    @Value("${dedup.skills-threshold:0.3}")
+    private double skillsThreshold;
+
+    // Buckets larger than this (a very common name and skill set) are skipped by the report
+    @Value("${dedup.max-bucket-size:200}")
+    private int maxBucketSize;
+
+    // Most candidates compared by the on-create check
+    @Value("${dedup.max-check-candidates:500}")
+    private int maxCheckCandidates;
+
+    @Value("${dedup.backfill.enabled:true}")
+    private boolean backfillEnabled;
+
+    @Value("${dedup.backfill.batch-size:1000}")
+    private int backfillBatchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (!backfillEnabled) {
+            return;
+        }
+        Thread worker = new Thread(this::backfillKeys, "candidate-dedup-backfill");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Writes keys for candidates that have none, in id-ordered chunks with one transaction per chunk.
+     */
+    public void backfillKeys() {
+        long startTime = System.currentTimeMillis();
+        long lastId = 0L;
+        int written = 0;
+        try {
+            while (true) {
+                List<DedupRow> rows = keyRepository.findRowsWithoutKeys(lastId, PageRequest.of(0, backfillBatchSize));
+                if (rows.isEmpty()) {
+                    break;
+                }
+                List<Object[]> batch = new ArrayList<>();
+                for (DedupRow row : rows) {
+                    for (long key : DuplicateKeys.keys(DuplicateKeys.features(row))) {
+                        batch.add(new Object[] {row.id(), key});
+                    }
+                }
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_KEY, batch));
+                written += rows.size();
+                lastId = rows.get(rows.size() - 1).id();
+            }
+            if (written > 0) {
+                log.info("Backfilled duplicate detection keys for {} candidates in {}ms",
+                        written, System.currentTimeMillis() - startTime);
+            }
+        } catch (Exception e) {
+            log.error("Duplicate key backfill stopped after {} candidates", written, e);
+        }
+    }
+
+    /**
+     * Replaces the keys of a written candidate. Runs in the caller's transaction.
+     */
+    public void refreshKeys(Candidate candidate) {
+        keyRepository.deleteByCandidateId(candidate.getId());
+        long[] keys = DuplicateKeys.keys(DuplicateKeys.features(toRow(candidate)));
+        List<Object[]> batch = new ArrayList<>(keys.length);
+        for (long key : keys) {
+            batch.add(new Object[] {candidate.getId(), key});
+        }
+        jdbcTemplate.batchUpdate(INSERT_KEY, batch);
+    }
+
+    public void removeKeys(Long candidateId) {
+        keyRepository.deleteByCandidateId(candidateId);
+    }
+
+    /**
+     * Existing candidates that look like the same person as the given one, best match first.
+     *
+     * @param excludeId the candidate itself when checking an existing record, otherwise null
+     * @param ownerId   when not null only candidates of this source HR are returned
+     */
+    @Transactional(readOnly = true)
+    public List<DuplicateCandidate> findPossibleDuplicates(Candidate candidate, Long excludeId, Long ownerId, int limit) {
+        DuplicateKeys.Features probe = DuplicateKeys.features(toRow(candidate));
+        long[] keys = DuplicateKeys.keys(probe);
+        if (keys.length == 0) {
+            return List.of();
+        }
+        List<Long> ids = new ArrayList<>(keyRepository.findCandidateIdsByKeyHashIn(
+                Arrays.stream(keys).boxed().toList(), PageRequest.of(0, maxCheckCandidates)));
+        ids.remove(excludeId);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        List<DuplicateCandidate> duplicates = new ArrayList<>();
+        for (DedupRow row : keyRepository.findDedupRowsByIdIn(ids)) {
+            if (ownerId != null && !ownerId.equals(row.sourceHrId())) {
+                continue;
+            }
+            DuplicateKeys.Comparison comparison = DuplicateKeys.compare(
+                    probe, DuplicateKeys.features(row), nameThreshold, skillsThreshold);
+            if (comparison != null) {
+                duplicates.add(toDuplicate(row, comparison));
+            }
+        }
+        duplicates.sort(Comparator.comparingDouble(DuplicateCandidate::getScore).reversed());
+        return duplicates.size() > limit ? duplicates.subList(0, limit) : duplicates;
+    }
+
+    /**
+     * Groups of likely duplicates over the whole candidate table, strongest first.
+     */
+    @Transactional(readOnly = true)
+    public List<DuplicateGroup> findDuplicateGroups(int limit) {
+        long startTime = System.currentTimeMillis();
+
+        // 1. Candidate pairs from the shared-key buckets
+        Set<Pair> pairs = new HashSet<>();
+        int[] skippedBuckets = {0};
+        try (Stream<Object[]> rows = keyRepository.streamSharedKeys()) {
+            List<Long> bucket = new ArrayList<>();
+            long[] currentKey = {0L};
+            rows.forEach(row -> {
+                long key = (Long) row[0];
+                if (!bucket.isEmpty() && key != currentKey[0]) {
+                    skippedBuckets[0] += addPairs(bucket, pairs);
+                    bucket.clear();
+                }
+                currentKey[0] = key;
+                bucket.add((Long) row[1]);
+            });
+            skippedBuckets[0] += addPairs(bucket, pairs);
+        }
+
+        // 2. Compare each pair once
+        Set<Long> ids = new HashSet<>();
+        pairs.forEach(pair -> {
+            ids.add(pair.first());
+            ids.add(pair.second());
+        });
+        Map<Long, DuplicateKeys.Features> features = new HashMap<>();
+        List<Long> idList = new ArrayList<>(ids);
+        for (int from = 0; from < idList.size(); from += 1000) {
+            for (DedupRow row : keyRepository.findDedupRowsByIdIn(idList.subList(from, Math.min(idList.size(), from + 1000)))) {
+                features.put(row.id(), DuplicateKeys.features(row));
+            }
+        }
+
+        // 3. Join matching pairs into groups (union-find), remembering each candidate's best match
+        Map<Long, Long> parent = new HashMap<>();
+        Map<Long, DuplicateKeys.Comparison> bestMatch = new HashMap<>();
+        for (Pair pair : pairs) {
+            DuplicateKeys.Features a = features.get(pair.first());
+            DuplicateKeys.Features b = features.get(pair.second());
+            if (a == null || b == null) {
+                continue;
+            }
+            DuplicateKeys.Comparison comparison = DuplicateKeys.compare(a, b, nameThreshold, skillsThreshold);
+            if (comparison == null) {
+                continue;
+            }
+            parent.put(find(parent, pair.first()), find(parent, pair.second()));
+            bestMatch.merge(pair.first(), comparison, CandidateDuplicateService::stronger);
+            bestMatch.merge(pair.second(), comparison, CandidateDuplicateService::stronger);
+        }
+
+        Map<Long, List<Long>> members = new HashMap<>();
+        for (Long id : bestMatch.keySet()) {
+            members.computeIfAbsent(find(parent, id), root -> new ArrayList<>()).add(id);
+        }
+        List<DuplicateGroup> groups = new ArrayList<>(members.size());
+        for (List<Long> group : members.values()) {
+            group.sort(Comparator.naturalOrder());
+            List<DuplicateCandidate> candidates = new ArrayList<>(group.size());
+            DuplicateKeys.Comparison strongest = null;
+            for (Long id : group) {
+                DuplicateKeys.Comparison comparison = bestMatch.get(id);
+                candidates.add(toDuplicate(features.get(id).row(), comparison));
+                strongest = strongest == null ? comparison : stronger(strongest, comparison);
+            }
+            groups.add(DuplicateGroup.builder()
+                    .candidates(candidates)
+                    .score(strongest.score())
+                    .reasons(strongest.reasons())
+                    .build());
+        }
+        groups.sort(Comparator.comparingDouble(DuplicateGroup::getScore).reversed()
+                .thenComparing(group -> group.getCandidates().size(), Comparator.reverseOrder()));
+
+        log.info("Duplicate report: {} pairs compared, {} groups, {} oversized buckets skipped in {}ms",
+                pairs.size(), groups.size(), skippedBuckets[0], System.currentTimeMillis() - startTime);
+        return groups.size() > limit ? groups.subList(0, limit) : groups;
+    }
+
+    // Returns 1 when the bucket was too large to expand
+    private int addPairs(List<Long> bucket, Set<Pair> pairs) {
+        if (bucket.size() > maxBucketSize) {
+            return 1;
+        }
+        for (int i = 0; i < bucket.size(); i++) {
+            for (int j = i + 1; j < bucket.size(); j++) {
+                pairs.add(new Pair(bucket.get(i), bucket.get(j)));
+            }
+        }
+        return 0;
+    }
+
+    private static Long find(Map<Long, Long> parent, Long id) {
+        Long root = id;
+        while (parent.containsKey(root) && !parent.get(root).equals(root)) {
+            root = parent.get(root);
+        }
+        // Path compression
+        Long node = id;
+        while (!node.equals(root)) {
+            Long next = parent.get(node);
+            parent.put(node, root);
+            node = next;
+        }
+        return root;
+    }
+
+    private static DuplicateKeys.Comparison stronger(DuplicateKeys.Comparison a, DuplicateKeys.Comparison b) {
+        return b.score() > a.score() ? b : a;
+    }
+
+    private static DedupRow toRow(Candidate candidate) {
+        return new DedupRow(candidate.getId(), candidate.getFirstName(), candidate.getLastName(),
+                candidate.getEmail(), candidate.getPhone(), candidate.getCompany(), candidate.getSkills(),
+                candidate.getSourceHrId());
+    }
+
+    private static DuplicateCandidate toDuplicate(DedupRow row, DuplicateKeys.Comparison comparison) {
+        return DuplicateCandidate.builder()
+                .id(row.id())
+                .firstName(row.firstName())
+                .lastName(row.lastName())
+                .email(row.email())
+                .phone(row.phone())
+                .company(row.company())
+                .sourceHrId(row.sourceHrId())
+                .score(comparison.score())
+                .reasons(new ArrayList<>(new LinkedHashSet<>(comparison.reasons())))
+                .build();
+    }
+
+    // Candidate ids in ascending order
+    private record Pair(Long first, Long second) {
+    }
+}
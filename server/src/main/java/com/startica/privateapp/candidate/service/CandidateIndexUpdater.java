@@ -0,0 +1,91 @@
+package com.startica.privateapp.candidate.service;
+
+import com.startica.privateapp.candidate.event.CandidateChangedEvent;
+import com.startica.privateapp.model.Candidate;
+import com.startica.privateapp.repository.CandidateRepository;
+import com.startica.privateapp.search.engine.SearchEngine;
+import com.startica.privateapp.search.index.CandidateMatchIndex;
+import com.startica.privateapp.search.index.NameFuzzyIndex;
+import com.startica.privateapp.search.index.SuggestionIndex;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+
+/**
+ * Brings the derived candidate data up to date once a candidate write has committed: the
+ * duplicate keys and normalized skills tables, the search engine, and the in-memory name,
+ * match and suggestion indexes.
+ *
+ * Each change reloads the candidate in a new transaction, so the indexes only ever see committed
+ * rows and a rolled-back write leaves them untouched; a candidate that is gone is removed
+ * everywhere. A failure is logged rather than thrown, since the write itself has already
+ * committed; the startup builds repair anything missed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CandidateIndexUpdater {
+
+    private final CandidateRepository candidateRepository;
+    private final CandidateDuplicateService candidateDuplicateService;
+    private final CandidateSkillService candidateSkillService;
+    private final SearchEngine searchEngine;
+    private final NameFuzzyIndex nameFuzzyIndex;
+    private final CandidateMatchIndex candidateMatchIndex;
+    private final SuggestionIndex suggestionIndex;
+    private final PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate refreshTransaction;
+
+    @PostConstruct
+    void init() {
+        // The committed transaction is still bound while after-commit listeners run
+        refreshTransaction = new TransactionTemplate(transactionManager);
+        refreshTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCandidateChanged(CandidateChangedEvent event) {
+        try {
+            if (event.affectsAll()) {
+                // Bulk writes only touch derived columns, of which only the match index reads any (experience, CTC)
+                candidateMatchIndex.rebuildInBackground();
+                return;
+            }
+            Long id = event.candidateId();
+            Optional<Candidate> candidate = refreshTransaction.execute(status -> {
+                Optional<Candidate> current = candidateRepository.findById(id);
+                if (current.isPresent()) {
+                    candidateDuplicateService.refreshKeys(current.get());
+                    candidateSkillService.refreshSkills(current.get());
+                } else {
+                    candidateDuplicateService.removeKeys(id);
+                    candidateSkillService.removeSkills(id);
+                }
+                return current;
+            });
+
+            if (candidate != null && candidate.isPresent()) {
+                searchEngine.indexCandidate(candidate.get());
+                nameFuzzyIndex.index(candidate.get());
+                candidateMatchIndex.index(candidate.get());
+                suggestionIndex.index(candidate.get());
+            } else {
+                searchEngine.removeCandidate(id);
+                nameFuzzyIndex.remove(id);
+                candidateMatchIndex.remove(id);
+                suggestionIndex.removeCandidate(id);
+            }
+        } catch (Exception e) {
+            log.error("Failed to update indexes for candidate {}", event.candidateId(), e);
+        }
+    }
+}
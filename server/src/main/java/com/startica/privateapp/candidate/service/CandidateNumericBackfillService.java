@@ -0,0 +1,123 @@
+package com.startica.privateapp.candidate.service;
+
+import com.startica.privateapp.candidate.event.CandidateChangedEvent;
+import com.startica.privateapp.model.Candidate;
+import com.startica.privateapp.repository.CandidateRepository;
+import com.startica.privateapp.util.CandidateValueParser;
+import com.startica.privateapp.util.ContactNormalizer;
+import com.startica.privateapp.util.NamePhonetics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Fills experience_months / current_ctc_value / expected_ctc_value, the canonical
+ * email / phone columns and name_phonetic for rows written before those columns existed, or
+ * computed with an older Candidate.DERIVED_VERSION. New writes compute them in
+ * Candidate.onCreate/onUpdate.
+ * Runs once after startup, in id-ordered chunks with one transaction per chunk. Every row it
+ * reads is stamped with the current version, including rows whose values don't parse, so a
+ * row is processed once and not again on the next startup.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CandidateNumericBackfillService {
+
+    private final CandidateRepository candidateRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${candidate.backfill.enabled:true}")
+    private boolean enabled;
+
+    @Value("${candidate.backfill.batch-size:1000}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        Thread worker = new Thread(this::backfill, "candidate-numeric-backfill");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public void backfill() {
+        long startTime = System.currentTimeMillis();
+        long lastId = 0L;
+        int scanned = 0;
+        int updated = 0;
+        boolean numericChanged = false;
+
+        try {
+            while (true) {
+                List<Object[]> rows = candidateRepository.findRowsWithStaleDerivedValues(
+                        lastId, Candidate.DERIVED_VERSION, PageRequest.of(0, batchSize));
+                if (rows.isEmpty()) {
+                    break;
+                }
+
+                List<Long> unchanged = new ArrayList<>();
+                int[] chunkUpdated = {0};
+                boolean[] chunkNumericChanged = {false};
+                transactionTemplate.executeWithoutResult(status -> {
+                    for (Object[] row : rows) {
+                        Integer experienceMonths = CandidateValueParser.parseExperienceMonths((String) row[1]);
+                        Double currentCtcValue = CandidateValueParser.parseAmount((String) row[2]);
+                        Double expectedCtcValue = CandidateValueParser.parseAmount((String) row[3]);
+                        String emailCanonical = ContactNormalizer.canonicalEmail((String) row[4]);
+                        String phoneCanonical = ContactNormalizer.canonicalPhone((String) row[5]);
+                        String namePhonetic = NamePhonetics.nameKey((String) row[6], (String) row[7]);
+
+                        boolean numeric = !Objects.equals(experienceMonths, row[8])
+                                || !Objects.equals(currentCtcValue, row[9])
+                                || !Objects.equals(expectedCtcValue, row[10]);
+                        boolean contacts = !Objects.equals(emailCanonical, row[11])
+                                || !Objects.equals(phoneCanonical, row[12])
+                                || !Objects.equals(namePhonetic, row[13]);
+                        if (!numeric && !contacts) {
+                            unchanged.add((Long) row[0]);
+                            continue;
+                        }
+                        // Bulk update so updated_at is left untouched
+                        candidateRepository.updateDerivedValues((Long) row[0], experienceMonths, currentCtcValue,
+                                expectedCtcValue, emailCanonical, phoneCanonical, namePhonetic,
+                                Candidate.DERIVED_VERSION);
+                        chunkUpdated[0]++;
+                        chunkNumericChanged[0] |= numeric;
+                    }
+                    if (!unchanged.isEmpty()) {
+                        candidateRepository.markDerivedValuesCurrent(unchanged, Candidate.DERIVED_VERSION);
+                    }
+                });
+
+                scanned += rows.size();
+                updated += chunkUpdated[0];
+                numericChanged |= chunkNumericChanged[0];
+                lastId = (Long) rows.get(rows.size() - 1)[0];
+            }
+            if (numericChanged) {
+                // Range filters and sorts over the numeric columns may now return different rows
+                eventPublisher.publishEvent(CandidateChangedEvent.all());
+            }
+            if (scanned > 0) {
+                log.info("Backfilled derived experience/CTC/contact/name values: {} of {} candidates changed in {}ms",
+                        updated, scanned, System.currentTimeMillis() - startTime);
+            }
+        } catch (Exception e) {
+            log.error("Candidate derived value backfill stopped after {} rows", scanned, e);
+        }
+    }
+}
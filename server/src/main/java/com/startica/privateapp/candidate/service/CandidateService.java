@@ -1,14 +1,18 @@
 package com.startica.privateapp.candidate.service;
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
 
 import com.startica.privateapp.audit.service.AuditService;
 import com.startica.privateapp.candidate.dto.*;
+import com.startica.privateapp.candidate.event.CandidateChangedEvent;
 import com.startica.privateapp.common.exception.BusinessException;
 import com.startica.privateapp.common.exception.DuplicateResourceException;
 import com.startica.privateapp.common.exception.ResourceNotFoundException;
+import com.startica.privateapp.common.pagination.KeysetPager;
+import com.startica.privateapp.common.pagination.KeysetSlice;
 import com.startica.privateapp.model.Candidate;
 import com.startica.privateapp.model.Candidate.CandidateStatus;
 import com.startica.privateapp.model.Role;
@@ -16,9 +20,13 @@ import com.startica.privateapp.model.User;
 import com.startica.privateapp.opening.repository.CandidateOpeningRepository;
 import com.startica.privateapp.repository.CandidateRepository;
 import com.startica.privateapp.repository.UserRepository;
+import com.startica.privateapp.util.ContactNormalizer;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -32,14 +40,16 @@ public class CandidateService {
     private final UserRepository userRepository;
     private final AuditService auditService;
     private final CandidateOpeningRepository candidateOpeningRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CandidateDuplicateService candidateDuplicateService;
 
     @Transactional
     public CandidateResponse createCandidate(CreateCandidateRequest request, User currentUser) {
-        // Validate duplicate email and phone
-        if (candidateRepository.existsByEmail(request.getEmail())) {
+        // Validate duplicate email and phone (compared in canonical form, so formatting and case don't matter)
+        if (emailTaken(request.getEmail(), null)) {
             throw new DuplicateResourceException("Candidate", "email", request.getEmail());
         }
-        if (candidateRepository.existsByPhone(request.getPhone())) {
+        if (phoneTaken(request.getPhone(), null)) {
             throw new DuplicateResourceException("Candidate", "phone", request.getPhone());
         }
 
@@ -69,12 +79,19 @@ public class CandidateService {
         candidate.setStatus(request.getStatus() != null ? request.getStatus() : CandidateStatus.PENDING);
         candidate.setSourceHrId(currentUser.getId());
 
+        // Near-duplicates (name typos, same person at the same company) are reported, not rejected
+        List<DuplicateCandidate> possibleDuplicates = candidateDuplicateService.findPossibleDuplicates(
+                candidate, null, currentUser.getRole() == Role.HR ? currentUser.getId() : null, 5);
+
         Candidate savedCandidate = candidateRepository.save(candidate);
+        eventPublisher.publishEvent(CandidateChangedEvent.of(savedCandidate));
 
         // Log audit
         auditService.logCandidateCreation(savedCandidate, currentUser);
 
-        return mapToResponse(savedCandidate, currentUser.getFullName());
+        CandidateResponse response = mapToResponse(savedCandidate, currentUser.getFullName());
+        response.setPossibleDuplicates(possibleDuplicates);
+        return response;
     }
 
     @Transactional
@@ -97,14 +114,14 @@ public class CandidateService {
             candidate.setLastName(request.getLastName());
         }
         if (request.getEmail() != null && !request.getEmail().equals(candidate.getEmail())) {
-            if (candidateRepository.existsByEmail(request.getEmail())) {
+            if (emailTaken(request.getEmail(), id)) {
                 throw new DuplicateResourceException("Candidate", "email", request.getEmail());
             }
             auditService.logCandidateUpdate(id, "email", candidate.getEmail(), request.getEmail(), currentUser);
             candidate.setEmail(request.getEmail());
         }
         if (request.getPhone() != null && !request.getPhone().equals(candidate.getPhone())) {
-            if (candidateRepository.existsByPhone(request.getPhone())) {
+            if (phoneTaken(request.getPhone(), id)) {
                 throw new DuplicateResourceException("Candidate", "phone", request.getPhone());
             }
             auditService.logCandidateUpdate(id, "phone", candidate.getPhone(), request.getPhone(), currentUser);
@@ -163,10 +180,37 @@ public class CandidateService {
         }
 
         Candidate updatedCandidate = candidateRepository.save(candidate);
+        eventPublisher.publishEvent(CandidateChangedEvent.of(updatedCandidate));
         String hrName = getUserFullName(candidate.getSourceHrId());
         return mapToResponse(updatedCandidate, hrName);
     }
 
+    // Exact matches are checked as well: rows written before the canonical columns existed have
+    // them null until CandidateNumericBackfillService.backfill reaches them
+    private boolean emailTaken(String email, Long excludeId) {
+        String canonical = ContactNormalizer.canonicalEmail(email);
+        if (canonical != null && (excludeId == null
+                ? candidateRepository.existsByEmailCanonical(canonical)
+                : candidateRepository.existsByEmailCanonicalAndIdNot(canonical, excludeId))) {
+            return true;
+        }
+        return email != null && (excludeId == null
+                ? candidateRepository.existsByEmail(email)
+                : candidateRepository.existsByEmailAndIdNot(email, excludeId));
+    }
+
+    private boolean phoneTaken(String phone, Long excludeId) {
+        String canonical = ContactNormalizer.canonicalPhone(phone);
+        if (canonical != null && (excludeId == null
+                ? candidateRepository.existsByPhoneCanonical(canonical)
+                : candidateRepository.existsByPhoneCanonicalAndIdNot(canonical, excludeId))) {
+            return true;
+        }
+        return phone != null && (excludeId == null
+                ? candidateRepository.existsByPhone(phone)
+                : candidateRepository.existsByPhoneAndIdNot(phone, excludeId));
+    }
+
     @Transactional
     public void updateCandidateStatus(Long id, UpdateStatusRequest request, User currentUser) {
         Candidate candidate = candidateRepository.findById(id)
@@ -187,6 +231,7 @@ public class CandidateService {
         String oldStatus = candidate.getStatus().name();
         candidate.setStatus(request.getStatus());
         candidateRepository.save(candidate);
+        eventPublisher.publishEvent(CandidateChangedEvent.of(candidate));
 
         // Log status change
         auditService.logStatusChange(id, oldStatus, request.getStatus().name(), request.getComment(), currentUser);
@@ -205,6 +250,7 @@ public class CandidateService {
         String oldRemark = candidate.getAdminRemark();
         candidate.setAdminRemark(adminRemark);
         Candidate updatedCandidate = candidateRepository.save(candidate);
+        eventPublisher.publishEvent(CandidateChangedEvent.of(updatedCandidate));
 
         // Log the remark update
         auditService.logCandidateUpdate(id, "adminRemark", oldRemark, adminRemark, currentUser);
@@ -230,6 +276,7 @@ public class CandidateService {
             String oldStatus = candidate.getStatus().name();
             candidate.setStatus(request.getStatus());
             candidateRepository.save(candidate);
+            eventPublisher.publishEvent(CandidateChangedEvent.of(candidate));
 
             // Log status change
             auditService.logStatusChange(candidate.getId(), oldStatus, request.getStatus().name(),
@@ -255,6 +302,7 @@ public class CandidateService {
 
         // Now delete the candidate
         candidateRepository.delete(candidate);
+        eventPublisher.publishEvent(CandidateChangedEvent.of(candidate));
     }
 
     public Page<CandidateResponse> getCandidates(String search, CandidateStatus status,
@@ -262,8 +310,62 @@ public class CandidateService {
         // If HR user, only show their candidates
         Long hrFilter = currentUser.getRole() == Role.HR ? currentUser.getId() : sourceHrId;
 
-        Page<Candidate> candidates = candidateRepository.searchCandidates(search, status, hrFilter, pageable);
-        return candidates.map(c -> mapToResponse(c, getUserFullName(c.getSourceHrId())));
+        // List columns only; the details view loads the full candidate via getCandidateById
+        Page<CandidateSummary> candidates = candidateRepository.findSummaries(
+                listSpecification(search, status, hrFilter), pageable);
+        Map<Long, String> hrNames = new HashMap<>();
+        return candidates.map(c -> mapToResponse(c, hrNames.computeIfAbsent(c.getSourceHrId(), this::getUserFullName)));
+    }
+
+    public KeysetSlice<CandidateResponse> getCandidatesByCursor(String search, CandidateStatus status, Long sourceHrId,
+                                                               User currentUser, Sort sort, String cursor, int size) {
+        // If HR user, only show their candidates
+        Long hrFilter = currentUser.getRole() == Role.HR ? currentUser.getId() : sourceHrId;
+
+        Map<Long, String> hrNames = new HashMap<>();
+        return KeysetPager.fetch(candidateRepository::findSummaries, listSpecification(search, status, hrFilter),
+                        sort, CandidateSummary.SORTABLE, cursor, size)
+                .map(c -> mapToResponse(c, hrNames.computeIfAbsent(c.getSourceHrId(), this::getUserFullName)));
+    }
+
+    // Same filters as CandidateRepository.searchCandidateSummaries
+    private Specification<Candidate> listSpecification(String search, CandidateStatus status, Long hrFilter) {
+        Specification<Candidate> spec = (root, query, cb) -> cb.conjunction();
+        if (search != null && !search.isEmpty()) {
+            String pattern = "%" + search.toLowerCase() + "%";
+            spec = spec.and((root, query, cb) -> cb.or(
+                    cb.like(cb.lower(root.get("firstName")), pattern),
+                    cb.like(cb.lower(root.get("lastName")), pattern),
+                    cb.like(cb.lower(root.get("email")), pattern),
+                    cb.like(cb.lower(root.get("phone")), pattern)));
+        }
+        if (status != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("status"), status));
+        }
+        if (hrFilter != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("sourceHrId"), hrFilter));
+        }
+        return spec;
+    }
+
+    /**
+     * Existing candidates that look like the person in the request, without creating anything.
+     * HR users only see matches among their own candidates.
+     */
+    public List<DuplicateCandidate> checkDuplicates(CreateCandidateRequest request, User currentUser) {
+        Candidate probe = new Candidate();
+        probe.setFirstName(request.getFirstName());
+        probe.setLastName(request.getLastName());
+        probe.setEmail(request.getEmail());
+        probe.setPhone(request.getPhone());
+        probe.setCompany(request.getCompany());
+        probe.setSkills(request.getSkills());
+        return candidateDuplicateService.findPossibleDuplicates(
+                probe, null, currentUser.getRole() == Role.HR ? currentUser.getId() : null, 10);
+    }
+
+    public List<DuplicateGroup> getDuplicateGroups(int limit) {
+        return candidateDuplicateService.findDuplicateGroups(limit);
     }
 
     public CandidateResponse getCandidateById(Long id, User currentUser) {
@@ -344,6 +446,35 @@ public class CandidateService {
                 .updatedAt(candidate.getUpdatedAt())
                 .build();
     }
+
+    // List row: notes, remarks, employmentHistory and education are left null
+    private CandidateResponse mapToResponse(CandidateSummary candidate, String hrName) {
+        return CandidateResponse.builder()
+                .id(candidate.getId())
+                .firstName(candidate.getFirstName())
+                .lastName(candidate.getLastName())
+                .email(candidate.getEmail())
+                .phone(candidate.getPhone())
+                .location(candidate.getLocation())
+                .company(candidate.getCompany())
+                .profile(candidate.getProfile())
+                .degree(candidate.getDegree())
+                .passingYear(candidate.getPassingYear())
+                .experience(candidate.getExperience())
+                .currentPackage(candidate.getCurrentPackage())
+                .expectedCTC(candidate.getExpectedCTC())
+                .gap(candidate.getGap())
+                .skills(candidate.getSkills())
+                .resumeUrl(candidate.getResumeUrl())
+                .status(candidate.getStatus())
+                .sourceHrId(candidate.getSourceHrId())
+                .sourceHrName(hrName)
+                .experienceLevel(candidate.getExperienceLevel())
+                .noticePeriod(candidate.getNoticePeriod())
+                .createdAt(candidate.getCreatedAt())
+                .updatedAt(candidate.getUpdatedAt())
+                .build();
+    }
     @Transactional
     public void populatePercentagesForAllCandidates() {
         List<Candidate> candidates = candidateRepository.findAll();
@@ -351,6 +482,7 @@ public class CandidateService {
             candidate.updatePercentageFromEducation(); // extract from education JSON
         }
         candidateRepository.saveAll(candidates);
+        eventPublisher.publishEvent(CandidateChangedEvent.all());
     }
 
 }
@@ -0,0 +1,217 @@
+package com.startica.privateapp.candidate.service;
+
+import com.startica.privateapp.candidate.model.Skill;
+import com.startica.privateapp.candidate.repository.CandidateSkillRepository;
+import com.startica.privateapp.candidate.repository.SkillRepository;
+import com.startica.privateapp.model.Candidate;
+import com.startica.privateapp.search.index.SkillBitmapIndex;
+import com.startica.privateapp.search.index.SkillTaxonomy;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the normalized skills dictionary and candidate_skills in step with the free-text skills
+ * column, and feeds the same rows to {@link SkillBitmapIndex}.
+ *
+ * New dictionary names are inserted in their own transaction, so a skill id handed out is never
+ * rolled back with the candidate write that introduced it. Candidates written before the tables
+ * existed are backfilled after startup, after which the bitmap index is built. Skill names are
+ * canonical under the synonym dictionary, so a reloaded dictionary rewrites every candidate's
+ * rows and rebuilds the bitmap index.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CandidateSkillService {
+
+    private static final String INSERT_SKILL = "INSERT IGNORE INTO skills (name) VALUES (?)";
+    private static final String INSERT_CANDIDATE_SKILL = "INSERT INTO candidate_skills (candidate_id, skill_id) VALUES (?, ?)";
+
+    private final SkillRepository skillRepository;
+    private final CandidateSkillRepository candidateSkillRepository;
+    private final SkillBitmapIndex skillBitmapIndex;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${search.skills.backfill.batch-size:1000}")
+    private int backfillBatchSize;
+
+    private TransactionTemplate dictionaryTransaction;
+
+    @PostConstruct
+    void init() {
+        dictionaryTransaction = new TransactionTemplate(transactionManager);
+        dictionaryTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (!skillBitmapIndex.isEnabled()) {
+            return;
+        }
+        Thread worker = new Thread(() -> {
+            backfillSkills();
+            skillBitmapIndex.build();
+        }, "candidate-skill-backfill");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @EventListener(SkillTaxonomy.ReloadedEvent.class)
+    public void renormalizeOnSynonymReload() {
+        if (!skillBitmapIndex.isEnabled()) {
+            return;
+        }
+        Thread worker = new Thread(() -> {
+            renormalizeSkills();
+            skillBitmapIndex.rebuild();
+        }, "candidate-skill-renormalize");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Writes candidate_skills for candidates that have none, in id-ordered chunks with one
+     * transaction per chunk.
+     */
+    public void backfillSkills() {
+        long startTime = System.currentTimeMillis();
+        long lastId = 0L;
+        int written = 0;
+        try {
+            while (true) {
+                List<Object[]> rows = candidateSkillRepository.findRowsWithoutSkills(lastId, PageRequest.of(0, backfillBatchSize));
+                if (rows.isEmpty()) {
+                    break;
+                }
+                List<Object[]> batch = candidateSkillRows(rows);
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_CANDIDATE_SKILL, batch));
+                written += rows.size();
+                lastId = (Long) rows.get(rows.size() - 1)[0];
+            }
+            if (written > 0) {
+                log.info("Backfilled normalized skills for {} candidates in {}ms",
+                        written, System.currentTimeMillis() - startTime);
+            }
+        } catch (Exception e) {
+            log.error("Skill backfill stopped after {} candidates", written, e);
+        }
+    }
+
+    /**
+     * Rewrites candidate_skills of every candidate under the current dictionary, in id-ordered
+     * chunks that are each deleted and written again in one transaction. Concurrent calls run
+     * one after the other.
+     */
+    public synchronized void renormalizeSkills() {
+        long startTime = System.currentTimeMillis();
+        long lastId = 0L;
+        int written = 0;
+        try {
+            while (true) {
+                List<Object[]> rows = candidateSkillRepository.findSkillsRows(lastId, PageRequest.of(0, backfillBatchSize));
+                if (rows.isEmpty()) {
+                    break;
+                }
+                List<Object[]> batch = candidateSkillRows(rows);
+                Long fromId = (Long) rows.get(0)[0];
+                Long toId = (Long) rows.get(rows.size() - 1)[0];
+                transactionTemplate.executeWithoutResult(status -> {
+                    candidateSkillRepository.deleteByCandidateIdBetween(fromId, toId);
+                    jdbcTemplate.batchUpdate(INSERT_CANDIDATE_SKILL, batch);
+                });
+                written += rows.size();
+                lastId = toId;
+            }
+            log.info("Renormalized skills of {} candidates in {}ms", written, System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            log.error("Skill renormalization stopped after {} candidates", written, e);
+        }
+    }
+
+    /**
+     * Replaces the skills of a written candidate. Runs in the caller's transaction.
+     */
+    public void refreshSkills(Candidate candidate) {
+        candidateSkillRepository.deleteByCandidateId(candidate.getId());
+        List<String> names = skillBitmapIndex.skillNames(candidate.getSkills());
+        Collection<Long> skillIds = resolveSkillIds(names).values();
+        List<Object[]> batch = new ArrayList<>(skillIds.size());
+        for (Long skillId : skillIds) {
+            batch.add(new Object[] {candidate.getId(), skillId});
+        }
+        jdbcTemplate.batchUpdate(INSERT_CANDIDATE_SKILL, batch);
+        skillBitmapIndex.update(candidate.getId(), candidate.getSourceHrId(), skillIds);
+    }
+
+    public void removeSkills(Long candidateId) {
+        candidateSkillRepository.deleteByCandidateId(candidateId);
+        skillBitmapIndex.remove(candidateId);
+    }
+
+    // (candidateId, skillId) rows for (candidateId, skills) rows
+    private List<Object[]> candidateSkillRows(List<Object[]> rows) {
+        List<String> names = new ArrayList<>();
+        for (Object[] row : rows) {
+            names.addAll(skillBitmapIndex.skillNames((String) row[1]));
+        }
+        Map<String, Long> ids = resolveSkillIds(names);
+
+        List<Object[]> batch = new ArrayList<>();
+        for (Object[] row : rows) {
+            for (String name : skillBitmapIndex.skillNames((String) row[1])) {
+                // Missing when the collation folds the name into another dictionary entry
+                if (ids.containsKey(name)) {
+                    batch.add(new Object[] {row[0], ids.get(name)});
+                }
+            }
+        }
+        return batch;
+    }
+
+    // Dictionary id of every name, inserting the names seen for the first time
+    private Map<String, Long> resolveSkillIds(Collection<String> names) {
+        Map<String, Long> ids = new HashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+        for (String name : names) {
+            Long id = skillBitmapIndex.skillId(name);
+            if (id != null) {
+                ids.put(name, id);
+            } else {
+                missing.add(name);
+            }
+        }
+        if (missing.isEmpty()) {
+            return ids;
+        }
+
+        List<Skill> skills = dictionaryTransaction.execute(status -> {
+            jdbcTemplate.batchUpdate(INSERT_SKILL, missing, missing.size(), (ps, name) -> ps.setString(1, name));
+            return skillRepository.findByNameIn(missing);
+        });
+        for (Skill skill : skills) {
+            ids.put(skill.getName(), skill.getId());
+            skillBitmapIndex.addSkill(skill.getName(), skill.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,188 @@
+package com.startica.privateapp.common.pagination;
+
+import com.startica.privateapp.common.exception.BusinessException;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Opaque cursor for keyset (seek) pagination.
+ * Holds every sort property and direction plus the sort values and id of the last row of a page,
+ * and turns them into a "rows after this one" predicate, so no OFFSET and no COUNT are needed.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class KeysetCursor {
+
+    private static final String SEPARATOR = "|";
+    private static final String FIELD_SEPARATOR = ":";
+
+    private final Sort sort;
+    private final List<Object> values;
+    private final Long id;
+
+    /**
+     * @param values the last row's value of each sort property, in the order of sort
+     */
+    public static KeysetCursor of(Sort sort, List<Object> values, Long id) {
+        if (values.size() != sort.stream().count()) {
+            throw new IllegalArgumentException("One value per sort property is needed");
+        }
+        return new KeysetCursor(sort, new ArrayList<>(values), id);
+    }
+
+    // id, then property:direction:type:value per sort key; values are Base64 so they may hold the separators
+    public String encode() {
+        StringBuilder raw = new StringBuilder().append(id);
+        int i = 0;
+        for (Sort.Order order : sort) {
+            Object value = values.get(i++);
+            String text = value instanceof Enum<?> constant ? constant.name() : value != null ? value.toString() : "";
+            raw.append(SEPARATOR).append(order.getProperty())
+                    .append(FIELD_SEPARATOR).append(order.getDirection().name())
+                    .append(FIELD_SEPARATOR).append(typeCode(value))
+                    .append(FIELD_SEPARATOR).append(Base64.getUrlEncoder().withoutPadding()
+                            .encodeToString(text.getBytes(StandardCharsets.UTF_8)));
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR);
+            if (parts.length < 2) {
+                throw new BusinessException("Invalid pagination cursor");
+            }
+            List<Sort.Order> orders = new ArrayList<>();
+            List<Object> values = new ArrayList<>();
+            for (int i = 1; i < parts.length; i++) {
+                String[] fields = parts[i].split(FIELD_SEPARATOR, -1);
+                if (fields.length != 4) {
+                    throw new BusinessException("Invalid pagination cursor");
+                }
+                orders.add(new Sort.Order(Sort.Direction.valueOf(fields[1]), fields[0]));
+                String text = new String(Base64.getUrlDecoder().decode(fields[3]), StandardCharsets.UTF_8);
+                values.add(parseValue(fields[2], text));
+            }
+            return new KeysetCursor(Sort.by(orders), values, Long.valueOf(parts[0]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BusinessException("Invalid pagination cursor");
+        }
+    }
+
+    public boolean matches(Sort sort) {
+        return this.sort.equals(sort);
+    }
+
+    /**
+     * Predicate selecting the rows that sort after this cursor under the sort properties followed by
+     * id, in the direction of the first property: for each property, the rows equal on the ones
+     * before it and after it on this one, or equal on all of them and after on id.
+     * Follows MySQL null ordering: NULLs come first ascending and last descending.
+     * Enum values travel by name and are bound as a constant of the property's own enum type.
+     */
+    public <T> Specification<T> toSpecification() {
+        return (root, query, cb) -> {
+            List<Sort.Order> orders = sort.toList();
+            List<Predicate> alternatives = new ArrayList<>();
+            List<Predicate> equalSoFar = new ArrayList<>();
+            for (int i = 0; i < orders.size(); i++) {
+                Path<Comparable<Object>> path = root.get(orders.get(i).getProperty());
+                Comparable<Object> key = key(path, values.get(i));
+                Predicate after = after(cb, path, key, orders.get(i).getDirection().isAscending());
+                if (after != null) {
+                    alternatives.add(and(cb, equalSoFar, after));
+                }
+                equalSoFar.add(key == null ? cb.isNull(path) : cb.equal(path, key));
+            }
+            Path<Long> idPath = root.get("id");
+            Predicate idAfter = orders.get(0).getDirection().isAscending()
+                    ? cb.greaterThan(idPath, id) : cb.lessThan(idPath, id);
+            alternatives.add(and(cb, equalSoFar, idAfter));
+            return cb.or(alternatives.toArray(new Predicate[0]));
+        };
+    }
+
+    // Rows after key on one property, or null when no row can be (descending past a NULL)
+    private static Predicate after(CriteriaBuilder cb, Path<Comparable<Object>> path, Comparable<Object> key,
+                                   boolean ascending) {
+        if (key == null) {
+            return ascending ? cb.isNotNull(path) : null;
+        }
+        return ascending
+                ? cb.greaterThan(path, key)
+                : cb.or(cb.lessThan(path, key), cb.isNull(path));
+    }
+
+    private static Predicate and(CriteriaBuilder cb, List<Predicate> equal, Predicate last) {
+        List<Predicate> all = new ArrayList<>(equal);
+        all.add(last);
+        return cb.and(all.toArray(new Predicate[0]));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object> key(Path<Comparable<Object>> path, Object value) {
+        if (value == null) {
+            return null;
+        }
+        return path.getJavaType().isEnum() && value instanceof String name
+                ? enumConstant(path.getJavaType(), name)
+                : (Comparable<Object>) value;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparable<Object> enumConstant(Class<?> type, String name) {
+        try {
+            return (Comparable<Object>) Enum.valueOf((Class) type, name);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Invalid pagination cursor");
+        }
+    }
+
+    private static String typeCode(Object value) {
+        if (value == null) return "N";
+        if (value instanceof Enum<?>) return "E";
+        if (value instanceof LocalDateTime) return "T";
+        if (value instanceof String) return "S";
+        if (value instanceof Long) return "L";
+        if (value instanceof Integer) return "I";
+        if (value instanceof Double) return "D";
+        if (value instanceof Float) return "F";
+        throw new BusinessException("Cursor pagination is not supported for this sort field");
+    }
+
+    private static Object parseValue(String type, String text) {
+        switch (type) {
+            case "N":
+                return null;
+            case "T":
+                return LocalDateTime.parse(text);
+            case "S":
+            case "E":
+                return text;
+            case "L":
+                return Long.valueOf(text);
+            case "I":
+                return Integer.valueOf(text);
+            case "D":
+                return Double.valueOf(text);
+            case "F":
+                return Float.valueOf(text);
+            default:
+                throw new IllegalArgumentException("Unknown cursor value type: " + type);
+        }
+    }
+}
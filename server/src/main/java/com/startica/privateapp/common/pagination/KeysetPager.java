@@ -0,0 +1,87 @@
+package com.startica.privateapp.common.pagination;
+
+import com.startica.privateapp.common.exception.BusinessException;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.repository.query.FluentQuery;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Runs a specification in keyset mode: seeks past the cursor, orders by the sort properties plus id,
+ * and fetches one extra row to know whether there is a next page. No count query is issued.
+ * Every sort property must be in the caller's sortable set, so a request for an unknown property
+ * is rejected as a bad request before any query runs.
+ */
+public final class KeysetPager {
+
+    private KeysetPager() {
+    }
+
+    /**
+     * Loads up to limit rows of type R matching spec, ordered by sort.
+     */
+    @FunctionalInterface
+    public interface RowFetcher<T, R> {
+        List<R> fetch(Specification<T> spec, Sort sort, int limit);
+    }
+
+    /**
+     * @param sortable the properties sort may use
+     * @param cursor   null or empty for the first page, otherwise the nextCursor of the previous page
+     */
+    public static <T> KeysetSlice<T> fetch(JpaSpecificationExecutor<T> repository, Specification<T> spec,
+                                           Sort sort, Set<String> sortable, String cursor, int size) {
+        return fetch((where, order, limit) -> repository.findBy(where,
+                        (FluentQuery.FetchableFluentQuery<T> query) -> query.sortBy(order).limit(limit).all()),
+                spec, sort, sortable, cursor, size);
+    }
+
+    /**
+     * Keyset page over a projection: the rows only need readable "id" and sort properties.
+     */
+    public static <T, R> KeysetSlice<R> fetch(RowFetcher<T, R> fetcher, Specification<T> spec,
+                                              Sort sort, Set<String> sortable, String cursor, int size) {
+        if (size < 1) {
+            throw new BusinessException("Page size must be at least 1");
+        }
+        if (sort.isUnsorted()) {
+            throw new BusinessException("Cursor pagination needs a sort order");
+        }
+        for (Sort.Order order : sort) {
+            if (!sortable.contains(order.getProperty())) {
+                throw new BusinessException("Cannot sort by " + order.getProperty());
+            }
+        }
+
+        Specification<T> where = spec;
+        if (cursor != null && !cursor.isEmpty()) {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            if (!after.matches(sort)) {
+                throw new BusinessException("Cursor does not match the requested sort order");
+            }
+            where = where.and(after.toSpecification());
+        }
+
+        Sort.Direction idDirection = sort.iterator().next().getDirection();
+        List<R> rows = fetcher.fetch(where, sort.and(Sort.by(idDirection, "id")), size + 1);
+
+        if (rows.size() <= size) {
+            return new KeysetSlice<>(rows, null);
+        }
+
+        List<R> content = new ArrayList<>(rows.subList(0, size));
+        BeanWrapper last = new BeanWrapperImpl(content.get(size - 1));
+        List<Object> values = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            values.add(last.getPropertyValue(order.getProperty()));
+        }
+        String nextCursor = KeysetCursor.of(sort, values, (Long) last.getPropertyValue("id")).encode();
+        return new KeysetSlice<>(content, nextCursor);
+    }
+}
@@ -0,0 +1,26 @@
+package com.startica.privateapp.common.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * One page of a keyset-paginated listing. nextCursor is null on the last page.
+ */
+@Getter
+@AllArgsConstructor
+public class KeysetSlice<T> {
+    private final List<T> content;
+    private final String nextCursor;
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public <R> KeysetSlice<R> map(Function<? super T, ? extends R> mapper) {
+        return new KeysetSlice<>(content.stream().map(mapper).collect(Collectors.toList()), nextCursor);
+    }
+}
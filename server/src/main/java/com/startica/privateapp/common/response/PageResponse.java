@@ -1,5 +1,6 @@
 package com.startica.privateapp.common.response;
 
+import com.startica.privateapp.common.pagination.KeysetSlice;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -18,6 +19,8 @@ public class PageResponse<T> {
     private int totalPages;
     private boolean last;
     private boolean first;
+    // Cursor mode only: pass back as ?cursor= to fetch the next page, null on the last page
+    private String nextCursor;
 
     public static <T> PageResponse<T> of(Page<T> page) {
         return new PageResponse<>(
@@ -27,8 +30,24 @@ public class PageResponse<T> {
                 page.getTotalElements(),
                 page.getTotalPages(),
                 page.isLast(),
-                page.isFirst()
+                page.isFirst(),
+                null
         );
     }
-}
 
+    /**
+     * Cursor mode response. Totals are not counted and reported as -1.
+     */
+    public static <T> PageResponse<T> of(KeysetSlice<T> slice, int pageSize, boolean first) {
+        return new PageResponse<>(
+                slice.getContent(),
+                0,
+                pageSize,
+                -1,
+                -1,
+                !slice.hasNext(),
+                first,
+                slice.getNextCursor()
+        );
+    }
+}
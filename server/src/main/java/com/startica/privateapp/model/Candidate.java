@@ -2,6 +2,9 @@ package com.startica.privateapp.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.startica.privateapp.opening.model.CandidateOpening;
+import com.startica.privateapp.util.CandidateValueParser;
+import com.startica.privateapp.util.ContactNormalizer;
+import com.startica.privateapp.util.NamePhonetics;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -17,14 +20,26 @@ import org.json.JSONObject; // add this import
     @Index(name = "idx_status", columnList = "status"),
     @Index(name = "idx_created_at", columnList = "created_at"),
     @Index(name = "idx_source_hr_id", columnList = "source_hr_id"),
+    @Index(name = "idx_candidate_hr_created", columnList = "source_hr_id, created_at"),
     @Index(name = "idx_email", columnList = "email"),
-    @Index(name = "idx_phone", columnList = "phone")
+    @Index(name = "idx_phone", columnList = "phone"),
+    @Index(name = "idx_email_canonical", columnList = "email_canonical"),
+    @Index(name = "idx_phone_canonical", columnList = "phone_canonical"),
+    @Index(name = "idx_name_phonetic", columnList = "name_phonetic"),
+    @Index(name = "idx_experience_months", columnList = "experience_months"),
+    @Index(name = "idx_current_ctc_value", columnList = "current_ctc_value"),
+    @Index(name = "idx_expected_ctc_value", columnList = "expected_ctc_value"),
+    @Index(name = "idx_derived_version", columnList = "derived_version")
 })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Candidate {
 
+    // Bump when the parsing or normalization behind the derived columns changes, so that
+    // CandidateNumericBackfillService recomputes them for every row
+    public static final int DERIVED_VERSION = 1;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -41,6 +56,17 @@ public class Candidate {
     @Column(length = 20)
     private String phone;
 
+    // Normalized email/phone for duplicate checks, derived in onCreate/onUpdate
+    @Column(name = "email_canonical", length = 120)
+    private String emailCanonical;
+
+    @Column(name = "phone_canonical", length = 20)
+    private String phoneCanonical;
+
+    // Phonetic keys of the name tokens (NamePhonetics), for fuzzy name lookups in SQL
+    @Column(name = "name_phonetic", length = 120)
+    private String namePhonetic;
+
     @Column(length = 120)
     private String location;
 
@@ -69,6 +95,20 @@ public class Candidate {
     @Column(name = "expected_ctc", length = 50)
     private String expectedCTC;
 
+    // Numeric forms of experience / currentPackage / expectedCTC, kept in sync on every write
+    @Column(name = "experience_months")
+    private Integer experienceMonths;
+
+    @Column(name = "current_ctc_value")
+    private Double currentCtcValue;
+
+    @Column(name = "expected_ctc_value")
+    private Double expectedCtcValue;
+
+    // DERIVED_VERSION the derived columns were last computed with; null for rows older than the column
+    @Column(name = "derived_version")
+    private Integer derivedVersion;
+
     @Column(length = 50)
     private String gap;
 
@@ -143,12 +183,18 @@ protected void onCreate() {
     }
 
     updatePercentageFromEducation();   // 🔥
+    updateNumericFields();
+    updateCanonicalContacts();
+    derivedVersion = DERIVED_VERSION;
 }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
         updatePercentageFromEducation();   // 🔥
+        updateNumericFields();
+        updateCanonicalContacts();
+        derivedVersion = DERIVED_VERSION;
     }
 
     public enum CandidateStatus {
@@ -191,6 +237,20 @@ protected void onCreate() {
 //            // Just keep whatever was already set
 //        }
 //    }
+    // Helper method to derive the numeric search columns from the text fields
+    public void updateNumericFields() {
+        this.experienceMonths = CandidateValueParser.parseExperienceMonths(experience);
+        this.currentCtcValue = CandidateValueParser.parseAmount(currentPackage);
+        this.expectedCtcValue = CandidateValueParser.parseAmount(expectedCTC);
+    }
+
+    // Helper method to derive the canonical contact columns (duplicate checks) and the phonetic name key
+    public void updateCanonicalContacts() {
+        this.emailCanonical = ContactNormalizer.canonicalEmail(email);
+        this.phoneCanonical = ContactNormalizer.canonicalPhone(phone);
+        this.namePhonetic = NamePhonetics.nameKey(firstName, lastName);
+    }
+
     public void updatePercentageFromEducation() {
         if (education == null || education.trim().isEmpty()) {
             return;
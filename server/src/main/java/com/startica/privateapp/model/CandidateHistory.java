@@ -9,7 +9,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "candidate_history", indexes = {
     @Index(name = "idx_candidate_id", columnList = "candidate_id"),
-    @Index(name = "idx_timestamp", columnList = "timestamp")
+    @Index(name = "idx_timestamp", columnList = "timestamp"),
+    @Index(name = "idx_actor_timestamp", columnList = "actor_id, timestamp")
 })
 @Data
 @NoArgsConstructor
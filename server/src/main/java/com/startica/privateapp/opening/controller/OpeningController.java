@@ -1,15 +1,19 @@
 package com.startica.privateapp.opening.controller;
 
 import com.startica.privateapp.auth.service.AuthService;
+import com.startica.privateapp.common.pagination.KeysetSlice;
 import com.startica.privateapp.common.response.ApiResponse;
+import com.startica.privateapp.common.response.PageResponse;
 import com.startica.privateapp.model.User;
 import com.startica.privateapp.opening.dto.ApplyCandidateRequest;
 import com.startica.privateapp.opening.dto.CandidateApplicationResponse;
+import com.startica.privateapp.opening.dto.CandidateMatchResponse;
 import com.startica.privateapp.opening.dto.CreateOpeningRequest;
 import com.startica.privateapp.opening.dto.OpeningResponse;
 import com.startica.privateapp.opening.dto.UpdateOpeningRequest;
 import com.startica.privateapp.opening.model.OpeningStatus;
 import com.startica.privateapp.opening.service.CandidateApplicationService;
+import com.startica.privateapp.opening.service.OpeningMatchService;
 import com.startica.privateapp.opening.service.OpeningService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -31,6 +35,7 @@ public class OpeningController {
     
     private final OpeningService openingService;
     private final CandidateApplicationService applicationService;
+    private final OpeningMatchService openingMatchService;
     private final AuthService authService;
 
     @GetMapping
@@ -60,6 +65,25 @@ public class OpeningController {
         
         return ResponseEntity.ok(ApiResponse.success("Openings retrieved successfully", openings));
     }
+
+    // Keyset mode, selected by the presence of ?cursor= (empty for the first page); skips the count query
+    @GetMapping(params = "cursor")
+    public ResponseEntity<ApiResponse<PageResponse<OpeningResponse>>> getOpeningsByCursor(
+        @RequestParam(required = false) String search,
+        @RequestParam(required = false) OpeningStatus status,
+        @RequestParam(required = false) String department,
+        @RequestParam(defaultValue = "") String cursor,
+        @RequestParam(defaultValue = "10") int size,
+        @RequestParam(defaultValue = "createdAt") String sortBy,
+        @RequestParam(defaultValue = "DESC") String sortDir
+    ) {
+        User currentUser = authService.getCurrentUser();
+        KeysetSlice<OpeningResponse> openings = openingService.getOpeningsByCursor(
+            search, status, department, cursor, size, sortBy, sortDir, currentUser
+        );
+        return ResponseEntity.ok(ApiResponse.success("Openings retrieved successfully",
+            PageResponse.of(openings, size, cursor.isEmpty())));
+    }
     
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<OpeningResponse>> getOpeningById(@PathVariable Long id) {
@@ -140,6 +164,17 @@ public class OpeningController {
         return ResponseEntity.ok(ApiResponse.success("Count retrieved successfully", count));
     }
     
+    // Top candidates ranked on the opening's skills, experience, salary range and location
+    @GetMapping("/{id}/matches")
+    public ResponseEntity<ApiResponse<List<CandidateMatchResponse>>> getMatches(
+        @PathVariable Long id,
+        @RequestParam(defaultValue = "20") int limit
+    ) {
+        User currentUser = authService.getCurrentUser();
+        List<CandidateMatchResponse> matches = openingMatchService.getMatches(id, limit, currentUser);
+        return ResponseEntity.ok(ApiResponse.success("Matches retrieved successfully", matches));
+    }
+    
     // ==================== Candidate Application Endpoints ====================
     
     @PostMapping("/{openingId}/apply")
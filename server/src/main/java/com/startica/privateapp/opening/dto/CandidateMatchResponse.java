@@ -0,0 +1,27 @@
+package com.startica.privateapp.opening.dto;
+
+import com.startica.privateapp.candidate.dto.CandidateSummary;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CandidateMatchResponse {
+
+    private CandidateSummary candidate;
+
+    // Weighted mean of the component scores below, 0..1
+    private float score;
+
+    // 0..1 per requirement, null when the opening does not state it
+    private Float skillScore;
+    private Float experienceScore;
+    private Float salaryScore;
+    private Float locationScore;
+
+    private int matchedSkills;
+}
@@ -0,0 +1,34 @@
+package com.startica.privateapp.opening.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OpeningRecommendationResponse {
+
+    private Long openingId;
+    private String title;
+    private String department;
+    private String location;
+    private String type;
+    private String experience;
+    private String minSalary;
+    private String maxSalary;
+    private String skills;
+
+    // Weighted mean of the component scores below, 0..1
+    private float score;
+
+    // 0..1 per requirement, null when the opening does not state it
+    private Float skillScore;
+    private Float experienceScore;
+    private Float salaryScore;
+    private Float locationScore;
+
+    private int matchedSkills;
+}
@@ -0,0 +1,11 @@
+package com.startica.privateapp.opening.event;
+
+/**
+ * Published by the opening write paths once per changed opening.
+ * Listeners that keep derived data should use {@code @TransactionalEventListener}
+ * so they only react after the write has committed.
+ *
+ * @param openingId the created, updated or deleted opening
+ */
+public record OpeningChangedEvent(Long openingId) {
+}
@@ -7,19 +7,25 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.Set;
 
 @Entity
 @Table(name = "openings", indexes = {
     @Index(name = "idx_opening_status", columnList = "status"),
     @Index(name = "idx_opening_department", columnList = "department"),
     @Index(name = "idx_opening_created_at", columnList = "created_at"),
-    @Index(name = "idx_opening_created_by", columnList = "created_by")
+    @Index(name = "idx_opening_created_by", columnList = "created_by"),
+    @Index(name = "idx_opening_created_by_created_at", columnList = "created_by, created_at")
 })
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Opening {
+
+    // Properties opening lists may be sorted by in cursor mode (KeysetPager)
+    public static final Set<String> SORTABLE = Set.of("title", "department", "location", "type", "positions",
+            "minSalary", "maxSalary", "status", "createdAt", "updatedAt");
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -57,4 +58,19 @@ public interface CandidateOpeningRepository extends JpaRepository<CandidateOpeni
     // Get opening IDs a candidate applied to
     @Query("SELECT co.opening.id FROM CandidateOpening co WHERE co.candidate.id = :candidateId")
     List<Long> findOpeningIdsByCandidateId(@Param("candidateId") Long candidateId);
+
+    // (candidateId, opening title) pairs for a page of candidates
+    @Query("SELECT co.candidate.id, o.title FROM CandidateOpening co JOIN co.opening o " +
+           "WHERE co.candidate.id IN :candidateIds")
+    List<Object[]> findOpeningTitlesByCandidateIds(@Param("candidateIds") Collection<Long> candidateIds);
+
+    // (openingId, title, application count) of every opening with at least one application
+    @Query("SELECT o.id, o.title, COUNT(co.id) FROM CandidateOpening co JOIN co.opening o " +
+           "GROUP BY o.id, o.title ORDER BY o.id")
+    List<Object[]> countApplicationsByOpening();
+
+    // (createdBy, application count) over the openings each of the HRs created
+    @Query("SELECT o.createdBy, COUNT(co.id) FROM CandidateOpening co JOIN co.opening o " +
+           "WHERE o.createdBy IN :hrIds GROUP BY o.createdBy")
+    List<Object[]> countApplicationsByOpeningCreator(@Param("hrIds") Collection<Long> hrIds);
 }
@@ -9,6 +9,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -58,5 +60,54 @@ public interface OpeningRepository extends JpaRepository<Opening, Long>, org.spr
            "LOWER(o.department) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
            "LOWER(o.location) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
            "LOWER(o.description) LIKE LOWER(CONCAT('%', :query, '%'))")
-    List<Opening> searchByText(@Param("query") String query, Pageable pageable);
+    Page<Opening> searchByText(@Param("query") String query, Pageable pageable);
+
+    // Global search scoped to the openings one HR created (served by idx_opening_created_by_created_at)
+    @Query("SELECT o FROM Opening o WHERE o.createdBy = :createdBy AND (" +
+           "LOWER(o.title) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+           "LOWER(o.department) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+           "LOWER(o.location) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+           "LOWER(o.description) LIKE LOWER(CONCAT('%', :query, '%')))")
+    Page<Opening> searchByTextAndCreatedBy(@Param("query") String query,
+                                           @Param("createdBy") Long createdBy,
+                                           Pageable pageable);
+
+    // HR activity report: (createdBy, openings created, latest createdAt) per HR; openings
+    // without a created date count for every period
+    @Query("SELECT o.createdBy, COUNT(o), MAX(o.createdAt) FROM Opening o WHERE o.createdBy IN :hrIds " +
+           "AND (:dateFrom IS NULL OR o.createdAt IS NULL OR o.createdAt >= :dateFrom) " +
+           "AND (:dateTo IS NULL OR o.createdAt IS NULL OR o.createdAt <= :dateTo) " +
+           "GROUP BY o.createdBy")
+    List<Object[]> countActivityByHr(@Param("hrIds") Collection<Long> hrIds,
+                                     @Param("dateFrom") LocalDateTime dateFrom,
+                                     @Param("dateTo") LocalDateTime dateTo);
+
+    // HR activity report detail rows (id, title, department, location, positions, status, createdAt,
+    // createdBy, application count), newest first (idx_opening_created_by_created_at)
+    @Query("SELECT o.id, o.title, o.department, o.location, o.positions, o.status, o.createdAt, o.createdBy, " +
+           "(SELECT COUNT(co) FROM CandidateOpening co WHERE co.opening = o) " +
+           "FROM Opening o WHERE o.createdBy IN :hrIds " +
+           "AND (:dateFrom IS NULL OR o.createdAt IS NULL OR o.createdAt >= :dateFrom) " +
+           "AND (:dateTo IS NULL OR o.createdAt IS NULL OR o.createdAt <= :dateTo) " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Object[]> findActivityRows(@Param("hrIds") Collection<Long> hrIds,
+                                    @Param("dateFrom") LocalDateTime dateFrom,
+                                    @Param("dateTo") LocalDateTime dateTo,
+                                    Pageable pageable);
+
+    // The first :limit rows of findActivityRows for each HR, grouped by HR, in one query
+    @Query("SELECT r.id, r.title, r.department, r.location, r.positions, r.status, r.createdAt, r.createdBy, " +
+           "r.applications FROM (" +
+           "SELECT o.id AS id, o.title AS title, o.department AS department, o.location AS location, " +
+           "o.positions AS positions, o.status AS status, o.createdAt AS createdAt, o.createdBy AS createdBy, " +
+           "(SELECT COUNT(co) FROM CandidateOpening co WHERE co.opening = o) AS applications, " +
+           "ROW_NUMBER() OVER (PARTITION BY o.createdBy ORDER BY o.createdAt DESC, o.id DESC) AS hrRow " +
+           "FROM Opening o WHERE o.createdBy IN :hrIds " +
+           "AND (:dateFrom IS NULL OR o.createdAt IS NULL OR o.createdAt >= :dateFrom) " +
+           "AND (:dateTo IS NULL OR o.createdAt IS NULL OR o.createdAt <= :dateTo)" +
+           ") r WHERE r.hrRow <= :limit ORDER BY r.createdBy, r.hrRow")
+    List<Object[]> findFirstActivityRowsPerHr(@Param("hrIds") Collection<Long> hrIds,
+                                              @Param("dateFrom") LocalDateTime dateFrom,
+                                              @Param("dateTo") LocalDateTime dateTo,
+                                              @Param("limit") long limit);
 }
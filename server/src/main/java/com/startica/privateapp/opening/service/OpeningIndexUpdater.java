@@ -0,0 +1,65 @@
+package com.startica.privateapp.opening.service;
+
+import com.startica.privateapp.opening.event.OpeningChangedEvent;
+import com.startica.privateapp.opening.model.Opening;
+import com.startica.privateapp.opening.repository.OpeningRepository;
+import com.startica.privateapp.search.engine.SearchEngine;
+import com.startica.privateapp.search.index.OpeningMatchIndex;
+import com.startica.privateapp.search.index.SuggestionIndex;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+
+/**
+ * Brings the search engine and the suggestion and opening match indexes up to date once an
+ * opening write has committed, reloading the opening so they only ever see committed rows.
+ * A failure is logged rather than thrown, since the write itself has already committed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OpeningIndexUpdater {
+
+    private final OpeningRepository openingRepository;
+    private final SearchEngine searchEngine;
+    private final SuggestionIndex suggestionIndex;
+    private final OpeningMatchIndex openingMatchIndex;
+    private final PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readTransaction;
+
+    @PostConstruct
+    void init() {
+        // The committed transaction is still bound while after-commit listeners run
+        readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        readTransaction.setReadOnly(true);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOpeningChanged(OpeningChangedEvent event) {
+        Long id = event.openingId();
+        try {
+            Optional<Opening> opening = readTransaction.execute(status -> openingRepository.findById(id));
+            if (opening != null && opening.isPresent()) {
+                suggestionIndex.index(opening.get());
+                openingMatchIndex.index(opening.get());
+                searchEngine.indexOpening(opening.get());
+            } else {
+                suggestionIndex.removeOpening(id);
+                openingMatchIndex.remove(id);
+                searchEngine.removeOpening(id);
+            }
+        } catch (Exception e) {
+            log.error("Failed to update indexes for opening {}", id, e);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.startica.privateapp.opening.service;
+
+import com.startica.privateapp.candidate.dto.CandidateSummary;
+import com.startica.privateapp.common.exception.BusinessException;
+import com.startica.privateapp.common.exception.ResourceNotFoundException;
+import com.startica.privateapp.model.Candidate;
+import com.startica.privateapp.model.Role;
+import com.startica.privateapp.model.User;
+import com.startica.privateapp.opening.dto.CandidateMatchResponse;
+import com.startica.privateapp.opening.dto.OpeningRecommendationResponse;
+import com.startica.privateapp.opening.model.Opening;
+import com.startica.privateapp.opening.repository.OpeningRepository;
+import com.startica.privateapp.repository.CandidateRepository;
+import com.startica.privateapp.search.index.CandidateMatchIndex;
+import com.startica.privateapp.search.index.OpeningMatchIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OpeningMatchService {
+
+    private final OpeningRepository openingRepository;
+    private final CandidateRepository candidateRepository;
+    private final CandidateMatchIndex candidateMatchIndex;
+    private final OpeningMatchIndex openingMatchIndex;
+
+    @Value("${matching.max-results:100}")
+    private int maxResults;
+
+    /**
+     * Best matching candidates for an opening, ranked by {@link CandidateMatchIndex}.
+     * HR users only get their own candidates.
+     */
+    @Transactional(readOnly = true)
+    public List<CandidateMatchResponse> getMatches(Long openingId, int limit, User currentUser) {
+        long startTime = System.currentTimeMillis();
+        Opening opening = openingRepository.findById(openingId)
+                .orElseThrow(() -> new ResourceNotFoundException("Opening not found with id: " + openingId));
+        if (!candidateMatchIndex.isReady()) {
+            throw new BusinessException("Candidate matching is still loading, please try again shortly");
+        }
+
+        Long ownerId = currentUser.getRole() == Role.HR ? currentUser.getId() : null;
+        List<CandidateMatchIndex.Match> matches = candidateMatchIndex.match(
+                opening, ownerId, Math.max(1, Math.min(limit, maxResults)));
+
+        Map<Long, CandidateSummary> candidates = candidateRepository.findSummariesByIdIn(
+                        matches.stream().map(CandidateMatchIndex.Match::candidateId).toList())
+                .stream()
+                .collect(Collectors.toMap(CandidateSummary::getId, Function.identity()));
+
+        List<CandidateMatchResponse> responses = new ArrayList<>(matches.size());
+        for (CandidateMatchIndex.Match match : matches) {
+            CandidateSummary candidate = candidates.get(match.candidateId());
+            if (candidate == null) {
+                // Deleted after it was scored
+                continue;
+            }
+            responses.add(CandidateMatchResponse.builder()
+                    .candidate(candidate)
+                    .score(match.score())
+                    .skillScore(match.skillScore())
+                    .experienceScore(match.experienceScore())
+                    .salaryScore(match.salaryScore())
+                    .locationScore(match.locationScore())
+                    .matchedSkills(match.matchedSkills())
+                    .build());
+        }
+
+        log.info("Matched opening {} to {} candidates in {}ms", openingId, responses.size(),
+                System.currentTimeMillis() - startTime);
+        return responses;
+    }
+
+    /**
+     * Active openings that best fit a candidate, scored from {@link OpeningMatchIndex} without
+     * reading the openings table. HR users only get openings they created, for their own candidates.
+     */
+    @Transactional(readOnly = true)
+    public List<OpeningRecommendationResponse> getRecommendedOpenings(Long candidateId, int limit, User currentUser) {
+        Candidate candidate = candidateRepository.findById(candidateId)
+                .orElseThrow(() -> new ResourceNotFoundException("Candidate", "id", candidateId));
+        Long createdBy = null;
+        if (currentUser.getRole() == Role.HR) {
+            if (!currentUser.getId().equals(candidate.getSourceHrId())) {
+                throw new BusinessException("You can only view candidates you created");
+            }
+            createdBy = currentUser.getId();
+        }
+
+        return openingMatchIndex.recommend(candidate, createdBy, Math.max(1, Math.min(limit, maxResults))).stream()
+                .map(recommendation -> {
+                    Opening opening = recommendation.opening();
+                    return OpeningRecommendationResponse.builder()
+                            .openingId(opening.getId())
+                            .title(opening.getTitle())
+                            .department(opening.getDepartment())
+                            .location(opening.getLocation())
+                            .type(opening.getType())
+                            .experience(opening.getExperience())
+                            .minSalary(opening.getMinSalary())
+                            .maxSalary(opening.getMaxSalary())
+                            .skills(opening.getSkills())
+                            .score(recommendation.score())
+                            .skillScore(recommendation.skillScore())
+                            .experienceScore(recommendation.experienceScore())
+                            .salaryScore(recommendation.salaryScore())
+                            .locationScore(recommendation.locationScore())
+                            .matchedSkills(recommendation.matchedSkills())
+                            .build();
+                })
+                .toList();
+    }
+}
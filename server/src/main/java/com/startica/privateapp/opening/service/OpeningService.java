@@ -1,20 +1,26 @@
 package com.startica.privateapp.opening.service;
 
 import com.startica.privateapp.common.exception.ResourceNotFoundException;
+import com.startica.privateapp.common.pagination.KeysetPager;
+import com.startica.privateapp.common.pagination.KeysetSlice;
+import com.startica.privateapp.model.Role;
 import com.startica.privateapp.model.User;
 import com.startica.privateapp.opening.dto.CreateOpeningRequest;
 import com.startica.privateapp.opening.dto.OpeningResponse;
 import com.startica.privateapp.opening.dto.UpdateOpeningRequest;
+import com.startica.privateapp.opening.event.OpeningChangedEvent;
 import com.startica.privateapp.opening.model.Opening;
 import com.startica.privateapp.opening.model.OpeningStatus;
 import com.startica.privateapp.opening.repository.OpeningRepository;
 import com.startica.privateapp.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,6 +35,7 @@ public class OpeningService {
     private final OpeningRepository openingRepository;
     private final UserRepository userRepository;
     private final CandidateApplicationService candidateApplicationService;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Transactional(readOnly = true)
     public Page<OpeningResponse> getAllOpenings(String search, OpeningStatus status, String department,
@@ -40,7 +47,7 @@ public class OpeningService {
         Pageable pageable = PageRequest.of(page, size, sort);
         
         Page<Opening> openings;
-        if (currentUser.getRole() == com.startica.privateapp.model.Role.HR) {
+        if (currentUser.getRole() == Role.HR) {
             // HR users see only openings they created
             openings = openingRepository.searchOpeningsByCreatedBy(search, status, department, currentUser.getId(), pageable);
         } else {
@@ -51,6 +58,36 @@ public class OpeningService {
         return openings.map(this::mapToResponse);
     }
     
+    @Transactional(readOnly = true)
+    public KeysetSlice<OpeningResponse> getOpeningsByCursor(String search, OpeningStatus status, String department,
+                                                           String cursor, int size, String sortBy, String sortDir,
+                                                           User currentUser) {
+        Sort sort = Sort.by(sortDir.equalsIgnoreCase("ASC") ? Sort.Direction.ASC : Sort.Direction.DESC, sortBy);
+
+        // Same filters as OpeningRepository.searchOpenings / searchOpeningsByCreatedBy
+        Specification<Opening> spec = (root, query, cb) -> cb.conjunction();
+        if (search != null) {
+            String pattern = "%" + search.toLowerCase() + "%";
+            spec = spec.and((root, query, cb) -> cb.or(
+                    cb.like(cb.lower(root.get("title")), pattern),
+                    cb.like(cb.lower(root.get("department")), pattern),
+                    cb.like(cb.lower(root.get("location")), pattern)));
+        }
+        if (status != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("status"), status));
+        }
+        if (department != null) {
+            String pattern = "%" + department.toLowerCase() + "%";
+            spec = spec.and((root, query, cb) -> cb.like(cb.lower(root.get("department")), pattern));
+        }
+        if (currentUser.getRole() == Role.HR) {
+            // HR users see only openings they created
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("createdBy"), currentUser.getId()));
+        }
+
+        return KeysetPager.fetch(openingRepository, spec, sort, Opening.SORTABLE, cursor, size).map(this::mapToResponse);
+    }
+
     @Transactional(readOnly = true)
     public OpeningResponse getOpeningById(Long id) {
         log.info("Fetching opening by id: {}", id);
@@ -81,6 +118,7 @@ public class OpeningService {
                 .build();
         
         Opening saved = openingRepository.save(opening);
+        eventPublisher.publishEvent(new OpeningChangedEvent(saved.getId()));
         log.info("Opening created successfully with id: {}", saved.getId());
         
         return mapToResponse(saved);
@@ -110,6 +148,7 @@ public class OpeningService {
         opening.setUpdatedBy(userId);
         
         Opening updated = openingRepository.save(opening);
+        eventPublisher.publishEvent(new OpeningChangedEvent(updated.getId()));
         log.info("Opening updated successfully");
         
         return mapToResponse(updated);
@@ -123,6 +162,7 @@ public class OpeningService {
                 .orElseThrow(() -> new ResourceNotFoundException("Opening not found with id: " + id));
         
         openingRepository.delete(opening);
+        eventPublisher.publishEvent(new OpeningChangedEvent(id));
         log.info("Opening deleted successfully");
     }
     
@@ -137,6 +177,7 @@ public class OpeningService {
         opening.setUpdatedBy(userId);
         
         Opening updated = openingRepository.save(opening);
+        eventPublisher.publishEvent(new OpeningChangedEvent(updated.getId()));
         log.info("Opening status updated successfully");
         
         return mapToResponse(updated);
@@ -146,7 +187,7 @@ public class OpeningService {
     public List<OpeningResponse> getOpeningsByStatus(OpeningStatus status, User currentUser) {
         log.info("Fetching openings by status: {} for user: {}", status, currentUser.getId());
         List<Opening> openings;
-        if (currentUser.getRole() == com.startica.privateapp.model.Role.HR) {
+        if (currentUser.getRole() == Role.HR) {
             openings = openingRepository.findByStatusAndCreatedBy(status, currentUser.getId());
         } else {
             openings = openingRepository.findByStatus(status);
@@ -160,7 +201,7 @@ public class OpeningService {
     public List<OpeningResponse> getOpeningsByDepartment(String department, User currentUser) {
         log.info("Fetching openings by department: {} for user: {}", department, currentUser.getId());
         List<Opening> openings;
-        if (currentUser.getRole() == com.startica.privateapp.model.Role.HR) {
+        if (currentUser.getRole() == Role.HR) {
             openings = openingRepository.findByDepartmentAndCreatedBy(department, currentUser.getId());
         } else {
             openings = openingRepository.findByDepartment(department);
@@ -173,7 +214,7 @@ public class OpeningService {
     @Transactional(readOnly = true)
     public Long countOpeningsByStatus(OpeningStatus status, User currentUser) {
         log.info("Counting openings by status: {} for user: {}", status, currentUser.getId());
-        if (currentUser.getRole() == com.startica.privateapp.model.Role.HR) {
+        if (currentUser.getRole() == Role.HR) {
             return openingRepository.countByStatusAndCreatedBy(status, currentUser.getId());
         } else {
             return openingRepository.countByStatus(status);
@@ -0,0 +1,132 @@
+package com.startica.privateapp.reports.controller;
+
+import com.startica.privateapp.auth.service.AuthService;
+import com.startica.privateapp.common.response.ApiResponse;
+import com.startica.privateapp.model.User;
+import com.startica.privateapp.reports.dto.ReportJobRequest;
+import com.startica.privateapp.reports.dto.ReportJobResponse;
+import com.startica.privateapp.reports.service.ReportJobService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Background report exports: submit, poll, then download.
+ * Only accessible by users with ADMIN role
+ */
+@RestController
+@RequestMapping("/api/admin/reports/jobs")
+@RequiredArgsConstructor
+@Slf4j
+@PreAuthorize("hasRole('ADMIN')")
+public class ReportJobController {
+
+    // Tomcat's sendfile request attributes (org.apache.tomcat.util.net.Constants)
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final ReportJobService reportJobService;
+    private final AuthService authService;
+
+    /**
+     * Queue a report export; an identical request of the same admin already queued or running is returned instead
+     */
+    @PostMapping
+    public ResponseEntity<ApiResponse<ReportJobResponse>> submit(@Valid @RequestBody ReportJobRequest request) {
+        User currentUser = authService.getCurrentUser();
+        log.info("Admin {} submitting {} report job", currentUser.getId(), request.getType());
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Report queued", reportJobService.submit(request, currentUser)));
+    }
+
+    /**
+     * Job status and rows processed so far, for the admin who submitted it
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<ReportJobResponse>> getJob(@PathVariable String id) {
+        User currentUser = authService.getCurrentUser();
+        return ResponseEntity.ok(ApiResponse.success(reportJobService.getJob(id, currentUser)));
+    }
+
+    /**
+     * Download a completed report of the current admin. A single byte range (Range: bytes=start-end) is answered with
+     * 206 so interrupted downloads can resume; the file is handed to the connector's sendfile
+     * when available, otherwise copied with FileChannel.transferTo. The file is kept from eviction
+     * while it is sent.
+     */
+    @GetMapping("/{id}/download")
+    public void download(@PathVariable String id, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        ReportJobService.ReportFile report = reportJobService.getFile(id, authService.getCurrentUser());
+        try {
+            send(report, request, response);
+        } finally {
+            reportJobService.releaseFile(report);
+        }
+    }
+
+    private void send(ReportJobService.ReportFile report, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        long length = report.size();
+        long start = 0;
+        long end = length - 1;
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+                // Several ranges are allowed to be answered with the whole file
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(length);
+                    end = ranges.get(0).getRangeEnd(length);
+                    response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+                }
+            } catch (IllegalArgumentException e) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.sendError(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentType(report.contentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(report.fileName()).build().toString());
+        response.setContentLengthLong(count);
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // Tomcat writes the file to the socket itself once the request returns
+            request.setAttribute(SENDFILE_FILENAME, report.path().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        try (FileChannel file = FileChannel.open(report.path(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position <= end) {
+                position += file.transferTo(position, end + 1 - position, out);
+            }
+        }
+    }
+}
@@ -5,19 +5,26 @@ import com.startica.privateapp.opening.model.OpeningStatus;
 import com.startica.privateapp.reports.dto.CandidateReportResponse;
 import com.startica.privateapp.reports.dto.HrActivityReportResponse;
 import com.startica.privateapp.reports.dto.JobOpeningReportResponse;
+import com.startica.privateapp.reports.dto.ReportFormat;
 import com.startica.privateapp.reports.service.ReportsExportService;
 import com.startica.privateapp.reports.service.ReportsService;
 import lombok.RequiredArgsConstructor;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Controller for Admin Reports
@@ -33,6 +40,9 @@ public class ReportsController {
     private final ReportsService reportsService;
     private final ReportsExportService exportService;
 
+    @Value("${reports.export.timeout-minutes:30}")
+    private long exportTimeoutMinutes;
+
     /**
      * Get Candidate Report
      * @param dateFrom Filter by created date from
@@ -105,78 +115,118 @@ public class ReportsController {
     }
 
     /**
-     * Export Candidate Report as CSV
+     * Get a page of the candidates an HR added, newest first
+     * (the HR activity report only includes the first page)
+     */
+    @GetMapping("/hr-activity/{hrId}/candidates")
+    public ResponseEntity<ApiResponse<List<HrActivityReportResponse.CandidateDetail>>> getHrActivityCandidates(
+            @PathVariable Long hrId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dateFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dateTo,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(ApiResponse.success(reportsService.getHrActivityCandidates(
+                hrId, dateFrom, dateTo, Math.max(page, 0), Math.min(Math.max(size, 1), 100))));
+    }
+
+    /**
+     * Get a page of the openings an HR created, newest first
+     * (the HR activity report only includes the first page)
+     */
+    @GetMapping("/hr-activity/{hrId}/openings")
+    public ResponseEntity<ApiResponse<List<HrActivityReportResponse.OpeningDetail>>> getHrActivityOpenings(
+            @PathVariable Long hrId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dateFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dateTo,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(ApiResponse.success(reportsService.getHrActivityOpenings(
+                hrId, dateFrom, dateTo, Math.max(page, 0), Math.min(Math.max(size, 1), 100))));
+    }
+
+    /**
+     * Export Candidate Report as CSV or PDF, streamed as rows are read
      */
     @GetMapping("/candidates/export")
-    public ResponseEntity<byte[]> exportCandidateReport(
+    public WebAsyncTask<Void> exportCandidateReport(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dateFrom,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dateTo,
             @RequestParam(required = false) Boolean active,
             @RequestParam(required = false) Long hrId,
             @RequestParam(required = false) Long openingId,
-            @RequestParam(defaultValue = "csv") String format
+            @RequestParam(defaultValue = "csv") String format,
+            HttpServletResponse response
     ) {
         log.info("Admin exporting candidate report as {}", format);
+        ReportFormat reportFormat = ReportFormat.from(format);
 
-        CandidateReportResponse report = reportsService.getCandidateReport(
-                dateFrom, dateTo, active, hrId, openingId
-        );
-
-        byte[] csvData = exportService.exportCandidateReportToCsv(report);
+        StreamingResponseBody body = out -> exportService.writeCandidateReport(
+                out, reportFormat, dateFrom, dateTo, hrId, openingId, new AtomicLong());
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType("text/csv"));
-        headers.setContentDispositionFormData("attachment", "candidate-report.csv");
-
-        return new ResponseEntity<>(csvData, headers, HttpStatus.OK);
+        return export(response, "candidate-report", reportFormat, body);
     }
 
     /**
-     * Export Job Opening Report as CSV
+     * Export Job Opening Report as CSV or PDF, streamed as rows are read
      */
     @GetMapping("/openings/export")
-    public ResponseEntity<byte[]> exportJobOpeningReport(
+    public WebAsyncTask<Void> exportJobOpeningReport(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dateFrom,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dateTo,
             @RequestParam(required = false) OpeningStatus status,
             @RequestParam(required = false) Long hrId,
-            @RequestParam(defaultValue = "csv") String format
+            @RequestParam(defaultValue = "csv") String format,
+            HttpServletResponse response
     ) {
         log.info("Admin exporting job opening report as {}", format);
+        ReportFormat reportFormat = ReportFormat.from(format);
 
-        JobOpeningReportResponse report = reportsService.getJobOpeningReport(
-                dateFrom, dateTo, status, hrId
-        );
+        StreamingResponseBody body = out -> exportService.writeJobOpeningReport(
+                out, reportFormat, dateFrom, dateTo, status, hrId, new AtomicLong());
 
-        byte[] csvData = exportService.exportJobOpeningReportToCsv(report);
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType("text/csv"));
-        headers.setContentDispositionFormData("attachment", "job-opening-report.csv");
-
-        return new ResponseEntity<>(csvData, headers, HttpStatus.OK);
+        return export(response, "job-opening-report", reportFormat, body);
     }
 
     /**
-     * Export HR Activity Report as CSV
+     * Export HR Activity Report as CSV or PDF, listing every candidate and opening
      */
     @GetMapping("/hr-activity/export")
-    public ResponseEntity<byte[]> exportHrActivityReport(
+    public WebAsyncTask<Void> exportHrActivityReport(
             @RequestParam(required = false) Long hrId,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dateFrom,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dateTo,
-            @RequestParam(defaultValue = "csv") String format
+            @RequestParam(defaultValue = "csv") String format,
+            HttpServletResponse response
     ) {
         log.info("Admin exporting HR activity report as {}", format);
+        ReportFormat reportFormat = ReportFormat.from(format);
 
-        HrActivityReportResponse report = reportsService.getHrActivityReport(hrId, dateFrom, dateTo);
+        StreamingResponseBody body = out -> exportService.writeHrActivityReport(
+                out, reportFormat, hrId, dateFrom, dateTo, new AtomicLong());
 
-        byte[] csvData = exportService.exportHrActivityReportToCsv(report);
+        return export(response, "hr-activity-report", reportFormat, body);
+    }
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType("text/csv"));
-        headers.setContentDispositionFormData("attachment", "hr-activity-report.csv");
+    /**
+     * Writes the report to the response on an async thread, allowed reports.export.timeout-minutes
+     * to finish rather than the container's default async timeout.
+     */
+    private WebAsyncTask<Void> export(HttpServletResponse response, String name, ReportFormat format,
+                                      StreamingResponseBody body) {
+        exportHeaders(name, format).forEach((header, values) -> values.forEach(value -> response.addHeader(header, value)));
+        return new WebAsyncTask<>(TimeUnit.MINUTES.toMillis(exportTimeoutMinutes), () -> {
+            body.writeTo(response.getOutputStream());
+            response.flushBuffer();
+            return null;
+        });
+    }
 
-        return new ResponseEntity<>(csvData, headers, HttpStatus.OK);
+    private static HttpHeaders exportHeaders(String name, ReportFormat format) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(format.getContentType()));
+        headers.setContentDispositionFormData("attachment", name + "." + format.getExtension());
+        return headers;
     }
 }
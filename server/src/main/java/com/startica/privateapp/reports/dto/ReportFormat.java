@@ -0,0 +1,37 @@
+package com.startica.privateapp.reports.dto;
+
+import com.startica.privateapp.common.exception.BusinessException;
+
+import java.util.Locale;
+
+public enum ReportFormat {
+    CSV("text/csv", "csv"),
+    PDF("application/pdf", "pdf");
+
+    private final String contentType;
+    private final String extension;
+
+    ReportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * @throws BusinessException for a format other than csv or pdf
+     */
+    public static ReportFormat from(String name) {
+        try {
+            return ReportFormat.valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new BusinessException("Unsupported report format: " + name);
+        }
+    }
+}
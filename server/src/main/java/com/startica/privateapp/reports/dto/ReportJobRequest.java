@@ -0,0 +1,42 @@
+package com.startica.privateapp.reports.dto;
+
+import com.startica.privateapp.opening.model.OpeningStatus;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A report export to generate in the background. The filters are those of the matching
+ * /export endpoint; ones that don't apply to the report type are ignored.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobRequest {
+
+    @NotNull(message = "Report type is required")
+    private ReportType type;
+
+    private ReportFormat format; // CSV when not given
+
+    private LocalDateTime dateFrom;
+
+    private LocalDateTime dateTo;
+
+    private Long hrId;
+
+    private Long openingId; // CANDIDATES only
+
+    private OpeningStatus status; // OPENINGS only
+
+    public enum ReportType {
+        CANDIDATES,
+        OPENINGS,
+        HR_ACTIVITY
+    }
+}
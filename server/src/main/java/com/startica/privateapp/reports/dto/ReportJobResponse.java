@@ -0,0 +1,33 @@
+package com.startica.privateapp.reports.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobResponse {
+    private String id;
+    private ReportJobRequest.ReportType type;
+    private ReportFormat format;
+    private JobStatus status;
+    private Long rowsProcessed;
+    private Long sizeBytes;      // Set once COMPLETED
+    private String fileName;
+    private String error;        // Set when FAILED
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    public enum JobStatus {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
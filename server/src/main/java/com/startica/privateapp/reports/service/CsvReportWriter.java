@@ -0,0 +1,79 @@
+package com.startica.privateapp.reports.service;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.commons.csv.QuoteMode;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * CSV through commons-csv over a fixed-size buffer. Text fields are quoted and numbers are not.
+ */
+final class CsvReportWriter implements ReportWriter {
+
+    private static final CSVFormat CSV_FORMAT = CSVFormat.DEFAULT.builder()
+            .setQuoteMode(QuoteMode.NON_NUMERIC)
+            .build();
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String SEPARATOR = "==============================================";
+
+    private final CSVPrinter printer;
+
+    CsvReportWriter(OutputStream out) throws IOException {
+        printer = new CSVPrinter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE),
+                CSV_FORMAT);
+    }
+
+    @Override
+    public void title(String text) {
+    }
+
+    @Override
+    public void heading(String text) throws IOException {
+        printer.printRecord(text);
+    }
+
+    @Override
+    public void field(String label, Object value) throws IOException {
+        printer.printRecord(label, value);
+    }
+
+    @Override
+    public void text(String text) throws IOException {
+        printer.printRecord(text);
+    }
+
+    @Override
+    public void separator() throws IOException {
+        printer.printRecord(SEPARATOR);
+    }
+
+    @Override
+    public void blankLine() throws IOException {
+        printer.println();
+    }
+
+    @Override
+    public void startTable(String... headers) throws IOException {
+        printer.printRecord((Object[]) headers);
+    }
+
+    @Override
+    public void row(Object... values) throws IOException {
+        printer.printRecord(values);
+    }
+
+    @Override
+    public void endTable() {
+    }
+
+    // Flushed, not closed: the servlet container or the job owns the stream
+    @Override
+    public void finish() throws IOException {
+        printer.flush();
+    }
+}
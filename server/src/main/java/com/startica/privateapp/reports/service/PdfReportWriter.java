@@ -0,0 +1,119 @@
+package com.startica.privateapp.reports.service;
+
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.kernel.colors.ColorConstants;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.draw.SolidLine;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.Cell;
+import com.itextpdf.layout.element.LineSeparator;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
+import com.itextpdf.layout.element.Text;
+import com.itextpdf.layout.properties.UnitValue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * PDF through iText, landscape A4. Tables are iText large tables: the table is added to the
+ * document before its rows, and every {@link #FLUSH_ROWS} rows the rows so far are laid out and
+ * the finished pages written to the stream, so a table of any length holds about one page of
+ * rows in memory. Header cells repeat on every page.
+ */
+final class PdfReportWriter implements ReportWriter {
+
+    private static final int FLUSH_ROWS = 100;
+    private static final float TABLE_FONT_SIZE = 7f;
+
+    private final PdfDocument pdf;
+    private final Document document;
+    private final PdfFont regular;
+    private final PdfFont bold;
+
+    private Table table;
+    private int pendingRows;
+
+    PdfReportWriter(OutputStream out) throws IOException {
+        PdfWriter writer = new PdfWriter(out);
+        // The servlet container or the job owns the stream
+        writer.setCloseStream(false);
+        pdf = new PdfDocument(writer);
+        document = new Document(pdf, PageSize.A4.rotate());
+        document.setMargins(24, 24, 24, 24);
+        regular = PdfFontFactory.createFont(StandardFonts.HELVETICA);
+        bold = PdfFontFactory.createFont(StandardFonts.HELVETICA_BOLD);
+        document.setFont(regular).setFontSize(9);
+    }
+
+    @Override
+    public void title(String text) {
+        document.add(new Paragraph(text).setFont(bold).setFontSize(16).setMarginBottom(8));
+    }
+
+    @Override
+    public void heading(String text) {
+        document.add(new Paragraph(text).setFont(bold).setFontSize(11).setMarginTop(6).setMarginBottom(2));
+    }
+
+    @Override
+    public void field(String label, Object value) {
+        document.add(new Paragraph()
+                .add(new Text(label + ": ").setFont(bold))
+                .add(new Text(value != null ? value.toString() : ""))
+                .setMargin(0));
+    }
+
+    @Override
+    public void text(String text) {
+        document.add(new Paragraph(text));
+    }
+
+    @Override
+    public void separator() {
+        document.add(new LineSeparator(new SolidLine(0.5f)).setMarginTop(4).setMarginBottom(4));
+    }
+
+    @Override
+    public void blankLine() {
+    }
+
+    @Override
+    public void startTable(String... headers) {
+        table = new Table(UnitValue.createPercentArray(headers.length), true).useAllAvailableWidth();
+        table.setFontSize(TABLE_FONT_SIZE);
+        for (String header : headers) {
+            table.addHeaderCell(new Cell()
+                    .add(new Paragraph(header).setFont(bold))
+                    .setBackgroundColor(ColorConstants.LIGHT_GRAY));
+        }
+        document.add(table);
+        pendingRows = 0;
+    }
+
+    @Override
+    public void row(Object... values) {
+        for (Object value : values) {
+            table.addCell(new Cell().add(new Paragraph(value != null ? value.toString() : "")));
+        }
+        if (++pendingRows == FLUSH_ROWS) {
+            table.flush();
+            pendingRows = 0;
+        }
+    }
+
+    @Override
+    public void endTable() {
+        table.complete();
+        table = null;
+    }
+
+    @Override
+    public void finish() {
+        document.close();
+    }
+}
@@ -0,0 +1,319 @@
+package com.startica.privateapp.reports.service;
+
+import com.startica.privateapp.common.exception.BusinessException;
+import com.startica.privateapp.common.exception.ResourceNotFoundException;
+import com.startica.privateapp.model.User;
+import com.startica.privateapp.opening.model.OpeningStatus;
+import com.startica.privateapp.reports.dto.ReportFormat;
+import com.startica.privateapp.reports.dto.ReportJobRequest;
+import com.startica.privateapp.reports.dto.ReportJobResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Report exports generated in the background.
+ *
+ * A submitted job waits in a bounded queue for one of reports.jobs.workers threads, which
+ * writes the CSV or PDF to the spool directory while counting rows; the file can be downloaded
+ * once the job has completed. Jobs belong to the admin who submitted them and are not visible to
+ * anyone else. A request identical to a queued or running job of the same admin joins that job
+ * instead of starting another. Finished jobs are dropped with their files after
+ * reports.jobs.max-age-minutes, and oldest first while the spool holds more than
+ * reports.jobs.max-spool-mb, except while their file is being downloaded. Jobs are kept in
+ * memory only, so the spool is emptied on startup.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReportJobService {
+
+    private final ReportsExportService exportService;
+
+    @Value("${reports.jobs.spool-dir:${java.io.tmpdir}/report-spool}")
+    private String spoolDir;
+
+    @Value("${reports.jobs.workers:2}")
+    private int workers;
+
+    @Value("${reports.jobs.queue-capacity:20}")
+    private int queueCapacity;
+
+    @Value("${reports.jobs.max-age-minutes:60}")
+    private long maxAgeMinutes;
+
+    @Value("${reports.jobs.max-spool-mb:1024}")
+    private long maxSpoolMb;
+
+    // A file handed to the connector's sendfile is opened after the download request has returned;
+    // once open it stays readable when deleted, so it only needs to outlive that hand-off
+    @Value("${reports.jobs.download-grace-seconds:60}")
+    private long downloadGraceSeconds;
+
+    private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+    // Queued and running jobs by owner and filters, so an admin's identical requests share one
+    private final Map<JobKey, ReportJob> inFlight = new ConcurrentHashMap<>();
+
+    private Path spool;
+    private ThreadPoolExecutor jobExecutor;
+    private ScheduledExecutorService evictor;
+
+    /**
+     * A finished report file, kept on disk until it is released with {@link #releaseFile}.
+     */
+    public record ReportFile(String jobId, Path path, long size, String fileName, String contentType) {
+    }
+
+    // The submitting user and the filters that matter for the report type; equal keys produce the same file
+    private record JobKey(Long ownerId, ReportJobRequest.ReportType type, ReportFormat format, LocalDateTime dateFrom,
+                          LocalDateTime dateTo, Long hrId, Long openingId, OpeningStatus status) {
+
+        static JobKey of(ReportJobRequest request, User owner) {
+            ReportJobRequest.ReportType type = request.getType();
+            ReportFormat format = request.getFormat() != null ? request.getFormat() : ReportFormat.CSV;
+            return new JobKey(owner.getId(), type, format, request.getDateFrom(), request.getDateTo(), request.getHrId(),
+                    type == ReportJobRequest.ReportType.CANDIDATES ? request.getOpeningId() : null,
+                    type == ReportJobRequest.ReportType.OPENINGS ? request.getStatus() : null);
+        }
+    }
+
+    private static final class ReportJob {
+        final String id = UUID.randomUUID().toString();
+        final JobKey key;
+        final LocalDateTime createdAt = LocalDateTime.now();
+        final AtomicLong rows = new AtomicLong();
+        volatile ReportJobResponse.JobStatus status = ReportJobResponse.JobStatus.QUEUED;
+        volatile LocalDateTime startedAt;
+        volatile LocalDateTime finishedAt;
+        volatile Path file;
+        volatile long size;
+        volatile String error;
+        // Downloads in progress, and when the file was last handed out; guarded by the service
+        int downloads;
+        LocalDateTime lastDownloadAt;
+
+        ReportJob(JobKey key) {
+            this.key = key;
+        }
+
+        void fail(String message) {
+            error = message;
+            finishedAt = LocalDateTime.now();
+            status = ReportJobResponse.JobStatus.FAILED;
+        }
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        spool = Path.of(spoolDir);
+        Files.createDirectories(spool);
+        // Files from a previous run have no job to download them through
+        try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(spool, "*.{csv,pdf,part}")) {
+            for (Path file : leftovers) {
+                Files.deleteIfExists(file);
+            }
+        }
+
+        jobExecutor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("report-job-", 0).daemon().factory());
+        evictor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("report-spool-evictor").daemon().factory());
+        evictor.scheduleWithFixedDelay(this::evict, 1, 1, TimeUnit.MINUTES);
+        log.info("Report jobs spooled to {} ({} workers, queue of {})", spool, workers, queueCapacity);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        evictor.shutdownNow();
+        jobExecutor.shutdownNow();
+    }
+
+    /**
+     * Queues a report, or returns the user's queued or running job for the same filters.
+     *
+     * @throws BusinessException when the queue is full
+     */
+    public ReportJobResponse submit(ReportJobRequest request, User currentUser) {
+        JobKey key = JobKey.of(request, currentUser);
+        ReportJob created = new ReportJob(key);
+        ReportJob job = inFlight.computeIfAbsent(key, k -> created);
+        if (job != created) {
+            log.info("Report request joined {} job {}", job.key.type(), job.id);
+            return toResponse(job);
+        }
+
+        jobs.put(job.id, job);
+        try {
+            jobExecutor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            job.fail("Too many reports queued");
+            inFlight.remove(key, job);
+            throw new BusinessException("Too many reports are being generated, please try again shortly");
+        }
+        log.info("Queued {} report job {}", key.type(), job.id);
+        return toResponse(job);
+    }
+
+    public ReportJobResponse getJob(String id, User currentUser) {
+        return toResponse(find(id, currentUser));
+    }
+
+    /**
+     * The completed report's file, which is not evicted until {@link #releaseFile} is called.
+     * Holds the eviction lock, so the job cannot be dropped between the lookup and the claim.
+     *
+     * @throws BusinessException when the job has not completed
+     */
+    public synchronized ReportFile getFile(String id, User currentUser) {
+        ReportJob job = find(id, currentUser);
+        if (job.status != ReportJobResponse.JobStatus.COMPLETED) {
+            throw new BusinessException("Report " + id + " is " + job.status.name().toLowerCase());
+        }
+        job.downloads++;
+        job.lastDownloadAt = LocalDateTime.now();
+        return new ReportFile(job.id, job.file, job.size, fileName(job), job.key.format().getContentType());
+    }
+
+    public synchronized void releaseFile(ReportFile file) {
+        ReportJob job = jobs.get(file.jobId());
+        if (job != null && job.downloads > 0) {
+            job.downloads--;
+        }
+    }
+
+    // Another user's job is reported as missing, so job ids reveal nothing
+    private ReportJob find(String id, User currentUser) {
+        ReportJob job = jobs.get(id);
+        if (job == null || !job.key.ownerId().equals(currentUser.getId())) {
+            throw new ResourceNotFoundException("Report job", "id", id);
+        }
+        return job;
+    }
+
+    private void run(ReportJob job) {
+        job.startedAt = LocalDateTime.now();
+        job.status = ReportJobResponse.JobStatus.RUNNING;
+        JobKey key = job.key;
+        Path part = spool.resolve(job.id + ".part");
+        try {
+            try (OutputStream out = Files.newOutputStream(part)) {
+                switch (key.type()) {
+                    case CANDIDATES -> exportService.writeCandidateReport(
+                            out, key.format(), key.dateFrom(), key.dateTo(), key.hrId(), key.openingId(), job.rows);
+                    case OPENINGS -> exportService.writeJobOpeningReport(
+                            out, key.format(), key.dateFrom(), key.dateTo(), key.status(), key.hrId(), job.rows);
+                    case HR_ACTIVITY -> exportService.writeHrActivityReport(
+                            out, key.format(), key.hrId(), key.dateFrom(), key.dateTo(), job.rows);
+                }
+            }
+            Path file = Files.move(part, spool.resolve(job.id + "." + key.format().getExtension()), StandardCopyOption.ATOMIC_MOVE);
+            job.file = file;
+            job.size = Files.size(file);
+            job.finishedAt = LocalDateTime.now();
+            job.status = ReportJobResponse.JobStatus.COMPLETED;
+            log.info("Report job {} wrote {} rows ({} bytes)", job.id, job.rows.get(), job.size);
+        } catch (Exception e) {
+            log.error("Report job {} failed", job.id, e);
+            deleteQuietly(part);
+            // The cause is in the log; messages can carry SQL or file paths
+            job.fail("Report generation failed");
+        } finally {
+            inFlight.remove(key, job);
+        }
+        evict();
+    }
+
+    /**
+     * Drops finished jobs past the age limit, then the oldest ones while the spool is over its size
+     * limit. Jobs whose file is being downloaded are left for a later pass. Runs on the evictor and
+     * after every job, one pass at a time.
+     */
+    synchronized void evict() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime cutoff = now.minusMinutes(maxAgeMinutes);
+            LocalDateTime handedOutSince = now.minusSeconds(downloadGraceSeconds);
+            List<ReportJob> finished = jobs.values().stream()
+                    .filter(job -> job.finishedAt != null)
+                    .sorted(Comparator.comparing((ReportJob job) -> job.finishedAt))
+                    .toList();
+            long spooled = finished.stream().mapToLong(job -> job.size).sum();
+            long maxBytes = maxSpoolMb * 1024 * 1024;
+            for (ReportJob job : finished) {
+                if (!job.finishedAt.isBefore(cutoff) && spooled <= maxBytes) {
+                    break;
+                }
+                if (job.downloads > 0 || (job.lastDownloadAt != null && job.lastDownloadAt.isAfter(handedOutSince))) {
+                    continue;
+                }
+                spooled -= job.size;
+                jobs.remove(job.id);
+                if (job.file != null) {
+                    deleteQuietly(job.file);
+                }
+                log.debug("Evicted report job {}", job.id);
+            }
+        } catch (Exception e) {
+            log.error("Report spool eviction failed", e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete report file {}", file, e);
+        }
+    }
+
+    private static String fileName(ReportJob job) {
+        String name = switch (job.key.type()) {
+            case CANDIDATES -> "candidate-report";
+            case OPENINGS -> "job-opening-report";
+            case HR_ACTIVITY -> "hr-activity-report";
+        };
+        return name + "-" + LocalDate.from(job.createdAt) + "." + job.key.format().getExtension();
+    }
+
+    private static ReportJobResponse toResponse(ReportJob job) {
+        ReportJobResponse.JobStatus status = job.status;
+        return ReportJobResponse.builder()
+                .id(job.id)
+                .type(job.key.type())
+                .format(job.key.format())
+                .status(status)
+                .rowsProcessed(job.rows.get())
+                .sizeBytes(status == ReportJobResponse.JobStatus.COMPLETED ? job.size : null)
+                .fileName(fileName(job))
+                .error(job.error)
+                .createdAt(job.createdAt)
+                .startedAt(job.startedAt)
+                .finishedAt(job.finishedAt)
+                .build();
+    }
+}
@@ -0,0 +1,50 @@
+package com.startica.privateapp.reports.service;
+
+import com.startica.privateapp.reports.dto.ReportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Where an export writes a report. The exporter describes the report as headings, label/value
+ * fields and tables of rows, in order, and each format lays them out as they arrive; nothing is
+ * kept once written.
+ */
+interface ReportWriter {
+
+    static ReportWriter of(ReportFormat format, OutputStream out) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvReportWriter(out);
+            case PDF -> new PdfReportWriter(out);
+        };
+    }
+
+    /**
+     * Document title; only shown where the format has one (not in CSV).
+     */
+    void title(String text) throws IOException;
+
+    void heading(String text) throws IOException;
+
+    void field(String label, Object value) throws IOException;
+
+    void text(String text) throws IOException;
+
+    void separator() throws IOException;
+
+    /**
+     * Vertical spacing; only meaningful in CSV.
+     */
+    void blankLine() throws IOException;
+
+    void startTable(String... headers) throws IOException;
+
+    void row(Object... values) throws IOException;
+
+    void endTable() throws IOException;
+
+    /**
+     * Writes out what is buffered. The stream is left open for its owner to close.
+     */
+    void finish() throws IOException;
+}
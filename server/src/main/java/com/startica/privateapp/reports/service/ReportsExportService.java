@@ -1,20 +1,32 @@
 package com.startica.privateapp.reports.service;
 
-import com.startica.privateapp.reports.dto.CandidateReportResponse;
+import com.startica.privateapp.opening.model.OpeningStatus;
 import com.startica.privateapp.reports.dto.HrActivityReportResponse;
-import com.startica.privateapp.reports.dto.JobOpeningReportResponse;
+import com.startica.privateapp.reports.dto.ReportFormat;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayOutputStream;
-import java.io.OutputStreamWriter;
-import java.io.PrintWriter;
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Service for exporting reports to CSV format
+ * Service for exporting reports to CSV or PDF format.
+ *
+ * Rows are streamed one at a time from a forward-only, read-only result set and handed to a
+ * {@link ReportWriter} for the format as they arrive, so an export holds the same memory for ten
+ * rows or a million. In CSV, phone numbers get a leading apostrophe so spreadsheets keep leading
+ * zeros.
  */
 @Service
 @RequiredArgsConstructor
@@ -23,213 +35,323 @@ public class ReportsExportService {
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
-    public byte[] exportCandidateReportToCsv(CandidateReportResponse report) {
-        log.info("Exporting candidate report to CSV");
-
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
-             OutputStreamWriter osw = new OutputStreamWriter(baos, StandardCharsets.UTF_8);
-             PrintWriter writer = new PrintWriter(osw)) {
-
-            // Write header
-            writer.println("ID,First Name,Last Name,Email,Phone,Status,Active,HR Name,Applications,Created At");
-
-            // Write data
-            report.getData().forEach(item -> {
-                writer.println(String.join(",",
-                        String.valueOf(item.getId()),
-                        quote(item.getFirstName()),
-                        quote(item.getLastName()),
-                        quote(item.getEmail()),
-                        quotePhone(item.getPhone()),
-                        quote(item.getStatus()),
-                        quote(item.getActive() ? "Yes" : "No"),
-                        quote(item.getHrName()),
-                        String.valueOf(item.getApplicationCount()),
-                        quote(item.getCreatedAt() != null ? item.getCreatedAt().format(DATE_FORMATTER) : "N/A")
-                ));
-            });
+    // Same rows and filters as CandidateRepository.findReportRows, with the HR name joined in
+    private static final String CANDIDATE_ROWS = "SELECT c.id, c.first_name, c.last_name, c.email, c.phone, c.status, " +
+            "c.created_at, u.full_name AS hr_name, " +
+            "(SELECT COUNT(*) FROM candidate_openings co WHERE co.candidate_id = c.id) AS applications " +
+            "FROM candidates c LEFT JOIN accounts u ON u.id = c.source_hr_id";
+    private static final String OPENING_ROWS = "SELECT o.id, o.title, o.department, o.location, o.positions, o.status, " +
+            "o.created_at, u.full_name AS hr_name, " +
+            "(SELECT COUNT(*) FROM candidate_openings co WHERE co.opening_id = o.id) AS applications " +
+            "FROM openings o LEFT JOIN accounts u ON u.id = o.created_by";
+    // Same rows as CandidateRepository.findActivityRows / OpeningRepository.findActivityRows for one HR
+    private static final String HR_CANDIDATE_ROWS = "SELECT c.id, c.first_name, c.last_name, c.email, c.phone, " +
+            "c.company, c.profile, c.experience, c.status, c.created_at, " +
+            "(SELECT COUNT(*) FROM candidate_openings co WHERE co.candidate_id = c.id) AS applications " +
+            "FROM candidates c WHERE c.source_hr_id = ?";
+    private static final String HR_OPENING_ROWS = "SELECT o.id, o.title, o.department, o.location, o.positions, " +
+            "o.status, o.created_at, " +
+            "(SELECT COUNT(*) FROM candidate_openings co WHERE co.opening_id = o.id) AS applications " +
+            "FROM openings o WHERE o.created_by = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReportsService reportsService;
 
-            writer.flush();
-            return baos.toByteArray();
+    /**
+     * @param rowsWritten incremented as each data row is written, for progress reporting
+     */
+    public void writeCandidateReport(OutputStream out, ReportFormat format, LocalDateTime dateFrom, LocalDateTime dateTo,
+                                     Long hrId, Long openingId, AtomicLong rowsWritten) {
+        log.info("Exporting candidate report to {}", format);
+        long startTime = System.currentTimeMillis();
 
-        } catch (Exception e) {
-            log.error("Error exporting candidate report to CSV", e);
-            throw new RuntimeException("Failed to export candidate report", e);
+        StringBuilder sql = new StringBuilder(CANDIDATE_ROWS).append(" WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (dateFrom != null) {
+            sql.append(" AND c.created_at >= ?");
+            args.add(dateFrom);
         }
-    }
+        if (dateTo != null) {
+            sql.append(" AND c.created_at <= ?");
+            args.add(dateTo);
+        }
+        if (hrId != null) {
+            sql.append(" AND c.source_hr_id = ?");
+            args.add(hrId);
+        }
+        if (openingId != null) {
+            sql.append(" AND EXISTS (SELECT 1 FROM candidate_openings ao WHERE ao.candidate_id = c.id AND ao.opening_id = ?)");
+            args.add(openingId);
+        }
+        sql.append(" ORDER BY c.id");
 
-    public byte[] exportJobOpeningReportToCsv(JobOpeningReportResponse report) {
-        log.info("Exporting job opening report to CSV");
-
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
-             OutputStreamWriter osw = new OutputStreamWriter(baos, StandardCharsets.UTF_8);
-             PrintWriter writer = new PrintWriter(osw)) {
-
-            // Write header
-            writer.println("ID,Title,Department,Location,Positions,Status,HR Name,Applications,Created At");
-
-            // Write data
-            report.getData().forEach(item -> {
-                writer.println(String.join(",",
-                        String.valueOf(item.getId()),
-                        quote(item.getTitle()),
-                        quote(item.getDepartment()),
-                        quote(item.getLocation()),
-                        String.valueOf(item.getPositions()),
-                        quote(item.getStatus() != null ? item.getStatus().toString() : "N/A"),
-                        quote(item.getHrName()),
-                        String.valueOf(item.getApplicationCount()),
-                        quote(item.getCreatedAt() != null ? item.getCreatedAt().format(DATE_FORMATTER) : "N/A")
-                ));
+        try {
+            ReportWriter writer = ReportWriter.of(format, out);
+            writer.title("Candidate Report");
+            writer.startTable("ID", "First Name", "Last Name", "Email", "Phone", "Status", "Active",
+                    "HR Name", "Applications", "Created At");
+            long rows = streamRows(sql.toString(), args, rowsWritten, rs -> {
+                String status = rs.getString("status");
+                String hrName = rs.getString("hr_name");
+                writer.row(
+                        rs.getLong("id"),
+                        rs.getString("first_name"),
+                        rs.getString("last_name"),
+                        rs.getString("email"),
+                        phone(rs.getString("phone"), format),
+                        status != null ? status : "PENDING",
+                        "NOT_INTERESTED".equals(status) ? "No" : "Yes",
+                        hrName != null ? hrName : "Unknown",
+                        rs.getLong("applications"),
+                        date(rs.getObject("created_at", LocalDateTime.class)));
             });
+            writer.endTable();
+            writer.finish();
+            log.info("Exported {} candidate rows in {}ms", rows, System.currentTimeMillis() - startTime);
+        } catch (IOException | RuntimeException e) {
+            log.error("Error exporting candidate report to {}", format, e);
+            throw new IllegalStateException("Failed to export candidate report", e);
+        }
+    }
 
-            writer.flush();
-            return baos.toByteArray();
+    /**
+     * @param rowsWritten incremented as each data row is written, for progress reporting
+     */
+    public void writeJobOpeningReport(OutputStream out, ReportFormat format, LocalDateTime dateFrom, LocalDateTime dateTo,
+                                      OpeningStatus status, Long hrId, AtomicLong rowsWritten) {
+        log.info("Exporting job opening report to {}", format);
+        long startTime = System.currentTimeMillis();
+
+        StringBuilder sql = new StringBuilder(OPENING_ROWS).append(" WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (dateFrom != null) {
+            sql.append(" AND o.created_at >= ?");
+            args.add(dateFrom);
+        }
+        if (dateTo != null) {
+            sql.append(" AND o.created_at <= ?");
+            args.add(dateTo);
+        }
+        if (status != null) {
+            sql.append(" AND o.status = ?");
+            args.add(status.name());
+        }
+        if (hrId != null) {
+            sql.append(" AND o.created_by = ?");
+            args.add(hrId);
+        }
+        sql.append(" ORDER BY o.id");
 
-        } catch (Exception e) {
-            log.error("Error exporting job opening report to CSV", e);
-            throw new RuntimeException("Failed to export job opening report", e);
+        try {
+            ReportWriter writer = ReportWriter.of(format, out);
+            writer.title("Job Opening Report");
+            writer.startTable("ID", "Title", "Department", "Location", "Positions", "Status", "HR Name",
+                    "Applications", "Created At");
+            long rows = streamRows(sql.toString(), args, rowsWritten, rs -> {
+                String openingStatus = rs.getString("status");
+                String hrName = rs.getString("hr_name");
+                writer.row(
+                        rs.getLong("id"),
+                        rs.getString("title"),
+                        rs.getString("department"),
+                        rs.getString("location"),
+                        rs.getInt("positions"),
+                        openingStatus != null ? openingStatus : "N/A",
+                        hrName != null ? hrName : "Unknown",
+                        rs.getLong("applications"),
+                        date(rs.getObject("created_at", LocalDateTime.class)));
+            });
+            writer.endTable();
+            writer.finish();
+            log.info("Exported {} job opening rows in {}ms", rows, System.currentTimeMillis() - startTime);
+        } catch (IOException | RuntimeException e) {
+            log.error("Error exporting job opening report to {}", format, e);
+            throw new IllegalStateException("Failed to export job opening report", e);
         }
     }
 
-    public byte[] exportHrActivityReportToCsv(HrActivityReportResponse report) {
-        log.info("Exporting comprehensive HR activity report to CSV with candidates and openings");
+    /**
+     * The per-HR counts come from the grouped report queries; each HR's candidates and openings
+     * are then streamed one HR at a time.
+     *
+     * @param rowsWritten incremented as each candidate or opening row is written, for progress reporting
+     */
+    public void writeHrActivityReport(OutputStream out, ReportFormat format, Long hrId, LocalDateTime dateFrom,
+                                      LocalDateTime dateTo, AtomicLong rowsWritten) {
+        log.info("Exporting comprehensive HR activity report to {} with candidates and openings", format);
+        long startTime = System.currentTimeMillis();
+
+        HrActivityReportResponse report = reportsService.getHrActivityReport(hrId, dateFrom, dateTo, 0);
 
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
-             OutputStreamWriter osw = new OutputStreamWriter(baos, StandardCharsets.UTF_8);
-             PrintWriter writer = new PrintWriter(osw)) {
+        try {
+            ReportWriter writer = ReportWriter.of(format, out);
 
             // Write Report Title and Summary
-            writer.println("HR ACTIVITY COMPREHENSIVE REPORT");
-            writer.println();
-            writer.println("SUMMARY");
-            writer.println("Total HR Users," + report.getSummary().getTotalHrUsers());
-            writer.println("Total Candidates Added," + report.getSummary().getTotalCandidatesAdded());
-            writer.println("Total Openings Created," + report.getSummary().getTotalOpeningsCreated());
-            writer.println("Most Active HR," + quote(report.getSummary().getMostActiveHr()));
-            writer.println();
-            writer.println();
-
-            // Write detailed data for each HR
-            report.getData().forEach(hrItem -> {
+            writer.heading("HR ACTIVITY COMPREHENSIVE REPORT");
+            writer.blankLine();
+            writer.heading("SUMMARY");
+            writer.field("Total HR Users", report.getSummary().getTotalHrUsers());
+            writer.field("Total Candidates Added", report.getSummary().getTotalCandidatesAdded());
+            writer.field("Total Openings Created", report.getSummary().getTotalOpeningsCreated());
+            writer.field("Most Active HR", report.getSummary().getMostActiveHr());
+            writer.blankLine();
+            writer.blankLine();
+
+            for (HrActivityReportResponse.HrActivityItem hrItem : report.getData()) {
                 // HR Header Section
-                writer.println("==============================================");
-                writer.println("HR DETAILS");
-                writer.println("==============================================");
-                writer.println("Name," + quote(hrItem.getHrName()));
-                writer.println("Email," + quote(hrItem.getEmail()));
-                writer.println("Status," + quote(hrItem.getActive() != null && hrItem.getActive() ? "Active" : "Inactive"));
-                writer.println("Candidates Added," + hrItem.getCandidatesAdded());
-                writer.println("Openings Created," + hrItem.getOpeningsCreated());
-                writer.println("Applications Managed," + (hrItem.getTotalApplicationsManaged() != null ? hrItem.getTotalApplicationsManaged() : 0));
-                writer.println("Last Activity," + quote(hrItem.getLastActivity() != null ? hrItem.getLastActivity().format(DATE_FORMATTER) : "N/A"));
-                writer.println();
+                writer.separator();
+                writer.heading("HR DETAILS");
+                writer.separator();
+                writer.field("Name", hrItem.getHrName());
+                writer.field("Email", hrItem.getEmail());
+                writer.field("Status", hrItem.getActive() != null && hrItem.getActive() ? "Active" : "Inactive");
+                writer.field("Candidates Added", hrItem.getCandidatesAdded());
+                writer.field("Openings Created", hrItem.getOpeningsCreated());
+                writer.field("Applications Managed",
+                        hrItem.getTotalApplicationsManaged() != null ? hrItem.getTotalApplicationsManaged() : 0L);
+                writer.field("Last Activity", date(hrItem.getLastActivity()));
+                writer.blankLine();
 
                 // Candidates Section
-                if (hrItem.getCandidates() != null && !hrItem.getCandidates().isEmpty()) {
-                    writer.println("CANDIDATES ADDED (" + hrItem.getCandidates().size() + ")");
-                    writer.println("Candidate ID,First Name,Last Name,Email,Phone,Company,Profile,Experience,Status,Applications,Created At");
-                    
-                    hrItem.getCandidates().forEach(candidate -> {
-                        writer.println(String.join(",",
-                                String.valueOf(candidate.getId()),
-                                quote(candidate.getFirstName()),
-                                quote(candidate.getLastName()),
-                                quote(candidate.getEmail()),
-                                quotePhone(candidate.getPhone()),
-                                quote(candidate.getCompany() != null ? candidate.getCompany() : "N/A"),
-                                quote(candidate.getProfile() != null ? candidate.getProfile() : "N/A"),
-                                quote(candidate.getExperience() != null ? candidate.getExperience() : "N/A"),
-                                quote(candidate.getStatus()),
-                                String.valueOf(candidate.getApplicationCount()),
-                                quote(candidate.getCreatedAt() != null ? candidate.getCreatedAt().format(DATE_FORMATTER) : "N/A")
-                        ));
+                writer.heading("CANDIDATES ADDED (" + hrItem.getCandidatesAdded() + ")");
+                if (hrItem.getCandidatesAdded() > 0) {
+                    writer.startTable("Candidate ID", "First Name", "Last Name", "Email", "Phone", "Company",
+                            "Profile", "Experience", "Status", "Applications", "Created At");
+                    streamRows(activitySql(HR_CANDIDATE_ROWS, "c", dateFrom, dateTo),
+                            activityArgs(hrItem.getHrId(), dateFrom, dateTo), rowsWritten, rs -> {
+                        String status = rs.getString("status");
+                        writer.row(
+                                rs.getLong("id"),
+                                rs.getString("first_name"),
+                                rs.getString("last_name"),
+                                rs.getString("email"),
+                                phone(rs.getString("phone"), format),
+                                orNa(rs.getString("company")),
+                                orNa(rs.getString("profile")),
+                                orNa(rs.getString("experience")),
+                                status != null ? status : "PENDING",
+                                rs.getLong("applications"),
+                                date(rs.getObject("created_at", LocalDateTime.class)));
                     });
-                    writer.println();
+                    writer.endTable();
                 } else {
-                    writer.println("CANDIDATES ADDED (0)");
-                    writer.println("No candidates added in this period");
-                    writer.println();
+                    writer.text("No candidates added in this period");
                 }
+                writer.blankLine();
 
                 // Openings Section
-                if (hrItem.getOpenings() != null && !hrItem.getOpenings().isEmpty()) {
-                    writer.println("OPENINGS CREATED (" + hrItem.getOpenings().size() + ")");
-                    writer.println("Opening ID,Job Title,Department,Location,Positions,Status,Applications,Created At");
-                    
-                    hrItem.getOpenings().forEach(opening -> {
-                        writer.println(String.join(",",
-                                String.valueOf(opening.getId()),
-                                quote(opening.getTitle()),
-                                quote(opening.getDepartment()),
-                                quote(opening.getLocation()),
-                                String.valueOf(opening.getPositions()),
-                                quote(opening.getStatus() != null ? opening.getStatus().toString() : "N/A"),
-                                String.valueOf(opening.getApplicationCount()),
-                                quote(opening.getCreatedAt() != null ? opening.getCreatedAt().format(DATE_FORMATTER) : "N/A")
-                        ));
-                    });
-                    writer.println();
+                writer.heading("OPENINGS CREATED (" + hrItem.getOpeningsCreated() + ")");
+                if (hrItem.getOpeningsCreated() > 0) {
+                    writer.startTable("Opening ID", "Job Title", "Department", "Location", "Positions", "Status",
+                            "Applications", "Created At");
+                    streamRows(activitySql(HR_OPENING_ROWS, "o", dateFrom, dateTo),
+                            activityArgs(hrItem.getHrId(), dateFrom, dateTo), rowsWritten, rs -> writer.row(
+                                    rs.getLong("id"),
+                                    rs.getString("title"),
+                                    rs.getString("department"),
+                                    rs.getString("location"),
+                                    rs.getInt("positions"),
+                                    orNa(rs.getString("status")),
+                                    rs.getLong("applications"),
+                                    date(rs.getObject("created_at", LocalDateTime.class))));
+                    writer.endTable();
                 } else {
-                    writer.println("OPENINGS CREATED (0)");
-                    writer.println("No openings created in this period");
-                    writer.println();
+                    writer.text("No openings created in this period");
                 }
-
-                writer.println();
-                writer.println();
-            });
+                writer.blankLine();
+                writer.blankLine();
+                writer.blankLine();
+            }
 
             // Footer
-            writer.println("==============================================");
-            writer.println("END OF REPORT");
-            writer.println("Generated at: " + java.time.LocalDateTime.now().format(DATE_FORMATTER));
-            writer.println("==============================================");
-
-            writer.flush();
-            return baos.toByteArray();
-
-        } catch (Exception e) {
-            log.error("Error exporting comprehensive HR activity report to CSV", e);
-            throw new RuntimeException("Failed to export HR activity report", e);
+            writer.separator();
+            writer.heading("END OF REPORT");
+            writer.text("Generated at: " + LocalDateTime.now().format(DATE_FORMATTER));
+            writer.separator();
+            writer.finish();
+            log.info("Exported HR activity for {} HR users in {}ms",
+                    report.getData().size(), System.currentTimeMillis() - startTime);
+        } catch (IOException | RuntimeException e) {
+            log.error("Error exporting comprehensive HR activity report to {}", format, e);
+            throw new IllegalStateException("Failed to export HR activity report", e);
         }
     }
 
+    @FunctionalInterface
+    private interface RowHandler {
+        void handle(ResultSet rs) throws SQLException, IOException;
+    }
+
     /**
-     * Quote a CSV value - wraps in quotes and escapes internal quotes
-     * This ensures proper handling in Excel and other CSV readers
+     * Runs the query on a forward-only, read-only result set and hands each row to the handler as it
+     * arrives. A fetch size of Integer.MIN_VALUE makes MySQL Connector/J stream rows one by one
+     * instead of reading the whole result into memory; the connection can run nothing else until
+     * the result is consumed, which the handler does before the query returns.
+     *
+     * @return number of rows written
      */
-    private String quote(String value) {
-        if (value == null) {
-            return "\"\"";
+    private long streamRows(String sql, List<Object> args, AtomicLong rowsWritten, RowHandler handler) {
+        long[] rows = {0};
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(Integer.MIN_VALUE);
+            for (int i = 0; i < args.size(); i++) {
+                ps.setObject(i + 1, args.get(i));
+            }
+            return ps;
+        }, rs -> {
+            try {
+                handler.handle(rs);
+            } catch (IOException e) {
+                // Client went away or the write failed; stops the query
+                throw new UncheckedIOException(e);
+            }
+            rows[0]++;
+            rowsWritten.incrementAndGet();
+        });
+        return rows[0];
+    }
+
+    // Rows without a created date count for every period, as in the report queries
+    private static String activitySql(String select, String alias, LocalDateTime dateFrom, LocalDateTime dateTo) {
+        StringBuilder sql = new StringBuilder(select);
+        if (dateFrom != null) {
+            sql.append(" AND (").append(alias).append(".created_at IS NULL OR ").append(alias).append(".created_at >= ?)");
+        }
+        if (dateTo != null) {
+            sql.append(" AND (").append(alias).append(".created_at IS NULL OR ").append(alias).append(".created_at <= ?)");
         }
-        // Escape any quotes in the value and wrap in quotes
-        return "\"" + value.replace("\"", "\"\"") + "\"";
+        return sql.append(" ORDER BY ").append(alias).append(".created_at DESC, ")
+                .append(alias).append(".id DESC").toString();
     }
 
-    /**
-     * Quote phone number with special handling
-     * Prepends single quote to prevent Excel from treating it as a number
-     */
-    private String quotePhone(String phone) {
-        if (phone == null || phone.trim().isEmpty()) {
-            return "\"\"";
+    private static List<Object> activityArgs(Long hrId, LocalDateTime dateFrom, LocalDateTime dateTo) {
+        List<Object> args = new ArrayList<>();
+        args.add(hrId);
+        if (dateFrom != null) {
+            args.add(dateFrom);
         }
-        // Add single quote prefix to preserve leading zeros and prevent scientific notation
-        return "\"'" + phone.replace("\"", "\"\"") + "\"";
+        if (dateTo != null) {
+            args.add(dateTo);
+        }
+        return args;
+    }
+
+    private static String date(LocalDateTime value) {
+        return value != null ? value.format(DATE_FORMATTER) : "N/A";
+    }
+
+    private static String orNa(String value) {
+        return value != null ? value : "N/A";
     }
 
     /**
-     * Escape CSV values to handle commas, quotes, and newlines (legacy method)
+     * In CSV, prepends a single quote so Excel keeps leading zeros and doesn't use scientific notation.
      */
-    private String escapeCsv(String value) {
-        if (value == null) {
+    private static String phone(String phone, ReportFormat format) {
+        if (phone == null || phone.trim().isEmpty()) {
             return "";
         }
-        // If value contains comma, quote, or newline, wrap in quotes and escape quotes
-        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
-            return "\"" + value.replace("\"", "\"\"") + "\"";
-        }
-        return value;
+        return format == ReportFormat.CSV ? "'" + phone : phone;
     }
 }
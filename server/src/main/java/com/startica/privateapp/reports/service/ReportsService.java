@@ -14,10 +14,16 @@ import com.startica.privateapp.reports.dto.JobOpeningReportResponse;
 import com.startica.privateapp.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -33,6 +39,9 @@ public class ReportsService {
     private final CandidateOpeningRepository candidateOpeningRepository;
     private final UserRepository userRepository;
 
+    @Value("${reports.hr-activity.detail-page-size:20}")
+    private int activityDetailPageSize;
+
     @Transactional(readOnly = true)
     public CandidateReportResponse getCandidateReport(
             LocalDateTime dateFrom,
@@ -44,79 +53,61 @@ public class ReportsService {
         log.info("Generating candidate report - dateFrom: {}, dateTo: {}, active: {}, hrId: {}, openingId: {}",
                 dateFrom, dateTo, active, hrId, openingId);
 
-        // Get all candidates with filters
-        List<Candidate> candidates = candidateRepository.findAll();
+        // One grouped query for the filtered rows and their application counts, one for the
+        // HR names and one for the per-opening counts, whatever the number of candidates
+        List<Object[]> rows = candidateRepository.findReportRows(dateFrom, dateTo, hrId, openingId);
+        // Note: active filter not applied as Candidate model doesn't have active field
+        // You can use status field instead if needed
 
-        // Apply filters
-        if (dateFrom != null) {
-            candidates = candidates.stream()
-                    .filter(c -> c.getCreatedAt() != null && !c.getCreatedAt().isBefore(dateFrom))
-                    .collect(Collectors.toList());
+        Map<Long, Long> candidatesByHrMap = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            if (row[6] != null) {
+                candidatesByHrMap.merge((Long) row[6], 1L, Long::sum);
+            }
         }
-        if (dateTo != null) {
-            candidates = candidates.stream()
-                    .filter(c -> c.getCreatedAt() != null && !c.getCreatedAt().isAfter(dateTo))
-                    .collect(Collectors.toList());
-        }
-        // Note: active filter removed as Candidate model doesn't have active field
-        // You can use status field instead if needed
-        if (hrId != null) {
-            candidates = candidates.stream()
-                    .filter(c -> hrId.equals(c.getSourceHrId()))
-                    .collect(Collectors.toList());
+        Map<Long, String> hrNames = new HashMap<>();
+        userRepository.findAllById(candidatesByHrMap.keySet())
+                .forEach(hr -> hrNames.put(hr.getId(), hr.getFullName()));
+
+        // Build data items
+        List<CandidateReportResponse.CandidateReportItem> data = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            data.add(mapToCandidateReportItem(row, hrNames));
         }
 
         // Build summary
         // Note: Using status to determine "active" candidates (not REJECTED/NOT_INTERESTED)
-        long activeCandidates = candidates.stream()
-                .filter(c -> c.getStatus() != Candidate.CandidateStatus.NOT_INTERESTED)
-                .count();
-        long inactiveCandidates = candidates.stream()
-                .filter(c -> c.getStatus() == Candidate.CandidateStatus.NOT_INTERESTED)
+        long activeCandidates = data.stream()
+                .filter(CandidateReportResponse.CandidateReportItem::getActive)
                 .count();
         long totalApplications = candidateOpeningRepository.count();
 
         CandidateReportResponse.CandidateSummary summary = CandidateReportResponse.CandidateSummary.builder()
-                .totalCandidates((long) candidates.size())
+                .totalCandidates((long) data.size())
                 .activeCandidates(activeCandidates)
-                .inactiveCandidates(inactiveCandidates)
+                .inactiveCandidates(data.size() - activeCandidates)
                 .totalApplications(totalApplications)
                 .build();
 
-        // Build data items
-        List<CandidateReportResponse.CandidateReportItem> data = candidates.stream()
-                .map(this::mapToCandidateReportItem)
-                .collect(Collectors.toList());
-
         // Group by HR
-        Map<Long, Long> candidatesByHrMap = candidates.stream()
-                .filter(c -> c.getSourceHrId() != null)
-                .collect(Collectors.groupingBy(Candidate::getSourceHrId, Collectors.counting()));
-
         List<CandidateReportResponse.CandidatesByHr> candidatesByHr = candidatesByHrMap.entrySet().stream()
-                .map(entry -> {
-                    String hrName = userRepository.findById(entry.getKey())
-                            .map(User::getFullName)
-                            .orElse("Unknown");
-                    return CandidateReportResponse.CandidatesByHr.builder()
-                            .hrId(entry.getKey())
-                            .hrName(hrName)
-                            .candidateCount(entry.getValue())
-                            .build();
-                })
+                .map(entry -> CandidateReportResponse.CandidatesByHr.builder()
+                        .hrId(entry.getKey())
+                        .hrName(hrNames.getOrDefault(entry.getKey(), "Unknown"))
+                        .candidateCount(entry.getValue())
+                        .build())
                 .collect(Collectors.toList());
 
         // Group by opening (if filter applied)
         List<CandidateReportResponse.CandidatesByOpening> candidatesByOpening = List.of();
         if (openingId == null) {
-            // Get all openings and their application counts
-            candidatesByOpening = openingRepository.findAll().stream()
-                    .map(opening -> CandidateReportResponse.CandidatesByOpening.builder()
-                            .openingId(opening.getId())
-                            .openingTitle(opening.getTitle())
-                            .candidateCount(candidateOpeningRepository.countByOpeningId(opening.getId()))
+            // Openings with at least one application and their application counts
+            candidatesByOpening = candidateOpeningRepository.countApplicationsByOpening().stream()
+                    .map(row -> CandidateReportResponse.CandidatesByOpening.builder()
+                            .openingId((Long) row[0])
+                            .openingTitle((String) row[1])
+                            .candidateCount((Long) row[2])
                             .build())
-                    .filter(item -> item.getCandidateCount() > 0)
                     .collect(Collectors.toList());
         }
 
@@ -228,11 +219,29 @@ public class ReportsService {
                 .build();
     }
 
+    /**
+     * HR activity report with the first page of each HR's candidates and openings; the rest are
+     * fetched with {@link #getHrActivityCandidates} and {@link #getHrActivityOpenings}.
+     */
+    @Transactional(readOnly = true)
+    public HrActivityReportResponse getHrActivityReport(Long hrId, LocalDateTime dateFrom, LocalDateTime dateTo) {
+        return getHrActivityReport(hrId, dateFrom, dateTo, activityDetailPageSize);
+    }
+
+    /**
+     * Counts come from one grouped query per table, restricted to the HRs reported on, and the
+     * detail lists from one newest-first query per table, cut to detailLimit rows per HR with
+     * ROW_NUMBER(). The queries run one after another in a single read-only transaction, so every
+     * section reads the same snapshot and the report holds one pool connection.
+     *
+     * @param detailLimit candidates and openings listed per HR, null for all of them
+     */
     @Transactional(readOnly = true)
     public HrActivityReportResponse getHrActivityReport(
             Long hrId,
             LocalDateTime dateFrom,
-            LocalDateTime dateTo
+            LocalDateTime dateTo,
+            Integer detailLimit
     ) {
         log.info("Generating HR activity report - hrId: {}, dateFrom: {}, dateTo: {}", hrId, dateFrom, dateTo);
 
@@ -247,14 +256,48 @@ public class ReportsService {
             hrUsers = userRepository.findByRole(Role.HR);
         }
 
-        // Build activity items
-        List<HrActivityReportResponse.HrActivityItem> data = hrUsers.stream()
-                .map(hr -> mapToHrActivityItem(hr, dateFrom, dateTo))
-                .sorted((a, b) -> Long.compare(
-                        b.getCandidatesAdded() + b.getOpeningsCreated(),
-                        a.getCandidatesAdded() + a.getOpeningsCreated()
-                ))
-                .collect(Collectors.toList());
+        List<HrActivityReportResponse.HrActivityItem> data = new ArrayList<>(hrUsers.size());
+        if (!hrUsers.isEmpty()) {
+            List<Long> hrIds = hrUsers.stream().map(User::getId).collect(Collectors.toList());
+            // (count, latest createdAt) per HR
+            Map<Long, Object[]> candidatesByHr = groupById(candidateRepository.countActivityByHr(hrIds, dateFrom, dateTo));
+            Map<Long, Object[]> openingsByHr = groupById(openingRepository.countActivityByHr(hrIds, dateFrom, dateTo));
+            Map<Long, Object[]> applicationsByHr = groupById(candidateOpeningRepository.countApplicationsByOpeningCreator(hrIds));
+            Map<Long, List<HrActivityReportResponse.CandidateDetail>> candidatesOfHr =
+                    candidateDetailsByHr(hrIds, dateFrom, dateTo, detailLimit);
+            Map<Long, List<HrActivityReportResponse.OpeningDetail>> openingsOfHr =
+                    openingDetailsByHr(hrIds, dateFrom, dateTo, detailLimit);
+
+            for (User hr : hrUsers) {
+                Object[] candidates = candidatesByHr.get(hr.getId());
+                Object[] openings = openingsByHr.get(hr.getId());
+                Object[] applications = applicationsByHr.get(hr.getId());
+                LocalDateTime lastCandidateActivity = candidates != null ? (LocalDateTime) candidates[2] : null;
+                LocalDateTime lastOpeningActivity = openings != null ? (LocalDateTime) openings[2] : null;
+
+                LocalDateTime lastActivity = lastCandidateActivity;
+                if (lastOpeningActivity != null && (lastActivity == null || lastOpeningActivity.isAfter(lastActivity))) {
+                    lastActivity = lastOpeningActivity;
+                }
+
+                data.add(HrActivityReportResponse.HrActivityItem.builder()
+                        .hrId(hr.getId())
+                        .hrName(hr.getFullName())
+                        .email(hr.getEmail())
+                        .candidatesAdded(candidates != null ? (Long) candidates[1] : 0L)
+                        .openingsCreated(openings != null ? (Long) openings[1] : 0L)
+                        .totalApplicationsManaged(applications != null ? (Long) applications[1] : 0L)
+                        .active(hr.getActive())
+                        .lastActivity(lastActivity)
+                        .candidates(candidatesOfHr.getOrDefault(hr.getId(), List.of()))
+                        .openings(openingsOfHr.getOrDefault(hr.getId(), List.of()))
+                        .build());
+            }
+            data.sort((a, b) -> Long.compare(
+                    b.getCandidatesAdded() + b.getOpeningsCreated(),
+                    a.getCandidatesAdded() + a.getOpeningsCreated()
+            ));
+        }
 
         // Build summary
         long totalCandidates = data.stream()
@@ -279,25 +322,45 @@ public class ReportsService {
                 .build();
     }
 
-    private CandidateReportResponse.CandidateReportItem mapToCandidateReportItem(Candidate candidate) {
-        String hrName = candidate.getSourceHrId() != null
-                ? userRepository.findById(candidate.getSourceHrId()).map(User::getFullName).orElse("Unknown")
-                : "Unknown";
+    /**
+     * One page of the candidates an HR added in the period, newest first.
+     */
+    public List<HrActivityReportResponse.CandidateDetail> getHrActivityCandidates(
+            Long hrId, LocalDateTime dateFrom, LocalDateTime dateTo, int page, int size) {
+        return candidateRepository.findActivityRows(List.of(hrId), dateFrom, dateTo, PageRequest.of(page, size))
+                .stream()
+                .map(this::mapToCandidateDetail)
+                .collect(Collectors.toList());
+    }
 
-        long applicationCount = candidateOpeningRepository.countByCandidateId(candidate.getId());
+    /**
+     * One page of the openings an HR created in the period, newest first.
+     */
+    public List<HrActivityReportResponse.OpeningDetail> getHrActivityOpenings(
+            Long hrId, LocalDateTime dateFrom, LocalDateTime dateTo, int page, int size) {
+        return openingRepository.findActivityRows(List.of(hrId), dateFrom, dateTo, PageRequest.of(page, size))
+                .stream()
+                .map(this::mapToOpeningDetail)
+                .collect(Collectors.toList());
+    }
+
+    // Row of CandidateRepository.findReportRows
+    private CandidateReportResponse.CandidateReportItem mapToCandidateReportItem(Object[] row, Map<Long, String> hrNames) {
+        Candidate.CandidateStatus status = (Candidate.CandidateStatus) row[5];
+        Long hrId = (Long) row[6];
 
         return CandidateReportResponse.CandidateReportItem.builder()
-                .id(candidate.getId())
-                .firstName(candidate.getFirstName())
-                .lastName(candidate.getLastName())
-                .email(candidate.getEmail())
-                .phone(candidate.getPhone())
-                .status(candidate.getStatus() != null ? candidate.getStatus().toString() : "PENDING")
-                .active(candidate.getStatus() != Candidate.CandidateStatus.NOT_INTERESTED)
-                .hrName(hrName)
-                .hrId(candidate.getSourceHrId())
-                .applicationCount((int) applicationCount)
-                .createdAt(candidate.getCreatedAt())
+                .id((Long) row[0])
+                .firstName((String) row[1])
+                .lastName((String) row[2])
+                .email((String) row[3])
+                .phone((String) row[4])
+                .status(status != null ? status.toString() : "PENDING")
+                .active(status != Candidate.CandidateStatus.NOT_INTERESTED)
+                .hrName(hrId != null ? hrNames.getOrDefault(hrId, "Unknown") : "Unknown")
+                .hrId(hrId)
+                .applicationCount(((Long) row[8]).intValue())
+                .createdAt((LocalDateTime) row[7])
                 .build();
     }
 
@@ -322,107 +385,76 @@ public class ReportsService {
                 .build();
     }
 
-    private HrActivityReportResponse.HrActivityItem mapToHrActivityItem(
-            User hr, LocalDateTime dateFrom, LocalDateTime dateTo
-    ) {
-        // Get candidates created by this HR
-        List<Candidate> hrCandidates = candidateRepository.findAll().stream()
-                .filter(c -> hr.getId().equals(c.getSourceHrId()))
-                .filter(c -> dateFrom == null || c.getCreatedAt() == null || !c.getCreatedAt().isBefore(dateFrom))
-                .filter(c -> dateTo == null || c.getCreatedAt() == null || !c.getCreatedAt().isAfter(dateTo))
-                .collect(Collectors.toList());
-
-        // Get openings created by this HR
-        List<Opening> hrOpenings = openingRepository.findAll().stream()
-                .filter(o -> hr.getId().equals(o.getCreatedBy()))
-                .filter(o -> dateFrom == null || o.getCreatedAt() == null || !o.getCreatedAt().isBefore(dateFrom))
-                .filter(o -> dateTo == null || o.getCreatedAt() == null || !o.getCreatedAt().isAfter(dateTo))
-                .collect(Collectors.toList());
-
-        // Count total applications managed
-        long totalApplications = candidateOpeningRepository.findAll().stream()
-                .filter(app -> {
-                    Opening opening = app.getOpening();
-                    return opening != null && hr.getId().equals(opening.getCreatedBy());
-                })
-                .count();
-
-        // Find last activity
-        LocalDateTime lastCandidateActivity = hrCandidates.stream()
-                .map(Candidate::getCreatedAt)
-                .filter(date -> date != null)
-                .max(LocalDateTime::compareTo)
-                .orElse(null);
-
-        LocalDateTime lastOpeningActivity = hrOpenings.stream()
-                .map(Opening::getCreatedAt)
-                .filter(date -> date != null)
-                .max(LocalDateTime::compareTo)
-                .orElse(null);
-
-        LocalDateTime lastActivity = null;
-        if (lastCandidateActivity != null && lastOpeningActivity != null) {
-            lastActivity = lastCandidateActivity.isAfter(lastOpeningActivity) ? lastCandidateActivity : lastOpeningActivity;
-        } else if (lastCandidateActivity != null) {
-            lastActivity = lastCandidateActivity;
-        } else if (lastOpeningActivity != null) {
-            lastActivity = lastOpeningActivity;
+    // Every HR's rows, or the first limit of each, from one query
+    private Map<Long, List<HrActivityReportResponse.CandidateDetail>> candidateDetailsByHr(
+            List<Long> hrIds, LocalDateTime dateFrom, LocalDateTime dateTo, Integer limit) {
+        Map<Long, List<HrActivityReportResponse.CandidateDetail>> details = new HashMap<>();
+        if (limit != null && limit <= 0) {
+            return details;
         }
+        List<Object[]> rows = limit == null
+                ? candidateRepository.findActivityRows(hrIds, dateFrom, dateTo, Pageable.unpaged())
+                : candidateRepository.findFirstActivityRowsPerHr(hrIds, dateFrom, dateTo, limit);
+        for (Object[] row : rows) {
+            details.computeIfAbsent((Long) row[10], id -> new ArrayList<>()).add(mapToCandidateDetail(row));
+        }
+        return details;
+    }
 
-        // Map candidates to CandidateDetail
-        List<HrActivityReportResponse.CandidateDetail> candidateDetails = hrCandidates.stream()
-                .map(this::mapToCandidateDetail)
-                .collect(Collectors.toList());
-
-        // Map openings to OpeningDetail
-        List<HrActivityReportResponse.OpeningDetail> openingDetails = hrOpenings.stream()
-                .map(this::mapToOpeningDetail)
-                .collect(Collectors.toList());
+    private Map<Long, List<HrActivityReportResponse.OpeningDetail>> openingDetailsByHr(
+            List<Long> hrIds, LocalDateTime dateFrom, LocalDateTime dateTo, Integer limit) {
+        Map<Long, List<HrActivityReportResponse.OpeningDetail>> details = new HashMap<>();
+        if (limit != null && limit <= 0) {
+            return details;
+        }
+        List<Object[]> rows = limit == null
+                ? openingRepository.findActivityRows(hrIds, dateFrom, dateTo, Pageable.unpaged())
+                : openingRepository.findFirstActivityRowsPerHr(hrIds, dateFrom, dateTo, limit);
+        for (Object[] row : rows) {
+            details.computeIfAbsent((Long) row[7], id -> new ArrayList<>()).add(mapToOpeningDetail(row));
+        }
+        return details;
+    }
 
-        return HrActivityReportResponse.HrActivityItem.builder()
-                .hrId(hr.getId())
-                .hrName(hr.getFullName())
-                .email(hr.getEmail())
-                .candidatesAdded((long) hrCandidates.size())
-                .openingsCreated((long) hrOpenings.size())
-                .totalApplicationsManaged(totalApplications)
-                .active(hr.getActive())
-                .lastActivity(lastActivity)
-                .candidates(candidateDetails)
-                .openings(openingDetails)
-                .build();
+    // Grouped rows keyed by their first column
+    private static Map<Long, Object[]> groupById(List<Object[]> rows) {
+        Map<Long, Object[]> byId = new HashMap<>();
+        for (Object[] row : rows) {
+            byId.put((Long) row[0], row);
+        }
+        return byId;
     }
 
-    private HrActivityReportResponse.CandidateDetail mapToCandidateDetail(Candidate candidate) {
-        long applicationCount = candidateOpeningRepository.countByCandidateId(candidate.getId());
+    // Row of CandidateRepository.findActivityRows
+    private HrActivityReportResponse.CandidateDetail mapToCandidateDetail(Object[] row) {
+        Candidate.CandidateStatus status = (Candidate.CandidateStatus) row[5];
 
         return HrActivityReportResponse.CandidateDetail.builder()
-                .id(candidate.getId())
-                .firstName(candidate.getFirstName())
-                .lastName(candidate.getLastName())
-                .email(candidate.getEmail())
-                .phone(candidate.getPhone())
-                .status(candidate.getStatus() != null ? candidate.getStatus().toString() : "PENDING")
-                .company(candidate.getCompany())
-                .profile(candidate.getProfile())
-                .experience(candidate.getExperience())
-                .applicationCount((int) applicationCount)
-                .createdAt(candidate.getCreatedAt())
+                .id((Long) row[0])
+                .firstName((String) row[1])
+                .lastName((String) row[2])
+                .email((String) row[3])
+                .phone((String) row[4])
+                .status(status != null ? status.toString() : "PENDING")
+                .company((String) row[6])
+                .profile((String) row[7])
+                .experience((String) row[8])
+                .applicationCount(((Long) row[11]).intValue())
+                .createdAt((LocalDateTime) row[9])
                 .build();
     }
 
-    private HrActivityReportResponse.OpeningDetail mapToOpeningDetail(Opening opening) {
-        long applicationCount = candidateOpeningRepository.countByOpeningId(opening.getId());
-
+    // Row of OpeningRepository.findActivityRows
+    private HrActivityReportResponse.OpeningDetail mapToOpeningDetail(Object[] row) {
         return HrActivityReportResponse.OpeningDetail.builder()
-                .id(opening.getId())
-                .title(opening.getTitle())
-                .department(opening.getDepartment())
-                .location(opening.getLocation())
-                .positions(opening.getPositions())
-                .status(opening.getStatus())
-                .applicationCount((int) applicationCount)
-                .createdAt(opening.getCreatedAt())
+                .id((Long) row[0])
+                .title((String) row[1])
+                .department((String) row[2])
+                .location((String) row[3])
+                .positions((Integer) row[4])
+                .status((OpeningStatus) row[5])
+                .applicationCount(((Long) row[8]).intValue())
+                .createdAt((LocalDateTime) row[6])
                 .build();
     }
 }
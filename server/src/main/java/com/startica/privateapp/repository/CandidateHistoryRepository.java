@@ -4,6 +4,7 @@ import com.startica.privateapp.model.CandidateHistory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -12,7 +13,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface CandidateHistoryRepository extends JpaRepository<CandidateHistory, Long> {
+public interface CandidateHistoryRepository extends JpaRepository<CandidateHistory, Long>, JpaSpecificationExecutor<CandidateHistory> {
 
     List<CandidateHistory> findByCandidateIdOrderByTimestampDesc(Long candidateId);
 
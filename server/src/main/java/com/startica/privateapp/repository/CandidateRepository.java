@@ -1,21 +1,37 @@
 package com.startica.privateapp.repository;
 
+import com.startica.privateapp.candidate.dto.CandidateSummary;
 import com.startica.privateapp.model.Candidate;
 import com.startica.privateapp.model.Candidate.CandidateStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface CandidateRepository extends JpaRepository<Candidate, Long>, JpaSpecificationExecutor<Candidate> {
+public interface CandidateRepository extends JpaRepository<Candidate, Long>, JpaSpecificationExecutor<Candidate>,
+        CandidateSummaryRepository {
+
+    // List-page projection: everything except notes, employmentHistory, education and candidateOpenings
+    String SUMMARY_SELECT = "SELECT new com.startica.privateapp.candidate.dto.CandidateSummary(" +
+           "c.id, c.firstName, c.lastName, c.email, c.phone, c.location, c.company, c.profile, " +
+           "c.degree, c.passingYear, c.percentage, c.experience, c.currentPackage, c.expectedCTC, " +
+           "c.experienceMonths, c.currentCtcValue, c.expectedCtcValue, c.gap, c.skills, c.resumeUrl, " +
+           "c.status, c.sourceHrId, c.experienceLevel, c.noticePeriod, " +
+           "c.createdAt, c.updatedAt) FROM Candidate c ";
+
+    // Remarks for a page of list rows, which leave the TEXT columns out: (id, hrRemark, adminRemark)
+    @Query("SELECT c.id, c.hrRemark, c.adminRemark FROM Candidate c WHERE c.id IN :ids")
+    List<Object[]> findRemarksByIdIn(@Param("ids") Collection<Long> ids);
 
     Optional<Candidate> findByEmail(String email);
 
@@ -25,11 +41,33 @@ public interface CandidateRepository extends JpaRepository<Candidate, Long>, Jpa
 
     boolean existsByPhone(String phone);
 
+    boolean existsByEmailAndIdNot(String email, Long id);
+
+    boolean existsByPhoneAndIdNot(String phone, Long id);
+
+    // Duplicate checks on the normalized contact columns (idx_email_canonical / idx_phone_canonical)
+    boolean existsByEmailCanonical(String emailCanonical);
+
+    boolean existsByPhoneCanonical(String phoneCanonical);
+
+    boolean existsByEmailCanonicalAndIdNot(String emailCanonical, Long id);
+
+    boolean existsByPhoneCanonicalAndIdNot(String phoneCanonical, Long id);
+
     Page<Candidate> findByStatus(CandidateStatus status, Pageable pageable);
 
     Page<Candidate> findBySourceHrId(Long sourceHrId, Pageable pageable);
 
-    @Query("SELECT c FROM Candidate c WHERE " +
+    // Name / email / phone search for list pages, optionally by status and source HR
+    @Query(value = SUMMARY_SELECT + "WHERE " +
+           "(:search IS NULL OR :search = '' OR " +
+           "LOWER(c.firstName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+           "LOWER(c.lastName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+           "LOWER(c.email) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+           "LOWER(c.phone) LIKE LOWER(CONCAT('%', :search, '%'))) AND " +
+           "(:status IS NULL OR c.status = :status) AND " +
+           "(:sourceHrId IS NULL OR c.sourceHrId = :sourceHrId)",
+           countQuery = "SELECT COUNT(c) FROM Candidate c WHERE " +
            "(:search IS NULL OR :search = '' OR " +
            "LOWER(c.firstName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
            "LOWER(c.lastName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
@@ -37,10 +75,10 @@ public interface CandidateRepository extends JpaRepository<Candidate, Long>, Jpa
            "LOWER(c.phone) LIKE LOWER(CONCAT('%', :search, '%'))) AND " +
            "(:status IS NULL OR c.status = :status) AND " +
            "(:sourceHrId IS NULL OR c.sourceHrId = :sourceHrId)")
-    Page<Candidate> searchCandidates(@Param("search") String search,
-                                     @Param("status") CandidateStatus status,
-                                     @Param("sourceHrId") Long sourceHrId,
-                                     Pageable pageable);
+    Page<CandidateSummary> searchCandidateSummaries(@Param("search") String search,
+                                                    @Param("status") CandidateStatus status,
+                                                    @Param("sourceHrId") Long sourceHrId,
+                                                    Pageable pageable);
 
     @Query("SELECT COUNT(c) FROM Candidate c WHERE c.status = :status")
     Long countByStatus(@Param("status") CandidateStatus status);
@@ -80,13 +118,130 @@ List<Object[]> getMonthlyStatistics(@Param("startDate") LocalDateTime startDate)
     Long countBySourceHrIdAndCreatedAtAfter(Long sourceHrId, LocalDateTime createdAt);
 
     // Global search method
-    @Query("SELECT c FROM Candidate c WHERE " +
+    @Query(value = SUMMARY_SELECT + "WHERE " +
+           "LOWER(c.firstName) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+           "LOWER(c.lastName) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+           "LOWER(c.email) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+           "LOWER(c.phone) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+           "LOWER(c.skills) LIKE LOWER(CONCAT('%', :query, '%'))",
+           countQuery = "SELECT COUNT(c) FROM Candidate c WHERE " +
            "LOWER(c.firstName) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
            "LOWER(c.lastName) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
            "LOWER(c.email) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
            "LOWER(c.phone) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
            "LOWER(c.skills) LIKE LOWER(CONCAT('%', :query, '%'))")
-    List<Candidate> searchByText(@Param("query") String query, Pageable pageable);
+    Page<CandidateSummary> searchByText(@Param("query") String query, Pageable pageable);
+
+    // Global search scoped to one HR's candidates (served by idx_candidate_hr_created)
+    @Query(value = SUMMARY_SELECT + "WHERE c.sourceHrId = :sourceHrId AND (" +
+           "LOWER(c.firstName) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+           "LOWER(c.lastName) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+           "LOWER(c.email) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+           "LOWER(c.phone) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+           "LOWER(c.skills) LIKE LOWER(CONCAT('%', :query, '%')))",
+           countQuery = "SELECT COUNT(c) FROM Candidate c WHERE c.sourceHrId = :sourceHrId AND (" +
+           "LOWER(c.firstName) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+           "LOWER(c.lastName) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+           "LOWER(c.email) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+           "LOWER(c.phone) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+           "LOWER(c.skills) LIKE LOWER(CONCAT('%', :query, '%')))")
+    Page<CandidateSummary> searchByTextAndSourceHrId(@Param("query") String query,
+                                                     @Param("sourceHrId") Long sourceHrId,
+                                                     Pageable pageable);
+
+    // Keyset batches for loading the in-memory search index
+    List<Candidate> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+
+    // Backfill of the derived columns (numeric experience / CTC, canonical email / phone, phonetic name):
+    // the source values, then the stored derived values, of rows not yet computed with the given version
+    @Query("SELECT c.id, c.experience, c.currentPackage, c.expectedCTC, c.email, c.phone, c.firstName, c.lastName, " +
+           "c.experienceMonths, c.currentCtcValue, c.expectedCtcValue, c.emailCanonical, c.phoneCanonical, c.namePhonetic " +
+           "FROM Candidate c WHERE c.id > :lastId AND (c.derivedVersion IS NULL OR c.derivedVersion < :version) " +
+           "ORDER BY c.id")
+    List<Object[]> findRowsWithStaleDerivedValues(@Param("lastId") Long lastId, @Param("version") int version,
+                                                  Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Candidate c SET c.experienceMonths = :experienceMonths, " +
+           "c.currentCtcValue = :currentCtcValue, c.expectedCtcValue = :expectedCtcValue, " +
+           "c.emailCanonical = :emailCanonical, c.phoneCanonical = :phoneCanonical, " +
+           "c.namePhonetic = :namePhonetic, c.derivedVersion = :version WHERE c.id = :id")
+    int updateDerivedValues(@Param("id") Long id,
+                            @Param("experienceMonths") Integer experienceMonths,
+                            @Param("currentCtcValue") Double currentCtcValue,
+                            @Param("expectedCtcValue") Double expectedCtcValue,
+                            @Param("emailCanonical") String emailCanonical,
+                            @Param("phoneCanonical") String phoneCanonical,
+                            @Param("namePhonetic") String namePhonetic,
+                            @Param("version") int version);
+
+    // Rows whose derived values came out unchanged, including source values that don't parse
+    @Modifying
+    @Query("UPDATE Candidate c SET c.derivedVersion = :version WHERE c.id IN :ids")
+    int markDerivedValuesCurrent(@Param("ids") List<Long> ids, @Param("version") int version);
+
+    // Startup load of the name fuzzy index
+    @Query("SELECT c.id, c.firstName, c.lastName, c.sourceHrId FROM Candidate c WHERE c.id > :lastId ORDER BY c.id")
+    List<Object[]> findNameRows(@Param("lastId") Long lastId, Pageable pageable);
+
+    // Candidate report rows (id, firstName, lastName, email, phone, status, sourceHrId, createdAt,
+    // application count), filtered in SQL and counted with one grouped join
+    @Query("SELECT c.id, c.firstName, c.lastName, c.email, c.phone, c.status, c.sourceHrId, c.createdAt, COUNT(co.id) " +
+           "FROM Candidate c LEFT JOIN CandidateOpening co ON co.candidate = c " +
+           "WHERE (:dateFrom IS NULL OR c.createdAt >= :dateFrom) " +
+           "AND (:dateTo IS NULL OR c.createdAt <= :dateTo) " +
+           "AND (:hrId IS NULL OR c.sourceHrId = :hrId) " +
+           "AND (:openingId IS NULL OR EXISTS (SELECT 1 FROM CandidateOpening ao " +
+           "WHERE ao.candidate = c AND ao.opening.id = :openingId)) " +
+           "GROUP BY c.id, c.firstName, c.lastName, c.email, c.phone, c.status, c.sourceHrId, c.createdAt " +
+           "ORDER BY c.id")
+    List<Object[]> findReportRows(@Param("dateFrom") LocalDateTime dateFrom,
+                                  @Param("dateTo") LocalDateTime dateTo,
+                                  @Param("hrId") Long hrId,
+                                  @Param("openingId") Long openingId);
+
+    // HR activity report: (sourceHrId, candidates added, latest createdAt) per HR; candidates
+    // without a created date count for every period
+    @Query("SELECT c.sourceHrId, COUNT(c), MAX(c.createdAt) FROM Candidate c WHERE c.sourceHrId IN :hrIds " +
+           "AND (:dateFrom IS NULL OR c.createdAt IS NULL OR c.createdAt >= :dateFrom) " +
+           "AND (:dateTo IS NULL OR c.createdAt IS NULL OR c.createdAt <= :dateTo) " +
+           "GROUP BY c.sourceHrId")
+    List<Object[]> countActivityByHr(@Param("hrIds") Collection<Long> hrIds,
+                                     @Param("dateFrom") LocalDateTime dateFrom,
+                                     @Param("dateTo") LocalDateTime dateTo);
+
+    // HR activity report detail rows (id, firstName, lastName, email, phone, status, company, profile,
+    // experience, createdAt, sourceHrId, application count), newest first (idx_candidate_hr_created)
+    @Query("SELECT c.id, c.firstName, c.lastName, c.email, c.phone, c.status, c.company, c.profile, " +
+           "c.experience, c.createdAt, c.sourceHrId, " +
+           "(SELECT COUNT(co) FROM CandidateOpening co WHERE co.candidate = c) " +
+           "FROM Candidate c WHERE c.sourceHrId IN :hrIds " +
+           "AND (:dateFrom IS NULL OR c.createdAt IS NULL OR c.createdAt >= :dateFrom) " +
+           "AND (:dateTo IS NULL OR c.createdAt IS NULL OR c.createdAt <= :dateTo) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Object[]> findActivityRows(@Param("hrIds") Collection<Long> hrIds,
+                                    @Param("dateFrom") LocalDateTime dateFrom,
+                                    @Param("dateTo") LocalDateTime dateTo,
+                                    Pageable pageable);
+
+    // The first :limit rows of findActivityRows for each HR, grouped by HR, in one query
+    @Query("SELECT r.id, r.firstName, r.lastName, r.email, r.phone, r.status, r.company, r.profile, " +
+           "r.experience, r.createdAt, r.sourceHrId, r.applications FROM (" +
+           "SELECT c.id AS id, c.firstName AS firstName, c.lastName AS lastName, c.email AS email, " +
+           "c.phone AS phone, c.status AS status, c.company AS company, c.profile AS profile, " +
+           "c.experience AS experience, c.createdAt AS createdAt, c.sourceHrId AS sourceHrId, " +
+           "(SELECT COUNT(co) FROM CandidateOpening co WHERE co.candidate = c) AS applications, " +
+           "ROW_NUMBER() OVER (PARTITION BY c.sourceHrId ORDER BY c.createdAt DESC, c.id DESC) AS hrRow " +
+           "FROM Candidate c WHERE c.sourceHrId IN :hrIds " +
+           "AND (:dateFrom IS NULL OR c.createdAt IS NULL OR c.createdAt >= :dateFrom) " +
+           "AND (:dateTo IS NULL OR c.createdAt IS NULL OR c.createdAt <= :dateTo)" +
+           ") r WHERE r.hrRow <= :limit ORDER BY r.sourceHrId, r.hrRow")
+    List<Object[]> findFirstActivityRowsPerHr(@Param("hrIds") Collection<Long> hrIds,
+                                              @Param("dateFrom") LocalDateTime dateFrom,
+                                              @Param("dateTo") LocalDateTime dateTo,
+                                              @Param("limit") long limit);
+
     @Query(value = "SELECT " +
            "YEAR(c.createdAt) as year, " +
            "WEEK(c.createdAt) as week, " +
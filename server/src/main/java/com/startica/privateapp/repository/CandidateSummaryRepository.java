@@ -0,0 +1,23 @@
+package com.startica.privateapp.repository;
+
+import com.startica.privateapp.candidate.dto.CandidateSummary;
+import com.startica.privateapp.model.Candidate;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Specification queries that select CandidateSummary rows instead of full Candidate entities.
+ */
+public interface CandidateSummaryRepository {
+
+    Page<CandidateSummary> findSummaries(Specification<Candidate> spec, Pageable pageable);
+
+    List<CandidateSummary> findSummaries(Specification<Candidate> spec, Sort sort, int limit);
+
+    List<CandidateSummary> findSummariesByIdIn(Collection<Long> ids);
+}
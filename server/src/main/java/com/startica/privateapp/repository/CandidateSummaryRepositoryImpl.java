@@ -0,0 +1,96 @@
+package com.startica.privateapp.repository;
+
+import com.startica.privateapp.candidate.dto.CandidateSummary;
+import com.startica.privateapp.model.Candidate;
+import com.startica.privateapp.search.explain.SearchExplain;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.Collection;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class CandidateSummaryRepositoryImpl implements CandidateSummaryRepository {
+
+    // Constructor argument order of CandidateSummary
+    private static final String[] SELECTION = {
+            "id", "firstName", "lastName", "email", "phone", "location", "company", "profile",
+            "degree", "passingYear", "percentage", "experience", "currentPackage", "expectedCTC",
+            "experienceMonths", "currentCtcValue", "expectedCtcValue", "gap", "skills", "resumeUrl",
+            "status", "sourceHrId", "experienceLevel", "noticePeriod",
+            "createdAt", "updatedAt"
+    };
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Page<CandidateSummary> findSummaries(Specification<Candidate> spec, Pageable pageable) {
+        TypedQuery<CandidateSummary> query = entityManager.createQuery(summaryQuery(spec, pageable.getSort()));
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        SearchExplain explain = SearchExplain.current();
+        List<CandidateSummary> content = explain.time("sqlExecution", query::getResultList);
+        return PageableExecutionUtils.getPage(content, pageable, () -> explain.time("countQuery", () -> count(spec)));
+    }
+
+    @Override
+    public List<CandidateSummary> findSummaries(Specification<Candidate> spec, Sort sort, int limit) {
+        TypedQuery<CandidateSummary> query = entityManager.createQuery(summaryQuery(spec, sort))
+                .setMaxResults(limit);
+        return SearchExplain.current().time("sqlExecution", query::getResultList);
+    }
+
+    @Override
+    public List<CandidateSummary> findSummariesByIdIn(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Specification<Candidate> byIds = (root, query, cb) -> root.get("id").in(ids);
+        TypedQuery<CandidateSummary> query = entityManager.createQuery(summaryQuery(byIds, Sort.unsorted()));
+        return SearchExplain.current().time("sqlExecution", query::getResultList);
+    }
+
+    private CriteriaQuery<CandidateSummary> summaryQuery(Specification<Candidate> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<CandidateSummary> query = cb.createQuery(CandidateSummary.class);
+        Root<Candidate> root = query.from(Candidate.class);
+
+        Selection<?>[] columns = new Selection<?>[SELECTION.length];
+        for (int i = 0; i < SELECTION.length; i++) {
+            columns[i] = root.get(SELECTION[i]);
+        }
+        query.select(cb.construct(CandidateSummary.class, columns));
+
+        if (spec != null) {
+            query.where(spec.toPredicate(root, query, cb));
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+        return query;
+    }
+
+    private long count(Specification<Candidate> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Candidate> root = query.from(Candidate.class);
+        query.select(cb.count(root));
+        if (spec != null) {
+            query.where(spec.toPredicate(root, query, cb));
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -0,0 +1,196 @@
+package com.startica.privateapp.search.cache;
+
+import com.startica.privateapp.candidate.event.CandidateChangedEvent;
+import com.startica.privateapp.search.specification.CandidateQueryPlan;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LRU cache of advanced candidate search responses.
+ *
+ * Keys combine the canonical form of the compiled {@link CandidateQueryPlan} with sort, paging and
+ * HR scope, so the same search sent with a different filter order, list order or letter case hits
+ * the same entry. Memory is bounded by
+ * entry count and by the total number of cached result rows. A committed candidate write evicts
+ * the entries of the owning HR's scope and the admin (unscoped) entries; other HRs' entries stay.
+ * Hits, misses, evictions and size are published as cache.gets / cache.evictions / cache.size
+ * with tag cache=candidateSearch.
+ */
+@Component
+@RequiredArgsConstructor
+public class SearchResultCache {
+
+    private static final String CACHE_NAME = "candidateSearch";
+    private static final String ALL_SCOPE = "all";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${search.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${search.cache.max-entries:500}")
+    private int maxEntries;
+
+    @Value("${search.cache.max-rows:20000}")
+    private int maxRows;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<String, Set<String>> keysByScope = new HashMap<>();
+    private long cachedRows;
+
+    // Bumped on every write; a result computed across a write is not stored
+    private final AtomicLong writeGeneration = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    @PostConstruct
+    void registerMetrics() {
+        FunctionCounter.builder("cache.gets", hits, AtomicLong::get)
+                .tag("cache", CACHE_NAME).tag("result", "hit")
+                .description("Advanced search results served from the cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.gets", misses, AtomicLong::get)
+                .tag("cache", CACHE_NAME).tag("result", "miss")
+                .description("Advanced searches that had to run the query")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.evictions", evictions, AtomicLong::get)
+                .tag("cache", CACHE_NAME)
+                .description("Entries dropped for size or invalidated by candidate writes")
+                .register(meterRegistry);
+        Gauge.builder("cache.size", this, SearchResultCache::size)
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Canonical key: the plan's own canonical form plus scope, sort and paging.
+     *
+     * @param ownerId HR scope of the search, null for admins
+     */
+    public String key(Long ownerId, CandidateQueryPlan plan, String sortBy,
+                      int page, int limit, boolean includeFacets, Integer facetLimit) {
+        StringBuilder key = new StringBuilder(128);
+        key.append(scopeOf(ownerId)).append('|').append(plan.key());
+        key.append('|').append(sortBy).append('|').append(page).append('|').append(limit);
+        if (includeFacets) {
+            key.append("|facets:").append(facetLimit);
+        }
+        return key.toString();
+    }
+
+    public long currentGeneration() {
+        return writeGeneration.get();
+    }
+
+    public synchronized Map<String, Object> get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.response();
+    }
+
+    /**
+     * Stores the response unless a candidate write committed since generation was read.
+     */
+    public synchronized void put(String key, Long ownerId, Map<String, Object> response, int rows, long generation) {
+        if (generation != writeGeneration.get() || rows > maxRows) {
+            return;
+        }
+        String scope = scopeOf(ownerId);
+        Entry previous = entries.put(key, new Entry(scope, response, rows));
+        if (previous != null) {
+            cachedRows -= previous.rows();
+        }
+        keysByScope.computeIfAbsent(scope, s -> new HashSet<>()).add(key);
+        cachedRows += rows;
+
+        // Least recently used first
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || cachedRows > maxRows) && eldest.hasNext()) {
+            Map.Entry<String, Entry> victim = eldest.next();
+            eldest.remove();
+            forget(victim.getKey(), victim.getValue());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCandidateChanged(CandidateChangedEvent event) {
+        writeGeneration.incrementAndGet();
+        synchronized (this) {
+            if (event.affectsAll()) {
+                evictions.addAndGet(entries.size());
+                entries.clear();
+                keysByScope.clear();
+                cachedRows = 0;
+                return;
+            }
+            invalidateScope(ALL_SCOPE);
+            if (event.sourceHrId() != null) {
+                invalidateScope(scopeOf(event.sourceHrId()));
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // Caller must hold the monitor
+    private void invalidateScope(String scope) {
+        Set<String> keys = keysByScope.remove(scope);
+        if (keys == null) {
+            return;
+        }
+        for (String key : keys) {
+            Entry entry = entries.remove(key);
+            if (entry != null) {
+                cachedRows -= entry.rows();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    // Caller must hold the monitor
+    private void forget(String key, Entry entry) {
+        cachedRows -= entry.rows();
+        evictions.incrementAndGet();
+        Set<String> keys = keysByScope.get(entry.scope());
+        if (keys != null) {
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                keysByScope.remove(entry.scope());
+            }
+        }
+    }
+
+    private static String scopeOf(Long ownerId) {
+        return ownerId != null ? "hr:" + ownerId : ALL_SCOPE;
+    }
+
+    private record Entry(String scope, Map<String, Object> response, int rows) {
+    }
+}
@@ -2,8 +2,10 @@ package com.startica.privateapp.search.controller;
 
 import com.startica.privateapp.search.dto.CandidateSearchRequest;
 import com.startica.privateapp.search.dto.SearchResultPage;
-import com.startica.privateapp.model.Candidate;
+import com.startica.privateapp.candidate.dto.CandidateSummary;
 import com.startica.privateapp.model.User;
+import com.startica.privateapp.search.explain.SearchExplain;
+import com.startica.privateapp.search.explain.SearchExplainer;
 import com.startica.privateapp.search.service.CandidateSearchService;
 import com.startica.privateapp.auth.service.AuthService;
 import lombok.RequiredArgsConstructor;
@@ -18,11 +20,24 @@ public class CandidateSearchController {
 
     private final CandidateSearchService candidateSearchService;
     private final AuthService authService;
+    private final SearchExplainer searchExplainer;
 
+    // explain=true adds per-stage timings, the executed SQL and row counts to the page
     @PostMapping("/advanced-search")
-    public ResponseEntity<SearchResultPage<Candidate>> advancedSearch(@RequestBody CandidateSearchRequest request) {
+    public ResponseEntity<SearchResultPage<CandidateSummary>> advancedSearch(@RequestBody CandidateSearchRequest request,
+                                                                             @RequestParam(defaultValue = "false") boolean explain) {
         User currentUser = authService.getCurrentUser();
-        SearchResultPage<Candidate> results = candidateSearchService.advancedSearch(request, currentUser);
-        return ResponseEntity.ok(results);
+        if (!explain) {
+            return ResponseEntity.ok(candidateSearchService.advancedSearch(request, currentUser));
+        }
+        SearchExplain searchExplain = SearchExplain.begin();
+        try {
+            SearchResultPage<CandidateSummary> results =
+                    searchExplainer.run(searchExplain, () -> candidateSearchService.advancedSearch(request, currentUser));
+            results.setExplain(searchExplainer.report(searchExplain, results));
+            return ResponseEntity.ok(results);
+        } finally {
+            SearchExplain.end();
+        }
     }
 }
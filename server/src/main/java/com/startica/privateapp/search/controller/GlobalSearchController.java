@@ -2,16 +2,25 @@ package com.startica.privateapp.search.controller;
 
 import com.startica.privateapp.search.dto.GlobalSearchRequest;
 import com.startica.privateapp.search.dto.GlobalSearchResponse;
+import com.startica.privateapp.search.dto.Suggestion;
+import com.startica.privateapp.search.explain.SearchExplain;
+import com.startica.privateapp.search.explain.SearchExplainer;
+import com.startica.privateapp.search.index.SuggestionIndex;
 import com.startica.privateapp.search.service.GlobalSearchService;
 import com.startica.privateapp.model.User;
 import com.startica.privateapp.auth.service.AuthService;
+import com.startica.privateapp.common.exception.BusinessException;
+import com.startica.privateapp.model.Role;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
+import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
 
+@Slf4j
 @RestController
 @RequestMapping("/api/search")
 @RequiredArgsConstructor
@@ -20,6 +29,8 @@ public class GlobalSearchController {
 
     private final GlobalSearchService globalSearchService;
     private final AuthService authService;
+    private final SuggestionIndex suggestionIndex;
+    private final SearchExplainer searchExplainer;
 
     @PostMapping("/global")
     public ResponseEntity<GlobalSearchResponse> globalSearch(@Valid @RequestBody GlobalSearchRequest request) {
@@ -28,43 +39,72 @@ public class GlobalSearchController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Typeahead for the filter inputs: field is skills, locations, companies or names.
+     * Served from memory; HR users only get names of their own candidates.
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<Suggestion>> suggest(@RequestParam String field,
+                                                    @RequestParam String prefix,
+                                                    @RequestParam(defaultValue = "10") int limit) {
+        SuggestionIndex.Field suggestField = SuggestionIndex.Field.from(field);
+        if (suggestField == null) {
+            throw new BusinessException("Unknown suggestion field: " + field);
+        }
+        User currentUser = authService.getCurrentUser();
+        Long ownerId = currentUser.getRole() == Role.HR ? currentUser.getId() : null;
+        return ResponseEntity.ok(suggestionIndex.suggest(suggestField, prefix, ownerId, Math.min(limit, 50)));
+    }
+
+    /**
+     * With explain=true the response also carries an "explain" block: time per stage, the SQL
+     * that ran, and rows examined versus returned. Explain runs bypass the result cache.
+     * A "cursor" in the body switches to keyset paging: no total, a nextCursor for the next page.
+     */
     @PostMapping("/candidates")
-    public ResponseEntity<?> advancedCandidateSearch(@RequestBody Map<String, Object> searchRequest) {
+    public ResponseEntity<?> advancedCandidateSearch(@RequestBody Map<String, Object> searchRequest,
+                                                     @RequestParam(defaultValue = "false") boolean explain) {
+        SearchExplain searchExplain = explain ? SearchExplain.begin() : SearchExplain.disabled();
         try {
-            System.out.println("=== Advanced Search Request Received ===");
-            System.out.println("Request payload: " + searchRequest);
+            log.debug("Advanced search request: {}", searchRequest);
             
             User currentUser = authService.getCurrentUser();
-            System.out.println("Current user: " + (currentUser != null ? currentUser.getEmail() : "null"));
             
+            long parseStart = searchExplain.start();
             // Extract search parameters
             String query = (String) searchRequest.getOrDefault("query", "");
             Map<String, Object> filters = (Map<String, Object>) searchRequest.getOrDefault("filters", new HashMap<>());
             String sortBy = (String) searchRequest.getOrDefault("sortBy", "relevance");
             int page = (int) searchRequest.getOrDefault("page", 1);
             int limit = (int) searchRequest.getOrDefault("limit", 20);
-            
-            System.out.println("📥 Search Request:");
-            System.out.println("   Query: '" + query + "'");
-            System.out.println("   Filters: " + filters.keySet());
-            System.out.println("   Sort: " + sortBy);
-            System.out.println("   📄 Page: " + page + ", Limit: " + limit);
+            // Keyset paging when present: "" for the first page, then the previous nextCursor
+            String cursor = (String) searchRequest.get("cursor");
+            // Optional drill-sideways facet counts; facetLimit overrides search.facets.top-n
+            boolean includeFacets = Boolean.TRUE.equals(searchRequest.get("facets"));
+            Integer facetLimit = (Integer) searchRequest.get("facetLimit");
+            searchExplain.stop("parse", parseStart);
             
             // Call search service with advanced filters
-            Map<String, Object> response = globalSearchService.advancedCandidateSearch(
-                query, filters, sortBy, page, limit, currentUser
-            );
-            
-            System.out.println("Search completed. Results count: " + response.get("totalCount"));
-            System.out.println("=== End Advanced Search ===");
+            Map<String, Object> response = searchExplainer.run(searchExplain, () -> globalSearchService.advancedCandidateSearch(
+                query, filters, sortBy, page, limit, cursor, includeFacets, facetLimit, currentUser
+            ));
             
+            if (explain) {
+                response = new HashMap<>(response);
+                response.put("explain", searchExplainer.report(searchExplain, response));
+            }
             return ResponseEntity.ok(response);
+        } catch (BusinessException e) {
+            // Invalid filter values
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
-            System.err.println("=== Advanced Search Error ===");
-            System.err.println("Error: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Advanced search failed", e);
             return ResponseEntity.status(500)
                 .body(Map.of("error", "Search failed: " + e.getMessage()));
+        } finally {
+            if (explain) {
+                SearchExplain.end();
+            }
         }
     }
 }
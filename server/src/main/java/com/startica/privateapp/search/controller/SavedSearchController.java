@@ -0,0 +1,78 @@
+package com.startica.privateapp.search.controller;
+
+import com.startica.privateapp.auth.service.AuthService;
+import com.startica.privateapp.candidate.dto.CandidateSummary;
+import com.startica.privateapp.common.response.ApiResponse;
+import com.startica.privateapp.model.User;
+import com.startica.privateapp.search.dto.SavedSearchRequest;
+import com.startica.privateapp.search.dto.SavedSearchResponse;
+import com.startica.privateapp.search.service.SavedSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/saved-searches")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+public class SavedSearchController {
+
+    private final SavedSearchService savedSearchService;
+    private final AuthService authService;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<SavedSearchResponse>>> getSavedSearches() {
+        User currentUser = authService.getCurrentUser();
+        return ResponseEntity.ok(ApiResponse.success(savedSearchService.getSavedSearches(currentUser)));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<SavedSearchResponse>> getSavedSearch(@PathVariable Long id) {
+        User currentUser = authService.getCurrentUser();
+        return ResponseEntity.ok(ApiResponse.success(savedSearchService.getSavedSearch(id, currentUser)));
+    }
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<SavedSearchResponse>> createSavedSearch(@RequestBody SavedSearchRequest request) {
+        User currentUser = authService.getCurrentUser();
+        SavedSearchResponse response = savedSearchService.createSavedSearch(request, currentUser);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Saved search created successfully", response));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<ApiResponse<SavedSearchResponse>> updateSavedSearch(@PathVariable Long id,
+                                                                             @RequestBody SavedSearchRequest request) {
+        User currentUser = authService.getCurrentUser();
+        SavedSearchResponse response = savedSearchService.updateSavedSearch(id, request, currentUser);
+        return ResponseEntity.ok(ApiResponse.success("Saved search updated successfully", response));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ApiResponse<Void>> deleteSavedSearch(@PathVariable Long id) {
+        User currentUser = authService.getCurrentUser();
+        savedSearchService.deleteSavedSearch(id, currentUser);
+        return ResponseEntity.ok(ApiResponse.success("Saved search deleted successfully", null));
+    }
+
+    // Same payload as the matching search endpoint (advanced candidate, opening or global search)
+    @PostMapping("/{id}/run")
+    public ResponseEntity<?> runSavedSearch(@PathVariable Long id,
+                                            @RequestParam(defaultValue = "1") int page,
+                                            @RequestParam(defaultValue = "20") int limit) {
+        User currentUser = authService.getCurrentUser();
+        return ResponseEntity.ok(savedSearchService.runSavedSearch(id, page, limit, currentUser));
+    }
+
+    // Candidates that started matching since the search was last run
+    @GetMapping("/{id}/new-matches")
+    public ResponseEntity<ApiResponse<List<CandidateSummary>>> getNewMatches(@PathVariable Long id) {
+        User currentUser = authService.getCurrentUser();
+        return ResponseEntity.ok(ApiResponse.success(savedSearchService.getNewMatches(id, currentUser)));
+    }
+}
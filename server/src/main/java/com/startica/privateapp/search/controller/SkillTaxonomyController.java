@@ -0,0 +1,41 @@
+package com.startica.privateapp.search.controller;
+
+import com.startica.privateapp.common.response.ApiResponse;
+import com.startica.privateapp.search.index.SkillTaxonomy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/skill-synonyms")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class SkillTaxonomyController {
+
+    private final SkillTaxonomy skillTaxonomy;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getSynonyms() {
+        return ResponseEntity.ok(ApiResponse.success(Map.of(
+                "location", skillTaxonomy.getLocation(),
+                "entries", skillTaxonomy.current().size())));
+    }
+
+    /**
+     * Spellings a skill filter term is matched under, to check the dictionary.
+     */
+    @GetMapping("/expand")
+    public ResponseEntity<ApiResponse<List<String>>> expand(@RequestParam String skill) {
+        return ResponseEntity.ok(ApiResponse.success(skillTaxonomy.current().expand(skill)));
+    }
+
+    @PostMapping("/reload")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> reload() {
+        int entries = skillTaxonomy.reload();
+        return ResponseEntity.ok(ApiResponse.success("Skill synonyms reloaded", Map.of("entries", entries)));
+    }
+}
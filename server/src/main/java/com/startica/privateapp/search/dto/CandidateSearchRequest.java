@@ -53,4 +53,7 @@ public class CandidateSearchRequest {
     private int size = 20;
     private String sortBy = "createdAt"; // createdAt, name, experience, currentPackage
     private String sortDirection = "DESC"; // ASC, DESC
+
+    // Keyset mode: null uses page/size, "" starts at the first page, otherwise the previous nextCursor
+    private String cursor;
 }
@@ -0,0 +1,14 @@
+package com.startica.privateapp.search.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * One value of a search facet and the number of candidates that have it.
+ */
+@Data
+@AllArgsConstructor
+public class FacetBucket {
+    private String value;
+    private long count;
+}
@@ -3,6 +3,7 @@ package com.startica.privateapp.search.dto;
 import lombok.Data;
 import lombok.Builder;
 import java.util.List;
+import java.util.Map;
 
 @Data
 @Builder
@@ -16,6 +17,21 @@ public class GlobalSearchResponse {
     private long totalHRUsers;
     private long searchTimeMs;
 
+    // Per-section timings keyed by "candidates", "jobOpenings", "hrUsers"
+    private Map<String, SectionStats> sections;
+    // True when at least one section missed its deadline or ran out of time in a query, so rows may be missing
+    private boolean partial;
+
+    @Data
+    @Builder
+    public static class SectionStats {
+        private long timeMs;
+        // Missed the deadline and returned no results
+        private boolean timedOut;
+        // A query hit its timeout; the rows found before it are returned
+        private boolean partial;
+    }
+
     @Data
     @Builder
     public static class CandidateSearchResult {
@@ -27,6 +43,10 @@ public class GlobalSearchResponse {
         private String currentPackage;
         private String status;
         private String highlightedText;
+        // True for results added by the fuzzy/phonetic name fallback rather than an exact match
+        private boolean fuzzy;
+        // Highlighted value of every field that matched a query term, keyed by field name
+        private Map<String, String> highlights;
     }
 
     @Data
@@ -40,6 +60,7 @@ public class GlobalSearchResponse {
         private String maxSalary;
         private String status;
         private String highlightedText;
+        private Map<String, String> highlights;
     }
 
     @Data
@@ -51,5 +72,6 @@ public class GlobalSearchResponse {
         private String role;
         private String phone;
         private String highlightedText;
+        private Map<String, String> highlights;
     }
 }
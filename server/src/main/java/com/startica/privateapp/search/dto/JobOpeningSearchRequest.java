@@ -43,4 +43,7 @@ public class JobOpeningSearchRequest {
     private int size = 20;
     private String sortBy = "createdAt"; // createdAt, title, department, maxSalary
     private String sortDirection = "DESC"; // ASC, DESC
+
+    // Keyset mode: null uses page/size, "" starts at the first page, otherwise the previous nextCursor
+    private String cursor;
 }
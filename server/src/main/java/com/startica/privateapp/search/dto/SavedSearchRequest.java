@@ -1,11 +1,15 @@
 package com.startica.privateapp.search.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.Builder;
+import lombok.NoArgsConstructor;
 import java.util.Map;
 
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class SavedSearchRequest {
     // Basic info
     private String name;
@@ -23,4 +23,5 @@ public class SavedSearchResponse {
     private LocalDateTime createdAt;
     private LocalDateTime lastUsedAt;
     private Integer useCount;
+    private Long newMatchCount; // Candidates matched since the search was last run
 }
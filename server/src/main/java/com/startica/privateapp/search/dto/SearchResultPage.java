@@ -3,6 +3,7 @@ package com.startica.privateapp.search.dto;
 import lombok.Data;
 import lombok.Builder;
 import java.util.List;
+import java.util.Map;
 
 @Data
 @Builder
@@ -19,6 +20,12 @@ public class SearchResultPage<T> {
     // Search metadata
     private String query;
     private long searchTimeMs;
+
+    // Cursor mode only: pass back as cursor to fetch the next page, null on the last page
+    private String nextCursor;
+
+    // Only with explain=true: stage timings, executed SQL and row counts
+    private Map<String, Object> explain;
     
     public static <T> SearchResultPage<T> of(List<T> content, int page, int size, long totalElements, String query, long searchTimeMs) {
         return SearchResultPage.<T>builder()
@@ -34,4 +41,24 @@ public class SearchResultPage<T> {
                 .searchTimeMs(searchTimeMs)
                 .build();
     }
+
+    /**
+     * Cursor mode result: no count query is run, so totalElements and totalPages are -1.
+     */
+    public static <T> SearchResultPage<T> ofCursor(List<T> content, int size, boolean first, String nextCursor,
+                                                   String query, long searchTimeMs) {
+        return SearchResultPage.<T>builder()
+                .content(content)
+                .page(0)
+                .size(size)
+                .totalElements(-1)
+                .totalPages(-1)
+                .first(first)
+                .last(nextCursor == null)
+                .empty(content.isEmpty())
+                .query(query)
+                .searchTimeMs(searchTimeMs)
+                .nextCursor(nextCursor)
+                .build();
+    }
 }
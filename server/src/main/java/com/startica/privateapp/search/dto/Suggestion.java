@@ -0,0 +1,14 @@
+package com.startica.privateapp.search.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Typeahead completion and the number of candidates/openings carrying that value.
+ */
+@Data
+@AllArgsConstructor
+public class Suggestion {
+    private String value;
+    private long count;
+}
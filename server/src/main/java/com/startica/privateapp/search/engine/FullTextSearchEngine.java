@@ -0,0 +1,153 @@
+package com.startica.privateapp.search.engine;
+
+import com.startica.privateapp.search.index.TextAnalyzer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Search on MySQL FULLTEXT indexes with MATCH ... AGAINST in boolean mode. Every query term
+ * becomes a required prefix ({@code +term*}) and hits are ordered by MySQL's relevance.
+ *
+ * The two FULLTEXT indexes are not something ddl-auto can declare, so they are created after
+ * startup when missing; until then {@link #isReady()} is false. InnoDB does not index tokens
+ * shorter than innodb_ft_min_token_size (3 by default) and splits on punctuation, so such terms
+ * are dropped from the query and "C++" or a formatted phone number match less than they do in
+ * the in-memory engine.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "search.engine", havingValue = "fulltext")
+@RequiredArgsConstructor
+public class FullTextSearchEngine implements SearchEngine {
+
+    private static final String CANDIDATE_INDEX = "ft_candidate_text";
+    private static final String CANDIDATE_COLUMNS = "first_name, last_name, email, phone, skills, profile, company";
+    private static final String OPENING_INDEX = "ft_opening_text";
+    private static final String OPENING_COLUMNS = "title, department, location, skills, description";
+
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${search.index.max-matches:10000}")
+    private int maxMatches;
+
+    // Must match the server's innodb_ft_min_token_size
+    @Value("${search.fulltext.min-token-size:3}")
+    private int minTokenSize;
+
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexesOnStartup() {
+        Thread worker = new Thread(this::ensureIndexes, "fulltext-index-setup");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public void ensureIndexes() {
+        try {
+            ensureIndex("candidates", CANDIDATE_INDEX, CANDIDATE_COLUMNS);
+            ensureIndex("openings", OPENING_INDEX, OPENING_COLUMNS);
+            ready = true;
+            log.info("FULLTEXT search engine ready");
+        } catch (Exception e) {
+            log.error("Failed to set up FULLTEXT indexes, text search will use SQL LIKE queries", e);
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public int getMaxMatches() {
+        return maxMatches;
+    }
+
+    @Override
+    public SearchHits searchCandidates(String query, Long ownerId, int limit) {
+        return search("candidates", CANDIDATE_COLUMNS, "source_hr_id", query, ownerId, limit);
+    }
+
+    @Override
+    public SearchHits searchOpenings(String query, Long createdBy, int limit) {
+        return search("openings", OPENING_COLUMNS, "created_by", query, createdBy, limit);
+    }
+
+    private SearchHits search(String table, String columns, String ownerColumn, String query, Long ownerId, int limit) {
+        String against = booleanQuery(query);
+        if (against == null || limit <= 0) {
+            return SearchHits.EMPTY;
+        }
+
+        String match = "MATCH(" + columns + ") AGAINST (:query IN BOOLEAN MODE)";
+        String from = " FROM " + table + " WHERE " + match + (ownerId != null ? " AND " + ownerColumn + " = :owner" : "");
+        Query select = entityManager.createNativeQuery("SELECT id, " + match + " AS score" + from + " ORDER BY score DESC, id DESC")
+                .setParameter("query", against)
+                .setMaxResults(limit);
+        Query count = entityManager.createNativeQuery("SELECT COUNT(*)" + from)
+                .setParameter("query", against);
+        if (ownerId != null) {
+            select.setParameter("owner", ownerId);
+            count.setParameter("owner", ownerId);
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = select.getResultList();
+        List<Long> ids = new ArrayList<>(rows.size());
+        float[] scores = new float[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            ids.add(((Number) rows.get(i)[0]).longValue());
+            scores[i] = ((Number) rows.get(i)[1]).floatValue();
+        }
+        int total = rows.size() < limit ? rows.size() : ((Number) count.getSingleResult()).intValue();
+        return new SearchHits(ids, scores, total);
+    }
+
+    // "+java* +pune*", or null when no term is long enough to be in the index
+    private String booleanQuery(String query) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String token : TextAnalyzer.tokenize(query)) {
+            // Boolean-mode operators and the characters InnoDB splits on both end up as separators
+            for (String part : token.split("[^\\p{L}\\p{N}]+")) {
+                if (part.length() >= minTokenSize) {
+                    terms.add(part);
+                }
+            }
+        }
+        if (terms.isEmpty()) {
+            return null;
+        }
+        StringBuilder against = new StringBuilder();
+        for (String term : terms) {
+            against.append(against.isEmpty() ? "" : " ").append('+').append(term).append('*');
+        }
+        return against.toString();
+    }
+
+    private void ensureIndex(String table, String index, String columns) {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.statistics " +
+                "WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ?",
+                Integer.class, table, index);
+        if (existing == null || existing == 0) {
+            long startTime = System.currentTimeMillis();
+            jdbcTemplate.execute("ALTER TABLE " + table + " ADD FULLTEXT INDEX " + index + " (" + columns + ")");
+            log.info("Created FULLTEXT index {} on {} in {}ms", index, table, System.currentTimeMillis() - startTime);
+        }
+    }
+}
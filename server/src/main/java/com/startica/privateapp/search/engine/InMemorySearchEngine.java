@@ -0,0 +1,71 @@
+package com.startica.privateapp.search.engine;
+
+import com.startica.privateapp.model.Candidate;
+import com.startica.privateapp.opening.model.Opening;
+import com.startica.privateapp.search.index.CandidateSearchIndex;
+import com.startica.privateapp.search.index.OpeningSearchIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Search served from the in-process indexes: BM25-ranked candidates from {@link CandidateSearchIndex}
+ * and a scan over {@link OpeningSearchIndex}. Nothing to set up in the database, but the candidate
+ * index costs memory in proportion to the candidate table and is rebuilt on every start.
+ */
+@Component
+@ConditionalOnProperty(name = "search.engine", havingValue = "memory", matchIfMissing = true)
+@RequiredArgsConstructor
+public class InMemorySearchEngine implements SearchEngine {
+
+    private final CandidateSearchIndex candidateSearchIndex;
+    private final OpeningSearchIndex openingSearchIndex;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        openingSearchIndex.rebuild();
+        candidateSearchIndex.buildOnStartup();
+    }
+
+    @Override
+    public boolean isReady() {
+        return candidateSearchIndex.isReady() && openingSearchIndex.isReady();
+    }
+
+    @Override
+    public int getMaxMatches() {
+        return candidateSearchIndex.getMaxMatches();
+    }
+
+    @Override
+    public SearchHits searchCandidates(String query, Long ownerId, int limit) {
+        return candidateSearchIndex.search(query, ownerId, limit);
+    }
+
+    @Override
+    public SearchHits searchOpenings(String query, Long createdBy, int limit) {
+        return openingSearchIndex.search(query, createdBy, limit);
+    }
+
+    @Override
+    public void indexCandidate(Candidate candidate) {
+        candidateSearchIndex.index(candidate);
+    }
+
+    @Override
+    public void removeCandidate(Long candidateId) {
+        candidateSearchIndex.remove(candidateId);
+    }
+
+    @Override
+    public void indexOpening(Opening opening) {
+        openingSearchIndex.index(opening);
+    }
+
+    @Override
+    public void removeOpening(Long openingId) {
+        openingSearchIndex.remove(openingId);
+    }
+}
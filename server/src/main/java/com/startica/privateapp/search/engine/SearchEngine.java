@@ -0,0 +1,47 @@
+package com.startica.privateapp.search.engine;
+
+import com.startica.privateapp.model.Candidate;
+import com.startica.privateapp.opening.model.Opening;
+
+/**
+ * Free-text search over candidates and openings.
+ *
+ * The backend is picked with search.engine: "memory" (default, {@link InMemorySearchEngine})
+ * keeps inverted indexes in the JVM and suits small and mid-size deployments; "fulltext"
+ * ({@link FullTextSearchEngine}) uses MySQL FULLTEXT indexes and keeps nothing in memory.
+ * Both treat every query term as a required prefix and return hits best first.
+ * While {@link #isReady()} is false callers fall back to the SQL LIKE queries.
+ */
+public interface SearchEngine {
+
+    boolean isReady();
+
+    /**
+     * Upper bound on the hits a caller should ask for when it needs the whole match set.
+     */
+    int getMaxMatches();
+
+    /**
+     * @param ownerId when not null only candidates with this source HR are returned
+     */
+    SearchHits searchCandidates(String query, Long ownerId, int limit);
+
+    /**
+     * @param createdBy when not null only openings created by this user are returned
+     */
+    SearchHits searchOpenings(String query, Long createdBy, int limit);
+
+    // Write hooks, called once candidate and opening writes have committed; no-ops for engines the database keeps current
+
+    default void indexCandidate(Candidate candidate) {
+    }
+
+    default void removeCandidate(Long candidateId) {
+    }
+
+    default void indexOpening(Opening opening) {
+    }
+
+    default void removeOpening(Long openingId) {
+    }
+}
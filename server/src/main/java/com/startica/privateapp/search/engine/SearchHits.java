@@ -0,0 +1,17 @@
+package com.startica.privateapp.search.engine;
+
+import java.util.List;
+
+/**
+ * Ranked result of a text query: ids best first, their scores, and the total number of matches.
+ * truncated is set when the engine left some matches out, e.g. a prefix with more completions
+ * than it expands; ids and totalHits then cover only part of the match set, and callers that need
+ * all of it apply the terms in SQL instead.
+ */
+public record SearchHits(List<Long> ids, float[] scores, int totalHits, boolean truncated) {
+    public static final SearchHits EMPTY = new SearchHits(List.of(), new float[0], 0);
+
+    public SearchHits(List<Long> ids, float[] scores, int totalHits) {
+        this(ids, scores, totalHits, false);
+    }
+}
@@ -0,0 +1,122 @@
+package com.startica.privateapp.search.explain;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Profile of one search request made with explain=true: time per stage, the SQL Hibernate
+ * generated and row counts along the way.
+ *
+ * The profile is bound to the request thread between {@link #begin()} and {@link #end()}, so the
+ * repository and service code record into it through {@link #current()} without an extra
+ * parameter. Outside an explain request {@link #current()} returns a disabled instance whose
+ * methods do nothing, which keeps the hooks free on the normal path.
+ */
+public class SearchExplain {
+
+    private static final ThreadLocal<SearchExplain> CURRENT = new ThreadLocal<>();
+    private static final SearchExplain DISABLED = new SearchExplain(false);
+
+    // Statements kept per request; a search runs a handful, this only guards against runaway loops
+    private static final int MAX_STATEMENTS = 50;
+
+    private final boolean enabled;
+    private final long startNanos = System.nanoTime();
+    private final Map<String, Long> stageNanos = new LinkedHashMap<>();
+    private final List<String> statements = new ArrayList<>();
+    private final Map<String, Long> rows = new LinkedHashMap<>();
+    private final Map<String, Object> details = new LinkedHashMap<>();
+
+    private SearchExplain(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Starts profiling the current thread's request.
+     */
+    public static SearchExplain begin() {
+        SearchExplain explain = new SearchExplain(true);
+        CURRENT.set(explain);
+        return explain;
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public static SearchExplain current() {
+        SearchExplain explain = CURRENT.get();
+        return explain != null ? explain : DISABLED;
+    }
+
+    public static SearchExplain disabled() {
+        return DISABLED;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Adds the time since {@code startNanos} to a stage; a stage entered several times accumulates.
+     */
+    public void stop(String stage, long startNanos) {
+        if (enabled) {
+            stageNanos.merge(stage, System.nanoTime() - startNanos, Long::sum);
+        }
+    }
+
+    public <T> T time(String stage, Supplier<T> body) {
+        if (!enabled) {
+            return body.get();
+        }
+        long start = System.nanoTime();
+        try {
+            return body.get();
+        } finally {
+            stop(stage, start);
+        }
+    }
+
+    public void sql(String statement) {
+        if (enabled && statements.size() < MAX_STATEMENTS) {
+            statements.add(statement);
+        }
+    }
+
+    public void rows(String name, long count) {
+        if (enabled) {
+            rows.put(name, count);
+        }
+    }
+
+    public void detail(String name, Object value) {
+        if (enabled) {
+            details.put(name, value);
+        }
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> stages = new LinkedHashMap<>();
+        stageNanos.forEach((stage, nanos) -> stages.put(stage, millis(nanos)));
+
+        Map<String, Object> explain = new LinkedHashMap<>();
+        explain.put("totalMs", millis(System.nanoTime() - startNanos));
+        explain.put("stagesMs", stages);
+        explain.put("rows", rows);
+        explain.put("sql", statements);
+        explain.put("details", details);
+        return explain;
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+}
@@ -0,0 +1,79 @@
+package com.startica.privateapp.search.explain;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Runs a search under an explain profile and completes the profile afterwards.
+ *
+ * Rows examined come from MySQL's session Handler_read_* counters, read before and after the
+ * search. The search runs in one read-only transaction so every statement uses the connection
+ * the counters are read from. The counters include the handful of reads of the status query
+ * itself, so small numbers are approximate.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SearchExplainer {
+
+    private static final String HANDLER_READS = "SHOW SESSION STATUS LIKE 'Handler_read%'";
+
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public <T> T run(SearchExplain explain, Supplier<T> search) {
+        if (!explain.isEnabled()) {
+            return search.get();
+        }
+        TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+        return readOnly.execute(status -> {
+            Long before = handlerReads();
+            T result = search.get();
+            Long after = handlerReads();
+            if (before != null && after != null) {
+                explain.rows("examined", after - before);
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Times serializing the payload and returns the finished profile for the response.
+     */
+    public Map<String, Object> report(SearchExplain explain, Object payload) {
+        long start = explain.start();
+        try {
+            objectMapper.writeValueAsBytes(payload);
+        } catch (JsonProcessingException e) {
+            log.debug("Could not serialize search response for explain", e);
+        }
+        explain.stop("serialization", start);
+        return explain.toMap();
+    }
+
+    // Sum of the session's Handler_read_* counters, null when the database does not provide them
+    private Long handlerReads() {
+        try {
+            return jdbcTemplate.query(HANDLER_READS, rs -> {
+                long reads = 0;
+                while (rs.next()) {
+                    reads += rs.getLong(2);
+                }
+                return reads;
+            });
+        } catch (Exception e) {
+            log.debug("Handler_read counters unavailable", e);
+            return null;
+        }
+    }
+}
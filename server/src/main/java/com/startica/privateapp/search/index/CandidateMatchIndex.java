@@ -0,0 +1,637 @@
+package com.startica.privateapp.search.index;
+
+import com.startica.privateapp.model.Candidate;
+import com.startica.privateapp.opening.model.Opening;
+import com.startica.privateapp.repository.CandidateRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Column-oriented copy of the candidate attributes used to match candidates to an opening:
+ * skills and location as interned term ids, experience in months and expected CTC.
+ *
+ * Scoring an opening is a linear scan, so the ordinals are split into partitions that are
+ * scored in parallel, each keeping its own bounded top-K heap; the partition heaps are merged
+ * at the end. The index is built in the background when the application is ready and kept up
+ * to date by the candidate write paths, like {@link CandidateSearchIndex}; a rebuild fills a
+ * fresh copy and swaps it in, so matching never sees a partly built index.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CandidateMatchIndex {
+
+    private static final long NO_OWNER = Long.MIN_VALUE;
+    private static final int[] NO_TERMS = new int[0];
+
+    private final CandidateRepository candidateRepository;
+    private final SkillTaxonomy skillTaxonomy;
+
+    @Value("${matching.enabled:true}")
+    private boolean enabled;
+
+    @Value("${matching.build-batch-size:2000}")
+    private int buildBatchSize;
+
+    // Smallest partition worth handing to another thread
+    @Value("${matching.min-partition-size:20000}")
+    private int minPartitionSize;
+
+    @Value("${matching.weights.skills:0.5}")
+    private float skillsWeight;
+
+    @Value("${matching.weights.experience:0.2}")
+    private float experienceWeight;
+
+    @Value("${matching.weights.salary:0.2}")
+    private float salaryWeight;
+
+    @Value("${matching.weights.location:0.1}")
+    private float locationWeight;
+
+    private final ExecutorService scoringExecutor = Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(),
+            Thread.ofPlatform().name("candidate-match-", 0).daemon().factory());
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // The columns being served, and while a rebuild runs the ones it is filling
+    private Columns columns = new Columns();
+    private Columns building;
+
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuildInBackground();
+    }
+
+    // Interned skills are canonical names, which a new dictionary can change
+    @EventListener(SkillTaxonomy.ReloadedEvent.class)
+    public void rebuildOnSynonymReload() {
+        rebuildInBackground();
+    }
+
+    /**
+     * Starts {@link #rebuild()} on its own thread.
+     */
+    public void rebuildInBackground() {
+        if (!enabled) {
+            return;
+        }
+        Thread builder = new Thread(this::rebuild, "candidate-match-build");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    /**
+     * Reloads every candidate from the database in id order, one batch at a time, into new
+     * columns that replace the served ones once complete. Matching keeps using the previous
+     * columns meanwhile, and writes that arrive during the build go to both. Concurrent
+     * rebuilds run one after the other.
+     */
+    public synchronized void rebuild() {
+        long startTime = System.currentTimeMillis();
+        Columns next = new Columns();
+        next.removedIds = new HashSet<>();
+        lock.writeLock().lock();
+        try {
+            building = next;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long lastId = 0L;
+        int indexed = 0;
+        try {
+            while (true) {
+                List<Candidate> batch = candidateRepository.findByIdGreaterThanOrderByIdAsc(
+                        lastId, PageRequest.of(0, buildBatchSize));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                lock.writeLock().lock();
+                try {
+                    for (Candidate candidate : batch) {
+                        // Skips candidates a write removed, or replaced with a newer copy, since the batch was read
+                        if (!next.removedIds.contains(candidate.getId())) {
+                            next.index(candidate, version(candidate), skillTaxonomy.current());
+                        }
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                indexed += batch.size();
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+            lock.writeLock().lock();
+            try {
+                next.removedIds = null;
+                columns = next;
+                building = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            ready = true;
+            log.info("Candidate match index built: {} candidates, {} skills in {}ms",
+                    indexed, next.skillIds.size(), System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            lock.writeLock().lock();
+            try {
+                building = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.error("Failed to build candidate match index, keeping the previous one", e);
+        }
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * Adds or replaces the entry for a candidate.
+     */
+    public void index(Candidate candidate) {
+        if (!enabled || candidate == null || candidate.getId() == null) {
+            return;
+        }
+        long version = version(candidate);
+        SkillSynonyms synonyms = skillTaxonomy.current();
+        lock.writeLock().lock();
+        try {
+            columns.index(candidate, version, synonyms);
+            if (building != null) {
+                building.index(candidate, version, synonyms);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long candidateId) {
+        if (!enabled || candidateId == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            columns.remove(candidateId);
+            if (building != null) {
+                building.remove(candidateId);
+                building.removedIds.add(candidateId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Scores every candidate against the opening and returns the best ones.
+     *
+     * Each requirement the opening states (skills, experience, salary range, location) yields
+     * a score between 0 and 1; the total is their weighted mean over the stated requirements.
+     *
+     * @param ownerId when not null only candidates with this source HR are scored
+     * @param limit   maximum number of matches to return, best first
+     */
+    public List<Match> match(Opening opening, Long ownerId, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Columns c = columns;
+            MatchQuery query = compile(c, opening, ownerId != null ? ownerId : NO_OWNER);
+            if (c.liveDocs == 0 || query.totalWeight == 0f) {
+                return List.of();
+            }
+
+            int ordinalCount = c.ordinalCount;
+            int partitions = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(),
+                    ordinalCount / Math.max(1, minPartitionSize)));
+            int partitionSize = (ordinalCount + partitions - 1) / partitions;
+            TopK merged = new TopK(limit);
+            if (partitions == 1) {
+                scoreRange(c, query, 0, ordinalCount, merged);
+            } else {
+                // Workers only read the arrays; the read lock held here keeps writers out until they finish
+                List<Future<TopK>> futures = new ArrayList<>(partitions);
+                for (int p = 0; p < partitions; p++) {
+                    int from = p * partitionSize;
+                    int to = Math.min(ordinalCount, from + partitionSize);
+                    futures.add(scoringExecutor.submit(() -> {
+                        TopK top = new TopK(limit);
+                        scoreRange(c, query, from, to, top);
+                        return top;
+                    }));
+                }
+                for (Future<TopK> future : futures) {
+                    merged.addAll(future.get());
+                }
+            }
+
+            int[] ordinals = merged.drainBestFirst();
+            List<Match> matches = new ArrayList<>(ordinals.length);
+            for (int ordinal : ordinals) {
+                matches.add(explain(c, query, ordinal));
+            }
+            return matches;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Candidate matching was interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scoringExecutor.shutdownNow();
+    }
+
+    private void scoreRange(Columns c, MatchQuery query, int from, int to, TopK top) {
+        for (int ordinal = from; ordinal < to; ordinal++) {
+            if (c.deleted.get(ordinal) || (query.owner != NO_OWNER && c.ownerByOrdinal[ordinal] != query.owner)) {
+                continue;
+            }
+            float score = 0f;
+            if (query.skills != null) {
+                score += skillsWeight * skillScore(query, c.skillsByOrdinal[ordinal]);
+            }
+            if (query.hasExperience) {
+                score += experienceWeight * experienceScore(query, c.monthsByOrdinal[ordinal]);
+            }
+            if (query.hasSalary) {
+                score += salaryWeight * salaryScore(query, c.expectedCtcByOrdinal[ordinal]);
+            }
+            if (query.locations != null) {
+                score += locationWeight * locationScore(query, c.locationsByOrdinal[ordinal]);
+            }
+            top.offer(ordinal, score / query.totalWeight, c.idByOrdinal[ordinal]);
+        }
+    }
+
+    private Match explain(Columns c, MatchQuery query, int ordinal) {
+        int[] skills = c.skillsByOrdinal[ordinal];
+        Float skillScore = query.skills != null ? skillScore(query, skills) : null;
+        Float experienceScore = query.hasExperience ? experienceScore(query, c.monthsByOrdinal[ordinal]) : null;
+        Float salaryScore = query.hasSalary ? salaryScore(query, c.expectedCtcByOrdinal[ordinal]) : null;
+        Float locationScore = query.locations != null ? locationScore(query, c.locationsByOrdinal[ordinal]) : null;
+        float total = 0f;
+        total += skillScore != null ? skillsWeight * skillScore : 0f;
+        total += experienceScore != null ? experienceWeight * experienceScore : 0f;
+        total += salaryScore != null ? salaryWeight * salaryScore : 0f;
+        total += locationScore != null ? locationWeight * locationScore : 0f;
+        return new Match(c.idByOrdinal[ordinal], total / query.totalWeight,
+                skillScore, experienceScore, salaryScore, locationScore,
+                query.skills != null ? intersectionSize(query.skills, skills) : 0);
+    }
+
+    // Share of the opening's skills the candidate lists
+    private static float skillScore(MatchQuery query, int[] skills) {
+        return (float) intersectionSize(query.skills, skills) / query.requiredSkillCount;
+    }
+
+    private static float experienceScore(MatchQuery query, int months) {
+        return MatchScoring.experienceScore(months, query.minMonths, query.maxMonths);
+    }
+
+    private static float salaryScore(MatchQuery query, float expectedCtc) {
+        return MatchScoring.salaryScore(expectedCtc, query.maxSalary);
+    }
+
+    private static float locationScore(MatchQuery query, int[] locations) {
+        return query.remote || intersectionSize(query.locations, locations) > 0 ? 1f : 0f;
+    }
+
+    // Both arrays sorted ascending
+    private static int intersectionSize(int[] a, int[] b) {
+        int i = 0;
+        int j = 0;
+        int count = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                count++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return count;
+    }
+
+    // Caller must hold the read lock, since the opening's terms are looked up in the dictionaries
+    private MatchQuery compile(Columns c, Opening opening, long owner) {
+        MatchScoring.Requirements requirements = MatchScoring.Requirements.of(opening, skillTaxonomy.current());
+        MatchQuery query = new MatchQuery();
+        query.owner = owner;
+
+        if (!requirements.skills().isEmpty()) {
+            query.skills = intern(c.skillIds, requirements.skills(), false);
+            query.requiredSkillCount = requirements.skills().size();
+            query.totalWeight += skillsWeight;
+        }
+        if (requirements.experienceMonths() != null) {
+            query.hasExperience = true;
+            query.minMonths = requirements.experienceMonths()[0];
+            query.maxMonths = requirements.experienceMonths()[1];
+            query.totalWeight += experienceWeight;
+        }
+        if (requirements.budget() != null) {
+            query.hasSalary = true;
+            query.maxSalary = requirements.budget().floatValue();
+            query.totalWeight += salaryWeight;
+        }
+        if (!requirements.locations().isEmpty()) {
+            query.remote = requirements.remote();
+            query.locations = intern(c.locationIds, requirements.locations(), false);
+            query.totalWeight += locationWeight;
+        }
+        return query;
+    }
+
+    /**
+     * Term ids of the values, sorted and without duplicates. Unknown terms get a new id when
+     * adding, and are dropped otherwise (nothing indexed can contain them).
+     */
+    private static int[] intern(Map<String, Integer> dictionary, List<String> terms, boolean add) {
+        if (terms.isEmpty()) {
+            return NO_TERMS;
+        }
+        int[] ids = new int[terms.size()];
+        int size = 0;
+        for (String term : terms) {
+            Integer id = add ? dictionary.computeIfAbsent(term, t -> dictionary.size()) : dictionary.get(term);
+            if (id != null) {
+                ids[size++] = id;
+            }
+        }
+        Arrays.sort(ids, 0, size);
+        int unique = 0;
+        for (int i = 0; i < size; i++) {
+            if (unique == 0 || ids[unique - 1] != ids[i]) {
+                ids[unique++] = ids[i];
+            }
+        }
+        return Arrays.copyOf(ids, unique);
+    }
+
+    private static long version(Candidate candidate) {
+        return candidate.getUpdatedAt() != null
+                ? candidate.getUpdatedAt().toInstant(ZoneOffset.UTC).toEpochMilli()
+                : 0L;
+    }
+
+    /**
+     * One complete copy of the index: the term dictionaries and the per-ordinal columns.
+     * Guarded by the index lock.
+     */
+    private static final class Columns {
+        private final Map<String, Integer> skillIds = new HashMap<>();
+        private final Map<String, Integer> locationIds = new HashMap<>();
+        private final Map<Long, Integer> ordinalById = new HashMap<>();
+        private final BitSet deleted = new BitSet();
+        private long[] idByOrdinal = new long[1024];
+        private long[] ownerByOrdinal = new long[1024];
+        private long[] versionByOrdinal = new long[1024];
+        private int[] monthsByOrdinal = new int[1024];
+        private float[] expectedCtcByOrdinal = new float[1024];
+        private int[][] skillsByOrdinal = new int[1024][];
+        private int[][] locationsByOrdinal = new int[1024][];
+        private int ordinalCount;
+        private int liveDocs;
+        // While being built: candidates removed since the build started, which its batches must not bring back
+        private Set<Long> removedIds;
+
+        void index(Candidate candidate, long version, SkillSynonyms synonyms) {
+            Integer existing = ordinalById.get(candidate.getId());
+            if (existing != null) {
+                if (versionByOrdinal[existing] > version) {
+                    // A newer copy was indexed by a concurrent write while a rebuild batch was in flight
+                    return;
+                }
+                markDeleted(existing);
+            }
+
+            Double expectedCtc = MatchScoring.normalizeAmount(candidate.getExpectedCtcValue());
+            int ordinal = ordinalCount++;
+            ensureCapacity(ordinalCount);
+            idByOrdinal[ordinal] = candidate.getId();
+            ownerByOrdinal[ordinal] = candidate.getSourceHrId() != null ? candidate.getSourceHrId() : NO_OWNER;
+            versionByOrdinal[ordinal] = version;
+            monthsByOrdinal[ordinal] = candidate.getExperienceMonths() != null
+                    ? candidate.getExperienceMonths() : MatchScoring.UNKNOWN_MONTHS;
+            expectedCtcByOrdinal[ordinal] = expectedCtc != null ? expectedCtc.floatValue() : Float.NaN;
+            skillsByOrdinal[ordinal] = intern(skillIds, MatchScoring.candidateSkillTerms(candidate.getSkills(), synonyms), true);
+            locationsByOrdinal[ordinal] = intern(locationIds, MatchScoring.locationTerms(candidate.getLocation()), true);
+            ordinalById.put(candidate.getId(), ordinal);
+            liveDocs++;
+
+            if (deleted.cardinality() > Math.max(1024, ordinalCount / 4)) {
+                compact();
+            }
+        }
+
+        void remove(Long candidateId) {
+            Integer ordinal = ordinalById.remove(candidateId);
+            if (ordinal != null) {
+                markDeleted(ordinal);
+            }
+        }
+
+        private void markDeleted(int ordinal) {
+            if (!deleted.get(ordinal)) {
+                deleted.set(ordinal);
+                liveDocs--;
+                skillsByOrdinal[ordinal] = NO_TERMS;
+                locationsByOrdinal[ordinal] = NO_TERMS;
+            }
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > idByOrdinal.length) {
+                int newLength = Math.max(capacity, idByOrdinal.length * 2);
+                idByOrdinal = Arrays.copyOf(idByOrdinal, newLength);
+                ownerByOrdinal = Arrays.copyOf(ownerByOrdinal, newLength);
+                versionByOrdinal = Arrays.copyOf(versionByOrdinal, newLength);
+                monthsByOrdinal = Arrays.copyOf(monthsByOrdinal, newLength);
+                expectedCtcByOrdinal = Arrays.copyOf(expectedCtcByOrdinal, newLength);
+                skillsByOrdinal = Arrays.copyOf(skillsByOrdinal, newLength);
+                locationsByOrdinal = Arrays.copyOf(locationsByOrdinal, newLength);
+            }
+        }
+
+        /**
+         * Drops deleted ordinals and renumbers the remaining ones.
+         */
+        private void compact() {
+            int next = 0;
+            for (int ordinal = 0; ordinal < ordinalCount; ordinal++) {
+                if (!deleted.get(ordinal)) {
+                    idByOrdinal[next] = idByOrdinal[ordinal];
+                    ownerByOrdinal[next] = ownerByOrdinal[ordinal];
+                    versionByOrdinal[next] = versionByOrdinal[ordinal];
+                    monthsByOrdinal[next] = monthsByOrdinal[ordinal];
+                    expectedCtcByOrdinal[next] = expectedCtcByOrdinal[ordinal];
+                    skillsByOrdinal[next] = skillsByOrdinal[ordinal];
+                    locationsByOrdinal[next] = locationsByOrdinal[ordinal];
+                    ordinalById.put(idByOrdinal[next], next);
+                    next++;
+                }
+            }
+            Arrays.fill(skillsByOrdinal, next, ordinalCount, null);
+            Arrays.fill(locationsByOrdinal, next, ordinalCount, null);
+            deleted.clear();
+            ordinalCount = next;
+        }
+    }
+
+    /**
+     * An opening compiled against the current dictionaries. Components the opening does not
+     * state are left out of the score and of totalWeight.
+     */
+    private static final class MatchQuery {
+        private long owner;
+        private int[] skills;
+        private int requiredSkillCount;
+        private boolean hasExperience;
+        private int minMonths;
+        private int maxMonths;
+        private boolean hasSalary;
+        private float maxSalary;
+        private int[] locations;
+        private boolean remote;
+        private float totalWeight;
+    }
+
+    /**
+     * Bounded min-heap of (ordinal, score); the root is the weakest kept entry. Ties go to the
+     * newer (higher id) candidate.
+     */
+    private static final class TopK {
+        private final int capacity;
+        private final int[] ordinals;
+        private final float[] scores;
+        private final long[] ids;
+        private int size;
+
+        TopK(int capacity) {
+            this.capacity = capacity;
+            this.ordinals = new int[capacity];
+            this.scores = new float[capacity];
+            this.ids = new long[capacity];
+        }
+
+        void offer(int ordinal, float score, long id) {
+            if (size < capacity) {
+                ordinals[size] = ordinal;
+                scores[size] = score;
+                ids[size] = id;
+                siftUp(size++);
+            } else if (weaker(0, score, id)) {
+                ordinals[0] = ordinal;
+                scores[0] = score;
+                ids[0] = id;
+                siftDown(0);
+            }
+        }
+
+        void addAll(TopK other) {
+            for (int i = 0; i < other.size; i++) {
+                offer(other.ordinals[i], other.scores[i], other.ids[i]);
+            }
+        }
+
+        int[] drainBestFirst() {
+            int[] result = new int[size];
+            for (int i = size - 1; i >= 0; i--) {
+                result[i] = ordinals[0];
+                size--;
+                swap(0, size);
+                siftDown(0);
+            }
+            return result;
+        }
+
+        // Whether the entry at index ranks below (score, id)
+        private boolean weaker(int index, float score, long id) {
+            return scores[index] < score || (scores[index] == score && ids[index] < id);
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) / 2;
+                if (!weaker(index, scores[parent], ids[parent])) {
+                    break;
+                }
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int smallest = index;
+                for (int child = 2 * index + 1; child <= 2 * index + 2 && child < size; child++) {
+                    if (weaker(child, scores[smallest], ids[smallest])) {
+                        smallest = child;
+                    }
+                }
+                if (smallest == index) {
+                    return;
+                }
+                swap(index, smallest);
+                index = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int ordinal = ordinals[a];
+            ordinals[a] = ordinals[b];
+            ordinals[b] = ordinal;
+            float score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+            long id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+        }
+    }
+
+    /**
+     * One ranked candidate with its total score and the per-requirement scores behind it
+     * (null for requirements the opening does not state).
+     */
+    public record Match(long candidateId, float score, Float skillScore, Float experienceScore,
+                        Float salaryScore, Float locationScore, int matchedSkills) {
+    }
+}
@@ -0,0 +1,492 @@
+package com.startica.privateapp.search.index;
+
+import com.startica.privateapp.model.Candidate;
+import com.startica.privateapp.repository.CandidateRepository;
+import com.startica.privateapp.search.engine.SearchHits;
+import com.startica.privateapp.util.ContactNormalizer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over the candidate text fields used by search
+ * (first/last name, email, phone, skills, profile and company).
+ *
+ * The index backs {@link com.startica.privateapp.search.engine.InMemorySearchEngine}, which
+ * builds it in the background once the application is ready; the candidate write paths keep
+ * it up to date through the engine. Queries are tokenized, every term is
+ * matched as a prefix (so typeahead keeps working), all terms must match, and hits
+ * are ranked with BM25 and cut down to the requested top-K with a bounded heap.
+ * Until the first build finishes {@link #isReady()} returns false and callers
+ * fall back to the SQL LIKE queries.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CandidateSearchIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final long NO_OWNER = Long.MIN_VALUE;
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int CONTACT_WEIGHT = 2;
+    private static final int SKILLS_WEIGHT = 2;
+    private static final int DEFAULT_WEIGHT = 1;
+
+    private final CandidateRepository candidateRepository;
+
+    @Value("${search.index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${search.index.build-batch-size:2000}")
+    private int buildBatchSize;
+
+    @Value("${search.index.max-matches:10000}")
+    private int maxMatches;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Postings> dictionary = new TreeMap<>();
+    private final Map<Long, Integer> ordinalById = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private long[] idByOrdinal = new long[1024];
+    private long[] ownerByOrdinal = new long[1024];
+    private long[] versionByOrdinal = new long[1024];
+    private int[] lengthByOrdinal = new int[1024];
+    private int ordinalCount;
+    private int liveDocs;
+    private long totalLength;
+
+    private volatile boolean ready;
+
+    public void buildOnStartup() {
+        if (!enabled) {
+            log.info("Candidate search index disabled, text search will use SQL LIKE queries");
+            return;
+        }
+        Thread builder = new Thread(this::rebuild, "candidate-index-build");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    /**
+     * Reloads every candidate from the database in id order, one batch at a time.
+     */
+    public void rebuild() {
+        long startTime = System.currentTimeMillis();
+        ready = false;
+        clear();
+
+        long lastId = 0L;
+        int indexed = 0;
+        try {
+            while (true) {
+                List<Candidate> batch = candidateRepository.findByIdGreaterThanOrderByIdAsc(
+                        lastId, PageRequest.of(0, buildBatchSize));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                for (Candidate candidate : batch) {
+                    index(candidate);
+                }
+                indexed += batch.size();
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+            ready = true;
+            log.info("Candidate search index built: {} candidates, {} terms in {}ms",
+                    indexed, dictionary.size(), System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            log.error("Failed to build candidate search index, falling back to SQL search", e);
+        }
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    public int getMaxMatches() {
+        return maxMatches;
+    }
+
+    /**
+     * Adds or replaces the index entry for a candidate.
+     */
+    public void index(Candidate candidate) {
+        if (!enabled || candidate == null || candidate.getId() == null) {
+            return;
+        }
+
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        int length = 0;
+        length += addField(termFrequencies, candidate.getFirstName(), NAME_WEIGHT);
+        length += addField(termFrequencies, candidate.getLastName(), NAME_WEIGHT);
+        length += addField(termFrequencies, candidate.getEmail(), CONTACT_WEIGHT);
+        length += addField(termFrequencies, candidate.getPhone(), CONTACT_WEIGHT);
+        String phoneDigits = TextAnalyzer.phoneDigits(candidate.getPhone());
+        if (!phoneDigits.isEmpty()) {
+            termFrequencies.merge(phoneDigits, CONTACT_WEIGHT, Integer::sum);
+        }
+        // National number, so "+91 98765-43210" and "098765 43210" are both found as "9876543210"
+        String phoneCanonical = ContactNormalizer.canonicalPhone(candidate.getPhone());
+        if (phoneCanonical != null && !phoneCanonical.equals(phoneDigits)) {
+            termFrequencies.merge(phoneCanonical, CONTACT_WEIGHT, Integer::sum);
+        }
+        length += addField(termFrequencies, candidate.getSkills(), SKILLS_WEIGHT);
+        length += addField(termFrequencies, candidate.getProfile(), DEFAULT_WEIGHT);
+        length += addField(termFrequencies, candidate.getCompany(), DEFAULT_WEIGHT);
+
+        long version = candidate.getUpdatedAt() != null
+                ? candidate.getUpdatedAt().toInstant(ZoneOffset.UTC).toEpochMilli()
+                : 0L;
+
+        lock.writeLock().lock();
+        try {
+            Integer existing = ordinalById.get(candidate.getId());
+            if (existing != null) {
+                if (versionByOrdinal[existing] > version) {
+                    // A newer copy was indexed by a concurrent write while a rebuild batch was in flight
+                    return;
+                }
+                markDeleted(existing);
+            }
+
+            int ordinal = ordinalCount++;
+            ensureCapacity(ordinalCount);
+            idByOrdinal[ordinal] = candidate.getId();
+            ownerByOrdinal[ordinal] = candidate.getSourceHrId() != null ? candidate.getSourceHrId() : NO_OWNER;
+            versionByOrdinal[ordinal] = version;
+            lengthByOrdinal[ordinal] = length;
+            ordinalById.put(candidate.getId(), ordinal);
+            liveDocs++;
+            totalLength += length;
+
+            for (Map.Entry<String, Integer> entry : termFrequencies.entrySet()) {
+                dictionary.computeIfAbsent(entry.getKey(), k -> new Postings()).add(ordinal, entry.getValue());
+            }
+
+            if (deleted.cardinality() > Math.max(1024, ordinalCount / 4)) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long candidateId) {
+        if (!enabled || candidateId == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinalById.remove(candidateId);
+            if (ordinal != null) {
+                markDeleted(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Runs a ranked query.
+     *
+     * @param query   free text, every token must match (as a prefix) in one of the indexed fields
+     * @param ownerId when not null only candidates with this source HR are returned
+     * @param limit   maximum number of hits to return, best first
+     * @return hits marked truncated when a term is a prefix of more than MAX_PREFIX_EXPANSIONS
+     *         indexed terms and only the most frequent of them were matched
+     */
+    public SearchHits search(String query, Long ownerId, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(TextAnalyzer.tokenize(query)));
+        if (terms.isEmpty() || limit <= 0) {
+            return SearchHits.EMPTY;
+        }
+
+        lock.readLock().lock();
+        try {
+            if (liveDocs == 0) {
+                return SearchHits.EMPTY;
+            }
+            float averageLength = (float) totalLength / liveDocs;
+
+            List<List<Postings>> expansions = new ArrayList<>(terms.size());
+            boolean truncated = false;
+            for (String term : terms) {
+                NavigableMap<String, Postings> range = dictionary.subMap(term, true, term + Character.MAX_VALUE, false);
+                if (range.isEmpty()) {
+                    return SearchHits.EMPTY;
+                }
+                truncated |= range.size() > MAX_PREFIX_EXPANSIONS;
+                expansions.add(expand(term, range));
+            }
+            // Drive the intersection from the cheapest term
+            expansions.sort(Comparator.comparingLong(CandidateSearchIndex::postingsCost));
+
+            long owner = ownerId != null ? ownerId : NO_OWNER;
+            Candidates candidates = collectDriver(expansions.get(0), owner, averageLength);
+            for (int t = 1; t < expansions.size() && candidates.size > 0; t++) {
+                candidates.intersect(expansions.get(t), averageLength);
+            }
+
+            PriorityQueue<Integer> heap = new PriorityQueue<>(Math.min(limit, Math.max(1, candidates.size)) + 1,
+                    (a, b) -> compareHits(candidates, a, b));
+            for (int i = 0; i < candidates.size; i++) {
+                heap.offer(i);
+                if (heap.size() > limit) {
+                    heap.poll();
+                }
+            }
+
+            Long[] ids = new Long[heap.size()];
+            float[] scores = new float[heap.size()];
+            for (int i = ids.length - 1; i >= 0; i--) {
+                int idx = heap.poll();
+                ids[i] = idByOrdinal[candidates.docs[idx]];
+                scores[i] = candidates.scores[idx];
+            }
+            return new SearchHits(Arrays.asList(ids), scores, candidates.size, truncated);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ==================== Internals ====================
+
+    private int addField(Map<String, Integer> termFrequencies, String value, int weight) {
+        List<String> tokens = TextAnalyzer.tokenize(value);
+        for (String token : tokens) {
+            termFrequencies.merge(token, weight, Integer::sum);
+        }
+        return tokens.size();
+    }
+
+    private List<Postings> expand(String term, NavigableMap<String, Postings> range) {
+        if (range.size() <= MAX_PREFIX_EXPANSIONS) {
+            return new ArrayList<>(range.values());
+        }
+        // Very short prefixes: keep the exact term plus the most frequent completions; the hits
+        // are then marked truncated so callers needing every match go to SQL
+        PriorityQueue<Postings> top = new PriorityQueue<>(Comparator.comparingInt((Postings p) -> p.size));
+        Postings exact = range.get(term);
+        for (Postings postings : range.values()) {
+            if (postings == exact) {
+                continue;
+            }
+            top.offer(postings);
+            if (top.size() > MAX_PREFIX_EXPANSIONS - 1) {
+                top.poll();
+            }
+        }
+        List<Postings> result = new ArrayList<>(top);
+        if (exact != null) {
+            result.add(exact);
+        }
+        return result;
+    }
+
+    private static long postingsCost(List<Postings> expansion) {
+        long cost = 0;
+        for (Postings postings : expansion) {
+            cost += postings.size;
+        }
+        return cost;
+    }
+
+    private Candidates collectDriver(List<Postings> expansion, long owner, float averageLength) {
+        int total = (int) postingsCost(expansion);
+        long[] packed = new long[total];
+        int n = 0;
+        for (Postings postings : expansion) {
+            float idf = idf(postings.size);
+            for (int i = 0; i < postings.size; i++) {
+                int doc = postings.docs[i];
+                if (deleted.get(doc) || (owner != NO_OWNER && ownerByOrdinal[doc] != owner)) {
+                    continue;
+                }
+                float score = bm25(postings.freqs[i], lengthByOrdinal[doc], averageLength, idf);
+                // Scores are positive, so their raw float bits sort the same way as the floats
+                packed[n++] = ((long) doc << 32) | (Float.floatToIntBits(score) & 0xFFFFFFFFL);
+            }
+        }
+        Arrays.sort(packed, 0, n);
+
+        Candidates candidates = new Candidates(n);
+        for (int i = 0; i < n; i++) {
+            int doc = (int) (packed[i] >>> 32);
+            float score = Float.intBitsToFloat((int) packed[i]);
+            if (candidates.size > 0 && candidates.docs[candidates.size - 1] == doc) {
+                // Same document reached through several prefix expansions: keep the best one
+                candidates.scores[candidates.size - 1] = Math.max(candidates.scores[candidates.size - 1], score);
+            } else {
+                candidates.docs[candidates.size] = doc;
+                candidates.scores[candidates.size] = score;
+                candidates.size++;
+            }
+        }
+        return candidates;
+    }
+
+    private int compareHits(Candidates candidates, int a, int b) {
+        int byScore = Float.compare(candidates.scores[a], candidates.scores[b]);
+        // Ties go to the more recently indexed candidate
+        return byScore != 0 ? byScore : Integer.compare(candidates.docs[a], candidates.docs[b]);
+    }
+
+    private float idf(int documentFrequency) {
+        return (float) Math.log(1.0 + (liveDocs - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private static float bm25(int termFrequency, int documentLength, float averageLength, float idf) {
+        float norm = K1 * (1 - B + B * documentLength / averageLength);
+        return idf * (termFrequency * (K1 + 1)) / (termFrequency + norm);
+    }
+
+    private void markDeleted(int ordinal) {
+        if (!deleted.get(ordinal)) {
+            deleted.set(ordinal);
+            liveDocs--;
+            totalLength -= lengthByOrdinal[ordinal];
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > idByOrdinal.length) {
+            int newLength = Math.max(capacity, idByOrdinal.length * 2);
+            idByOrdinal = Arrays.copyOf(idByOrdinal, newLength);
+            ownerByOrdinal = Arrays.copyOf(ownerByOrdinal, newLength);
+            versionByOrdinal = Arrays.copyOf(versionByOrdinal, newLength);
+            lengthByOrdinal = Arrays.copyOf(lengthByOrdinal, newLength);
+        }
+    }
+
+    /**
+     * Drops deleted ordinals and renumbers the remaining ones. The mapping is monotonic,
+     * so every postings list stays sorted. Caller must hold the write lock.
+     */
+    private void compact() {
+        int[] remap = new int[ordinalCount];
+        int next = 0;
+        for (int ordinal = 0; ordinal < ordinalCount; ordinal++) {
+            if (deleted.get(ordinal)) {
+                remap[ordinal] = -1;
+            } else {
+                remap[ordinal] = next;
+                idByOrdinal[next] = idByOrdinal[ordinal];
+                ownerByOrdinal[next] = ownerByOrdinal[ordinal];
+                versionByOrdinal[next] = versionByOrdinal[ordinal];
+                lengthByOrdinal[next] = lengthByOrdinal[ordinal];
+                next++;
+            }
+        }
+
+        dictionary.values().removeIf(postings -> postings.remap(remap) == 0);
+        ordinalById.replaceAll((id, ordinal) -> remap[ordinal]);
+        deleted.clear();
+        ordinalCount = next;
+    }
+
+    private void clear() {
+        lock.writeLock().lock();
+        try {
+            dictionary.clear();
+            ordinalById.clear();
+            deleted.clear();
+            ordinalCount = 0;
+            liveDocs = 0;
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Postings list for one term: ordinals in ascending order with their weighted term frequency.
+     */
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private int[] freqs = new int[4];
+        private int size;
+
+        void add(int doc, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            size++;
+        }
+
+        int find(int doc) {
+            return Arrays.binarySearch(docs, 0, size, doc);
+        }
+
+        int remap(int[] remap) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int mapped = remap[docs[i]];
+                if (mapped >= 0) {
+                    docs[kept] = mapped;
+                    freqs[kept] = freqs[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            return kept;
+        }
+    }
+
+    /**
+     * Working set of matching ordinals (sorted) and their accumulated scores.
+     */
+    private final class Candidates {
+        private final int[] docs;
+        private final float[] scores;
+        private int size;
+
+        Candidates(int capacity) {
+            this.docs = new int[capacity];
+            this.scores = new float[capacity];
+        }
+
+        void intersect(List<Postings> expansion, float averageLength) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = docs[i];
+                float best = 0f;
+                boolean matched = false;
+                for (Postings postings : expansion) {
+                    int pos = postings.find(doc);
+                    if (pos >= 0) {
+                        matched = true;
+                        best = Math.max(best, bm25(postings.freqs[pos], lengthByOrdinal[doc], averageLength,
+                                idf(postings.size)));
+                    }
+                }
+                if (matched) {
+                    docs[kept] = doc;
+                    scores[kept] = scores[i] + best;
+                    kept++;
+                }
+            }
+            size = kept;
+        }
+    }
+}
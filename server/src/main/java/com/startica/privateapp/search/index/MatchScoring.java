@@ -0,0 +1,159 @@
+package com.startica.privateapp.search.index;
+
+import com.startica.privateapp.opening.model.Opening;
+import com.startica.privateapp.util.CandidateValueParser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parsing and per-requirement scoring rules shared by opening-to-candidate matching
+ * ({@link CandidateMatchIndex}) and candidate-to-opening recommendations ({@link OpeningMatchIndex}),
+ * so a pair scores the same in both directions.
+ */
+final class MatchScoring {
+
+    static final int UNKNOWN_MONTHS = -1;
+
+    private static final Pattern LIST_SEPARATOR = Pattern.compile("[,;|]");
+    private static final Pattern LOCATION_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern NUMBER = Pattern.compile("\\d+(\\.\\d+)?");
+
+    private MatchScoring() {
+    }
+
+    /**
+     * The matchable requirements of an opening; null/empty for the ones it does not state.
+     *
+     * @param experienceMonths [min, max] months
+     * @param budget           salary budget in lakhs
+     */
+    record Requirements(List<String> skills, int[] experienceMonths, Double budget,
+                        List<String> locations, boolean remote) {
+
+        static Requirements of(Opening opening, SkillSynonyms synonyms) {
+            Double budget = normalizeAmount(firstAmount(opening.getMaxSalary()));
+            if (budget == null) {
+                budget = normalizeAmount(firstAmount(opening.getMinSalary()));
+            }
+            List<String> locations = locationTerms(opening.getLocation());
+            return new Requirements(skillTerms(opening.getSkills(), synonyms),
+                    experienceRangeMonths(opening.getExperience()),
+                    budget != null && budget > 0 ? budget : null, locations, locations.contains("remote"));
+        }
+    }
+
+    /**
+     * The listed skills in canonical form ("ReactJS" becomes "react"), in order and without duplicates.
+     */
+    static List<String> skillTerms(String skills, SkillSynonyms synonyms) {
+        List<String> terms = new ArrayList<>();
+        if (skills != null) {
+            for (String skill : LIST_SEPARATOR.split(skills)) {
+                String term = synonyms.normalize(skill);
+                if (!term.isEmpty() && !terms.contains(term)) {
+                    terms.add(term);
+                }
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * The skills a candidate is matched on: the listed ones and the broader skills they fall under.
+     */
+    static List<String> candidateSkillTerms(String skills, SkillSynonyms synonyms) {
+        return synonyms.withBroader(skillTerms(skills, synonyms));
+    }
+
+    static boolean isSingleSkill(String term) {
+        return !LIST_SEPARATOR.matcher(term).find();
+    }
+
+    static List<String> locationTerms(String location) {
+        List<String> terms = new ArrayList<>();
+        if (location != null) {
+            for (String token : LOCATION_SEPARATOR.split(location.toLowerCase(Locale.ROOT))) {
+                if (token.length() > 1 && !terms.contains(token)) {
+                    terms.add(token);
+                }
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Experience requirement such as "2-5 years", "3+ years" or "18 months" as
+     * [min, max] months; a single number is an open-ended minimum.
+     */
+    static int[] experienceRangeMonths(String experience) {
+        if (experience == null || experience.trim().isEmpty()) {
+            return null;
+        }
+        String text = experience.toLowerCase(Locale.ROOT);
+        if (text.contains("year") && text.contains("month")) {
+            // "2 years 6 months" is one value, not a range
+            Integer months = CandidateValueParser.parseExperienceMonths(text);
+            return months != null ? new int[] {months, Integer.MAX_VALUE} : null;
+        }
+        double unit = text.contains("month") && !text.contains("year") ? 1 : 12;
+        Matcher matcher = NUMBER.matcher(text);
+        List<Double> numbers = new ArrayList<>(2);
+        while (matcher.find() && numbers.size() < 2) {
+            numbers.add(Double.parseDouble(matcher.group()));
+        }
+        if (numbers.isEmpty()) {
+            return null;
+        }
+        int min = (int) Math.round(numbers.get(0) * unit);
+        int max = numbers.size() > 1 ? (int) Math.round(numbers.get(1) * unit) : Integer.MAX_VALUE;
+        return new int[] {Math.min(min, max), Math.max(min, max)};
+    }
+
+    /**
+     * Salaries are entered either in lakhs ("6.5 LPA") or in rupees ("6,50,000");
+     * anything from 1000 up is taken as rupees and converted to lakhs.
+     */
+    static Double normalizeAmount(Double amount) {
+        if (amount == null) {
+            return null;
+        }
+        return amount >= 1000 ? amount / 100_000 : amount;
+    }
+
+    // Full score inside the range; loses it over a year below the minimum or three years above the maximum
+    static float experienceScore(int months, int minMonths, int maxMonths) {
+        if (months == UNKNOWN_MONTHS) {
+            return 0f;
+        }
+        if (months < minMonths) {
+            return Math.max(0f, 1f - (minMonths - months) / 12f);
+        }
+        if (months > maxMonths) {
+            return Math.max(0f, 1f - (months - maxMonths) / 36f);
+        }
+        return 1f;
+    }
+
+    // Expectations within budget score fully, unknown ones half; above budget decays with the overshoot
+    static float salaryScore(float expectedCtc, float budget) {
+        if (Float.isNaN(expectedCtc)) {
+            return 0.5f;
+        }
+        if (expectedCtc <= budget) {
+            return 1f;
+        }
+        return Math.max(0f, 1f - (expectedCtc - budget) / budget);
+    }
+
+    private static Double firstAmount(String amount) {
+        if (amount == null) {
+            return null;
+        }
+        Matcher matcher = NUMBER.matcher(amount.replace(",", ""));
+        return matcher.find() ? Double.parseDouble(matcher.group()) : null;
+    }
+}
@@ -0,0 +1,503 @@
+package com.startica.privateapp.search.index;
+
+import com.startica.privateapp.model.Candidate;
+import com.startica.privateapp.repository.CandidateRepository;
+import com.startica.privateapp.search.engine.SearchHits;
+import com.startica.privateapp.util.NamePhonetics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Typo-tolerant and phonetic lookup of candidates by first/last name.
+ *
+ * Names repeat a lot, so the index works on the distinct name tokens: a trigram index over the
+ * tokens, split by token length, finds those within a small edit distance of a query term (count
+ * filter on shared trigrams, then a bounded Levenshtein check on the tokens sharing the most
+ * trigrams), and a second map groups tokens by their
+ * {@link NamePhonetics} key. Each token keeps the candidates carrying it. A query term must
+ * match one name token of a candidate; candidates are ranked by the summed similarity of
+ * their best matching tokens.
+ *
+ * Built in the background once the application is ready and kept current by the candidate
+ * write paths. The work per query term is bounded by the number of distinct tokens of a
+ * reachable length sharing a trigram with it, plus at most max-verifications edit distances,
+ * not by the number of candidates.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NameFuzzyIndex {
+
+    // Similarity given to a token that only matches phonetically
+    private static final float PHONETIC_SIMILARITY = 0.6f;
+    private static final long NO_OWNER = Long.MIN_VALUE;
+
+    private final CandidateRepository candidateRepository;
+
+    @Value("${search.fuzzy.enabled:true}")
+    private boolean enabled;
+
+    @Value("${search.index.build-batch-size:2000}")
+    private int buildBatchSize;
+
+    // Closest tokens kept per query term, bounds the candidate postings read per query
+    @Value("${search.fuzzy.max-expansions:200}")
+    private int maxExpansions;
+
+    // Tokens checked by edit distance per query term, bounds the work of terms with common trigrams
+    @Value("${search.fuzzy.max-verifications:500}")
+    private int maxVerifications;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> tokenIds = new HashMap<>();
+    private final List<String> tokens = new ArrayList<>();
+    private final List<IntList> candidatesByToken = new ArrayList<>();
+    private final Map<String, IntList> tokensByTrigram = new HashMap<>();
+    private final Map<String, IntList> tokensByPhonetic = new HashMap<>();
+    private final Map<Long, Integer> ordinalById = new HashMap<>();
+    private final IntList freeOrdinals = new IntList();
+    private long[] idByOrdinal = new long[1024];
+    private long[] ownerByOrdinal = new long[1024];
+    private int[][] tokensByOrdinal = new int[1024][];
+    private int ordinalCount;
+
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        Thread builder = new Thread(this::build, "name-fuzzy-index-build");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    private void build() {
+        long startTime = System.currentTimeMillis();
+        long lastId = 0L;
+        int indexed = 0;
+        try {
+            while (true) {
+                List<Object[]> rows = candidateRepository.findNameRows(lastId, PageRequest.of(0, buildBatchSize));
+                if (rows.isEmpty()) {
+                    break;
+                }
+                for (Object[] row : rows) {
+                    index((Long) row[0], (String) row[1], (String) row[2], (Long) row[3], true);
+                }
+                indexed += rows.size();
+                lastId = (Long) rows.get(rows.size() - 1)[0];
+            }
+            ready = true;
+            log.info("Name fuzzy index built: {} candidates, {} distinct name tokens in {}ms",
+                    indexed, tokens.size(), System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            log.error("Failed to build name fuzzy index", e);
+        }
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    public void index(Candidate candidate) {
+        if (candidate != null && candidate.getId() != null) {
+            index(candidate.getId(), candidate.getFirstName(), candidate.getLastName(), candidate.getSourceHrId(), false);
+        }
+    }
+
+    /**
+     * @param fromBuild rows read by the startup build skip candidates a write path already
+     *                  indexed, whose copy is at least as new
+     */
+    private void index(Long id, String firstName, String lastName, Long ownerId, boolean fromBuild) {
+        if (!enabled) {
+            return;
+        }
+        Set<String> nameTokens = nameTokens((firstName != null ? firstName : "") + " " + (lastName != null ? lastName : ""));
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinalById.get(id);
+            if (ordinal != null && fromBuild) {
+                return;
+            }
+            if (ordinal != null) {
+                unlink(ordinal);
+            } else {
+                ordinal = freeOrdinals.size > 0 ? freeOrdinals.removeLast() : ordinalCount++;
+                ensureCapacity(ordinalCount);
+                ordinalById.put(id, ordinal);
+            }
+            int[] tokenList = new int[nameTokens.size()];
+            int i = 0;
+            for (String token : nameTokens) {
+                int tokenId = tokenId(token);
+                candidatesByToken.get(tokenId).add(ordinal);
+                tokenList[i++] = tokenId;
+            }
+            idByOrdinal[ordinal] = id;
+            ownerByOrdinal[ordinal] = ownerId != null ? ownerId : NO_OWNER;
+            tokensByOrdinal[ordinal] = tokenList;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long candidateId) {
+        if (!enabled || candidateId == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinalById.remove(candidateId);
+            if (ordinal != null) {
+                unlink(ordinal);
+                tokensByOrdinal[ordinal] = null;
+                freeOrdinals.add(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Candidates whose name matches every term of the query within the edit distance allowed
+     * for the term's length, or phonetically. Best first; equal scores come in no particular
+     * order. The walk stops as soon as the top-K is settled, so totalHits counts the matches
+     * seen up to then, not all of them.
+     *
+     * @param ownerId    when not null only candidates with this source HR are returned
+     * @param excludeIds candidates to leave out (typically the exact matches already shown)
+     */
+    public SearchHits search(String query, Long ownerId, Collection<Long> excludeIds, int limit) {
+        List<String> terms = new ArrayList<>(nameTokens(query));
+        if (terms.isEmpty() || limit <= 0) {
+            return SearchHits.EMPTY;
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Map<Integer, Float>> matches = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Map<Integer, Float> matched = matchTokens(term);
+                if (matched.isEmpty()) {
+                    return SearchHits.EMPTY;
+                }
+                matches.add(matched);
+            }
+            // Walk the candidates of the term with the fewest postings, check the other terms per candidate
+            matches.sort(Comparator.comparingLong(this::postingsCost));
+            float otherTermsBound = 0f;
+            for (int t = 1; t < matches.size(); t++) {
+                otherTermsBound += Collections.max(matches.get(t).values());
+            }
+            // Closest driver tokens first, so the walk can stop once no remaining candidate can enter the top-K
+            List<Map.Entry<Integer, Float>> driver = new ArrayList<>(matches.get(0).entrySet());
+            driver.sort(Map.Entry.<Integer, Float>comparingByValue().reversed());
+
+            long owner = ownerId != null ? ownerId : NO_OWNER;
+            BitSet seen = new BitSet(ordinalCount);
+            PriorityQueue<Hit> heap = new PriorityQueue<>(Comparator.comparingDouble(Hit::score)
+                    .thenComparingLong(Hit::id));
+            int totalHits = 0;
+            walk:
+            for (Map.Entry<Integer, Float> token : driver) {
+                float bound = token.getValue() + otherTermsBound;
+                IntList ordinals = candidatesByToken.get(token.getKey());
+                for (int p = 0; p < ordinals.size; p++) {
+                    if (heap.size() == limit && bound <= heap.peek().score()) {
+                        break walk;
+                    }
+                    int ordinal = ordinals.values[p];
+                    if (seen.get(ordinal)
+                            || (owner != NO_OWNER && ownerByOrdinal[ordinal] != owner)
+                            || (excludeIds != null && excludeIds.contains(idByOrdinal[ordinal]))) {
+                        continue;
+                    }
+                    seen.set(ordinal);
+                    float score = score(tokensByOrdinal[ordinal], matches);
+                    if (score <= 0f) {
+                        continue;
+                    }
+                    totalHits++;
+                    heap.offer(new Hit(idByOrdinal[ordinal], score));
+                    if (heap.size() > limit) {
+                        heap.poll();
+                    }
+                }
+            }
+
+            Long[] ids = new Long[heap.size()];
+            float[] scores = new float[heap.size()];
+            for (int i = ids.length - 1; i >= 0; i--) {
+                Hit hit = heap.poll();
+                ids[i] = hit.id();
+                scores[i] = hit.score();
+            }
+            return new SearchHits(Arrays.asList(ids), scores, totalHits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ==================== Internals ====================
+
+    // Name tokens of at least two letters, lower-cased
+    private static Set<String> nameTokens(String text) {
+        Set<String> result = new LinkedHashSet<>();
+        for (String token : TextAnalyzer.tokenize(text)) {
+            String letters = token.replaceAll("[^\\p{L}]", "");
+            if (letters.length() >= 2) {
+                result.add(letters);
+            }
+        }
+        return result;
+    }
+
+    // Edits tolerated for a term: none for short ones (phonetic matches only), then one, then two
+    private static int maxEdits(int length) {
+        return length < 4 ? 0 : length <= 6 ? 1 : 2;
+    }
+
+    /**
+     * Tokens close to the term, with their similarity (1 for the term itself).
+     */
+    private Map<Integer, Float> matchTokens(String term) {
+        Map<Integer, Float> matched = new HashMap<>();
+        int edits = maxEdits(term.length());
+
+        Set<String> grams = trigrams(term);
+        // Shared trigram count per token, over the tokens of a length within reach of the term
+        int[] shared = new int[tokens.size()];
+        IntList touched = new IntList();
+        for (int length = Math.max(1, term.length() - edits); length <= term.length() + edits; length++) {
+            for (String gram : grams) {
+                IntList postings = tokensByTrigram.get(trigramKey(gram, length));
+                if (postings != null) {
+                    for (int p = 0; p < postings.size; p++) {
+                        if (shared[postings.values[p]]++ == 0) {
+                            touched.add(postings.values[p]);
+                        }
+                    }
+                }
+            }
+        }
+        // Each edit destroys at most three of the term's trigrams
+        int minShared = Math.max(1, grams.size() - 3 * edits);
+        IntList[] byShared = new IntList[grams.size() + 1];
+        for (int i = 0; i < touched.size; i++) {
+            int tokenId = touched.values[i];
+            if (shared[tokenId] >= minShared) {
+                IntList level = byShared[shared[tokenId]];
+                if (level == null) {
+                    level = byShared[shared[tokenId]] = new IntList();
+                }
+                level.add(tokenId);
+            }
+        }
+        // Edit distance on at most maxVerifications tokens, those sharing the most trigrams first
+        int verified = 0;
+        verify:
+        for (int count = grams.size(); count >= minShared; count--) {
+            IntList level = byShared[count];
+            for (int i = 0; level != null && i < level.size; i++) {
+                if (verified++ == maxVerifications) {
+                    break verify;
+                }
+                String token = tokens.get(level.values[i]);
+                int distance = boundedDistance(term, token, edits);
+                if (distance <= edits) {
+                    matched.put(level.values[i], 1f - (float) distance / Math.max(term.length(), token.length()));
+                }
+            }
+        }
+
+        IntList phonetic = tokensByPhonetic.get(NamePhonetics.key(term));
+        if (phonetic != null) {
+            for (int p = 0; p < phonetic.size; p++) {
+                matched.merge(phonetic.values[p], PHONETIC_SIMILARITY, Math::max);
+            }
+        }
+
+        if (matched.size() > maxExpansions) {
+            List<Map.Entry<Integer, Float>> entries = new ArrayList<>(matched.entrySet());
+            entries.sort(Map.Entry.<Integer, Float>comparingByValue().reversed());
+            Map<Integer, Float> closest = new HashMap<>();
+            for (Map.Entry<Integer, Float> entry : entries.subList(0, maxExpansions)) {
+                closest.put(entry.getKey(), entry.getValue());
+            }
+            return closest;
+        }
+        return matched;
+    }
+
+    private long postingsCost(Map<Integer, Float> matched) {
+        long cost = 0;
+        for (int tokenId : matched.keySet()) {
+            cost += candidatesByToken.get(tokenId).size;
+        }
+        return cost;
+    }
+
+    // Sum over the query terms of the best similarity among the candidate's tokens, 0 if a term has no match
+    private static float score(int[] candidateTokens, List<Map<Integer, Float>> matches) {
+        float score = 0f;
+        for (Map<Integer, Float> matched : matches) {
+            float best = 0f;
+            for (int tokenId : candidateTokens) {
+                Float similarity = matched.get(tokenId);
+                if (similarity != null && similarity > best) {
+                    best = similarity;
+                }
+            }
+            if (best == 0f) {
+                return 0f;
+            }
+            score += best;
+        }
+        return score;
+    }
+
+    /**
+     * Levenshtein distance, or max + 1 as soon as it is known to exceed max.
+     */
+    static int boundedDistance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        // Only cells within max of the diagonal can stay within max
+        int outside = max + 1;
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = Math.min(j, outside);
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            int from = Math.max(1, i - max);
+            int to = Math.min(b.length(), i + max);
+            current[0] = Math.min(i, outside);
+            if (from > 1) {
+                current[from - 1] = outside;
+            }
+            int rowMin = from == 1 ? current[0] : outside;
+            for (int j = from; j <= to; j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (to < b.length()) {
+                current[to + 1] = outside;
+            }
+            if (rowMin > max) {
+                return outside;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[b.length()], outside);
+    }
+
+    private static Set<String> trigrams(String token) {
+        Set<String> grams = new HashSet<>();
+        String padded = " " + token + " ";
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    // Trigram postings are kept per token length, so a term only reads tokens it can be close to
+    private static String trigramKey(String gram, int tokenLength) {
+        return gram + tokenLength;
+    }
+
+    private int tokenId(String token) {
+        Integer id = tokenIds.get(token);
+        if (id != null) {
+            return id;
+        }
+        int newId = tokens.size();
+        tokenIds.put(token, newId);
+        tokens.add(token);
+        candidatesByToken.add(new IntList());
+        for (String gram : trigrams(token)) {
+            tokensByTrigram.computeIfAbsent(trigramKey(gram, token.length()), g -> new IntList()).add(newId);
+        }
+        String key = NamePhonetics.key(token);
+        if (!key.isEmpty()) {
+            tokensByPhonetic.computeIfAbsent(key, k -> new IntList()).add(newId);
+        }
+        return newId;
+    }
+
+    private void unlink(int ordinal) {
+        int[] previous = tokensByOrdinal[ordinal];
+        if (previous != null) {
+            for (int tokenId : previous) {
+                candidatesByToken.get(tokenId).remove(ordinal);
+            }
+        }
+    }
+
+    private void ensureCapacity(int size) {
+        if (size > idByOrdinal.length) {
+            int capacity = Math.max(size, idByOrdinal.length * 2);
+            idByOrdinal = Arrays.copyOf(idByOrdinal, capacity);
+            ownerByOrdinal = Arrays.copyOf(ownerByOrdinal, capacity);
+            tokensByOrdinal = Arrays.copyOf(tokensByOrdinal, capacity);
+        }
+    }
+
+    private record Hit(long id, float score) {
+    }
+
+    /**
+     * Growable unordered int list; removal swaps in the last element.
+     */
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void remove(int value) {
+            for (int i = 0; i < size; i++) {
+                if (values[i] == value) {
+                    values[i] = values[--size];
+                    return;
+                }
+            }
+        }
+
+        int removeLast() {
+            return values[--size];
+        }
+    }
+}
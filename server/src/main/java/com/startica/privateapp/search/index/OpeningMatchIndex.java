@@ -0,0 +1,183 @@
+package com.startica.privateapp.search.index;
+
+import com.startica.privateapp.model.Candidate;
+import com.startica.privateapp.opening.model.Opening;
+import com.startica.privateapp.opening.model.OpeningStatus;
+import com.startica.privateapp.opening.repository.OpeningRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The ACTIVE openings, pre-parsed for recommending openings to a candidate.
+ *
+ * There are few active openings and they change rarely, so the index is an immutable map
+ * that writers replace (copy-on-write) and readers use without locking. Scoring a candidate
+ * is a pass over it with the same rules and weights as {@link CandidateMatchIndex}.
+ * Kept current after every committed opening write; each entry holds a detached copy of the
+ * opening, never the entity a write path is still changing.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OpeningMatchIndex {
+
+    private final OpeningRepository openingRepository;
+    private final SkillTaxonomy skillTaxonomy;
+
+    @Value("${matching.weights.skills:0.5}")
+    private float skillsWeight;
+
+    @Value("${matching.weights.experience:0.2}")
+    private float experienceWeight;
+
+    @Value("${matching.weights.salary:0.2}")
+    private float salaryWeight;
+
+    @Value("${matching.weights.location:0.1}")
+    private float locationWeight;
+
+    private volatile Map<Long, ActiveOpening> openings = Map.of();
+
+    @EventListener({ApplicationReadyEvent.class, SkillTaxonomy.ReloadedEvent.class})
+    public synchronized void rebuild() {
+        Map<Long, ActiveOpening> loaded = new HashMap<>();
+        for (Opening opening : openingRepository.findByStatus(OpeningStatus.ACTIVE)) {
+            loaded.put(opening.getId(), compile(opening));
+        }
+        openings = Map.copyOf(loaded);
+        log.info("Opening match index loaded with {} active openings", loaded.size());
+    }
+
+    /**
+     * Adds, replaces or (when it is no longer ACTIVE) drops an opening.
+     */
+    public synchronized void index(Opening opening) {
+        if (opening == null || opening.getId() == null) {
+            return;
+        }
+        Map<Long, ActiveOpening> next = new HashMap<>(openings);
+        if (opening.getStatus() == OpeningStatus.ACTIVE) {
+            next.put(opening.getId(), compile(opening));
+        } else {
+            next.remove(opening.getId());
+        }
+        openings = Map.copyOf(next);
+    }
+
+    public synchronized void remove(Long openingId) {
+        if (openingId != null && openings.containsKey(openingId)) {
+            Map<Long, ActiveOpening> next = new HashMap<>(openings);
+            next.remove(openingId);
+            openings = Map.copyOf(next);
+        }
+    }
+
+    /**
+     * Active openings ranked by how well the candidate fits them, best first.
+     *
+     * @param createdBy when not null only openings created by this user are considered
+     */
+    public List<Recommendation> recommend(Candidate candidate, Long createdBy, int limit) {
+        Set<String> skills = new HashSet<>(
+                MatchScoring.candidateSkillTerms(candidate.getSkills(), skillTaxonomy.current()));
+        Set<String> locations = new HashSet<>(MatchScoring.locationTerms(candidate.getLocation()));
+        int months = candidate.getExperienceMonths() != null
+                ? candidate.getExperienceMonths() : MatchScoring.UNKNOWN_MONTHS;
+        Double ctc = MatchScoring.normalizeAmount(candidate.getExpectedCtcValue());
+        float expectedCtc = ctc != null ? ctc.floatValue() : Float.NaN;
+
+        List<Recommendation> recommendations = new ArrayList<>();
+        for (ActiveOpening opening : openings.values()) {
+            if ((createdBy != null && !createdBy.equals(opening.createdBy())) || opening.totalWeight() == 0f) {
+                continue;
+            }
+            int matchedSkills = 0;
+            for (String skill : opening.skills()) {
+                if (skills.contains(skill)) {
+                    matchedSkills++;
+                }
+            }
+            Float skillScore = opening.skills().isEmpty() ? null : (float) matchedSkills / opening.skills().size();
+            Float experienceScore = opening.experienceMonths() == null ? null
+                    : MatchScoring.experienceScore(months, opening.experienceMonths()[0], opening.experienceMonths()[1]);
+            Float salaryScore = opening.budget() == null ? null
+                    : MatchScoring.salaryScore(expectedCtc, opening.budget());
+            Float locationScore = opening.locations().isEmpty() ? null
+                    : opening.remote() || opening.locations().stream().anyMatch(locations::contains) ? 1f : 0f;
+
+            float total = 0f;
+            total += skillScore != null ? skillsWeight * skillScore : 0f;
+            total += experienceScore != null ? experienceWeight * experienceScore : 0f;
+            total += salaryScore != null ? salaryWeight * salaryScore : 0f;
+            total += locationScore != null ? locationWeight * locationScore : 0f;
+            recommendations.add(new Recommendation(opening.opening(), total / opening.totalWeight(),
+                    skillScore, experienceScore, salaryScore, locationScore, matchedSkills));
+        }
+
+        recommendations.sort(Comparator.comparingDouble(Recommendation::score).reversed()
+                .thenComparing(r -> r.opening().getId(), Comparator.reverseOrder()));
+        return recommendations.size() > limit ? recommendations.subList(0, limit) : recommendations;
+    }
+
+    public int size() {
+        return openings.size();
+    }
+
+    private ActiveOpening compile(Opening opening) {
+        MatchScoring.Requirements requirements = MatchScoring.Requirements.of(opening, skillTaxonomy.current());
+        float totalWeight = 0f;
+        totalWeight += requirements.skills().isEmpty() ? 0f : skillsWeight;
+        totalWeight += requirements.experienceMonths() == null ? 0f : experienceWeight;
+        totalWeight += requirements.budget() == null ? 0f : salaryWeight;
+        totalWeight += requirements.locations().isEmpty() ? 0f : locationWeight;
+        return new ActiveOpening(snapshot(opening), opening.getCreatedBy(), requirements.skills(),
+                requirements.experienceMonths(),
+                requirements.budget() != null ? requirements.budget().floatValue() : null,
+                requirements.locations(), requirements.remote(), totalWeight);
+    }
+
+    // The fields recommendations report, copied off the (possibly managed) entity
+    private static Opening snapshot(Opening opening) {
+        return Opening.builder()
+                .id(opening.getId())
+                .title(opening.getTitle())
+                .department(opening.getDepartment())
+                .location(opening.getLocation())
+                .type(opening.getType())
+                .positions(opening.getPositions())
+                .experience(opening.getExperience())
+                .minSalary(opening.getMinSalary())
+                .maxSalary(opening.getMaxSalary())
+                .skills(opening.getSkills())
+                .status(opening.getStatus())
+                .createdBy(opening.getCreatedBy())
+                .createdAt(opening.getCreatedAt())
+                .updatedAt(opening.getUpdatedAt())
+                .build();
+    }
+
+    private record ActiveOpening(Opening opening, Long createdBy, List<String> skills, int[] experienceMonths,
+                                 Float budget, List<String> locations, boolean remote, float totalWeight) {
+    }
+
+    /**
+     * One ranked opening with its total score and the per-requirement scores behind it
+     * (null for requirements the opening does not state). The opening is the detached
+     * copy held by the index.
+     */
+    public record Recommendation(Opening opening, float score, Float skillScore, Float experienceScore,
+                                 Float salaryScore, Float locationScore, int matchedSkills) {
+    }
+}
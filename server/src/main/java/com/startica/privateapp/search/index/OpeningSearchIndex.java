@@ -0,0 +1,135 @@
+package com.startica.privateapp.search.index;
+
+import com.startica.privateapp.opening.model.Opening;
+import com.startica.privateapp.opening.repository.OpeningRepository;
+import com.startica.privateapp.search.engine.SearchHits;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Opening text (title, department, location, skills and description) for the in-memory search engine.
+ *
+ * Openings are few and change rarely, so like {@link OpeningMatchIndex} this is an immutable map
+ * replaced on every write, and a query is a scan over it: every term must match a token of the
+ * opening as a prefix, and hits are scored by the weighted frequency of the tokens they matched.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OpeningSearchIndex {
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int SKILLS_WEIGHT = 2;
+    private static final int DEFAULT_WEIGHT = 1;
+
+    private final OpeningRepository openingRepository;
+
+    private volatile Map<Long, OpeningText> openings = Map.of();
+    private volatile boolean ready;
+
+    public synchronized void rebuild() {
+        Map<Long, OpeningText> loaded = new HashMap<>();
+        for (Opening opening : openingRepository.findAll()) {
+            loaded.put(opening.getId(), analyze(opening));
+        }
+        openings = Map.copyOf(loaded);
+        ready = true;
+        log.info("Opening search index loaded with {} openings", loaded.size());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public synchronized void index(Opening opening) {
+        if (opening == null || opening.getId() == null) {
+            return;
+        }
+        Map<Long, OpeningText> next = new HashMap<>(openings);
+        next.put(opening.getId(), analyze(opening));
+        openings = Map.copyOf(next);
+    }
+
+    public synchronized void remove(Long openingId) {
+        if (openingId != null && openings.containsKey(openingId)) {
+            Map<Long, OpeningText> next = new HashMap<>(openings);
+            next.remove(openingId);
+            openings = Map.copyOf(next);
+        }
+    }
+
+    /**
+     * @param createdBy when not null only openings created by this user are returned
+     */
+    public SearchHits search(String query, Long createdBy, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(TextAnalyzer.tokenize(query)));
+        if (terms.isEmpty() || limit <= 0) {
+            return SearchHits.EMPTY;
+        }
+
+        List<Hit> hits = new ArrayList<>();
+        for (OpeningText opening : openings.values()) {
+            if (createdBy != null && !createdBy.equals(opening.createdBy())) {
+                continue;
+            }
+            float score = 0f;
+            for (String term : terms) {
+                int termScore = 0;
+                for (Map.Entry<String, Integer> token : opening.tokens().entrySet()) {
+                    if (token.getKey().startsWith(term)) {
+                        termScore += token.getValue();
+                    }
+                }
+                if (termScore == 0) {
+                    score = 0f;
+                    break;
+                }
+                score += termScore;
+            }
+            if (score > 0f) {
+                hits.add(new Hit(opening.id(), score));
+            }
+        }
+
+        hits.sort(Comparator.comparingDouble(Hit::score).reversed()
+                .thenComparing(Hit::id, Comparator.reverseOrder()));
+        int size = Math.min(limit, hits.size());
+        List<Long> ids = new ArrayList<>(size);
+        float[] scores = new float[size];
+        for (int i = 0; i < size; i++) {
+            ids.add(hits.get(i).id());
+            scores[i] = hits.get(i).score();
+        }
+        return new SearchHits(ids, scores, hits.size());
+    }
+
+    private static OpeningText analyze(Opening opening) {
+        Map<String, Integer> tokens = new HashMap<>();
+        addField(tokens, opening.getTitle(), TITLE_WEIGHT);
+        addField(tokens, opening.getSkills(), SKILLS_WEIGHT);
+        addField(tokens, opening.getDepartment(), DEFAULT_WEIGHT);
+        addField(tokens, opening.getLocation(), DEFAULT_WEIGHT);
+        addField(tokens, opening.getDescription(), DEFAULT_WEIGHT);
+        return new OpeningText(opening.getId(), opening.getCreatedBy(), Map.copyOf(tokens));
+    }
+
+    private static void addField(Map<String, Integer> tokens, String value, int weight) {
+        for (String token : TextAnalyzer.tokenize(value)) {
+            tokens.merge(token, weight, Integer::sum);
+        }
+    }
+
+    private record OpeningText(Long id, Long createdBy, Map<String, Integer> tokens) {
+    }
+
+    private record Hit(Long id, float score) {
+    }
+}
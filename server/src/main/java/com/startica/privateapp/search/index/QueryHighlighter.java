@@ -0,0 +1,171 @@
+package com.startica.privateapp.search.index;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Marks every occurrence of every query term in a text with {@code <mark>} tags.
+ *
+ * The query is tokenized like the search indexes tokenize it and the terms are compiled once
+ * into an Aho-Corasick automaton, so one highlighter serves all results of a request and each
+ * text is scanned in a single pass however many terms there are. Matching ignores case and
+ * keeps the original text; overlapping or touching matches are merged into one mark.
+ * Instances are immutable and safe to share between threads.
+ */
+public final class QueryHighlighter {
+
+    @SuppressWarnings("unchecked")
+    private static final QueryHighlighter NONE = new QueryHighlighter(new Map[] {Map.of()}, new int[1], new int[1]);
+
+    private static final String OPEN = "<mark>";
+    private static final String CLOSE = "</mark>";
+
+    // goto function per state, keyed by lower-case char
+    private final Map<Character, Integer>[] transitions;
+    private final int[] failure;
+    // Length of the longest term ending in each state (following failure links), 0 for none
+    private final int[] longestMatch;
+
+    private QueryHighlighter(Map<Character, Integer>[] transitions, int[] failure, int[] longestMatch) {
+        this.transitions = transitions;
+        this.failure = failure;
+        this.longestMatch = longestMatch;
+    }
+
+    public static QueryHighlighter compile(String query) {
+        Set<String> terms = new LinkedHashSet<>(TextAnalyzer.tokenize(query));
+        if (terms.isEmpty()) {
+            return NONE;
+        }
+
+        // Trie of the terms
+        List<Map<Character, Integer>> states = new ArrayList<>();
+        List<Integer> lengths = new ArrayList<>();
+        states.add(new HashMap<>());
+        lengths.add(0);
+        for (String term : terms) {
+            int state = 0;
+            for (int i = 0; i < term.length(); i++) {
+                Integer next = states.get(state).get(term.charAt(i));
+                if (next == null) {
+                    next = states.size();
+                    states.add(new HashMap<>());
+                    lengths.add(0);
+                    states.get(state).put(term.charAt(i), next);
+                }
+                state = next;
+            }
+            lengths.set(state, term.length());
+        }
+
+        // Failure links, breadth first so a state's suffix state is always done before it
+        @SuppressWarnings("unchecked")
+        Map<Character, Integer>[] transitions = states.toArray(new Map[0]);
+        int[] failure = new int[transitions.length];
+        int[] longestMatch = new int[transitions.length];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int child : transitions[0].values()) {
+            queue.add(child);
+            longestMatch[child] = lengths.get(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (Map.Entry<Character, Integer> edge : transitions[state].entrySet()) {
+                int child = edge.getValue();
+                int fallback = failure[state];
+                while (fallback != 0 && !transitions[fallback].containsKey(edge.getKey())) {
+                    fallback = failure[fallback];
+                }
+                Integer suffix = transitions[fallback].get(edge.getKey());
+                failure[child] = suffix != null ? suffix : 0;
+                longestMatch[child] = Math.max(lengths.get(child), longestMatch[failure[child]]);
+                queue.add(child);
+            }
+        }
+        return new QueryHighlighter(transitions, failure, longestMatch);
+    }
+
+    /**
+     * The text with every term occurrence marked, or the text unchanged when nothing matched.
+     */
+    public String highlight(String text) {
+        String marked = mark(text);
+        return marked != null ? marked : text;
+    }
+
+    /**
+     * Highlights several fields at once and returns only the ones that contain a match,
+     * in the order given.
+     */
+    public Map<String, String> highlightFields(Map<String, String> fields) {
+        Map<String, String> highlighted = new LinkedHashMap<>();
+        fields.forEach((field, value) -> {
+            String marked = mark(value);
+            if (marked != null) {
+                highlighted.put(field, marked);
+            }
+        });
+        return highlighted;
+    }
+
+    // Null when the text has no match
+    private String mark(String text) {
+        if (text == null || text.isEmpty() || transitions.length == 1) {
+            return null;
+        }
+
+        StringBuilder result = null;
+        int copied = 0;
+        int spanStart = -1;
+        int spanEnd = -1;
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char ch = Character.toLowerCase(text.charAt(i));
+            Integer next = transitions[state].get(ch);
+            while (next == null && state != 0) {
+                state = failure[state];
+                next = transitions[state].get(ch);
+            }
+            state = next != null ? next : 0;
+
+            int length = longestMatch[state];
+            if (length == 0) {
+                continue;
+            }
+            int start = i + 1 - length;
+            if (spanEnd >= start) {
+                // Overlaps or touches the open span
+                spanStart = Math.min(spanStart, start);
+                spanEnd = i + 1;
+                continue;
+            }
+            if (spanStart >= 0) {
+                if (result == null) {
+                    result = new StringBuilder(text.length() + 32);
+                }
+                appendSpan(result, text, copied, spanStart, spanEnd);
+                copied = spanEnd;
+            }
+            spanStart = start;
+            spanEnd = i + 1;
+        }
+        if (spanStart < 0) {
+            return null;
+        }
+        if (result == null) {
+            result = new StringBuilder(text.length() + OPEN.length() + CLOSE.length());
+        }
+        appendSpan(result, text, copied, spanStart, spanEnd);
+        return result.append(text, spanEnd, text.length()).toString();
+    }
+
+    private static void appendSpan(StringBuilder result, String text, int from, int start, int end) {
+        result.append(text, from, start).append(OPEN).append(text, start, end).append(CLOSE);
+    }
+}
@@ -0,0 +1,204 @@
+package com.startica.privateapp.search.index;
+
+import com.startica.privateapp.model.Candidate;
+import com.startica.privateapp.search.specification.CandidateQueryPlan;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Saved candidate searches held as their compiled {@link CandidateQueryPlan}s, so a written
+ * candidate can be tested against all of them without running any query.
+ *
+ * A candidate matches exactly when the advanced search would return it: the plan is the one the
+ * search runs, with its synonym-expanded skills and its text terms matched as the search engine
+ * matches them. Each search is also indexed under the anchor of its most selective clause - a
+ * character n-gram every matching value must contain, the owning HR, or a status - so a
+ * candidate is only evaluated against searches whose anchor it carries, plus the few searches
+ * that have no usable anchor.
+ */
+@Component
+public class SavedSearchMatcher {
+
+    private static final int GRAM = 3;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, CompiledSearch> searches = new HashMap<>();
+    private final Map<String, Set<Long>> searchesByAnchor = new HashMap<>();
+    private final Set<Long> unanchored = new HashSet<>();
+    // Columns that some anchor points at, with the number of anchor keys on each
+    private final Map<String, Integer> anchorColumns = new HashMap<>();
+
+    /**
+     * Adds or replaces a saved search.
+     *
+     * @param scopeHrId only candidates of this HR can match, null for all candidates
+     * @param plan      the search's query and filters, compiled as the advanced search compiles them
+     */
+    public void register(long id, Long scopeHrId, CandidateQueryPlan plan) {
+        CompiledSearch compiled = compile(scopeHrId, plan);
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            searches.put(id, compiled);
+            if (compiled.anchors().isEmpty()) {
+                unanchored.add(id);
+            } else {
+                for (String anchor : compiled.anchors()) {
+                    searchesByAnchor.computeIfAbsent(anchor, a -> new HashSet<>()).add(id);
+                    columnOf(anchor).ifPresent(column -> anchorColumns.merge(column, 1, Integer::sum));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void unregister(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            searches.clear();
+            searchesByAnchor.clear();
+            unanchored.clear();
+            anchorColumns.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the saved searches the candidate currently matches.
+     */
+    public Set<Long> match(Candidate candidate) {
+        Set<Long> matched = new HashSet<>();
+        lock.readLock().lock();
+        try {
+            Set<Long> toCheck = new HashSet<>(unanchored);
+            for (String key : anchorKeys(candidate)) {
+                Set<Long> ids = searchesByAnchor.get(key);
+                if (ids != null) {
+                    toCheck.addAll(ids);
+                }
+            }
+            for (Long id : toCheck) {
+                if (searches.get(id).matches(candidate)) {
+                    matched.add(id);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return matched;
+    }
+
+    // Caller must hold the write lock
+    private void removeLocked(long id) {
+        CompiledSearch previous = searches.remove(id);
+        if (previous == null) {
+            return;
+        }
+        unanchored.remove(id);
+        for (String anchor : previous.anchors()) {
+            Set<Long> ids = searchesByAnchor.get(anchor);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    searchesByAnchor.remove(anchor);
+                }
+            }
+            columnOf(anchor).ifPresent(column -> anchorColumns.computeIfPresent(column, (c, n) -> n > 1 ? n - 1 : null));
+        }
+    }
+
+    /**
+     * Every anchor key the candidate can satisfy: all 1..3 character substrings of the columns
+     * some anchor points at, its owner and its status. Caller must hold the read lock.
+     */
+    private Set<String> anchorKeys(Candidate candidate) {
+        Set<String> keys = new HashSet<>();
+        for (String column : anchorColumns.keySet()) {
+            String value = CandidateQueryPlan.columnText(candidate, column);
+            if (value == null) {
+                continue;
+            }
+            String text = value.toLowerCase(Locale.ROOT);
+            for (int i = 0; i < text.length(); i++) {
+                for (int len = 1; len <= GRAM && i + len <= text.length(); len++) {
+                    keys.add(column + ":" + text.substring(i, i + len));
+                }
+            }
+        }
+        if (candidate.getSourceHrId() != null) {
+            keys.add("owner:" + candidate.getSourceHrId());
+        }
+        if (candidate.getStatus() != null) {
+            keys.add("status:" + candidate.getStatus().name());
+        }
+        return keys;
+    }
+
+    private static CompiledSearch compile(Long scopeHrId, CandidateQueryPlan plan) {
+        List<Anchor> anchors = new ArrayList<>();
+        if (scopeHrId != null) {
+            anchors.add(new Anchor(List.of("owner:" + scopeHrId), 20));
+        }
+        for (CandidateQueryPlan.RequiredText required : plan.requiredTexts()) {
+            anchors.add(gramAnchor(required.columns(), required.values()));
+        }
+        if (plan.statuses() != null) {
+            anchors.add(new Anchor(plan.statuses().stream().map(s -> "status:" + s.name()).toList(), 5));
+        }
+
+        Anchor best = anchors.stream().max((a, b) -> Integer.compare(a.score(), b.score())).orElse(null);
+        return new CompiledSearch(scopeHrId, plan, best != null ? best.keys() : List.of());
+    }
+
+    /**
+     * Anchor for a "one of values in one of columns" clause: one n-gram per value and column, each
+     * of which the matching column value must contain. Longer grams and fewer alternatives score higher.
+     */
+    private static Anchor gramAnchor(List<String> columns, List<String> values) {
+        List<String> keys = new ArrayList<>();
+        int shortest = GRAM;
+        for (String value : values) {
+            String gram = value.length() <= GRAM ? value : value.substring(value.length() / 2 - 1, value.length() / 2 + 2);
+            shortest = Math.min(shortest, gram.length());
+            for (String column : columns) {
+                keys.add(column + ":" + gram);
+            }
+        }
+        return new Anchor(keys, shortest * 10 - values.size());
+    }
+
+    private static Optional<String> columnOf(String anchor) {
+        String prefix = anchor.substring(0, anchor.indexOf(':'));
+        return "owner".equals(prefix) || "status".equals(prefix) ? Optional.empty() : Optional.of(prefix);
+    }
+
+    private record Anchor(List<String> keys, int score) {
+    }
+
+    private record CompiledSearch(Long scopeHrId, CandidateQueryPlan plan, List<String> anchors) {
+
+        boolean matches(Candidate candidate) {
+            return (scopeHrId == null || scopeHrId.equals(candidate.getSourceHrId())) && plan.matches(candidate);
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package com.startica.privateapp.search.index;
+
+import com.startica.privateapp.candidate.model.Skill;
+import com.startica.privateapp.candidate.repository.CandidateSkillRepository;
+import com.startica.privateapp.candidate.repository.SkillRepository;
+import com.startica.privateapp.search.specification.CandidateQueryPlan.SkillMatch;
+import com.startica.privateapp.search.specification.CandidateQueryPlan.Spellings;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Candidates of every normalized skill (candidate_skills) and of every owning HR as compressed
+ * bitmaps of candidate ids.
+ *
+ * Skill names are stored in canonical form ({@link SkillTaxonomy}). A skill filter term matches
+ * every dictionary skill whose name holds one of its spellings, the same test the SQL filter
+ * applies to the skills text: "java" as written covers "java" and "javascript", while the
+ * spellings the dictionary adds must be whole words of the name. The bitmaps
+ * of those skills are OR-ed, ANY terms are OR-ed and ALL terms AND-ed, and the result is AND-ed
+ * with the owner's bitmap before any row is fetched. Built by
+ * {@link com.startica.privateapp.candidate.service.CandidateSkillService} once the skill tables
+ * are backfilled, rebuilt after it renormalizes them for a reloaded dictionary, and kept up to
+ * date by the candidate write paths. Candidate ids must fit in an int.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SkillBitmapIndex {
+
+    private static final int MAX_NAME_LENGTH = 100;
+
+    private final SkillRepository skillRepository;
+    private final CandidateSkillRepository candidateSkillRepository;
+    private final SkillTaxonomy skillTaxonomy;
+
+    @Value("${search.skills.enabled:true}")
+    private boolean enabled;
+
+    @Value("${search.index.build-batch-size:2000}")
+    private int buildBatchSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Long> skillIds = new HashMap<>();
+    private final Map<Long, RoaringBitmap> candidatesBySkill = new HashMap<>();
+    private final Map<Long, RoaringBitmap> candidatesByOwner = new HashMap<>();
+    // Candidates a write path indexed or removed while the build was running; the build skips them
+    private final RoaringBitmap written = new RoaringBitmap();
+
+    private volatile boolean ready;
+
+    /**
+     * The canonical skill names of a free-text skills value, in order and without duplicates.
+     */
+    public List<String> skillNames(String skills) {
+        List<String> names = new ArrayList<>();
+        for (String term : MatchScoring.skillTerms(skills, skillTaxonomy.current())) {
+            String name = term.length() > MAX_NAME_LENGTH ? term.substring(0, MAX_NAME_LENGTH) : term;
+            if (!names.contains(name)) {
+                names.add(name);
+            }
+        }
+        return names;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        long startTime = System.currentTimeMillis();
+        long lastId = 0L;
+        int indexed = 0;
+        try {
+            List<Skill> skills = skillRepository.findAll();
+            lock.writeLock().lock();
+            try {
+                skills.forEach(skill -> skillIds.put(skill.getName(), skill.getId()));
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            while (true) {
+                List<Object[]> owners = candidateSkillRepository.findOwnerRows(lastId, PageRequest.of(0, buildBatchSize));
+                if (owners.isEmpty()) {
+                    break;
+                }
+                Long fromId = (Long) owners.get(0)[0];
+                Long toId = (Long) owners.get(owners.size() - 1)[0];
+                List<Object[]> skillRows = candidateSkillRepository.findSkillRows(fromId, toId);
+
+                lock.writeLock().lock();
+                try {
+                    for (Object[] row : owners) {
+                        int id = Math.toIntExact((Long) row[0]);
+                        if (row[1] != null && !written.contains(id)) {
+                            candidatesByOwner.computeIfAbsent((Long) row[1], k -> new RoaringBitmap()).add(id);
+                        }
+                    }
+                    for (Object[] row : skillRows) {
+                        int id = Math.toIntExact((Long) row[0]);
+                        if (!written.contains(id)) {
+                            candidatesBySkill.computeIfAbsent((Long) row[1], k -> new RoaringBitmap()).add(id);
+                        }
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                indexed += owners.size();
+                lastId = toId;
+            }
+
+            lock.writeLock().lock();
+            try {
+                candidatesBySkill.values().forEach(RoaringBitmap::runOptimize);
+                candidatesByOwner.values().forEach(RoaringBitmap::runOptimize);
+                written.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            ready = true;
+            log.info("Skill bitmap index built: {} candidates, {} skills in {}ms",
+                    indexed, skillIds.size(), System.currentTimeMillis() - startTime);
+        } catch (ArithmeticException e) {
+            log.error("Skill bitmap index disabled: candidate ids exceed the int range");
+        } catch (Exception e) {
+            log.error("Failed to build skill bitmap index", e);
+        }
+    }
+
+    /**
+     * Drops every bitmap and builds them again, for when candidate_skills has been rewritten.
+     * Skill filters fall back to SQL until the build is done.
+     */
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            candidatesBySkill.clear();
+            candidatesByOwner.clear();
+            written.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        build();
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * Id of a dictionary skill, null when it is not known yet.
+     */
+    public Long skillId(String name) {
+        lock.readLock().lock();
+        try {
+            return skillIds.get(name);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void addSkill(String name, Long id) {
+        lock.writeLock().lock();
+        try {
+            skillIds.put(name, id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the owner and skills of a candidate.
+     */
+    public void update(Long candidateId, Long ownerId, Collection<Long> skills) {
+        if (!enabled || candidateId == null || candidateId > Integer.MAX_VALUE) {
+            return;
+        }
+        int id = candidateId.intValue();
+        lock.writeLock().lock();
+        try {
+            unlink(id);
+            if (ownerId != null) {
+                candidatesByOwner.computeIfAbsent(ownerId, k -> new RoaringBitmap()).add(id);
+            }
+            for (Long skillId : skills) {
+                candidatesBySkill.computeIfAbsent(skillId, k -> new RoaringBitmap()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long candidateId) {
+        if (!enabled || candidateId == null || candidateId > Integer.MAX_VALUE) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            unlink(candidateId.intValue());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the candidates that pass every skill match, restricted to one owner.
+     *
+     * @param ownerId HR whose candidates are searched, null for all
+     * @param maxIds  larger results are not worth an IN list
+     * @return ascending ids, or null when the index cannot answer (not ready, a spelling spanning
+     *         a separator, or more than maxIds matches) and the SQL filter has to be used
+     */
+    public List<Long> matchingCandidates(List<SkillMatch> matches, Long ownerId, int maxIds) {
+        if (!isReady() || matches.isEmpty()) {
+            return null;
+        }
+        for (SkillMatch match : matches) {
+            for (Spellings spellings : match.terms()) {
+                if (!spellings.all().stream().allMatch(MatchScoring::isSingleSkill)) {
+                    return null;
+                }
+            }
+        }
+
+        lock.readLock().lock();
+        try {
+            RoaringBitmap result = null;
+            for (SkillMatch match : matches) {
+                RoaringBitmap matched = match.all() ? allOf(match.terms()) : anyOf(match.terms());
+                result = result == null ? matched : RoaringBitmap.and(result, matched);
+            }
+            if (ownerId != null) {
+                RoaringBitmap owned = candidatesByOwner.get(ownerId);
+                result = owned != null ? RoaringBitmap.and(result, owned) : new RoaringBitmap();
+            }
+            if (result.getLongCardinality() > maxIds) {
+                return null;
+            }
+            List<Long> ids = new ArrayList<>(result.getCardinality());
+            result.forEach((int id) -> ids.add((long) id));
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Caller must hold the write lock
+    private void unlink(int id) {
+        // Writes are rare next to searches, so a candidate's skills are not kept apart to find them
+        candidatesBySkill.values().forEach(bitmap -> bitmap.remove(id));
+        candidatesByOwner.values().forEach(bitmap -> bitmap.remove(id));
+        if (!ready) {
+            written.add(id);
+        }
+    }
+
+    // Caller must hold the read lock
+    private RoaringBitmap anyOf(List<Spellings> terms) {
+        List<RoaringBitmap> bitmaps = new ArrayList<>();
+        skillIds.forEach((name, skillId) -> {
+            for (Spellings spellings : terms) {
+                if (spellings.foundIn(name)) {
+                    RoaringBitmap candidates = candidatesBySkill.get(skillId);
+                    if (candidates != null) {
+                        bitmaps.add(candidates);
+                    }
+                    break;
+                }
+            }
+        });
+        return bitmaps.isEmpty() ? new RoaringBitmap() : FastAggregation.or(bitmaps.iterator());
+    }
+
+    // Caller must hold the read lock
+    private RoaringBitmap allOf(List<Spellings> terms) {
+        RoaringBitmap result = null;
+        for (Spellings term : terms) {
+            RoaringBitmap matched = anyOf(List.of(term));
+            result = result == null ? matched : RoaringBitmap.and(result, matched);
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result;
+    }
+}
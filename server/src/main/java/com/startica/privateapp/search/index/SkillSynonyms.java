@@ -0,0 +1,322 @@
+package com.startica.privateapp.search.index;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A skill synonym and taxonomy dictionary compiled into one Aho-Corasick automaton.
+ *
+ * The dictionary is line based; blank lines and lines starting with '#' are ignored:
+ * <pre>
+ * javascript = java script, ecmascript         (variants of a canonical skill)
+ * frontend &gt; react, angular, vue               (a broader skill and the skills under it)
+ * </pre>
+ * Text is folded before matching (lowercased, with runs of whitespace, '.', '-', '_' and '/'
+ * turned into one space, except the dot of ".net"), so "React.js", "react-js" and "REACT JS"
+ * are the same variant.
+ * {@link #normalize} rewrites every variant found at word boundaries in a single pass over the
+ * text, longest match first; {@link #expand} gives the spellings a query skill has to be looked
+ * for under, which filters match as whole words ({@link #containsWord}). Instances are immutable and safe to share between threads.
+ */
+public final class SkillSynonyms {
+
+    public static final SkillSynonyms EMPTY = compile(List.of());
+
+    // goto function per state, keyed by folded char
+    private final Map<Character, Integer>[] transitions;
+    private final int[] failure;
+    // Canonical of the variant ending exactly in each state, null for none
+    private final String[] canonicalAt;
+    private final int[] lengthAt;
+    // Nearest state on the failure chain that ends a variant, 0 for none
+    private final int[] outputLink;
+
+    // Lowercased spellings of every canonical (itself and its variants, as written)
+    private final Map<String, Set<String>> spellings;
+    private final Map<String, Set<String>> narrower;
+    private final Map<String, Set<String>> broader;
+    private final int lineCount;
+
+    private SkillSynonyms(Map<Character, Integer>[] transitions, int[] failure, String[] canonicalAt, int[] lengthAt,
+                          int[] outputLink, Map<String, Set<String>> spellings, Map<String, Set<String>> narrower,
+                          Map<String, Set<String>> broader, int lineCount) {
+        this.transitions = transitions;
+        this.failure = failure;
+        this.canonicalAt = canonicalAt;
+        this.lengthAt = lengthAt;
+        this.outputLink = outputLink;
+        this.spellings = spellings;
+        this.narrower = narrower;
+        this.broader = broader;
+        this.lineCount = lineCount;
+    }
+
+    /**
+     * Compiles dictionary lines.
+     *
+     * @throws IllegalArgumentException on a line that is neither a synonym nor a taxonomy entry
+     */
+    public static SkillSynonyms compile(List<String> lines) {
+        Map<String, Set<String>> spellings = new LinkedHashMap<>();
+        Map<String, Set<String>> narrower = new LinkedHashMap<>();
+        // Folded variant -> canonical; a later line wins over an earlier one
+        Map<String, String> variants = new LinkedHashMap<>();
+        int entries = 0;
+
+        for (int n = 0; n < lines.size(); n++) {
+            String line = lines.get(n).trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            int equals = line.indexOf('=');
+            int broader = line.indexOf('>');
+            int split = equals >= 0 ? equals : broader;
+            String head = split > 0 ? fold(line.substring(0, split)) : "";
+            if (head.isEmpty() || (equals >= 0 && broader >= 0)) {
+                throw new IllegalArgumentException("Line " + (n + 1) + ": expected 'skill = variants' or 'skill > skills'");
+            }
+            entries++;
+            spellings.computeIfAbsent(head, k -> new LinkedHashSet<>()).add(head);
+            variants.put(head, head);
+            for (String item : line.substring(split + 1).split(",")) {
+                String raw = item.trim().toLowerCase(Locale.ROOT);
+                String folded = fold(raw);
+                if (folded.isEmpty()) {
+                    continue;
+                }
+                if (equals >= 0) {
+                    spellings.get(head).add(raw);
+                    spellings.get(head).add(folded);
+                    variants.put(folded, head);
+                } else {
+                    narrower.computeIfAbsent(head, k -> new LinkedHashSet<>()).add(folded);
+                }
+            }
+        }
+        // Narrower skills are stored under their canonical name
+        narrower.replaceAll((head, skills) -> {
+            Set<String> canonical = new LinkedHashSet<>();
+            skills.forEach(skill -> canonical.add(variants.getOrDefault(skill, skill)));
+            return canonical;
+        });
+
+        // Trie of the folded variants
+        List<Map<Character, Integer>> states = new ArrayList<>();
+        List<String> canonicals = new ArrayList<>();
+        states.add(new HashMap<>());
+        canonicals.add(null);
+        variants.forEach((variant, canonical) -> {
+            int state = 0;
+            for (int i = 0; i < variant.length(); i++) {
+                Integer next = states.get(state).get(variant.charAt(i));
+                if (next == null) {
+                    next = states.size();
+                    states.add(new HashMap<>());
+                    canonicals.add(null);
+                    states.get(state).put(variant.charAt(i), next);
+                }
+                state = next;
+            }
+            canonicals.set(state, canonical);
+        });
+
+        @SuppressWarnings("unchecked")
+        Map<Character, Integer>[] transitions = states.toArray(new Map[0]);
+        String[] canonicalAt = canonicals.toArray(new String[0]);
+        int[] lengthAt = new int[transitions.length];
+        int[] failure = new int[transitions.length];
+        int[] outputLink = new int[transitions.length];
+        // Failure and output links, breadth first so a state's suffix state is always done before it
+        ArrayDeque<int[]> queue = new ArrayDeque<>();
+        for (int child : transitions[0].values()) {
+            queue.add(new int[] {child, 1});
+        }
+        while (!queue.isEmpty()) {
+            int[] entry = queue.poll();
+            int state = entry[0];
+            lengthAt[state] = entry[1];
+            int suffix = failure[state];
+            outputLink[state] = canonicalAt[suffix] != null ? suffix : outputLink[suffix];
+            for (Map.Entry<Character, Integer> edge : transitions[state].entrySet()) {
+                int child = edge.getValue();
+                int fallback = failure[state];
+                Integer next = transitions[fallback].get(edge.getKey());
+                while (next == null && fallback != 0) {
+                    fallback = failure[fallback];
+                    next = transitions[fallback].get(edge.getKey());
+                }
+                failure[child] = next != null && next != child ? next : 0;
+                queue.add(new int[] {child, entry[1] + 1});
+            }
+        }
+
+        Map<String, Set<String>> frozenSpellings = new HashMap<>();
+        spellings.forEach((canonical, forms) -> frozenSpellings.put(canonical, Set.copyOf(forms)));
+        Map<String, Set<String>> frozenNarrower = new HashMap<>();
+        Map<String, Set<String>> broader = new HashMap<>();
+        narrower.forEach((head, skills) -> {
+            frozenNarrower.put(head, Set.copyOf(skills));
+            skills.forEach(skill -> broader.computeIfAbsent(skill, k -> new LinkedHashSet<>()).add(head));
+        });
+        broader.replaceAll((skill, heads) -> Set.copyOf(heads));
+        return new SkillSynonyms(transitions, failure, canonicalAt, lengthAt, outputLink,
+                frozenSpellings, frozenNarrower, broader, entries);
+    }
+
+    /**
+     * Number of dictionary entries (lines) compiled in.
+     */
+    public int size() {
+        return lineCount;
+    }
+
+    /**
+     * The folded skill with every variant replaced by its canonical name: "ReactJS" and
+     * "React.js" both become "react", "Senior Java Script" becomes "senior javascript".
+     */
+    public String normalize(String skill) {
+        String text = fold(skill);
+        if (text.isEmpty() || transitions.length == 1) {
+            return text;
+        }
+
+        // Leftmost-longest variant matches that start and end on word boundaries
+        int[] matchEnd = new int[text.length()];
+        String[] matchCanonical = new String[text.length()];
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            Integer next = transitions[state].get(ch);
+            while (next == null && state != 0) {
+                state = failure[state];
+                next = transitions[state].get(ch);
+            }
+            state = next != null ? next : 0;
+            boolean endsWord = i + 1 == text.length() || !isWordChar(text.charAt(i + 1));
+            if (!endsWord) {
+                continue;
+            }
+            for (int s = canonicalAt[state] != null ? state : outputLink[state]; s != 0; s = outputLink[s]) {
+                int start = i + 1 - lengthAt[s];
+                if ((start == 0 || !isWordChar(text.charAt(start - 1))) && i + 1 > matchEnd[start]) {
+                    matchEnd[start] = i + 1;
+                    matchCanonical[start] = canonicalAt[s];
+                }
+            }
+        }
+
+        StringBuilder normalized = null;
+        int copied = 0;
+        for (int start = 0; start < text.length(); start++) {
+            if (matchCanonical[start] == null || start < copied) {
+                continue;
+            }
+            if (normalized == null) {
+                normalized = new StringBuilder(text.length() + 16);
+            }
+            normalized.append(text, copied, start).append(matchCanonical[start]);
+            copied = matchEnd[start];
+        }
+        return normalized == null ? text : normalized.append(text, copied, text.length()).toString();
+    }
+
+    /**
+     * Every lowercased spelling a query skill should be matched under: the term itself, its
+     * canonical name and that name's variants, and the same for each narrower skill.
+     */
+    public List<String> expand(String term) {
+        Set<String> expanded = new LinkedHashSet<>();
+        String lower = term.trim().toLowerCase(Locale.ROOT);
+        if (!lower.isEmpty()) {
+            expanded.add(lower);
+        }
+        String canonical = normalize(term);
+        if (canonical.isEmpty()) {
+            return List.copyOf(expanded);
+        }
+        ArrayDeque<String> pending = new ArrayDeque<>(List.of(canonical));
+        Set<String> seen = new LinkedHashSet<>();
+        while (!pending.isEmpty()) {
+            String skill = pending.poll();
+            if (!seen.add(skill)) {
+                continue;
+            }
+            expanded.add(skill);
+            expanded.addAll(spellings.getOrDefault(skill, Set.of()));
+            pending.addAll(narrower.getOrDefault(skill, Set.of()));
+        }
+        return List.copyOf(expanded);
+    }
+
+    /**
+     * The canonical skills with every broader skill they fall under added, so a candidate listing
+     * "react" also has "frontend" when an opening asks for it.
+     */
+    public List<String> withBroader(List<String> canonicals) {
+        if (broader.isEmpty()) {
+            return canonicals;
+        }
+        Set<String> closed = new LinkedHashSet<>(canonicals);
+        ArrayDeque<String> pending = new ArrayDeque<>(canonicals);
+        while (!pending.isEmpty()) {
+            for (String head : broader.getOrDefault(pending.poll(), Set.of())) {
+                if (closed.add(head)) {
+                    pending.add(head);
+                }
+            }
+        }
+        return closed.size() == canonicals.size() ? canonicals : List.copyOf(closed);
+    }
+
+    /**
+     * Whether the lowercased text contains the lowercased word with no word character right
+     * before or after it, so "java" is found in "core java, sql" but not in "javascript".
+     */
+    public static boolean containsWord(String text, String word) {
+        if (word.isEmpty()) {
+            return false;
+        }
+        for (int at = text.indexOf(word); at >= 0; at = text.indexOf(word, at + 1)) {
+            int end = at + word.length();
+            if ((at == 0 || !isWordChar(text.charAt(at - 1))) && (end == text.length() || !isWordChar(text.charAt(end)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder folded = new StringBuilder(text.length());
+        boolean space = false;
+        for (int i = 0; i < text.length(); i++) {
+            char ch = Character.toLowerCase(text.charAt(i));
+            // A leading dot is part of the name, as in ".net"
+            boolean leadingDot = ch == '.' && folded.isEmpty() && i + 1 < text.length()
+                    && Character.isLetter(text.charAt(i + 1));
+            if (!leadingDot && (Character.isWhitespace(ch) || ch == '.' || ch == '-' || ch == '_' || ch == '/')) {
+                space = !folded.isEmpty();
+                continue;
+            }
+            if (space) {
+                folded.append(' ');
+                space = false;
+            }
+            folded.append(ch);
+        }
+        return folded.toString();
+    }
+
+    private static boolean isWordChar(char ch) {
+        return Character.isLetterOrDigit(ch) || ch == '+' || ch == '#';
+    }
+}
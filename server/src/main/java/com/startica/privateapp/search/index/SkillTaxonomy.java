@@ -0,0 +1,93 @@
+package com.startica.privateapp.search.index;
+
+import com.startica.privateapp.candidate.event.CandidateChangedEvent;
+import com.startica.privateapp.common.exception.BusinessException;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * The skill synonym dictionary in use, read from search.skills.synonyms-location.
+ *
+ * Skills are normalized with it when candidates and openings are indexed, and query skills are
+ * expanded with it by the advanced searches. {@link #reload()} swaps in a newly compiled
+ * dictionary without a restart and publishes {@link ReloadedEvent} so the indexes holding
+ * normalized skills rebuild; cached search results are dropped.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SkillTaxonomy {
+
+    private final ResourceLoader resourceLoader;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${search.skills.synonyms-location:classpath:skill-synonyms.txt}")
+    private String location;
+
+    private volatile SkillSynonyms current = SkillSynonyms.EMPTY;
+
+    /**
+     * Published after a reload, once {@link #current()} returns the new dictionary.
+     */
+    public record ReloadedEvent(int entries) {
+    }
+
+    @PostConstruct
+    void load() {
+        try {
+            current = read();
+            log.info("Loaded {} skill synonym entries from {}", current.size(), location);
+        } catch (Exception e) {
+            log.error("Failed to load skill synonyms from {}, skills are matched as written", location, e);
+        }
+    }
+
+    public SkillSynonyms current() {
+        return current;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    /**
+     * Reads and compiles the dictionary again and switches to it.
+     *
+     * @return number of entries loaded
+     * @throws BusinessException when the file cannot be read or has an invalid line; the
+     *                           dictionary in use is kept
+     */
+    public int reload() {
+        SkillSynonyms loaded;
+        try {
+            loaded = read();
+        } catch (IOException | IllegalArgumentException e) {
+            throw new BusinessException("Skill synonyms not reloaded: " + e.getMessage(), e);
+        }
+        current = loaded;
+        log.info("Reloaded {} skill synonym entries from {}", loaded.size(), location);
+        eventPublisher.publishEvent(new ReloadedEvent(loaded.size()));
+        // Cached results were computed with the old expansions
+        eventPublisher.publishEvent(CandidateChangedEvent.all());
+        return loaded.size();
+    }
+
+    private SkillSynonyms read() throws IOException {
+        Resource resource = resourceLoader.getResource(location);
+        try (InputStream in = resource.getInputStream()) {
+            List<String> lines = new String(in.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+            return SkillSynonyms.compile(lines);
+        }
+    }
+}
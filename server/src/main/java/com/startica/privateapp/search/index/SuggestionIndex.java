@@ -0,0 +1,350 @@
+package com.startica.privateapp.search.index;
+
+import com.startica.privateapp.model.Candidate;
+import com.startica.privateapp.opening.model.Opening;
+import com.startica.privateapp.opening.repository.OpeningRepository;
+import com.startica.privateapp.repository.CandidateRepository;
+import com.startica.privateapp.search.dto.Suggestion;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Typeahead over the distinct skills, locations, companies and candidate names found in
+ * candidates and openings, with the number of records carrying each value.
+ *
+ * Every field is a prefix trie whose nodes also hold the highest count below them, so the
+ * top-K completions of a prefix come out of a best-first walk that only visits the branches
+ * that can still contribute. Each record remembers the values it added, which lets the
+ * candidate and opening write paths replace them incrementally. Candidate names are kept
+ * per owning HR as well, so HR users are only offered names of their own candidates.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SuggestionIndex {
+
+    private static final Pattern LIST_SEPARATOR = Pattern.compile("[,;|]");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    public enum Field {
+        SKILLS, LOCATIONS, COMPANIES, NAMES;
+
+        public static Field from(String name) {
+            try {
+                return Field.valueOf(name.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException | NullPointerException e) {
+                return null;
+            }
+        }
+    }
+
+    private final CandidateRepository candidateRepository;
+    private final OpeningRepository openingRepository;
+
+    @Value("${search.suggest.enabled:true}")
+    private boolean enabled;
+
+    @Value("${search.suggest.build-batch-size:2000}")
+    private int buildBatchSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Field, PrefixTrie> tries = new EnumMap<>(Field.class);
+    private final Map<Long, PrefixTrie> namesByOwner = new HashMap<>();
+    private final Map<String, Contribution> contributions = new HashMap<>();
+
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        Thread builder = new Thread(this::rebuild, "suggestion-index-build");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    /**
+     * Reloads every candidate (in id-ordered batches) and every opening.
+     */
+    public void rebuild() {
+        long startTime = System.currentTimeMillis();
+        ready = false;
+        lock.writeLock().lock();
+        try {
+            tries.clear();
+            namesByOwner.clear();
+            contributions.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            long lastId = 0L;
+            int candidates = 0;
+            while (true) {
+                List<Candidate> batch = candidateRepository.findByIdGreaterThanOrderByIdAsc(
+                        lastId, PageRequest.of(0, buildBatchSize));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                batch.forEach(this::index);
+                candidates += batch.size();
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+            List<Opening> openings = openingRepository.findAll();
+            openings.forEach(this::index);
+
+            ready = true;
+            log.info("Suggestion index built from {} candidates and {} openings in {}ms",
+                    candidates, openings.size(), System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            log.error("Failed to build suggestion index", e);
+        }
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    public void index(Candidate candidate) {
+        if (!enabled || candidate == null || candidate.getId() == null) {
+            return;
+        }
+        List<Term> terms = new ArrayList<>();
+        addList(terms, Field.SKILLS, candidate.getSkills());
+        addValue(terms, Field.LOCATIONS, candidate.getLocation());
+        addValue(terms, Field.COMPANIES, candidate.getCompany());
+        String name = join(candidate.getFirstName(), candidate.getLastName());
+        addValue(terms, Field.NAMES, name);
+
+        replace("c" + candidate.getId(), versionOf(candidate.getUpdatedAt()), candidate.getSourceHrId(), terms);
+    }
+
+    public void index(Opening opening) {
+        if (!enabled || opening == null || opening.getId() == null) {
+            return;
+        }
+        List<Term> terms = new ArrayList<>();
+        addList(terms, Field.SKILLS, opening.getSkills());
+        addValue(terms, Field.LOCATIONS, opening.getLocation());
+
+        replace("o" + opening.getId(), versionOf(opening.getUpdatedAt()), null, terms);
+    }
+
+    public void removeCandidate(Long candidateId) {
+        if (enabled && candidateId != null) {
+            replace("c" + candidateId, Long.MAX_VALUE, null, List.of());
+        }
+    }
+
+    public void removeOpening(Long openingId) {
+        if (enabled && openingId != null) {
+            replace("o" + openingId, Long.MAX_VALUE, null, List.of());
+        }
+    }
+
+    /**
+     * Most frequent values of the field starting with the prefix (case-insensitive).
+     *
+     * @param ownerId restricts name suggestions to this HR's candidates, null for all
+     */
+    public List<Suggestion> suggest(Field field, String prefix, Long ownerId, int limit) {
+        String key = normalize(prefix);
+        if (field == null || key.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            PrefixTrie trie = field == Field.NAMES && ownerId != null ? namesByOwner.get(ownerId) : tries.get(field);
+            return trie != null ? trie.complete(key, limit) : List.of();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void replace(String docKey, long version, Long ownerId, List<Term> terms) {
+        lock.writeLock().lock();
+        try {
+            Contribution previous = contributions.get(docKey);
+            if (previous != null) {
+                if (previous.version() > version) {
+                    // A newer copy was indexed by a concurrent write while a rebuild batch was in flight
+                    return;
+                }
+                for (Term term : previous.terms()) {
+                    apply(term, previous.ownerId(), -1);
+                }
+            }
+            for (Term term : terms) {
+                apply(term, ownerId, 1);
+            }
+            if (terms.isEmpty()) {
+                contributions.remove(docKey);
+            } else {
+                contributions.put(docKey, new Contribution(version, ownerId, terms));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller must hold the write lock
+    private void apply(Term term, Long ownerId, int delta) {
+        tries.computeIfAbsent(term.field(), f -> new PrefixTrie()).add(term.key(), term.label(), delta);
+        if (term.field() == Field.NAMES && ownerId != null) {
+            namesByOwner.computeIfAbsent(ownerId, id -> new PrefixTrie()).add(term.key(), term.label(), delta);
+        }
+    }
+
+    private static void addList(List<Term> terms, Field field, String values) {
+        if (values == null) {
+            return;
+        }
+        Set<String> seen = new LinkedHashSet<>();
+        for (String value : LIST_SEPARATOR.split(values)) {
+            String key = normalize(value);
+            if (!key.isEmpty() && seen.add(key)) {
+                terms.add(new Term(field, key, value.trim()));
+            }
+        }
+    }
+
+    private static void addValue(List<Term> terms, Field field, String value) {
+        String key = normalize(value);
+        if (!key.isEmpty()) {
+            terms.add(new Term(field, key, WHITESPACE.matcher(value.trim()).replaceAll(" ")));
+        }
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        return WHITESPACE.matcher(value.trim().toLowerCase(Locale.ROOT)).replaceAll(" ");
+    }
+
+    private static String join(String first, String last) {
+        return ((first != null ? first : "") + " " + (last != null ? last : "")).trim();
+    }
+
+    private static long versionOf(LocalDateTime updatedAt) {
+        return updatedAt != null ? updatedAt.toInstant(ZoneOffset.UTC).toEpochMilli() : 0L;
+    }
+
+    private record Term(Field field, String key, String label) {
+    }
+
+    private record Contribution(long version, Long ownerId, List<Term> terms) {
+    }
+
+    /**
+     * Character trie with per-value counts. best is the highest count in the subtree,
+     * which bounds what any unvisited branch can still return.
+     */
+    private static final class PrefixTrie {
+
+        private final Node root = new Node();
+
+        void add(String key, String label, int delta) {
+            Node[] path = new Node[key.length() + 1];
+            path[0] = root;
+            Node node = root;
+            for (int i = 0; i < key.length(); i++) {
+                Node child = node.children.get(key.charAt(i));
+                if (child == null) {
+                    if (delta < 0) {
+                        return;
+                    }
+                    child = new Node();
+                    node.children.put(key.charAt(i), child);
+                }
+                node = child;
+                path[i + 1] = node;
+            }
+
+            node.count = Math.max(0, node.count + delta);
+            if (node.count == 0) {
+                node.label = null;
+            } else if (node.label == null) {
+                node.label = label;
+            }
+
+            // Recompute subtree maxima bottom-up and drop branches that no longer hold a value
+            for (int i = key.length(); i >= 0; i--) {
+                Node current = path[i];
+                int best = current.count;
+                for (Node child : current.children.values()) {
+                    best = Math.max(best, child.best);
+                }
+                current.best = best;
+                if (i > 0 && best == 0 && current.children.isEmpty()) {
+                    path[i - 1].children.remove(key.charAt(i - 1));
+                }
+            }
+        }
+
+        List<Suggestion> complete(String prefix, int limit) {
+            Node node = root;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.children.get(prefix.charAt(i));
+            }
+            List<Suggestion> results = new ArrayList<>();
+            if (node == null || node.best == 0) {
+                return results;
+            }
+
+            // Nodes are ranked by their subtree maximum, values by their own count;
+            // a value popped from the queue can no longer be beaten by anything left in it
+            PriorityQueue<QueueEntry> queue = new PriorityQueue<>((a, b) -> a.priority != b.priority
+                    ? Integer.compare(b.priority, a.priority)
+                    : Boolean.compare(b.value, a.value));
+            queue.add(new QueueEntry(node, node.best, false));
+            while (!queue.isEmpty() && results.size() < limit) {
+                QueueEntry next = queue.poll();
+                if (next.value) {
+                    results.add(new Suggestion(next.node.label, next.node.count));
+                    continue;
+                }
+                if (next.node.count > 0) {
+                    queue.add(new QueueEntry(next.node, next.node.count, true));
+                }
+                for (Node child : next.node.children.values()) {
+                    if (child.best > 0) {
+                        queue.add(new QueueEntry(child, child.best, false));
+                    }
+                }
+            }
+            return results;
+        }
+
+        private record QueueEntry(Node node, int priority, boolean value) {
+        }
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private String label;
+        private int count;
+        private int best;
+    }
+}
@@ -0,0 +1,61 @@
+package com.startica.privateapp.search.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Tokenizer shared by the in-memory search structures.
+ * Lowercases the input and splits it on anything that is not a letter or digit,
+ * keeping '+' and '#' so skills such as "C++" and "C#" survive as terms.
+ */
+public final class TextAnalyzer {
+
+    private TextAnalyzer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i < lower.length(); i++) {
+            char ch = lower.charAt(i);
+            boolean tokenChar = Character.isLetterOrDigit(ch) || ch == '+' || ch == '#';
+            if (tokenChar) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        if (start >= 0) {
+            tokens.add(lower.substring(start));
+        }
+        return tokens;
+    }
+
+    /**
+     * Digits-only form of a phone number, with any country code or trunk prefix kept, so
+     * "98765-43210" is found as "9876543210" and "+91 98765-43210" as "919876543210". The national
+     * number without the prefix is ContactNormalizer.canonicalPhone, which the index adds as well.
+     */
+    public static String phoneDigits(String phone) {
+        if (phone == null) {
+            return "";
+        }
+        StringBuilder digits = new StringBuilder(phone.length());
+        for (int i = 0; i < phone.length(); i++) {
+            char ch = phone.charAt(i);
+            if (ch >= '0' && ch <= '9') {
+                digits.append(ch);
+            }
+        }
+        return digits.toString();
+    }
+}
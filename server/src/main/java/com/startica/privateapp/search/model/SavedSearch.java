@@ -0,0 +1,80 @@
+package com.startica.privateapp.search.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "saved_searches", indexes = {
+    @Index(name = "idx_saved_search_user", columnList = "user_id"),
+    @Index(name = "idx_saved_search_type", columnList = "search_type")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SavedSearch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 150)
+    private String name;
+
+    @Column(length = 500)
+    private String description;
+
+    @Column(name = "search_type", nullable = false, length = 20)
+    private String searchType; // CANDIDATE, JOB_OPENING, GLOBAL
+
+    // Filter map as JSON, same keys as the advanced search request
+    @Column(name = "filters", columnDefinition = "TEXT")
+    private String filters;
+
+    @Column(name = "is_shared", nullable = false)
+    private boolean shared;
+
+    @Column(name = "enable_notifications", nullable = false)
+    private boolean enableNotifications;
+
+    @Column(name = "notification_frequency")
+    private Integer notificationFrequency; // In hours
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // Owner's candidate scope: the HR's id for HR users, null for admins
+    @Column(name = "scope_hr_id")
+    private Long scopeHrId;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "last_used_at")
+    private LocalDateTime lastUsedAt;
+
+    @Builder.Default
+    @Column(name = "use_count", nullable = false)
+    private Integer useCount = 0;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (useCount == null) {
+            useCount = 0;
+        }
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,40 @@
+package com.startica.privateapp.search.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A candidate that started matching a saved search, recorded when the candidate was written.
+ */
+@Entity
+@Table(name = "saved_search_matches",
+    uniqueConstraints = @UniqueConstraint(name = "uk_saved_search_candidate",
+        columnNames = {"saved_search_id", "candidate_id"}),
+    indexes = {
+        @Index(name = "idx_saved_search_matched_at", columnList = "saved_search_id, matched_at"),
+        @Index(name = "idx_saved_search_match_candidate", columnList = "candidate_id")
+    })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SavedSearchMatch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "saved_search_id", nullable = false)
+    private Long savedSearchId;
+
+    @Column(name = "candidate_id", nullable = false)
+    private Long candidateId;
+
+    @Column(name = "matched_at", nullable = false)
+    private LocalDateTime matchedAt;
+}
@@ -0,0 +1,41 @@
+package com.startica.privateapp.search.repository;
+
+import com.startica.privateapp.search.model.SavedSearchMatch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface SavedSearchMatchRepository extends JpaRepository<SavedSearchMatch, Long> {
+
+    List<SavedSearchMatch> findByCandidateIdIn(Collection<Long> candidateIds);
+
+    @Query("SELECT m.candidateId FROM SavedSearchMatch m " +
+           "WHERE m.savedSearchId = :savedSearchId AND m.matchedAt > :since ORDER BY m.matchedAt DESC")
+    List<Long> findCandidateIdsMatchedSince(@Param("savedSearchId") Long savedSearchId,
+                                            @Param("since") LocalDateTime since);
+
+    // (savedSearchId, count) of matches recorded after each search was last run, counting only
+    // candidates of sourceHrId unless it is null
+    @Query("SELECT m.savedSearchId, COUNT(m) FROM SavedSearchMatch m JOIN SavedSearch s ON s.id = m.savedSearchId " +
+           "JOIN Candidate c ON c.id = m.candidateId " +
+           "WHERE m.savedSearchId IN :savedSearchIds AND m.matchedAt > COALESCE(s.lastUsedAt, s.createdAt) " +
+           "AND (:sourceHrId IS NULL OR c.sourceHrId = :sourceHrId) " +
+           "GROUP BY m.savedSearchId")
+    List<Object[]> countNewMatches(@Param("savedSearchIds") Collection<Long> savedSearchIds,
+                                   @Param("sourceHrId") Long sourceHrId);
+
+    @Modifying
+    @Query("DELETE FROM SavedSearchMatch m WHERE m.candidateId = :candidateId")
+    int deleteByCandidateId(@Param("candidateId") Long candidateId);
+
+    @Modifying
+    @Query("DELETE FROM SavedSearchMatch m WHERE m.savedSearchId = :savedSearchId")
+    int deleteBySavedSearchId(@Param("savedSearchId") Long savedSearchId);
+}
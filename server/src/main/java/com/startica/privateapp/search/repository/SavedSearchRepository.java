@@ -0,0 +1,19 @@
+package com.startica.privateapp.search.repository;
+
+import com.startica.privateapp.search.model.SavedSearch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SavedSearchRepository extends JpaRepository<SavedSearch, Long> {
+
+    // Own searches plus the ones other users shared
+    @Query("SELECT s FROM SavedSearch s WHERE s.userId = :userId OR s.shared = true ORDER BY s.createdAt DESC")
+    List<SavedSearch> findVisibleTo(@Param("userId") Long userId);
+
+    List<SavedSearch> findBySearchType(String searchType);
+}
@@ -0,0 +1,153 @@
+package com.startica.privateapp.search.service;
+
+import com.startica.privateapp.model.Candidate;
+import com.startica.privateapp.search.dto.FacetBucket;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Drill-sideways facet counts for the advanced candidate search.
+ *
+ * One query streams the rows matching every non-facet filter, together with a 0/1 flag per facet
+ * filter evaluated by the database. A row that passes all facet filters counts towards every facet;
+ * a row that fails exactly one counts only towards that facet, so each facet's buckets reflect all
+ * filters except its own. Rows failing two or more facet filters are skipped.
+ */
+@Service
+@RequiredArgsConstructor
+public class CandidateFacetService {
+
+    // Facet names, each one is also the Candidate attribute it counts
+    public static final List<String> FACETS =
+            List.of("location", "status", "experienceLevel", "noticePeriod", "degree", "skills");
+
+    private static final Pattern SKILL_SEPARATOR = Pattern.compile("[,;|]");
+
+    private final EntityManager entityManager;
+
+    @Value("${search.facets.top-n:10}")
+    private int defaultTopN;
+
+    @Value("${search.facets.fetch-size:1000}")
+    private int fetchSize;
+
+    public int getDefaultTopN() {
+        return defaultTopN;
+    }
+
+    /**
+     * @param baseSpec     every filter that does not belong to a facet (text query, HR scope, ranges...)
+     * @param facetFilters filter of each facet that has one, keyed by facet name
+     * @param topN         number of buckets kept per facet, highest count first
+     */
+    public Map<String, List<FacetBucket>> countFacets(Specification<Candidate> baseSpec,
+                                                      Map<String, Specification<Candidate>> facetFilters,
+                                                      int topN) {
+        List<String> filtered = new ArrayList<>(facetFilters.keySet());
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<Candidate> root = query.from(Candidate.class);
+
+        List<Selection<?>> columns = new ArrayList<>();
+        for (String facet : FACETS) {
+            columns.add(root.get(facet));
+        }
+        for (String facet : filtered) {
+            columns.add(cb.<Integer>selectCase()
+                    .when(facetFilters.get(facet).toPredicate(root, query, cb), 1)
+                    .otherwise(0));
+        }
+        query.multiselect(columns).where(baseSpec.toPredicate(root, query, cb));
+
+        Map<String, Map<String, FacetCounter>> counters = new LinkedHashMap<>();
+        for (String facet : FACETS) {
+            counters.put(facet, new HashMap<>());
+        }
+
+        try (Stream<Object[]> rows = entityManager.createQuery(query)
+                .setHint("org.hibernate.fetchSize", fetchSize)
+                .setHint("org.hibernate.readOnly", true)
+                .getResultStream()) {
+            rows.forEach(row -> {
+                // The single facet filter this row fails, null if it passes all of them
+                String failedFacet = null;
+                for (int i = 0; i < filtered.size(); i++) {
+                    if (((Number) row[FACETS.size() + i]).intValue() == 0) {
+                        if (failedFacet != null) {
+                            return;
+                        }
+                        failedFacet = filtered.get(i);
+                    }
+                }
+                for (int i = 0; i < FACETS.size(); i++) {
+                    String facet = FACETS.get(i);
+                    if (failedFacet == null || failedFacet.equals(facet)) {
+                        addValue(counters.get(facet), facet, row[i]);
+                    }
+                }
+            });
+        }
+
+        Map<String, List<FacetBucket>> facets = new LinkedHashMap<>();
+        counters.forEach((facet, values) -> facets.put(facet, topBuckets(values, topN)));
+        return facets;
+    }
+
+    private void addValue(Map<String, FacetCounter> values, String facet, Object raw) {
+        if (raw == null) {
+            return;
+        }
+        if ("skills".equals(facet)) {
+            // Comma separated list, each skill counted once per candidate
+            Set<String> seen = new HashSet<>();
+            for (String skill : SKILL_SEPARATOR.split(raw.toString())) {
+                String label = skill.trim();
+                if (!label.isEmpty() && seen.add(label.toLowerCase())) {
+                    values.computeIfAbsent(label.toLowerCase(), key -> new FacetCounter(label)).count++;
+                }
+            }
+            return;
+        }
+        String label = raw instanceof Enum<?> e ? e.name() : raw.toString().trim();
+        if (!label.isEmpty()) {
+            values.computeIfAbsent(label.toLowerCase(), key -> new FacetCounter(label)).count++;
+        }
+    }
+
+    private List<FacetBucket> topBuckets(Map<String, FacetCounter> values, int topN) {
+        return values.values().stream()
+                .sorted(Comparator.comparingLong((FacetCounter c) -> c.count).reversed()
+                        .thenComparing(c -> c.label))
+                .limit(Math.max(topN, 0))
+                .map(c -> new FacetBucket(c.label, c.count))
+                .toList();
+    }
+
+    private static final class FacetCounter {
+        private final String label;
+        private long count;
+
+        private FacetCounter(String label) {
+            this.label = label;
+        }
+    }
+}
@@ -1,10 +1,15 @@
 package com.startica.privateapp.search.service;
 
+import com.startica.privateapp.candidate.dto.CandidateSummary;
 import com.startica.privateapp.search.dto.CandidateSearchRequest;
 import com.startica.privateapp.search.dto.SearchResultPage;
 import com.startica.privateapp.model.Candidate;
 import com.startica.privateapp.repository.CandidateRepository;
+import com.startica.privateapp.search.explain.SearchExplain;
+import com.startica.privateapp.search.index.SkillTaxonomy;
 import com.startica.privateapp.search.specification.CandidateSpecification;
+import com.startica.privateapp.common.pagination.KeysetPager;
+import com.startica.privateapp.common.pagination.KeysetSlice;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -17,9 +22,10 @@ import org.springframework.stereotype.Service;
 public class CandidateSearchService {
 
     private final CandidateRepository candidateRepository;
+    private final SkillTaxonomy skillTaxonomy;
 
     @SuppressWarnings("null")
-    public SearchResultPage<Candidate> advancedSearch(CandidateSearchRequest request, com.startica.privateapp.model.User currentUser) {
+    public SearchResultPage<CandidateSummary> advancedSearch(CandidateSearchRequest request, com.startica.privateapp.model.User currentUser) {
         long startTime = System.currentTimeMillis();
         
         // For HR users, filter by their own candidates only
@@ -27,15 +33,40 @@ public class CandidateSearchService {
             request.setCreatedByHrId(currentUser.getId());
         }
         
+        SearchExplain explain = SearchExplain.current();
+
         // Build specification
-        Specification<Candidate> spec = CandidateSpecification.buildSpecification(request);
+        long specStart = explain.start();
+        Specification<Candidate> spec = CandidateSpecification.buildSpecification(request, skillTaxonomy.current());
         
         // Build pagination and sorting
         Sort sort = getSort(request.getSortBy(), request.getSortDirection());
+        explain.stop("buildSpecification", specStart);
+        explain.detail("sort", sort.toString());
+
+        if (request.getCursor() != null) {
+            // Keyset mode: seek on every sort key + id, no OFFSET and no COUNT
+            KeysetSlice<CandidateSummary> slice = KeysetPager.fetch(candidateRepository::findSummaries, spec,
+                    sort, CandidateSummary.SORTABLE, request.getCursor(), request.getSize());
+            explain.rows("returned", slice.getContent().size());
+            explain.detail("strategy", "keyset page");
+            return SearchResultPage.ofCursor(
+                slice.getContent(),
+                request.getSize(),
+                request.getCursor().isEmpty(),
+                slice.getNextCursor(),
+                request.getTextQuery(),
+                System.currentTimeMillis() - startTime
+            );
+        }
+
         PageRequest pageRequest = PageRequest.of(request.getPage(), request.getSize(), sort);
         
-        // Execute query
-        Page<Candidate> page = candidateRepository.findAll(spec, pageRequest);
+        // Execute query, selecting only the list columns
+        Page<CandidateSummary> page = candidateRepository.findSummaries(spec, pageRequest);
+        explain.rows("returned", page.getNumberOfElements());
+        explain.rows("total", page.getTotalElements());
+        explain.detail("strategy", "offset page");
         
         long searchTime = System.currentTimeMillis() - startTime;
         
@@ -61,11 +92,11 @@ public class CandidateSearchService {
             case "name":
                 return Sort.by(direction, "firstName", "lastName");
             case "experience":
-                return Sort.by(direction, "experience");
+                return Sort.by(direction, "experienceMonths");
             case "currentPackage":
-                return Sort.by(direction, "currentPackage");
+                return Sort.by(direction, "currentCtcValue");
             case "expectedCTC":
-                return Sort.by(direction, "expectedCTC");
+                return Sort.by(direction, "expectedCtcValue");
             case "status":
                 return Sort.by(direction, "status");
             case "percentage":
@@ -1,21 +1,65 @@
 package com.startica.privateapp.search.service;
 
+import com.startica.privateapp.candidate.dto.CandidateSummary;
+import com.startica.privateapp.common.pagination.KeysetPager;
+import com.startica.privateapp.common.pagination.KeysetSlice;
+import com.startica.privateapp.common.exception.BusinessException;
 import com.startica.privateapp.search.dto.*;
 import com.startica.privateapp.model.Candidate;
+import com.startica.privateapp.model.Role;
 import com.startica.privateapp.opening.model.Opening;
 import com.startica.privateapp.model.User;
 import com.startica.privateapp.repository.CandidateRepository;
 import com.startica.privateapp.opening.repository.OpeningRepository;
 import com.startica.privateapp.repository.UserRepository;
+import com.startica.privateapp.search.cache.SearchResultCache;
+import com.startica.privateapp.search.explain.SearchExplain;
+import com.startica.privateapp.search.engine.SearchEngine;
+import com.startica.privateapp.search.engine.SearchHits;
+import com.startica.privateapp.search.index.NameFuzzyIndex;
+import com.startica.privateapp.search.index.QueryHighlighter;
+import com.startica.privateapp.search.index.SkillBitmapIndex;
+import com.startica.privateapp.search.index.SkillTaxonomy;
+import com.startica.privateapp.search.index.TextAnalyzer;
+import com.startica.privateapp.search.specification.CandidateQueryPlan;
+import com.startica.privateapp.util.NamePhonetics;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class GlobalSearchService {
@@ -23,96 +67,44 @@ public class GlobalSearchService {
     private final CandidateRepository candidateRepository;
     private final OpeningRepository openingRepository;
     private final UserRepository userRepository;
+    private final SearchEngine searchEngine;
+    private final NameFuzzyIndex nameFuzzyIndex;
+    private final SkillBitmapIndex skillBitmapIndex;
+    private final SkillTaxonomy skillTaxonomy;
+    private final CandidateFacetService candidateFacetService;
+    private final SearchResultCache searchResultCache;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
 
-    /**
-     * Parse experience string into decimal years - Improved version
-     * Handles formats like "2 years", "2.5 years", "2 years 6 months", "30 months", etc.
-     */
-    private double parseExperienceString(String expStr) {
-        if (expStr == null || expStr.trim().isEmpty()) return 0.0;
-        
-        String cleaned = expStr.toLowerCase().trim();
-        
-        // Handle decimal years first (e.g., "2.5 years")
-        if (cleaned.matches(".*\\d+\\.\\d+.*")) {
-            String decimalStr = cleaned.replaceAll("[^0-9.]", "");
-            if (!decimalStr.isEmpty()) {
-                try {
-                    return Double.parseDouble(decimalStr);
-                } catch (NumberFormatException e) {
-                    // Continue with other parsing methods
-                }
-            }
-        }
-        
-        // Handle "X years Y months" format
-        if (cleaned.contains("year") && cleaned.contains("month")) {
-            java.util.regex.Pattern pattern = java.util.regex.Pattern.compile("\\d+(\\.\\d+)?");
-            java.util.regex.Matcher matcher = pattern.matcher(cleaned);
-            
-            double years = 0.0;
-            double months = 0.0;
-            int count = 0;
-            
-            while (matcher.find() && count < 2) {
-                String numberStr = matcher.group();
-                double number = Double.parseDouble(numberStr);
-                
-                if (count == 0) {
-                    years = number;
-                } else {
-                    months = number;
-                }
-                count++;
-            }
-            
-            return years + (months / 12.0);
-        }
-        
-        // Handle "X years" format
-        if (cleaned.contains("year")) {
-            java.util.regex.Pattern pattern = java.util.regex.Pattern.compile("\\d+(\\.\\d+)?");
-            java.util.regex.Matcher matcher = pattern.matcher(cleaned);
-            
-            if (matcher.find()) {
-                String yearStr = matcher.group();
-                if (!yearStr.isEmpty()) {
-                    return Double.parseDouble(yearStr);
-                }
-            }
-        }
-        
-        // Handle "X months" format
-        if (cleaned.contains("month")) {
-            java.util.regex.Pattern pattern = java.util.regex.Pattern.compile("\\d+(\\.\\d+)?");
-            java.util.regex.Matcher matcher = pattern.matcher(cleaned);
-            
-            if (matcher.find()) {
-                String monthStr = matcher.group();
-                if (!monthStr.isEmpty()) {
-                    return Double.parseDouble(monthStr) / 12.0;
-                }
-            }
-        }
-        
-        // Handle plain numbers (assume years)
-        java.util.regex.Pattern pattern = java.util.regex.Pattern.compile("\\d+(\\.\\d+)?");
-        java.util.regex.Matcher matcher = pattern.matcher(cleaned);
-        
-        if (matcher.find()) {
-            String numberStr = matcher.group();
-            if (!numberStr.isEmpty()) {
-                return Double.parseDouble(numberStr);
-            }
-        }
-        
-        return 0.0;
-    }
+    private final ExecutorService searchExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    // Below this many exact candidate hits, global search adds fuzzy name matches
+    @Value("${search.fuzzy.min-exact-results:5}")
+    private int fuzzyMinExactResults;
+
+    // Skill filters matching more candidates than this run as SQL LIKE instead of an id list
+    @Value("${search.skills.max-ids:1000}")
+    private int skillMaxIds;
+
+    // Text queries matching more candidates or openings than this run as SQL LIKE instead of an id list
+    @Value("${search.text.max-ids:1000}")
+    private int textMaxIds;
+
+    @Value("${search.global.candidates-timeout-ms:2000}")
+    private long candidateTimeoutMs;
+
+    @Value("${search.global.openings-timeout-ms:2000}")
+    private long openingTimeoutMs;
+
+    @Value("${search.global.users-timeout-ms:1000}")
+    private long userTimeoutMs;
 
     public GlobalSearchResponse search(GlobalSearchRequest request, User currentUser) {
         long startTime = System.currentTimeMillis();
         
         String query = request.getQuery().toLowerCase();
+        // Compiled once, shared by every result of every section
+        QueryHighlighter highlighter = QueryHighlighter.compile(query);
         Sort sort = getSort(request.getSortBy(), request.getSortDirection());
         PageRequest pageRequest = PageRequest.of(request.getPage(), request.getSize(), sort);
 
@@ -124,70 +116,364 @@ public class GlobalSearchService {
                 .totalCandidates(0L)
                 .totalJobOpenings(0L)
                 .totalHRUsers(0L)
+                .sections(new LinkedHashMap<>())
                 .build();
 
-        // Search Candidates (filtered by HR for non-admin users)
-        if (request.isSearchCandidates()) {
-            List<Candidate> candidates;
-            if (currentUser.getRole() == com.startica.privateapp.model.Role.HR) {
+        // Fan the sections out on virtual threads; each one is awaited against its own deadline,
+        // and its statements run with a query timeout that ends at that deadline
+        Future<Section<GlobalSearchResponse.CandidateSearchResult>> candidateSection = request.isSearchCandidates()
+                ? searchExecutor.submit(() -> timed(() -> searchCandidates(request, currentUser, query, pageRequest,
+                        highlighter, startTime + candidateTimeoutMs)))
+                : null;
+        Future<Section<GlobalSearchResponse.JobOpeningSearchResult>> openingSection = request.isSearchJobOpenings()
+                ? searchExecutor.submit(() -> timed(() -> searchJobOpenings(request, currentUser, query, pageRequest,
+                        highlighter, startTime + openingTimeoutMs)))
+                : null;
+        Future<Section<GlobalSearchResponse.HRUserSearchResult>> userSection = request.isSearchHRUsers()
+                ? searchExecutor.submit(() -> timed(() -> searchHRUsers(query, pageRequest, highlighter,
+                        startTime + userTimeoutMs)))
+                : null;
+
+        Section<GlobalSearchResponse.CandidateSearchResult> candidates =
+                await("candidates", candidateSection, startTime, candidateTimeoutMs, response);
+        if (candidates != null) {
+            response.setCandidateResults(candidates.results());
+            response.setTotalCandidates(candidates.total());
+        }
+
+        Section<GlobalSearchResponse.JobOpeningSearchResult> openings =
+                await("jobOpenings", openingSection, startTime, openingTimeoutMs, response);
+        if (openings != null) {
+            response.setJobOpeningResults(openings.results());
+            response.setTotalJobOpenings(openings.total());
+        }
+
+        Section<GlobalSearchResponse.HRUserSearchResult> users =
+                await("hrUsers", userSection, startTime, userTimeoutMs, response);
+        if (users != null) {
+            response.setHrUserResults(users.results());
+            response.setTotalHRUsers(users.total());
+        }
+
+        long searchTime = System.currentTimeMillis() - startTime;
+        response.setSearchTimeMs(searchTime);
+
+        return response;
+    }
+
+    // Search Candidates (filtered by HR for non-admin users)
+    private Section<GlobalSearchResponse.CandidateSearchResult> searchCandidates(
+            GlobalSearchRequest request, User currentUser, String query, PageRequest pageRequest,
+            QueryHighlighter highlighter, long deadline) {
+        // HR users are restricted to their own candidates
+        Long ownerId = currentUser.getRole() == Role.HR ? currentUser.getId() : null;
+        Section<CandidateSummary> exact;
+        try {
+            exact = beforeDeadline(deadline, () -> findCandidates(request, ownerId, query, pageRequest));
+        } catch (RuntimeException e) {
+            if (!isDeadlineExceeded(e)) {
+                throw e;
+            }
+            log.warn("Global search candidate query ran out of time");
+            return Section.outOfTime();
+        }
+        List<CandidateSummary> candidates = exact.results();
+        long total = exact.total();
+        List<GlobalSearchResponse.CandidateSearchResult> results = candidates.stream()
+                .map(c -> mapCandidateToResult(c, highlighter))
+                .collect(Collectors.toCollection(ArrayList::new));
+
+        // Few exact hits (often a misspelled name): top the first page up with fuzzy/phonetic name matches
+        boolean partial = false;
+        if (request.getPage() == 0 && total < fuzzyMinExactResults && results.size() < request.getSize()) {
+            try {
+                List<CandidateSummary> fuzzy = beforeDeadline(deadline, () -> findFuzzyNameMatches(query, ownerId,
+                        candidates.stream().map(CandidateSummary::getId).collect(Collectors.toSet()),
+                        request.getSize() - results.size()));
+                for (CandidateSummary candidate : fuzzy) {
+                    GlobalSearchResponse.CandidateSearchResult result = mapCandidateToResult(candidate, highlighter);
+                    result.setFuzzy(true);
+                    results.add(result);
+                }
+                total += fuzzy.size();
+            } catch (RuntimeException e) {
+                if (!isDeadlineExceeded(e)) {
+                    throw e;
+                }
+                // The exact matches are returned without the fuzzy top-up
+                log.warn("Global search fuzzy name query ran out of time");
+                partial = true;
+            }
+        }
+        return new Section<>(results, total, 0L, partial);
+    }
+
+    // One page of exact candidate matches and their total
+    private Section<CandidateSummary> findCandidates(GlobalSearchRequest request, Long ownerId, String query,
+                                                     PageRequest pageRequest) {
+        List<CandidateSummary> candidates;
+        long total;
+        SearchHits hits = null;
+        if (searchEngine.isReady()) {
+            // Other sorts take the match set as an id list, unless it is longer than textMaxIds
+            hits = isRelevanceSort(request.getSortBy())
+                    ? searchEngine.searchCandidates(query, ownerId, (request.getPage() + 1) * request.getSize())
+                    : searchEngine.searchCandidates(query, ownerId, textMaxIds + 1);
+        }
+        if (hits != null && !hits.truncated() && isRelevanceSort(request.getSortBy())) {
+            int from = request.getPage() * request.getSize();
+            List<Long> pageIds = hits.ids().subList(Math.min(from, hits.ids().size()), hits.ids().size());
+            candidates = findAllInOrder(pageIds);
+            total = hits.totalHits();
+        } else if (hits != null && !hits.truncated() && hits.ids().size() <= textMaxIds) {
+            List<Long> ids = hits.ids();
+            candidates = ids.isEmpty()
+                    ? new ArrayList<>()
+                    : candidateRepository.findSummaries(
+                            (root, criteriaQuery, cb) -> root.get("id").in(ids), pageRequest).getContent();
+            total = hits.totalHits();
+        } else if (hits != null) {
+            // Too many matches for an id list, or the engine found only part of them: the database
+            // pages and counts the same terms itself
+            Specification<Candidate> spec = CandidateQueryPlan.textTermsSpecification(query);
+            if (ownerId != null) {
+                spec = spec.and((root, criteriaQuery, cb) -> cb.equal(root.get("sourceHrId"), ownerId));
+            }
+            Page<CandidateSummary> page = candidateRepository.findSummaries(spec, pageRequest);
+            candidates = page.getContent();
+            total = page.getTotalElements();
+        } else {
+            // Engine not ready yet (index building) - fall back to the LIKE query
+            Page<CandidateSummary> page;
+            if (ownerId != null) {
                 // HR users see only their own candidates
-                candidates = candidateRepository.searchByText(query, pageRequest).stream()
-                    .filter(c -> c.getSourceHrId() != null && c.getSourceHrId().equals(currentUser.getId()))
-                    .collect(java.util.stream.Collectors.toList());
+                page = candidateRepository.searchByTextAndSourceHrId(query, ownerId, pageRequest);
             } else {
                 // Admin sees all candidates
-                candidates = candidateRepository.searchByText(query, pageRequest);
+                page = candidateRepository.searchByText(query, pageRequest);
+            }
+            candidates = page.getContent();
+            total = page.getTotalElements();
+        }
+        return new Section<>(candidates, total, 0L, false);
+    }
+
+    /**
+     * Candidates whose name is close to the query terms. Served by the in-memory name index;
+     * until it is built, by the name_phonetic column (a scan, but only on this fallback path).
+     */
+    private List<CandidateSummary> findFuzzyNameMatches(String query, Long ownerId, Set<Long> excludeIds,
+                                                        int limit) {
+        if (nameFuzzyIndex.isReady()) {
+            return findAllInOrder(nameFuzzyIndex.search(query, ownerId, excludeIds, limit).ids());
+        }
+        List<String> keys = TextAnalyzer.tokenize(query).stream()
+                .map(NamePhonetics::key)
+                .filter(key -> key.length() >= 2)
+                .distinct()
+                .collect(Collectors.toList());
+        if (keys.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Specification<Candidate> spec = (root, criteriaQuery, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            for (String key : keys) {
+                predicates.add(cb.like(cb.concat(cb.concat(" ", root.<String>get("namePhonetic")), " "), "% " + key + " %"));
+            }
+            if (ownerId != null) {
+                predicates.add(cb.equal(root.get("sourceHrId"), ownerId));
+            }
+            if (!excludeIds.isEmpty()) {
+                predicates.add(cb.not(root.get("id").in(excludeIds)));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+        return new ArrayList<>(candidateRepository.findSummaries(spec, Sort.by(Sort.Direction.DESC, "updatedAt"), limit));
+    }
+
+    // Search Job Openings (filtered by HR for non-admin users)
+    private Section<GlobalSearchResponse.JobOpeningSearchResult> searchJobOpenings(
+            GlobalSearchRequest request, User currentUser, String query, PageRequest pageRequest,
+            QueryHighlighter highlighter, long deadline) {
+        Section<Opening> found;
+        try {
+            found = beforeDeadline(deadline, () -> findJobOpenings(request, currentUser, query, pageRequest));
+        } catch (RuntimeException e) {
+            if (!isDeadlineExceeded(e)) {
+                throw e;
             }
-            response.setCandidateResults(
-                candidates.stream()
-                    .map(c -> mapCandidateToResult(c, query))
-                    .collect(Collectors.toList())
-            );
-            response.setTotalCandidates((long) candidates.size());
+            log.warn("Global search opening query ran out of time");
+            return Section.outOfTime();
         }
+        List<GlobalSearchResponse.JobOpeningSearchResult> results = found.results().stream()
+                .map(j -> mapJobOpeningToResult(j, highlighter))
+                .collect(Collectors.toList());
+        return new Section<>(results, found.total(), 0L, false);
+    }
 
-        // Search Job Openings (filtered by HR for non-admin users)
-        if (request.isSearchJobOpenings()) {
-            List<Opening> openings;
-            if (currentUser.getRole() == com.startica.privateapp.model.Role.HR) {
+    // One page of matching openings and their total
+    private Section<Opening> findJobOpenings(GlobalSearchRequest request, User currentUser, String query,
+                                             PageRequest pageRequest) {
+        List<Opening> openings;
+        long total;
+        Long createdBy = currentUser.getRole() == Role.HR ? currentUser.getId() : null;
+        SearchHits hits = null;
+        if (searchEngine.isReady()) {
+            hits = isRelevanceSort(request.getSortBy())
+                    ? searchEngine.searchOpenings(query, createdBy, (request.getPage() + 1) * request.getSize())
+                    : searchEngine.searchOpenings(query, createdBy, textMaxIds + 1);
+        }
+        if (hits != null && isRelevanceSort(request.getSortBy())) {
+            int from = request.getPage() * request.getSize();
+            List<Long> pageIds = hits.ids().subList(Math.min(from, hits.ids().size()), hits.ids().size());
+            Map<Long, Integer> rank = rankOf(pageIds);
+            openings = new ArrayList<>(openingRepository.findAllById(pageIds));
+            openings.sort(Comparator.comparing(o -> rank.get(o.getId())));
+            total = hits.totalHits();
+        } else if (hits != null && hits.ids().size() <= textMaxIds) {
+            List<Long> ids = hits.ids();
+            openings = ids.isEmpty()
+                    ? new ArrayList<>()
+                    : openingRepository.findAll(
+                            (root, criteriaQuery, cb) -> root.get("id").in(ids), pageRequest).getContent();
+            total = hits.totalHits();
+        } else {
+            // Engine not ready, or more matches than an id list should carry
+            Page<Opening> page;
+            if (currentUser.getRole() == Role.HR) {
                 // HR users see only openings they created
-                openings = openingRepository.searchByText(query, pageRequest).stream()
-                    .filter(o -> o.getCreatedBy() != null && o.getCreatedBy().equals(currentUser.getId()))
-                    .collect(java.util.stream.Collectors.toList());
+                page = openingRepository.searchByTextAndCreatedBy(query, currentUser.getId(), pageRequest);
             } else {
                 // Admin sees all openings
-                openings = openingRepository.searchByText(query, pageRequest);
+                page = openingRepository.searchByText(query, pageRequest);
             }
-            response.setJobOpeningResults(
-                openings.stream()
-                    .map(j -> mapJobOpeningToResult(j, query))
-                    .collect(Collectors.toList())
-            );
-            response.setTotalJobOpenings((long) openings.size());
+            openings = page.getContent();
+            total = page.getTotalElements();
         }
+        return new Section<>(openings, total, 0L, false);
+    }
 
-        // Search HR Users
-        if (request.isSearchHRUsers()) {
-            List<User> users = userRepository.searchByText(query, pageRequest);
-            response.setHrUserResults(
-                users.stream()
-                    .map(u -> mapUserToResult(u, query))
-                    .collect(Collectors.toList())
-            );
-            response.setTotalHRUsers((long) users.size());
+    // Search HR Users
+    private Section<GlobalSearchResponse.HRUserSearchResult> searchHRUsers(String query, PageRequest pageRequest,
+                                                                           QueryHighlighter highlighter, long deadline) {
+        List<User> users;
+        try {
+            users = beforeDeadline(deadline, () -> userRepository.searchByText(query, pageRequest));
+        } catch (RuntimeException e) {
+            if (!isDeadlineExceeded(e)) {
+                throw e;
+            }
+            log.warn("Global search HR user query ran out of time");
+            return Section.outOfTime();
         }
+        List<GlobalSearchResponse.HRUserSearchResult> results = users.stream()
+                .map(u -> mapUserToResult(u, highlighter))
+                .collect(Collectors.toList());
+        return new Section<>(results, users.size(), 0L, false);
+    }
 
-        long searchTime = System.currentTimeMillis() - startTime;
-        response.setSearchTimeMs(searchTime);
+    private <R> Section<R> timed(Supplier<Section<R>> section) {
+        long start = System.currentTimeMillis();
+        Section<R> result = section.get();
+        return new Section<>(result.results(), result.total(), System.currentTimeMillis() - start, result.partial());
+    }
 
-        return response;
+    /**
+     * Runs one step of a section in a read-only transaction that times out at the section deadline.
+     * The transaction timeout becomes the JDBC query timeout of every statement in it, so a slow
+     * query is cancelled by the driver instead of holding its connection past the deadline.
+     */
+    private <T> T beforeDeadline(long deadline, Supplier<T> step) {
+        long remaining = deadline - System.currentTimeMillis();
+        if (remaining <= 0) {
+            throw new TransactionTimedOutException("Global search section deadline passed");
+        }
+        TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+        // Whole seconds only; under a second left still gets one
+        readOnly.setTimeout((int) Math.max(1L, remaining / 1000));
+        return readOnly.execute(status -> step.get());
     }
 
-    private GlobalSearchResponse.CandidateSearchResult mapCandidateToResult(Candidate candidate, String query) {
-        String highlighted = highlightMatch(
-            String.format("%s %s - %s", candidate.getFirstName(), candidate.getLastName(), candidate.getSkills()),
-            query
+    private static boolean isDeadlineExceeded(Throwable e) {
+        return e instanceof QueryTimeoutException
+                || e instanceof jakarta.persistence.QueryTimeoutException
+                || e instanceof TransactionTimedOutException;
+    }
+
+    /**
+     * Waits for a section until its deadline. A section that misses the deadline is cancelled,
+     * reported with timedOut=true and contributes no results. A section whose queries ran out of
+     * time returns the rows it had and is reported with partial=true. Either marks the response partial.
+     */
+    private <R> Section<R> await(String name, Future<Section<R>> future, long startTime, long timeoutMs,
+                                 GlobalSearchResponse response) {
+        if (future == null) {
+            return null;
+        }
+        long remaining = startTime + timeoutMs - System.currentTimeMillis();
+        try {
+            Section<R> section = future.get(Math.max(0L, remaining), TimeUnit.MILLISECONDS);
+            response.getSections().put(name, GlobalSearchResponse.SectionStats.builder()
+                    .timeMs(section.timeMs())
+                    .timedOut(false)
+                    .partial(section.partial())
+                    .build());
+            if (section.partial()) {
+                response.setPartial(true);
+            }
+            return section;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("Global search section '{}' missed its deadline", name);
+            response.getSections().put(name, GlobalSearchResponse.SectionStats.builder()
+                    .timeMs(System.currentTimeMillis() - startTime)
+                    .timedOut(true)
+                    .partial(true)
+                    .build());
+            response.setPartial(true);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("Global search interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        searchExecutor.shutdownNow();
+    }
+
+    /**
+     * Results of one global search section: one page of rows, the section total, how long it took,
+     * and whether a query ran out of time so rows may be missing.
+     */
+    private record Section<R>(List<R> results, long total, long timeMs, boolean partial) {
+
+        static <R> Section<R> outOfTime() {
+            return new Section<>(new ArrayList<>(), 0L, 0L, true);
+        }
+    }
+
+    private GlobalSearchResponse.CandidateSearchResult mapCandidateToResult(CandidateSummary candidate,
+                                                                            QueryHighlighter highlighter) {
+        String highlighted = highlighter.highlight(
+            String.format("%s %s - %s", candidate.getFirstName(), candidate.getLastName(), candidate.getSkills())
         );
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("name", candidate.getFirstName() + " " + candidate.getLastName());
+        fields.put("email", candidate.getEmail());
+        fields.put("phone", candidate.getPhone());
+        fields.put("skills", candidate.getSkills());
+        fields.put("company", candidate.getCompany());
+        fields.put("profile", candidate.getProfile());
+        fields.put("location", candidate.getLocation());
         
         return GlobalSearchResponse.CandidateSearchResult.builder()
                 .id(candidate.getId())
@@ -198,14 +484,21 @@ public class GlobalSearchService {
                 .currentPackage(candidate.getCurrentPackage())
                 .status(candidate.getStatus().toString())
                 .highlightedText(highlighted)
+                .highlights(highlighter.highlightFields(fields))
                 .build();
     }
 
-    private GlobalSearchResponse.JobOpeningSearchResult mapJobOpeningToResult(Opening opening, String query) {
-        String highlighted = highlightMatch(
-            String.format("%s - %s", opening.getTitle(), opening.getDepartment()),
-            query
+    private GlobalSearchResponse.JobOpeningSearchResult mapJobOpeningToResult(Opening opening,
+                                                                              QueryHighlighter highlighter) {
+        String highlighted = highlighter.highlight(
+            String.format("%s - %s", opening.getTitle(), opening.getDepartment())
         );
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("title", opening.getTitle());
+        fields.put("department", opening.getDepartment());
+        fields.put("location", opening.getLocation());
+        fields.put("skills", opening.getSkills());
+        fields.put("description", opening.getDescription());
         
         return GlobalSearchResponse.JobOpeningSearchResult.builder()
                 .id(opening.getId())
@@ -216,14 +509,18 @@ public class GlobalSearchService {
                 .maxSalary(opening.getMaxSalary())
                 .status(opening.getStatus().toString())
                 .highlightedText(highlighted)
+                .highlights(highlighter.highlightFields(fields))
                 .build();
     }
 
-    private GlobalSearchResponse.HRUserSearchResult mapUserToResult(User user, String query) {
-        String highlighted = highlightMatch(
-            String.format("%s - %s", user.getFullName(), user.getEmail()),
-            query
+    private GlobalSearchResponse.HRUserSearchResult mapUserToResult(User user, QueryHighlighter highlighter) {
+        String highlighted = highlighter.highlight(
+            String.format("%s - %s", user.getFullName(), user.getEmail())
         );
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("name", user.getFullName());
+        fields.put("email", user.getEmail());
+        fields.put("phone", user.getPhone());
         
         return GlobalSearchResponse.HRUserSearchResult.builder()
                 .id(user.getId())
@@ -232,26 +529,10 @@ public class GlobalSearchService {
                 .role(user.getRole().toString())
                 .phone(user.getPhone())
                 .highlightedText(highlighted)
+                .highlights(highlighter.highlightFields(fields))
                 .build();
     }
 
-    private String highlightMatch(String text, String query) {
-        if (text == null || query == null) return text;
-        
-        String lowerText = text.toLowerCase();
-        String lowerQuery = query.toLowerCase();
-        
-        int index = lowerText.indexOf(lowerQuery);
-        if (index >= 0) {
-            String before = text.substring(0, index);
-            String match = text.substring(index, index + query.length());
-            String after = text.substring(index + query.length());
-            return before + "<mark>" + match + "</mark>" + after;
-        }
-        
-        return text;
-    }
-
     private Sort getSort(String sortBy, String sortDirection) {
         Sort.Direction direction = "ASC".equalsIgnoreCase(sortDirection) ? Sort.Direction.ASC : Sort.Direction.DESC;
         
@@ -265,487 +546,365 @@ public class GlobalSearchService {
         }
     }
 
-    public java.util.Map<String, Object> advancedCandidateSearch(
-            String query, 
-            java.util.Map<String, Object> filters, 
+    private boolean isRelevanceSort(String sortBy) {
+        return sortBy == null || sortBy.isEmpty() || "relevance".equals(sortBy);
+    }
+
+    /**
+     * Loads candidate list rows by id and returns them in the order of the given ids.
+     */
+    private List<CandidateSummary> findAllInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Integer> rank = rankOf(ids);
+        List<CandidateSummary> candidates = new ArrayList<>(candidateRepository.findSummariesByIdIn(ids));
+        candidates.sort(Comparator.comparing(c -> rank.get(c.getId())));
+        return candidates;
+    }
+
+    private Map<Long, Integer> rankOf(List<Long> ids) {
+        Map<Long, Integer> rank = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            rank.put(ids.get(i), i);
+        }
+        return rank;
+    }
+
+    /**
+     * Runs the specification selecting only candidate ids.
+     */
+    private List<Long> findMatchingIds(Specification<Candidate> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> criteriaQuery = cb.createQuery(Long.class);
+        Root<Candidate> root = criteriaQuery.from(Candidate.class);
+        criteriaQuery.select(root.<Long>get("id")).where(spec.toPredicate(root, criteriaQuery, cb));
+        TypedQuery<Long> query = entityManager.createQuery(criteriaQuery);
+        return SearchExplain.current().time("sqlExecution", query::getResultList);
+    }
+
+    /**
+     * Runs the specification selecting only candidate ids, ordered by id, from offset for at most
+     * max rows.
+     */
+    private List<Long> findMatchingIds(Specification<Candidate> spec, int offset, int max) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> criteriaQuery = cb.createQuery(Long.class);
+        Root<Candidate> root = criteriaQuery.from(Candidate.class);
+        criteriaQuery.select(root.<Long>get("id")).where(spec.toPredicate(root, criteriaQuery, cb))
+                .orderBy(cb.asc(root.get("id")));
+        TypedQuery<Long> query = entityManager.createQuery(criteriaQuery)
+                .setFirstResult(offset)
+                .setMaxResults(max);
+        return SearchExplain.current().time("sqlExecution", query::getResultList);
+    }
+
+    /**
+     * One page of the candidates matching spec, in the engine's rank order for the text. Ranked
+     * ids are taken from the engine in doubling windows, each filtered by the database, until the
+     * ranked matches cover the page or the engine's ranking cap is reached. Matches past the cap
+     * follow the ranked ones in id order.
+     */
+    private List<CandidateSummary> findRankedPage(String text, Long ownerId, Specification<Candidate> spec,
+                                                  int page, int limit, long total) {
+        SearchExplain explain = SearchExplain.current();
+        int from = (page - 1) * limit;
+        if (from >= total) {
+            return new ArrayList<>();
+        }
+        int to = (int) Math.min((long) from + limit, total);
+        int maxRanked = searchEngine.getMaxMatches();
+
+        List<Long> rankedMatches = new ArrayList<>();
+        int scanned = 0;
+        int window = Math.max(2 * to, textMaxIds);
+        boolean rankingExhausted = false;
+        while (rankedMatches.size() < to && !rankingExhausted) {
+            int wanted = Math.min(scanned + window, maxRanked);
+            List<Long> ranked = explain.time("textRanking",
+                    () -> searchEngine.searchCandidates(text, ownerId, wanted).ids());
+            rankingExhausted = ranked.size() < wanted || wanted >= maxRanked;
+            if (ranked.size() > scanned) {
+                List<Long> windowIds = ranked.subList(scanned, ranked.size());
+                Set<Long> matching = new HashSet<>(findMatchingIds(spec.and(
+                        (root, criteriaQuery, criteriaBuilder) -> root.get("id").in(windowIds)),
+                        0, windowIds.size()));
+                windowIds.stream().filter(matching::contains).forEach(rankedMatches::add);
+                scanned = ranked.size();
+            }
+            window *= 2;
+        }
+        explain.rows("rankedIdsScanned", scanned);
+
+        List<Long> pageIds = new ArrayList<>(
+                rankedMatches.subList(Math.min(from, rankedMatches.size()), Math.min(to, rankedMatches.size())));
+        if (pageIds.size() < to - from) {
+            // Matches past the engine's ranking cap follow the ranked ones
+            final List<Long> ranked = rankedMatches;
+            Specification<Candidate> unranked = ranked.isEmpty() ? spec
+                    : spec.and((root, criteriaQuery, criteriaBuilder) -> criteriaBuilder.not(root.get("id").in(ranked)));
+            pageIds.addAll(findMatchingIds(unranked, Math.max(0, from - ranked.size()), to - from - pageIds.size()));
+        }
+        return findAllInOrder(pageIds);
+    }
+
+    /**
+     * Advanced search with filters. The filters are compiled into a {@link CandidateQueryPlan}
+     * first; identical plans are answered from SearchResultCache until a candidate in their
+     * scope is written.
+     *
+     * @param cursor null for offset paging by page, otherwise keyset paging: empty for the first
+     *               page, then the nextCursor of the previous one. Keyset pages carry no total.
+     * @throws BusinessException when a filter value has the wrong type, or a cursor is combined
+     *         with a relevance-ranked text query
+     */
+    public Map<String, Object> advancedCandidateSearch(
+            String query,
+            Map<String, Object> filters,
+            String sortBy,
+            int page,
+            int limit,
+            String cursor,
+            boolean includeFacets,
+            Integer facetLimit,
+            User currentUser) {
+        long startTime = System.currentTimeMillis();
+        CandidateQueryPlan plan = SearchExplain.current().time("compilePlan",
+                () -> CandidateQueryPlan.compile(query, filters, skillTaxonomy.current()));
+        if (cursor != null && plan.hasText() && isRelevanceSort(sortBy)) {
+            throw new BusinessException(
+                    "Cursor pagination needs a sort other than relevance");
+        }
+
+        // An explain run has to execute every stage, so it neither reads nor fills the cache; keyset pages skip it too
+        if (!searchResultCache.isEnabled() || SearchExplain.current().isEnabled() || cursor != null) {
+            return runAdvancedCandidateSearch(plan, sortBy, page, limit, cursor, includeFacets, facetLimit, currentUser);
+        }
+
+        Long ownerId = currentUser != null && currentUser.getRole() == Role.HR ? currentUser.getId() : null;
+        String cacheKey = searchResultCache.key(ownerId, plan, sortBy, page, limit, includeFacets, facetLimit);
+
+        Map<String, Object> cached = searchResultCache.get(cacheKey);
+        if (cached != null) {
+            Map<String, Object> response = new HashMap<>(cached);
+            response.put("executionTime", System.currentTimeMillis() - startTime);
+            response.put("cached", true);
+            return response;
+        }
+
+        long generation = searchResultCache.currentGeneration();
+        Map<String, Object> response =
+                runAdvancedCandidateSearch(plan, sortBy, page, limit, null, includeFacets, facetLimit, currentUser);
+        if (!response.containsKey("error")) {
+            List<?> results = (List<?>) response.get("results");
+            searchResultCache.put(cacheKey, ownerId, response, results.size(), generation);
+        }
+        return response;
+    }
+
+    private Map<String, Object> runAdvancedCandidateSearch(
+            CandidateQueryPlan plan,
             String sortBy, 
             int page, 
             int limit, 
+            String cursor,
+            boolean includeFacets,
+            Integer facetLimit,
             User currentUser) {
         
         long startTime = System.currentTimeMillis();
+        SearchExplain explain = SearchExplain.current();
+        long specStart = explain.start();
         
         try {
-            System.out.println("🔍 Advanced Search - Query: " + query + ", Filters: " + filters.keySet());
-            
-            // Build specifications based on filters
-//            org.springframework.data.jpa.domain.Specification<Candidate> spec =
-//                org.springframework.data.jpa.domain.Specification.where(null);
-//
-            org.springframework.data.jpa.domain.Specification<Candidate> spec =
-                    (root, queryObj, cb) -> cb.conjunction();
+            log.debug("Advanced search - plan: {}", plan);
+
+            if (plan.isUnsatisfiable()) {
+                // Contradictory filters: nothing can match, so no query runs
+                explain.stop("buildSpecification", specStart);
+                explain.detail("strategy", "unsatisfiable plan, no query");
+                return emptySearchResponse(page, includeFacets, startTime);
+            }
+
+            // Non-facet clauses of the plan form one conjunction
+            Specification<Candidate> spec = plan.baseSpecification();
+            // Filters on faceted fields are kept apart so facet counts can leave out their own filter
+            Map<String, Specification<Candidate>> facetFilters = plan.facetFilters();
 
             // Apply HR filter for non-admin users
-            if (currentUser != null && currentUser.getRole() == com.startica.privateapp.model.Role.HR) {
+            if (currentUser != null && currentUser.getRole() == Role.HR) {
                 spec = spec.and((root, criteriaQuery, criteriaBuilder) -> 
                     criteriaBuilder.equal(root.get("sourceHrId"), currentUser.getId()));
             }
-        
-            // Apply text query - search across multiple fields
-            if (query != null && !query.trim().isEmpty()) {
-                String searchQuery = "%" + query.toLowerCase() + "%";
-                spec = spec.and((root, criteriaQuery, criteriaBuilder) -> 
-                    criteriaBuilder.or(
-                        criteriaBuilder.like(criteriaBuilder.lower(root.get("firstName")), searchQuery),
-                        criteriaBuilder.like(criteriaBuilder.lower(root.get("lastName")), searchQuery),
-                        criteriaBuilder.like(criteriaBuilder.lower(root.get("email")), searchQuery),
-                        criteriaBuilder.like(criteriaBuilder.lower(root.get("phone")), searchQuery),
-                        criteriaBuilder.like(criteriaBuilder.lower(root.get("skills")), searchQuery),
-                        criteriaBuilder.like(criteriaBuilder.lower(root.get("profile")), searchQuery),
-                        criteriaBuilder.like(criteriaBuilder.lower(root.get("company")), searchQuery)
-                    ));
-            }
-            
-            // ============ LOCATION FILTERS ============
-            // Current location filter
-            if (filters.containsKey("currentLocations")) {
-                List<String> locations = (List<String>) filters.get("currentLocations");
-                if (locations != null && !locations.isEmpty()) {
-                    spec = spec.and((root, criteriaQuery, criteriaBuilder) -> {
-                        List<jakarta.persistence.criteria.Predicate> predicates = new java.util.ArrayList<>();
-                        for (String loc : locations) {
-                            predicates.add(
-                                criteriaBuilder.like(criteriaBuilder.lower(root.get("location")), "%" + loc.toLowerCase() + "%")
-                            );
-                        }
-                        return criteriaBuilder.or(predicates.toArray(new jakarta.persistence.criteria.Predicate[0]));
-                    });
-                }
-            }
-            
-            // Preferred location - map to location field (since DB doesn't have separate preferred location)
-            if (filters.containsKey("preferredLocations")) {
-                List<String> preferredLocs = (List<String>) filters.get("preferredLocations");
-                if (preferredLocs != null && !preferredLocs.isEmpty()) {
-                    spec = spec.and((root, criteriaQuery, criteriaBuilder) -> {
-                        List<jakarta.persistence.criteria.Predicate> predicates = new java.util.ArrayList<>();
-                        for (String loc : preferredLocs) {
-                            predicates.add(
-                                criteriaBuilder.like(criteriaBuilder.lower(root.get("location")), "%" + loc.toLowerCase() + "%")
-                            );
-                        }
-                        return criteriaBuilder.or(predicates.toArray(new jakarta.persistence.criteria.Predicate[0]));
-                    });
-                }
-            }
-            
-            // ============ SKILLS FILTER ============
-            if (filters.containsKey("primarySkills")) {
-                List<String> skills = (List<String>) filters.get("primarySkills");
-                String matchType = (String) filters.getOrDefault("skillMatchType", "ANY");
-                
-                if (skills != null && !skills.isEmpty()) {
-                    spec = spec.and((root, criteriaQuery, criteriaBuilder) -> {
-                        if ("ALL".equals(matchType)) {
-                            // Match ALL skills - all must be present
-                            List<jakarta.persistence.criteria.Predicate> predicates = new java.util.ArrayList<>();
-                            for (String skill : skills) {
-                                predicates.add(
-                                    criteriaBuilder.like(criteriaBuilder.lower(root.get("skills")), "%" + skill.toLowerCase() + "%")
-                                );
-                            }
-                            return criteriaBuilder.and(predicates.toArray(new jakarta.persistence.criteria.Predicate[0]));
-                        } else {
-                            // Match ANY skill - at least one must be present
-                            List<jakarta.persistence.criteria.Predicate> predicates = new java.util.ArrayList<>();
-                            for (String skill : skills) {
-                                predicates.add(
-                                    criteriaBuilder.like(criteriaBuilder.lower(root.get("skills")), "%" + skill.toLowerCase() + "%")
-                                );
-                            }
-                            return criteriaBuilder.or(predicates.toArray(new jakarta.persistence.criteria.Predicate[0]));
-                        }
-                    });
-                }
-            }
-            
-            // Secondary skills filter
-            if (filters.containsKey("secondarySkills")) {
-                List<String> secondarySkills = (List<String>) filters.get("secondarySkills");
-                if (secondarySkills != null && !secondarySkills.isEmpty()) {
-                    spec = spec.and((root, criteriaQuery, criteriaBuilder) -> {
-                        List<jakarta.persistence.criteria.Predicate> predicates = new java.util.ArrayList<>();
-                        for (String skill : secondarySkills) {
-                            predicates.add(
-                                criteriaBuilder.like(criteriaBuilder.lower(root.get("skills")), "%" + skill.toLowerCase() + "%")
-                            );
-                        }
-                        return criteriaBuilder.or(predicates.toArray(new jakarta.persistence.criteria.Predicate[0]));
-                    });
-                }
-            }
-            
-            // ============ EDUCATION FILTERS ============
-            // Qualification filter
-            if (filters.containsKey("qualification")) {
-                String qualification = (String) filters.get("qualification");
-                if (qualification != null && !qualification.trim().isEmpty()) {
-                    spec = spec.and((root, criteriaQuery, criteriaBuilder) -> 
-                        criteriaBuilder.like(criteriaBuilder.lower(root.get("degree")), "%" + qualification.toLowerCase() + "%")
-                    );
-                }
-            }
-            
-            // Passing year range filter
-            if (filters.containsKey("minPassingYear") || filters.containsKey("maxPassingYear")) {
-                Integer minYear = filters.containsKey("minPassingYear") ? 
-                    ((Number) filters.get("minPassingYear")).intValue() : null;
-                Integer maxYear = filters.containsKey("maxPassingYear") ? 
-                    ((Number) filters.get("maxPassingYear")).intValue() : null;
-                
-                if (minYear != null || maxYear != null) {
-                    spec = spec.and((root, criteriaQuery, criteriaBuilder) -> {
-                        if (minYear != null && maxYear != null) {
-                            return criteriaBuilder.between(root.get("passingYear"), minYear, maxYear);
-                        } else if (minYear != null) {
-                            return criteriaBuilder.greaterThanOrEqualTo(root.get("passingYear"), minYear);
-                        } else {
-                            return criteriaBuilder.lessThanOrEqualTo(root.get("passingYear"), maxYear);
-                        }
-                    });
-                }
-            }
-            
-            // ============ COMPANY FILTER ============
-            if (filters.containsKey("company")) {
-                String company = (String) filters.get("company");
-                if (company != null && !company.trim().isEmpty()) {
-                    spec = spec.and((root, criteriaQuery, criteriaBuilder) -> 
-                        criteriaBuilder.like(criteriaBuilder.lower(root.get("company")), "%" + company.toLowerCase() + "%")
-                    );
-                }
-            }
-            
-            // ============ PROFILE FILTER ============
-            if (filters.containsKey("profile")) {
-                String profile = (String) filters.get("profile");
-                if (profile != null && !profile.trim().isEmpty()) {
-                    spec = spec.and((root, criteriaQuery, criteriaBuilder) -> 
-                        criteriaBuilder.like(criteriaBuilder.lower(root.get("profile")), "%" + profile.toLowerCase() + "%")
-                    );
-                }
-            }
-            
-            // ============ SPECIALIZATION FILTER ============
-            if (filters.containsKey("specialization")) {
-                String specialization = (String) filters.get("specialization");
-                if (specialization != null && !specialization.trim().isEmpty()) {
-                    spec = spec.and((root, criteriaQuery, criteriaBuilder) -> 
-                        criteriaBuilder.like(criteriaBuilder.lower(root.get("specialization")), "%" + specialization.toLowerCase() + "%")
-                    );
-                }
-            }
-            
-            // ============ STATUS FILTER ============
-            if (filters.containsKey("applicationStatus")) {
-                List<String> statuses = (List<String>) filters.get("applicationStatus");
-                if (statuses != null && !statuses.isEmpty()) {
-                    // Convert string status to enum values
-                    List<String> enumStatuses = statuses.stream()
-                        .map(String::toUpperCase)
-                        .collect(java.util.stream.Collectors.toList());
-                    
-                    spec = spec.and((root, criteriaQuery, criteriaBuilder) -> 
-                        root.get("status").as(String.class).in(enumStatuses)
-                    );
-                }
-            }
-            
-            // ============ EXPERIENCE LEVEL FILTER ============
-            if (filters.containsKey("experienceLevel")) {
-                List<String> experienceLevels = (List<String>) filters.get("experienceLevel");
-                if (experienceLevels != null && !experienceLevels.isEmpty()) {
-                    spec = spec.and((root, criteriaQuery, criteriaBuilder) -> {
-                        List<jakarta.persistence.criteria.Predicate> predicates = new java.util.ArrayList<>();
-                        for (String level : experienceLevels) {
-                            predicates.add(
-                                criteriaBuilder.like(criteriaBuilder.lower(root.get("experienceLevel")), "%" + level.toLowerCase() + "%")
-                            );
-                        }
-                        return criteriaBuilder.or(predicates.toArray(new jakarta.persistence.criteria.Predicate[0]));
-                    });
-                }
-            }
-            
-            // ============ NOTICE PERIOD FILTER ============
-            if (filters.containsKey("noticePeriod")) {
-                List<String> noticePeriods = (List<String>) filters.get("noticePeriod");
-                if (noticePeriods != null && !noticePeriods.isEmpty()) {
-                    spec = spec.and((root, criteriaQuery, criteriaBuilder) -> {
-                        List<jakarta.persistence.criteria.Predicate> predicates = new java.util.ArrayList<>();
-                        for (String period : noticePeriods) {
-                            predicates.add(
-                                criteriaBuilder.like(criteriaBuilder.lower(root.get("noticePeriod")), "%" + period.toLowerCase() + "%")
-                            );
-                        }
-                        return criteriaBuilder.or(predicates.toArray(new jakarta.persistence.criteria.Predicate[0]));
-                    });
-                }
-            }
-            
-            // ============ DEGREE FILTER ============
-            if (filters.containsKey("degree")) {
-                List<String> degrees = (List<String>) filters.get("degree");
-                if (degrees != null && !degrees.isEmpty()) {
-                    spec = spec.and((root, criteriaQuery, criteriaBuilder) -> {
-                        List<jakarta.persistence.criteria.Predicate> predicates = new java.util.ArrayList<>();
-                        for (String degree : degrees) {
-                            // Search in both degree field and education JSON
-                            predicates.add(criteriaBuilder.or(
-                                criteriaBuilder.like(criteriaBuilder.lower(root.get("degree")), "%" + degree.toLowerCase() + "%"),
-                                criteriaBuilder.like(criteriaBuilder.lower(root.get("education")), "%" + degree.toLowerCase() + "%")
-                            ));
-                        }
-                        return criteriaBuilder.or(predicates.toArray(new jakarta.persistence.criteria.Predicate[0]));
-                    });
-                }
-            }
-            
-            // ============ EDUCATION GAP FILTER ============
-            if (filters.containsKey("educationGap")) {
-                List<String> educationGaps = (List<String>) filters.get("educationGap");
-                if (educationGaps != null && !educationGaps.isEmpty()) {
-                    spec = spec.and((root, criteriaQuery, criteriaBuilder) -> {
-                        List<jakarta.persistence.criteria.Predicate> predicates = new java.util.ArrayList<>();
-                        for (String gap : educationGaps) {
-                            predicates.add(
-                                criteriaBuilder.like(criteriaBuilder.lower(root.get("educationGap")), "%" + gap.toLowerCase() + "%")
-                            );
-                        }
-                        return criteriaBuilder.or(predicates.toArray(new jakarta.persistence.criteria.Predicate[0]));
-                    });
+
+            // Skill filters from the skill bitmaps, already narrowed to the HR's own candidates
+            if (!plan.skillMatches().isEmpty() && skillBitmapIndex.isReady()) {
+                Long ownerId = currentUser != null && currentUser.getRole() == Role.HR ? currentUser.getId() : null;
+                List<Long> skillMatchIds = explain.time("skillBitmap",
+                        () -> skillBitmapIndex.matchingCandidates(plan.skillMatches(), ownerId, skillMaxIds));
+                if (skillMatchIds != null) {
+                    explain.rows("skillBitmapMatches", skillMatchIds.size());
+                    facetFilters.put("skills", (root, criteriaQuery, criteriaBuilder) ->
+                        skillMatchIds.isEmpty() ? criteriaBuilder.disjunction() : root.get("id").in(skillMatchIds));
                 }
             }
-            
-            // ============ PERCENTAGE FILTER ============
-            if (filters.containsKey("minPercentage") || filters.containsKey("maxPercentage")) {
-                Integer minPercentage = filters.containsKey("minPercentage") ? 
-                    ((Number) filters.get("minPercentage")).intValue() : null;
-                Integer maxPercentage = filters.containsKey("maxPercentage") ? 
-                    ((Number) filters.get("maxPercentage")).intValue() : null;
-                
-                if (minPercentage != null || maxPercentage != null) {
-                    spec = spec.and((root, criteriaQuery, criteriaBuilder) -> {
-                        if (minPercentage != null && maxPercentage != null) {
-                            return criteriaBuilder.between(root.get("percentage"), minPercentage, maxPercentage);
-                        } else if (minPercentage != null) {
-                            return criteriaBuilder.greaterThanOrEqualTo(root.get("percentage"), minPercentage);
-                        } else {
-                            return criteriaBuilder.lessThanOrEqualTo(root.get("percentage"), maxPercentage);
-                        }
-                    });
+        
+            // Apply text query - search across multiple fields
+            List<Long> rankedIds = null;
+            boolean rankInWindows = false;
+            if (plan.hasText() && searchEngine.isReady()) {
+                // Resolve the text part through the search engine and keep its ranking for relevance sort
+                Long ownerId = currentUser != null && currentUser.getRole() == Role.HR ? currentUser.getId() : null;
+                explain.stop("buildSpecification", specStart);
+                SearchHits textHits = explain.time("textIndex",
+                        () -> searchEngine.searchCandidates(plan.text(), ownerId, textMaxIds + 1));
+                explain.rows("textIndexMatches", textHits.totalHits());
+                specStart = explain.start();
+                if (!textHits.truncated() && textHits.ids().size() <= textMaxIds) {
+                    rankedIds = textHits.ids();
+                    final List<Long> textMatchIds = rankedIds;
+                    spec = spec.and((root, criteriaQuery, criteriaBuilder) ->
+                        textMatchIds.isEmpty() ? criteriaBuilder.disjunction() : root.get("id").in(textMatchIds));
+                } else {
+                    // Too many matches for an id list, or the engine found only part of them: the database
+                    // applies the same terms and the engine only ranks
+                    spec = spec.and(CandidateQueryPlan.textTermsSpecification(plan.text()));
+                    rankInWindows = isRelevanceSort(sortBy);
                 }
+            } else if (plan.hasText()) {
+                spec = spec.and(plan.textSpecification());
             }
-            
-            // ============ EXTRACT IN-MEMORY FILTER PARAMETERS ============
-            // Experience filter - will be applied in-memory due to string storage
-            Double targetExp = null;
-            if (filters.containsKey("minExperience")) {
-                targetExp = ((Number) filters.get("minExperience")).doubleValue();
-            }
-            final Double finalTargetExp = targetExp;
-            
-            // CTC filters - will be applied in-memory due to string storage
-            Integer minCurrentCTC = null;
-            Integer maxCurrentCTC = null;
-            Integer minExpectedCTC = null;
-            Integer maxExpectedCTC = null;
-            Integer minPercentage = null;
-            Integer maxPercentage = null;
-            
-            if (filters.containsKey("minCurrentCTC")) {
-                minCurrentCTC = ((Number) filters.get("minCurrentCTC")).intValue();
-            }
-            if (filters.containsKey("maxCurrentCTC")) {
-                maxCurrentCTC = ((Number) filters.get("maxCurrentCTC")).intValue();
-            }
-            if (filters.containsKey("minExpectedCTC")) {
-                minExpectedCTC = ((Number) filters.get("minExpectedCTC")).intValue();
-            }
-            if (filters.containsKey("maxExpectedCTC")) {
-                maxExpectedCTC = ((Number) filters.get("maxExpectedCTC")).intValue();
-            }
-            if (filters.containsKey("minPercentage")) {
-                minPercentage = ((Number) filters.get("minPercentage")).intValue();
+
+            explain.stop("buildSpecification", specStart);
+
+            // ============ FACETS ============
+            // Counted before the facet filters are folded in, each facet ignoring its own filter
+            Map<String, List<FacetBucket>> facets = null;
+            if (includeFacets) {
+                final Specification<Candidate> facetBase = spec;
+                facets = explain.time("facets", () -> candidateFacetService.countFacets(facetBase, facetFilters,
+                    facetLimit != null ? facetLimit : candidateFacetService.getDefaultTopN()));
             }
-            if (filters.containsKey("maxPercentage")) {
-                maxPercentage = ((Number) filters.get("maxPercentage")).intValue();
+            for (Specification<Candidate> facetFilter : facetFilters.values()) {
+                spec = spec.and(facetFilter);
             }
 
-            final Integer finalMinPercentage = minPercentage;
-            final Integer finalMaxPercentage = maxPercentage;
-            final Integer finalMinCurrentCTC = minCurrentCTC;
-            final Integer finalMaxCurrentCTC = maxCurrentCTC;
-            final Integer finalMinExpectedCTC = minExpectedCTC;
-            final Integer finalMaxExpectedCTC = maxExpectedCTC;
-            
             // ============ BUILD SORT ============
             Sort sort = Sort.by(Sort.Direction.DESC, "updatedAt");
             
             if ("latest".equals(sortBy)) {
                 sort = Sort.by(Sort.Direction.DESC, "updatedAt");
             } else if ("experienceHigh".equals(sortBy)) {
-                sort = Sort.by(Sort.Direction.DESC, "experience");
+                sort = Sort.by(Sort.Direction.DESC, "experienceMonths");
             } else if ("experienceLow".equals(sortBy)) {
-                sort = Sort.by(Sort.Direction.ASC, "experience");
+                sort = Sort.by(Sort.Direction.ASC, "experienceMonths");
             } else if ("salaryHigh".equals(sortBy)) {
-                sort = Sort.by(Sort.Direction.DESC, "currentPackage");
+                sort = Sort.by(Sort.Direction.DESC, "currentCtcValue");
             } else if ("name".equals(sortBy)) {
                 sort = Sort.by(Sort.Direction.ASC, "firstName", "lastName");
             }
             
             // ============ EXECUTE QUERY ============
-            // Check if we need in-memory filtering
-            boolean needsInMemoryFiltering = (finalTargetExp != null || 
-                           finalMinCurrentCTC != null || finalMaxCurrentCTC != null ||
-                           finalMinExpectedCTC != null || finalMaxExpectedCTC != null);
-            
-            List<Candidate> allFilteredCandidates;
+            boolean rankByRelevance = rankedIds != null && isRelevanceSort(sortBy);
+
+            List<CandidateSummary> allFilteredCandidates;
             long totalFiltered;
-            
-            if (needsInMemoryFiltering) {
-                // Fetch ALL matching candidates for accurate pagination
-                PageRequest allResultsRequest = PageRequest.of(0, Integer.MAX_VALUE, sort);
-                org.springframework.data.domain.Page<Candidate> allResults = 
-                    candidateRepository.findAll(spec, allResultsRequest);
-                
-                System.out.println("📊 Database returned: " + allResults.getContent().size() + " candidates for in-memory filtering");
-                
-                // ============ APPLY IN-MEMORY FILTERS ============
-                allFilteredCandidates = allResults.getContent().stream()
-                .filter(candidate -> {
-                    // Experience filter - exact matching with very small tolerance
-                    if (finalTargetExp != null) {
-                        String expStr = candidate.getExperience();
-                        if (expStr == null || expStr.trim().isEmpty()) return false;
-                        
-                        try {
-                            double candidateExp = parseExperienceString(expStr);
-                            
-                            // Use exact matching with very small tolerance for decimal precision
-                            double tolerance = 0.05; // Allow ±0.05 years difference for exact matching
-                            double difference = Math.abs(candidateExp - finalTargetExp);
-                            
-                            System.out.println("Experience Filter: Candidate=" + candidateExp + ", Target=" + finalTargetExp + ", Difference=" + difference + ", Tolerance=" + tolerance);
-                            
-                            if (difference > tolerance) return false;
-                        } catch (Exception e) {
-                            System.out.println("Error parsing experience: '" + expStr + "' - " + e.getMessage());
-                            // Don't filter out candidates with parsing errors, just log them
-                        }
-                    }
-                    
-                    // Current CTC filter
-                    if (finalMinCurrentCTC != null || finalMaxCurrentCTC != null) {
-                        String ctcStr = candidate.getCurrentPackage();
-                        if (ctcStr != null && !ctcStr.trim().isEmpty()) {
-                            try {
-                                String numStr = ctcStr.replaceAll("[^0-9.]", "");
-                                if (!numStr.isEmpty()) {
-                                    double ctc = Double.parseDouble(numStr);
-                                    if (finalMinCurrentCTC != null && ctc < finalMinCurrentCTC) return false;
-                                    if (finalMaxCurrentCTC != null && ctc > finalMaxCurrentCTC) return false;
-                                }
-                            } catch (Exception e) {
-                                // If parsing fails, include the candidate
-                            }
-                        }
-                    }
-                    // Percentage filter
-//                    if (finalMinPercentage != null || finalMaxPercentage != null) {
-//                        String pctStr = candidate.getPercentage();
-//                        if (pctStr != null && !pctStr.trim().isEmpty()) {
-//                            try {
-//                                double pct = Double.parseDouble(pctStr.replaceAll("[^0-9.]", ""));
-//                                if (finalMinPercentage != null && pct < finalMinPercentage) return false;
-//                                if (finalMaxPercentage != null && pct > finalMaxPercentage) return false;
-//                            } catch (Exception e) {
-//                                // ignore parsing errors
-//                            }
-//                        }
-//                    }
-
-                    // Expected CTC filter
-                    if (finalMinExpectedCTC != null || finalMaxExpectedCTC != null) {
-                        String expectedStr = candidate.getExpectedCTC();
-                        if (expectedStr != null && !expectedStr.trim().isEmpty()) {
-                            try {
-                                String numStr = expectedStr.replaceAll("[^0-9.]", "");
-                                if (!numStr.isEmpty()) {
-                                    double expectedCtc = Double.parseDouble(numStr);
-                                    if (finalMinExpectedCTC != null && expectedCtc < finalMinExpectedCTC) return false;
-                                    if (finalMaxExpectedCTC != null && expectedCtc > finalMaxExpectedCTC) return false;
-                                }
-                            } catch (Exception e) {
-                                // If parsing fails, include the candidate
-                            }
-                        }
-                    }
-                    
-                    return true;
-                })
-                .collect(java.util.stream.Collectors.toList());
-                
-                totalFiltered = allFilteredCandidates.size();
-                
-                // Apply pagination for in-memory filtered results
-                int skipCount = (page - 1) * limit;
-                System.out.println("📄 In-memory Pagination: page=" + page + ", limit=" + limit + ", skipCount=" + skipCount + ", totalFiltered=" + totalFiltered);
-                
-                List<Candidate> paginatedCandidates = allFilteredCandidates.stream()
-                    .skip(skipCount)
-                    .limit(limit)
-                    .collect(java.util.stream.Collectors.toList());
-                    
-                allFilteredCandidates = paginatedCandidates;
+            String nextCursor = null;
+            
+            if (rankByRelevance) {
+                // Let the database apply the filters to the ids only, then page in index rank order
+                List<Long> matchingIds = findMatchingIds(spec);
+                long filterStart = explain.start();
+                Set<Long> matching = new HashSet<>(matchingIds);
+                List<Long> orderedIds = rankedIds.stream()
+                    .filter(matching::contains)
+                    .collect(Collectors.toList());
+                if (orderedIds.size() < matchingIds.size()) {
+                    // Matches past the engine's ranking cap follow the ranked ones
+                    Set<Long> ranked = new HashSet<>(orderedIds);
+                    matchingIds.stream().filter(id -> !ranked.contains(id)).forEach(orderedIds::add);
+                }
+                explain.stop("inMemoryFiltering", filterStart);
+                explain.rows("idsMatched", matchingIds.size());
+                explain.detail("strategy", "text index ranking, database filters on ids");
+                int from = Math.min((page - 1) * limit, orderedIds.size());
+                int to = Math.min(from + limit, orderedIds.size());
+
+                allFilteredCandidates = findAllInOrder(orderedIds.subList(from, to));
+                totalFiltered = orderedIds.size();
+            } else if (rankInWindows) {
+                // Too many text matches to list: COUNT for the total, and only as many ranked ids as the page needs
+                final Specification<Candidate> countSpec = spec;
+                totalFiltered = explain.time("count", () -> candidateRepository.count(countSpec));
+                Long ownerId = currentUser != null && currentUser.getRole() == Role.HR ? currentUser.getId() : null;
+                explain.detail("strategy", "text index ranking in windows, database filters on ids");
+
+                allFilteredCandidates = findRankedPage(plan.text(), ownerId, spec, page, limit, totalFiltered);
+            } else if (cursor != null) {
+                // Keyset mode: seek past the cursor on every sort key + id, no OFFSET and no COUNT
+                KeysetSlice<CandidateSummary> slice = KeysetPager.fetch(candidateRepository::findSummaries, spec,
+                    sort, CandidateSummary.SORTABLE, cursor, limit);
+                explain.detail("strategy", "keyset page");
+
+                allFilteredCandidates = slice.getContent();
+                totalFiltered = -1;
+                nextCursor = slice.getNextCursor();
             } else {
-                // No in-memory filtering needed - use database pagination directly
                 PageRequest pageRequest = PageRequest.of(page - 1, limit, sort);
-                org.springframework.data.domain.Page<Candidate> resultPage = 
-                    candidateRepository.findAll(spec, pageRequest);
+                Page<CandidateSummary> resultPage = 
+                    candidateRepository.findSummaries(spec, pageRequest);
                 
-                System.out.println("📊 Database pagination: page=" + page + ", limit=" + limit + ", returned=" + resultPage.getContent().size() + ", total=" + resultPage.getTotalElements());
+                log.debug("Database pagination: page={}, limit={}, returned={}, total={}",
+                    page, limit, resultPage.getContent().size(), resultPage.getTotalElements());
+                explain.detail("strategy", "database page");
                 
                 allFilteredCandidates = resultPage.getContent();
                 totalFiltered = resultPage.getTotalElements();
             }
             
             int totalPagesCalc = (int) Math.ceil((double) totalFiltered / limit);
-            System.out.println("✅ Results: Showing " + allFilteredCandidates.size() + " candidates on page " + page + " of " + totalPagesCalc + " total pages");
+            explain.rows("returned", allFilteredCandidates.size());
+            if (cursor == null) {
+                explain.rows("total", totalFiltered);
+            }
+            explain.detail("sort", sort.toString());
             
             // ============ MAP RESULTS ============
-            List<java.util.Map<String, Object>> results = allFilteredCandidates.stream()
+            final List<CandidateSummary> pageCandidates = allFilteredCandidates;
+            List<Map<String, Object>> results = explain.time("mapping", () -> pageCandidates.stream()
                 .map(this::mapCandidateToMap)
-                .collect(java.util.stream.Collectors.toList());
+                .collect(Collectors.toList()));
             
             // ============ BUILD RESPONSE ============
-            java.util.Map<String, Object> response = new java.util.HashMap<>();
+            Map<String, Object> response = new HashMap<>();
             response.put("results", results);
             response.put("totalCount", totalFiltered);
-            response.put("page", page);
-            response.put("totalPages", Math.max(1, totalPagesCalc));
+            if (cursor != null) {
+                response.put("totalPages", -1);
+                response.put("nextCursor", nextCursor);
+                response.put("hasNext", nextCursor != null);
+            } else {
+                response.put("page", page);
+                response.put("totalPages", Math.max(1, totalPagesCalc));
+            }
+            if (facets != null) {
+                response.put("facets", facets);
+            }
             response.put("executionTime", System.currentTimeMillis() - startTime);
             
-            System.out.println("⏱️  Search completed in " + (System.currentTimeMillis() - startTime) + "ms");
+            log.debug("Advanced search returned {} of {} candidates in {}ms",
+                allFilteredCandidates.size(), totalFiltered, System.currentTimeMillis() - startTime);
             
             return response;
+        } catch (BusinessException e) {
+            // Bad cursor or filter: a client error, not an empty result
+            throw e;
         } catch (Exception e) {
-            System.err.println("Error in advancedCandidateSearch: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error in advancedCandidateSearch", e);
             
             // Return empty results on error
-            java.util.Map<String, Object> errorResponse = new java.util.HashMap<>();
-            errorResponse.put("results", new java.util.ArrayList<>());
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("results", new ArrayList<>());
             errorResponse.put("totalCount", 0);
             errorResponse.put("page", page);
             errorResponse.put("totalPages", 0);
@@ -756,8 +915,21 @@ public class GlobalSearchService {
         }
     }
     
-    private java.util.Map<String, Object> mapCandidateToMap(Candidate candidate) {
-        java.util.Map<String, Object> map = new java.util.HashMap<>();
+    private Map<String, Object> emptySearchResponse(int page, boolean includeFacets, long startTime) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("results", new ArrayList<>());
+        response.put("totalCount", 0L);
+        response.put("page", page);
+        response.put("totalPages", 1);
+        if (includeFacets) {
+            response.put("facets", new LinkedHashMap<>());
+        }
+        response.put("executionTime", System.currentTimeMillis() - startTime);
+        return response;
+    }
+
+    private Map<String, Object> mapCandidateToMap(CandidateSummary candidate) {
+        Map<String, Object> map = new HashMap<>();
         map.put("id", candidate.getId());
         map.put("firstName", candidate.getFirstName());
         map.put("lastName", candidate.getLastName());
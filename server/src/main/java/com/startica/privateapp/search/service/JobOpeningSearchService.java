@@ -6,6 +6,8 @@ import com.startica.privateapp.search.dto.SearchResultPage;
 import com.startica.privateapp.opening.model.Opening;
 import com.startica.privateapp.opening.repository.OpeningRepository;
 import com.startica.privateapp.search.specification.JobOpeningSpecification;
+import com.startica.privateapp.common.pagination.KeysetPager;
+import com.startica.privateapp.common.pagination.KeysetSlice;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -38,6 +40,21 @@ public class JobOpeningSearchService {
         
         // Build pagination and sorting
         Sort sort = getSort(request.getSortBy(), request.getSortDirection());
+
+        if (request.getCursor() != null) {
+            // Keyset mode: seek on every sort key + id, no OFFSET and no COUNT
+            KeysetSlice<Opening> slice = KeysetPager.fetch(openingRepository, spec, sort, Opening.SORTABLE,
+                    request.getCursor(), request.getSize());
+            return SearchResultPage.ofCursor(
+                slice.getContent(),
+                request.getSize(),
+                request.getCursor().isEmpty(),
+                slice.getNextCursor(),
+                request.getTextQuery(),
+                System.currentTimeMillis() - startTime
+            );
+        }
+
         PageRequest pageRequest = PageRequest.of(request.getPage(), request.getSize(), sort);
         
         // Execute query
@@ -0,0 +1,474 @@
+package com.startica.privateapp.search.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.startica.privateapp.candidate.dto.CandidateSummary;
+import com.startica.privateapp.candidate.event.CandidateChangedEvent;
+import com.startica.privateapp.common.exception.BusinessException;
+import com.startica.privateapp.common.exception.ResourceNotFoundException;
+import com.startica.privateapp.model.Candidate;
+import com.startica.privateapp.model.Role;
+import com.startica.privateapp.model.User;
+import com.startica.privateapp.repository.CandidateRepository;
+import com.startica.privateapp.repository.UserRepository;
+import com.startica.privateapp.search.dto.GlobalSearchRequest;
+import com.startica.privateapp.search.dto.JobOpeningSearchRequest;
+import com.startica.privateapp.search.dto.SavedSearchRequest;
+import com.startica.privateapp.search.dto.SavedSearchResponse;
+import com.startica.privateapp.search.index.SavedSearchMatcher;
+import com.startica.privateapp.search.index.SkillTaxonomy;
+import com.startica.privateapp.search.model.SavedSearch;
+import com.startica.privateapp.search.model.SavedSearchMatch;
+import com.startica.privateapp.search.repository.SavedSearchMatchRepository;
+import com.startica.privateapp.search.repository.SavedSearchRepository;
+import com.startica.privateapp.search.specification.CandidateQueryPlan;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Saved searches and their incremental candidate matches.
+ *
+ * Candidate searches are compiled into the same {@link CandidateQueryPlan} their runs use and
+ * registered with {@link SavedSearchMatcher}; every committed candidate
+ * write is tested against them and the matches it gains or loses are recorded, so "new
+ * matches since last run" is a lookup instead of re-running every saved query. Saved search
+ * writes reach the matcher only once they have committed.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SavedSearchService {
+
+    private static final Set<String> SEARCH_TYPES = Set.of("CANDIDATE", "JOB_OPENING", "GLOBAL");
+    private static final TypeReference<Map<String, Object>> FILTER_MAP = new TypeReference<>() {};
+
+    private final SavedSearchRepository savedSearchRepository;
+    private final SavedSearchMatchRepository savedSearchMatchRepository;
+    private final CandidateRepository candidateRepository;
+    private final UserRepository userRepository;
+    private final SavedSearchMatcher savedSearchMatcher;
+    private final SkillTaxonomy skillTaxonomy;
+    private final GlobalSearchService globalSearchService;
+    private final JobOpeningSearchService jobOpeningSearchService;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${search.saved.new-matches-limit:200}")
+    private int newMatchesLimit;
+
+    @Value("${search.saved.rematch-batch-size:500}")
+    private int rematchBatchSize;
+
+    // Re-evaluates every candidate after bulk changes, one pass at a time
+    private final ExecutorService rematchExecutor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("saved-search-rematch").daemon().factory());
+
+    @PreDestroy
+    public void shutdown() {
+        rematchExecutor.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadMatcher() {
+        List<SavedSearch> searches = savedSearchRepository.findBySearchType("CANDIDATE");
+        for (SavedSearch search : searches) {
+            try {
+                register(search);
+            } catch (BusinessException e) {
+                log.warn("Saved search {} has unusable filters: {}", search.getId(), e.getMessage());
+                savedSearchMatcher.unregister(search.getId());
+            }
+        }
+        log.info("Saved search matcher loaded with {} candidate searches", searches.size());
+    }
+
+    // Skill clauses are compiled with the synonym dictionary, so a new one can change every match
+    @EventListener(SkillTaxonomy.ReloadedEvent.class)
+    public void reloadMatcher() {
+        loadMatcher();
+        rematchExecutor.execute(this::rematchAll);
+    }
+
+    @Transactional(readOnly = true)
+    public List<SavedSearchResponse> getSavedSearches(User currentUser) {
+        List<SavedSearch> searches = savedSearchRepository.findVisibleTo(currentUser.getId());
+        Map<Long, Long> newMatchCounts = new HashMap<>();
+        if (!searches.isEmpty()) {
+            for (Object[] row : savedSearchMatchRepository.countNewMatches(
+                    searches.stream().map(SavedSearch::getId).toList(), hrScope(currentUser))) {
+                newMatchCounts.put((Long) row[0], (Long) row[1]);
+            }
+        }
+        Map<Long, String> userNames = new HashMap<>();
+        userRepository.findAllById(searches.stream().map(SavedSearch::getUserId).collect(Collectors.toSet()))
+                .forEach(user -> userNames.put(user.getId(), user.getFullName()));
+
+        return searches.stream()
+                .map(search -> mapToResponse(search, userNames.get(search.getUserId()),
+                        newMatchCounts.getOrDefault(search.getId(), 0L)))
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public SavedSearchResponse getSavedSearch(Long id, User currentUser) {
+        SavedSearch search = findVisible(id, currentUser);
+        return mapToResponse(search, userName(search.getUserId()), countNewMatches(search, currentUser));
+    }
+
+    @Transactional
+    public SavedSearchResponse createSavedSearch(SavedSearchRequest request, User currentUser) {
+        validate(request);
+        SavedSearch search = SavedSearch.builder()
+                .userId(currentUser.getId())
+                .scopeHrId(currentUser.getRole() == Role.HR ? currentUser.getId() : null)
+                .build();
+        apply(search, request);
+        search = savedSearchRepository.save(search);
+        publishMatcherUpdate(search);
+
+        log.info("Saved search {} '{}' created by user {}", search.getId(), search.getName(), currentUser.getId());
+        return mapToResponse(search, currentUser.getFullName(), 0L);
+    }
+
+    @Transactional
+    public SavedSearchResponse updateSavedSearch(Long id, SavedSearchRequest request, User currentUser) {
+        validate(request);
+        SavedSearch search = findOwned(id, currentUser);
+        String previousType = search.getSearchType();
+        Map<String, Object> previousFilters = readFilters(search.getFilters());
+        apply(search, request);
+        search = savedSearchRepository.save(search);
+
+        if (search.getSearchType().equals(previousType) && readFilters(search.getFilters()).equals(previousFilters)) {
+            // Renamed or re-described only: the recorded matches still hold
+            return mapToResponse(search, userName(search.getUserId()), countNewMatches(search, currentUser));
+        }
+        // Matches recorded under the old criteria no longer mean anything
+        savedSearchMatchRepository.deleteBySavedSearchId(search.getId());
+        publishMatcherUpdate(search);
+
+        return mapToResponse(search, userName(search.getUserId()), 0L);
+    }
+
+    @Transactional
+    public void deleteSavedSearch(Long id, User currentUser) {
+        SavedSearch search = findOwned(id, currentUser);
+        savedSearchMatchRepository.deleteBySavedSearchId(search.getId());
+        savedSearchRepository.delete(search);
+        eventPublisher.publishEvent(new MatcherUpdate(search.getId(), null, null));
+    }
+
+    /**
+     * Runs the saved search with the caller's scope and marks it as used, which also
+     * resets its new-match count.
+     */
+    @Transactional
+    public Object runSavedSearch(Long id, int page, int limit, User currentUser) {
+        SavedSearch search = findVisible(id, currentUser);
+        Map<String, Object> filters = readFilters(search.getFilters());
+
+        Object result = switch (search.getSearchType()) {
+            case "CANDIDATE" -> {
+                Map<String, Object> candidateFilters = new HashMap<>(filters);
+                String query = (String) candidateFilters.remove("query");
+                String sortBy = (String) candidateFilters.remove("sortBy");
+                yield globalSearchService.advancedCandidateSearch(query != null ? query : "", candidateFilters,
+                        sortBy != null ? sortBy : "relevance", page, limit, null, false, null, currentUser);
+            }
+            case "JOB_OPENING" -> {
+                JobOpeningSearchRequest request = objectMapper.convertValue(filters, JobOpeningSearchRequest.class);
+                request.setPage(Math.max(page - 1, 0));
+                request.setSize(limit);
+                yield jobOpeningSearchService.advancedSearch(request, currentUser);
+            }
+            default -> {
+                GlobalSearchRequest request = objectMapper.convertValue(filters, GlobalSearchRequest.class);
+                request.setPage(Math.max(page - 1, 0));
+                request.setSize(limit);
+                yield globalSearchService.search(request, currentUser);
+            }
+        };
+
+        search.setLastUsedAt(LocalDateTime.now());
+        search.setUseCount(search.getUseCount() + 1);
+        savedSearchRepository.save(search);
+        return result;
+    }
+
+    /**
+     * Candidates that started matching the search since it was last run, newest first.
+     */
+    @Transactional(readOnly = true)
+    public List<CandidateSummary> getNewMatches(Long id, User currentUser) {
+        SavedSearch search = findVisible(id, currentUser);
+        LocalDateTime since = search.getLastUsedAt() != null ? search.getLastUsedAt() : search.getCreatedAt();
+        List<Long> ids = savedSearchMatchRepository.findCandidateIdsMatchedSince(search.getId(), since);
+        if (ids.size() > newMatchesLimit) {
+            ids = ids.subList(0, newMatchesLimit);
+        }
+
+        Map<Long, CandidateSummary> byId = candidateRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(CandidateSummary::getId, Function.identity()));
+        Long hrScope = hrScope(currentUser);
+        List<CandidateSummary> matches = new ArrayList<>();
+        for (Long candidateId : ids) {
+            CandidateSummary candidate = byId.get(candidateId);
+            // A shared search keeps its owner's scope; HR callers still only see their own candidates
+            if (candidate != null && (hrScope == null || hrScope.equals(candidate.getSourceHrId()))) {
+                matches.add(candidate);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Applies a saved search write to the matcher once it has committed, so a rolled-back write
+     * never leaves its filters registered.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMatcherUpdate(MatcherUpdate update) {
+        if (update.plan() != null) {
+            savedSearchMatcher.register(update.savedSearchId(), update.scopeHrId(), update.plan());
+        } else {
+            savedSearchMatcher.unregister(update.savedSearchId());
+        }
+    }
+
+    /**
+     * Re-evaluates the saved candidate searches for a committed candidate write. A bulk change
+     * re-evaluates every candidate in the background.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onCandidateChanged(CandidateChangedEvent event) {
+        if (event.affectsAll()) {
+            rematchExecutor.execute(this::rematchAll);
+            return;
+        }
+        try {
+            Optional<Candidate> candidate = candidateRepository.findById(event.candidateId());
+            if (candidate.isEmpty()) {
+                savedSearchMatchRepository.deleteByCandidateId(event.candidateId());
+                return;
+            }
+            recordMatches(List.of(candidate.get()));
+        } catch (Exception e) {
+            // Matching is best effort and must never fail the candidate write that triggered it
+            log.error("Failed to match candidate {} against saved searches", event.candidateId(), e);
+        }
+    }
+
+    /**
+     * Matches every candidate against the saved searches, in id-ordered batches with one
+     * transaction per batch.
+     */
+    void rematchAll() {
+        long startTime = System.currentTimeMillis();
+        long lastId = 0L;
+        int matched = 0;
+        try {
+            while (true) {
+                long after = lastId;
+                List<Candidate> batch = transactionTemplate.execute(status -> {
+                    List<Candidate> candidates = candidateRepository.findByIdGreaterThanOrderByIdAsc(
+                            after, PageRequest.of(0, rematchBatchSize));
+                    recordMatches(candidates);
+                    return candidates;
+                });
+                if (batch == null || batch.isEmpty()) {
+                    break;
+                }
+                matched += batch.size();
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+            log.info("Re-matched {} candidates against saved searches in {}ms",
+                    matched, System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            log.error("Saved search re-match stopped after {} candidates", matched, e);
+        }
+    }
+
+    // Records the searches each candidate started matching and drops the ones it no longer matches
+    private void recordMatches(List<Candidate> candidates) {
+        if (candidates.isEmpty()) {
+            return;
+        }
+        Map<Long, List<SavedSearchMatch>> existingByCandidate = savedSearchMatchRepository
+                .findByCandidateIdIn(candidates.stream().map(Candidate::getId).toList()).stream()
+                .collect(Collectors.groupingBy(SavedSearchMatch::getCandidateId));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<SavedSearchMatch> stale = new ArrayList<>();
+        List<SavedSearchMatch> added = new ArrayList<>();
+        for (Candidate candidate : candidates) {
+            Set<Long> matched = savedSearchMatcher.match(candidate);
+            Set<Long> alreadyMatched = new HashSet<>();
+            for (SavedSearchMatch match : existingByCandidate.getOrDefault(candidate.getId(), List.of())) {
+                alreadyMatched.add(match.getSavedSearchId());
+                if (!matched.contains(match.getSavedSearchId())) {
+                    stale.add(match);
+                }
+            }
+            for (Long savedSearchId : matched) {
+                if (!alreadyMatched.contains(savedSearchId)) {
+                    added.add(SavedSearchMatch.builder()
+                            .savedSearchId(savedSearchId)
+                            .candidateId(candidate.getId())
+                            .matchedAt(now)
+                            .build());
+                }
+            }
+        }
+        savedSearchMatchRepository.deleteAll(stale);
+        savedSearchMatchRepository.saveAll(added);
+    }
+
+    private void register(SavedSearch search) {
+        CandidateQueryPlan plan = compile(search);
+        if (plan != null) {
+            savedSearchMatcher.register(search.getId(), search.getScopeHrId(), plan);
+        } else {
+            savedSearchMatcher.unregister(search.getId());
+        }
+    }
+
+    // Compiled inside the write's transaction, so unusable filters still reject (and roll back) the write
+    private void publishMatcherUpdate(SavedSearch search) {
+        CandidateQueryPlan plan = compile(search);
+        eventPublisher.publishEvent(new MatcherUpdate(search.getId(), search.getScopeHrId(), plan));
+    }
+
+    // The matcher plan of a candidate search, null for the other search types
+    private CandidateQueryPlan compile(SavedSearch search) {
+        if (!"CANDIDATE".equals(search.getSearchType())) {
+            return null;
+        }
+        // Split the same way runSavedSearch does before the filters reach the advanced search
+        Map<String, Object> filters = readFilters(search.getFilters());
+        Object query = filters.remove("query");
+        filters.remove("sortBy");
+        return CandidateQueryPlan.compile(query instanceof String text ? text : null, filters, skillTaxonomy.current());
+    }
+
+    private void validate(SavedSearchRequest request) {
+        if (request.getName() == null || request.getName().trim().isEmpty()) {
+            throw new BusinessException("Saved search name is required");
+        }
+        if (request.getSearchType() == null || !SEARCH_TYPES.contains(request.getSearchType())) {
+            throw new BusinessException("Search type must be one of " + SEARCH_TYPES);
+        }
+    }
+
+    private void apply(SavedSearch search, SavedSearchRequest request) {
+        search.setName(request.getName().trim());
+        search.setDescription(request.getDescription());
+        search.setSearchType(request.getSearchType());
+        search.setShared(request.isShared());
+        search.setEnableNotifications(request.isEnableNotifications());
+        search.setNotificationFrequency(request.getNotificationFrequency());
+        try {
+            search.setFilters(objectMapper.writeValueAsString(
+                    request.getFilters() != null ? request.getFilters() : Map.of()));
+        } catch (JsonProcessingException e) {
+            throw new BusinessException("Invalid saved search filters: " + e.getOriginalMessage());
+        }
+    }
+
+    private SavedSearch findVisible(Long id, User currentUser) {
+        SavedSearch search = savedSearchRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Saved search not found with id: " + id));
+        if (!search.isShared() && !search.getUserId().equals(currentUser.getId())) {
+            throw new BusinessException("You can only access your own or shared saved searches");
+        }
+        return search;
+    }
+
+    private SavedSearch findOwned(Long id, User currentUser) {
+        SavedSearch search = savedSearchRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Saved search not found with id: " + id));
+        if (!search.getUserId().equals(currentUser.getId()) && currentUser.getRole() != Role.ADMIN) {
+            throw new BusinessException("You can only modify saved searches you created");
+        }
+        return search;
+    }
+
+    private Map<String, Object> readFilters(String json) {
+        if (json == null || json.isEmpty()) {
+            return new HashMap<>();
+        }
+        try {
+            return objectMapper.readValue(json, FILTER_MAP);
+        } catch (JsonProcessingException e) {
+            log.warn("Unreadable saved search filters: {}", e.getOriginalMessage());
+            return new HashMap<>();
+        }
+    }
+
+    private long countNewMatches(SavedSearch search, User currentUser) {
+        List<Object[]> rows = savedSearchMatchRepository.countNewMatches(List.of(search.getId()), hrScope(currentUser));
+        return rows.isEmpty() ? 0L : (Long) rows.get(0)[1];
+    }
+
+    // HR callers only see their own candidates, even among the matches of a search shared with them
+    private static Long hrScope(User currentUser) {
+        return currentUser.getRole() == Role.HR ? currentUser.getId() : null;
+    }
+
+    private String userName(Long userId) {
+        return userRepository.findById(userId).map(User::getFullName).orElse(null);
+    }
+
+    private SavedSearchResponse mapToResponse(SavedSearch search, String userName, long newMatchCount) {
+        return SavedSearchResponse.builder()
+                .id(search.getId())
+                .name(search.getName())
+                .description(search.getDescription())
+                .searchType(search.getSearchType())
+                .filters(readFilters(search.getFilters()))
+                .isShared(search.isShared())
+                .enableNotifications(search.isEnableNotifications())
+                .notificationFrequency(search.getNotificationFrequency())
+                .userId(search.getUserId())
+                .userName(userName)
+                .createdAt(search.getCreatedAt())
+                .lastUsedAt(search.getLastUsedAt())
+                .useCount(search.getUseCount())
+                .newMatchCount(newMatchCount)
+                .build();
+    }
+
+    /**
+     * Published by the saved search write paths; plan is null when the search no longer takes
+     * part in candidate matching (deleted, or not a candidate search).
+     */
+    public record MatcherUpdate(long savedSearchId, Long scopeHrId, CandidateQueryPlan plan) {
+    }
+}
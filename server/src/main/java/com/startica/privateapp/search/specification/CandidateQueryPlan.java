@@ -0,0 +1,823 @@
+package com.startica.privateapp.search.specification;
+
+import com.startica.privateapp.common.exception.BusinessException;
+import com.startica.privateapp.model.Candidate;
+import com.startica.privateapp.model.Candidate.CandidateStatus;
+import com.startica.privateapp.search.index.SkillSynonyms;
+import com.startica.privateapp.search.index.TextAnalyzer;
+import com.startica.privateapp.util.ContactNormalizer;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * The advanced search filter map parsed once into typed, validated clauses.
+ *
+ * Values are trimmed, lowercased, de-duplicated and sorted, and clauses that another clause
+ * already implies are dropped: currentLocations [pune] makes preferredLocations [pune, mumbai]
+ * redundant, and "java" is enough of an ANY list that also holds "java ee". Skill terms are
+ * matched as written anywhere in the skills, and under every other spelling the synonym
+ * dictionary gives them as whole words only; they are keyed by their canonical name, so
+ * "ReactJS" and "react" are one clause. A plan that can
+ * match nothing (a minimum above its maximum, only unknown statuses) is flagged so no SQL runs.
+ * {@link #key()} is the canonical form of all that, so two filter maps that select the same
+ * candidates share one cache key whatever their order or spelling. {@link #matches(Candidate)}
+ * evaluates the same clauses against one candidate in memory. Instances are immutable.
+ */
+public final class CandidateQueryPlan {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private static final String[] TEXT_FIELDS =
+            {"firstName", "lastName", "email", "phone", "phoneCanonical", "skills", "profile", "company"};
+
+    // Candidate values behind the column names the clauses use, for matching in memory
+    private static final Map<String, Function<Candidate, Object>> COLUMNS = new HashMap<>();
+
+    static {
+        COLUMNS.put("firstName", Candidate::getFirstName);
+        COLUMNS.put("lastName", Candidate::getLastName);
+        COLUMNS.put("email", Candidate::getEmail);
+        COLUMNS.put("phone", Candidate::getPhone);
+        // The in-memory engine also indexes the phone number as bare digits and as the national number
+        COLUMNS.put("phoneDigits", c -> TextAnalyzer.phoneDigits(c.getPhone()));
+        COLUMNS.put("phoneCanonical", c -> ContactNormalizer.canonicalPhone(c.getPhone()));
+        COLUMNS.put("skills", Candidate::getSkills);
+        COLUMNS.put("profile", Candidate::getProfile);
+        COLUMNS.put("company", Candidate::getCompany);
+        COLUMNS.put("location", Candidate::getLocation);
+        COLUMNS.put("degree", Candidate::getDegree);
+        COLUMNS.put("education", Candidate::getEducation);
+        COLUMNS.put("experienceLevel", Candidate::getExperienceLevel);
+        COLUMNS.put("noticePeriod", Candidate::getNoticePeriod);
+        COLUMNS.put("gap", Candidate::getGap);
+        COLUMNS.put("passingYear", Candidate::getPassingYear);
+        COLUMNS.put("percentage", Candidate::getPercentage);
+        COLUMNS.put("experienceMonths", Candidate::getExperienceMonths);
+        COLUMNS.put("currentCtcValue", Candidate::getCurrentCtcValue);
+        COLUMNS.put("expectedCtcValue", Candidate::getExpectedCtcValue);
+    }
+
+    private static final List<String> TEXT_TERM_COLUMNS =
+            List.of("firstName", "lastName", "email", "phone", "phoneDigits", "phoneCanonical", "skills", "profile",
+                    "company");
+
+    private final String text;
+    // The text as the search engine tokenizes it; every term must prefix a word of a text column
+    private final List<String> textTerms;
+    // Contains clauses without a facet, ranges and statuses are folded into the base specification
+    private final List<Contains> contains;
+    private final List<Range> ranges;
+    private final Set<CandidateStatus> statuses;
+    private final boolean unsatisfiable;
+    private final String key;
+
+    private CandidateQueryPlan(String text, List<Contains> contains, List<Range> ranges,
+                               Set<CandidateStatus> statuses, boolean unsatisfiable) {
+        this.text = text;
+        this.textTerms = text != null ? TextAnalyzer.tokenize(text).stream().distinct().toList() : List.of();
+        this.contains = contains;
+        this.ranges = ranges;
+        this.statuses = statuses;
+        this.unsatisfiable = unsatisfiable;
+        this.key = buildKey();
+    }
+
+    /**
+     * Parses the filter map of an advanced search.
+     *
+     * @param synonyms dictionary the skill filters are expanded with
+     * @throws BusinessException when a filter has a value of the wrong type
+     */
+    public static CandidateQueryPlan compile(String query, Map<String, Object> filters, SkillSynonyms synonyms) {
+        Map<String, Object> f = filters != null ? filters : Map.of();
+        String text = query != null && !query.trim().isEmpty() ? query.trim() : null;
+
+        List<Contains> contains = new ArrayList<>();
+        addAny(contains, "location", f, "currentLocations", "location");
+        addAny(contains, "location", f, "preferredLocations", "location");
+        String skillMatchType = string(f, "skillMatchType");
+        if (skillMatchType != null && !"ANY".equalsIgnoreCase(skillMatchType) && !"ALL".equalsIgnoreCase(skillMatchType)) {
+            throw new BusinessException("Filter 'skillMatchType' must be ANY or ALL");
+        }
+        List<Term> primarySkills = skillTerms(f, "primarySkills", synonyms);
+        if (!primarySkills.isEmpty()) {
+            contains.add(Contains.of("skills", List.of("skills"), primarySkills, "ALL".equalsIgnoreCase(skillMatchType)));
+        }
+        List<Term> secondarySkills = skillTerms(f, "secondarySkills", synonyms);
+        if (!secondarySkills.isEmpty()) {
+            contains.add(Contains.of("skills", List.of("skills"), secondarySkills, false));
+        }
+        addAll(contains, "degree", single(f, "qualification"), "degree");
+        addAll(contains, null, single(f, "company"), "company");
+        addAll(contains, null, single(f, "profile"), "profile");
+        // There is no specialization column; it is part of the degree or education text
+        addAll(contains, null, single(f, "specialization"), "degree", "education");
+        addAny(contains, "experienceLevel", f, "experienceLevel", "experienceLevel");
+        addAny(contains, "noticePeriod", f, "noticePeriod", "noticePeriod");
+        addAny(contains, "degree", f, "degree", "degree", "education");
+        addAny(contains, null, f, "educationGap", "gap");
+
+        List<Range> ranges = new ArrayList<>();
+        addRange(ranges, "passingYear", integer(f, "minPassingYear"), integer(f, "maxPassingYear"), false);
+        addRange(ranges, "percentage", integer(f, "minPercentage"), integer(f, "maxPercentage"), false);
+        Double experience = number(f, "minExperience");
+        if (experience != null) {
+            // Stored experience_months within ±0.05 years of the requested value
+            addRange(ranges, "experienceMonths", Math.ceil((experience - 0.05) * 12),
+                    Math.floor((experience + 0.05) * 12), false);
+        }
+        // Candidates whose CTC could not be parsed are kept
+        addRange(ranges, "currentCtcValue", number(f, "minCurrentCTC"), number(f, "maxCurrentCTC"), true);
+        addRange(ranges, "expectedCtcValue", number(f, "minExpectedCTC"), number(f, "maxExpectedCTC"), true);
+
+        boolean unsatisfiable = ranges.stream().anyMatch(Range::isEmpty);
+        Set<CandidateStatus> statuses = null;
+        List<String> statusNames = strings(f, "applicationStatus");
+        if (!statusNames.isEmpty()) {
+            statuses = EnumSet.noneOf(CandidateStatus.class);
+            for (String name : statusNames) {
+                try {
+                    statuses.add(CandidateStatus.valueOf(name.toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException e) {
+                    // An unknown status matches no candidate
+                }
+            }
+            unsatisfiable |= statuses.isEmpty();
+        }
+
+        return new CandidateQueryPlan(text, reduce(contains), ranges, statuses, unsatisfiable);
+    }
+
+    public String text() {
+        return text;
+    }
+
+    public boolean hasText() {
+        return text != null;
+    }
+
+    /**
+     * True when no candidate can match, e.g. a minimum above the maximum or only unknown statuses.
+     */
+    public boolean isUnsatisfiable() {
+        return unsatisfiable;
+    }
+
+    /**
+     * The clauses on the skills column, which all belong to the "skills" facet filter.
+     */
+    public List<SkillMatch> skillMatches() {
+        return contains.stream()
+                .filter(c -> c.fields().equals(List.of("skills")))
+                .map(c -> new SkillMatch(c.terms().stream().map(Term::spellings).toList(), c.all()))
+                .toList();
+    }
+
+    /**
+     * The statuses a candidate must have, or null when the plan does not filter on status.
+     */
+    public Set<CandidateStatus> statuses() {
+        return statuses != null ? Set.copyOf(statuses) : null;
+    }
+
+    /**
+     * Whether the candidate satisfies every clause, evaluated in memory with the semantics of the
+     * specifications, except that the text query is matched the way the search engine runs it:
+     * every term a prefix of a word in one of the text columns.
+     */
+    public boolean matches(Candidate candidate) {
+        if (unsatisfiable) {
+            return false;
+        }
+        if (hasText() && !matchesTextTerms(candidate)) {
+            return false;
+        }
+        for (Contains clause : contains) {
+            if (!clause.matches(candidate)) {
+                return false;
+            }
+        }
+        for (Range range : ranges) {
+            if (!range.matches(candidate)) {
+                return false;
+            }
+        }
+        return statuses == null || statuses.contains(candidate.getStatus());
+    }
+
+    /**
+     * Values every matching candidate contains: for each text clause (the text query's longest
+     * term included), one of its lowercased values inside one of its columns. Used to index
+     * plans by what a candidate must carry; column names resolve through {@link #columnText}.
+     */
+    public List<RequiredText> requiredTexts() {
+        if (unsatisfiable) {
+            return List.of();
+        }
+        List<RequiredText> required = new ArrayList<>();
+        textTerms.stream()
+                .max((a, b) -> Integer.compare(a.length(), b.length()))
+                .ifPresent(term -> required.add(new RequiredText(TEXT_TERM_COLUMNS, List.of(term))));
+        for (Contains clause : contains) {
+            if (clause.all()) {
+                // Any one required term will do; take the one whose shortest spelling is longest
+                clause.terms().stream()
+                        .max((a, b) -> Integer.compare(shortest(a.spellings().all()), shortest(b.spellings().all())))
+                        .ifPresent(term -> required.add(new RequiredText(clause.fields(), term.spellings().all())));
+            } else {
+                required.add(new RequiredText(clause.fields(),
+                        clause.terms().stream().flatMap(term -> term.spellings().all().stream()).distinct().toList()));
+            }
+        }
+        return required;
+    }
+
+    /**
+     * The candidate's value of a column named by {@link #requiredTexts()}, or null when it has none.
+     */
+    public static String columnText(Candidate candidate, String column) {
+        Object value = COLUMNS.get(column).apply(candidate);
+        return value != null ? value.toString() : null;
+    }
+
+    /**
+     * Canonical form of the text query and every clause, for use as a cache key.
+     */
+    public String key() {
+        return key;
+    }
+
+    /**
+     * Case-insensitive "contains" of the whole text query in any of the text columns, for when
+     * no search engine is ready to resolve it.
+     */
+    public Specification<Candidate> textSpecification() {
+        String pattern = likePattern(text.toLowerCase(Locale.ROOT));
+        return (root, query, cb) -> {
+            Predicate[] fields = new Predicate[TEXT_FIELDS.length];
+            for (int i = 0; i < TEXT_FIELDS.length; i++) {
+                fields[i] = cb.like(cb.lower(root.get(TEXT_FIELDS[i])), pattern, LIKE_ESCAPE);
+            }
+            return cb.or(fields);
+        };
+    }
+
+    /**
+     * Every term of the text, as the search engine tokenizes it, contained in one of the text
+     * columns: the engine's required-term semantics in SQL, for text queries that match more
+     * candidates than an id list should carry.
+     */
+    public static Specification<Candidate> textTermsSpecification(String text) {
+        List<String> patterns = TextAnalyzer.tokenize(text).stream()
+                .distinct()
+                .map(CandidateQueryPlan::likePattern)
+                .toList();
+        return (root, query, cb) -> {
+            if (patterns.isEmpty()) {
+                return cb.disjunction();
+            }
+            Predicate[] terms = new Predicate[patterns.size()];
+            for (int t = 0; t < patterns.size(); t++) {
+                Predicate[] fields = new Predicate[TEXT_FIELDS.length];
+                for (int i = 0; i < TEXT_FIELDS.length; i++) {
+                    fields[i] = cb.like(cb.lower(root.get(TEXT_FIELDS[i])), patterns.get(t), LIKE_ESCAPE);
+                }
+                terms[t] = cb.or(fields);
+            }
+            return cb.and(terms);
+        };
+    }
+
+    /**
+     * All clauses that are not facet filters, as one conjunction.
+     */
+    public Specification<Candidate> baseSpecification() {
+        List<Contains> base = contains.stream().filter(c -> c.facet() == null).toList();
+        return (root, query, cb) -> {
+            if (unsatisfiable) {
+                return cb.disjunction();
+            }
+            List<Predicate> predicates = new ArrayList<>(base.size() + ranges.size());
+            for (Contains clause : base) {
+                predicates.add(clause.toPredicate(root, cb));
+            }
+            for (Range range : ranges) {
+                predicates.add(range.toPredicate(root, cb));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Filter of each facet that has one, keyed by facet name, so facet counts can leave a
+     * facet's own filter out.
+     */
+    public Map<String, Specification<Candidate>> facetFilters() {
+        Map<String, List<Contains>> byFacet = new LinkedHashMap<>();
+        for (Contains clause : contains) {
+            if (clause.facet() != null) {
+                byFacet.computeIfAbsent(clause.facet(), k -> new ArrayList<>()).add(clause);
+            }
+        }
+
+        Map<String, Specification<Candidate>> filters = new LinkedHashMap<>();
+        byFacet.forEach((facet, clauses) -> filters.put(facet, (root, query, cb) -> {
+            Predicate[] predicates = new Predicate[clauses.size()];
+            for (int i = 0; i < predicates.length; i++) {
+                predicates[i] = clauses.get(i).toPredicate(root, cb);
+            }
+            return predicates.length == 1 ? predicates[0] : cb.and(predicates);
+        }));
+        if (statuses != null && !statuses.isEmpty()) {
+            filters.put("status", (root, query, cb) -> root.get("status").in(statuses));
+        }
+        return filters;
+    }
+
+    @Override
+    public String toString() {
+        return key;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof CandidateQueryPlan plan && key.equals(plan.key);
+    }
+
+    @Override
+    public int hashCode() {
+        return key.hashCode();
+    }
+
+    private boolean matchesTextTerms(Candidate candidate) {
+        List<String> words = new ArrayList<>();
+        for (String column : TEXT_TERM_COLUMNS) {
+            words.addAll(TextAnalyzer.tokenize(columnText(candidate, column)));
+        }
+        for (String term : textTerms) {
+            if (words.stream().noneMatch(word -> word.startsWith(term))) {
+                return false;
+            }
+        }
+        // A query without a single word matches nothing, as in the engine
+        return !textTerms.isEmpty();
+    }
+
+    private static int shortest(List<String> values) {
+        return values.stream().mapToInt(String::length).min().orElse(0);
+    }
+
+    private String buildKey() {
+        StringBuilder out = new StringBuilder(64);
+        out.append("q=").append(text != null ? text.toLowerCase(Locale.ROOT) : "");
+        if (unsatisfiable) {
+            // Every plan that matches nothing is the same plan
+            return out.append("|none").toString();
+        }
+        new TreeSet<>(contains.stream().map(Contains::toString).toList())
+                .forEach(clause -> out.append('|').append(clause));
+        ranges.forEach(range -> out.append('|').append(range));
+        if (statuses != null) {
+            out.append("|status").append(statuses);
+        }
+        return out.toString();
+    }
+
+    /**
+     * Drops every clause that a clause of the same facet implies, and the ANY clauses whose terms
+     * the ALL clauses on the same columns already require. Clauses of different facets are never
+     * merged, as each facet's counts ignore only its own filter.
+     */
+    private static List<Contains> reduce(List<Contains> clauses) {
+        List<Contains> merged = new ArrayList<>();
+        for (Contains clause : clauses) {
+            Contains sameAll = null;
+            if (clause.all()) {
+                for (Contains other : merged) {
+                    if (other.all() && other.fields().equals(clause.fields()) && Objects.equals(other.facet(), clause.facet())) {
+                        sameAll = other;
+                        break;
+                    }
+                }
+            }
+            if (sameAll != null) {
+                List<Term> terms = new ArrayList<>(sameAll.terms());
+                terms.addAll(clause.terms());
+                merged.set(merged.indexOf(sameAll), Contains.of(clause.facet(), clause.fields(), terms, true));
+            } else {
+                merged.add(clause);
+            }
+        }
+
+        List<Contains> kept = new ArrayList<>();
+        for (int i = 0; i < merged.size(); i++) {
+            Contains clause = merged.get(i);
+            boolean implied = false;
+            for (int j = 0; j < merged.size() && !implied; j++) {
+                Contains other = merged.get(j);
+                // Of two equivalent clauses the first one stays
+                implied = j != i && Objects.equals(other.facet(), clause.facet())
+                        && other.implies(clause) && (j < i || !clause.implies(other));
+            }
+            if (!implied) {
+                kept.add(clause);
+            }
+        }
+        return List.copyOf(kept);
+    }
+
+    private static void addAny(List<Contains> clauses, String facet, Map<String, Object> filters,
+                               String filter, String... fields) {
+        List<String> terms = terms(filters, filter);
+        if (!terms.isEmpty()) {
+            clauses.add(Contains.of(facet, List.of(fields), terms.stream().map(Term::literal).toList(), false));
+        }
+    }
+
+    private static void addAll(List<Contains> clauses, String facet, List<String> terms, String... fields) {
+        if (!terms.isEmpty()) {
+            clauses.add(Contains.of(facet, List.of(fields), terms.stream().map(Term::literal).toList(), true));
+        }
+    }
+
+    private static void addRange(List<Range> ranges, String field, Double min, Double max, boolean keepMissing) {
+        if (min != null || max != null) {
+            ranges.add(new Range(field, min, max, keepMissing));
+        }
+    }
+
+    private static List<String> terms(Map<String, Object> filters, String filter) {
+        return strings(filters, filter).stream().map(s -> s.toLowerCase(Locale.ROOT)).toList();
+    }
+
+    private static List<Term> skillTerms(Map<String, Object> filters, String filter, SkillSynonyms synonyms) {
+        List<Term> terms = new ArrayList<>();
+        for (String skill : strings(filters, filter)) {
+            String canonical = synonyms.normalize(skill);
+            if (!canonical.isEmpty()) {
+                terms.add(new Term(canonical, Spellings.of(skill, synonyms)));
+            }
+        }
+        return terms;
+    }
+
+    private static List<String> single(Map<String, Object> filters, String filter) {
+        String value = string(filters, filter);
+        return value != null ? List.of(value.toLowerCase(Locale.ROOT)) : List.of();
+    }
+
+    private static List<String> strings(Map<String, Object> filters, String filter) {
+        Object value = filters.get(filter);
+        if (value == null) {
+            return List.of();
+        }
+        if (!(value instanceof Collection<?> items)) {
+            throw new BusinessException("Filter '" + filter + "' must be a list");
+        }
+        List<String> list = new ArrayList<>(items.size());
+        for (Object item : items) {
+            if (item != null && !item.toString().trim().isEmpty()) {
+                list.add(item.toString().trim());
+            }
+        }
+        return list;
+    }
+
+    private static String string(Map<String, Object> filters, String filter) {
+        Object value = filters.get(filter);
+        if (value == null) {
+            return null;
+        }
+        if (!(value instanceof String s)) {
+            throw new BusinessException("Filter '" + filter + "' must be a string");
+        }
+        return s.trim().isEmpty() ? null : s.trim();
+    }
+
+    private static Double number(Map<String, Object> filters, String filter) {
+        Object value = filters.get(filter);
+        if (value == null || value instanceof String s && s.trim().isEmpty()) {
+            return null;
+        }
+        if (value instanceof Number n) {
+            return n.doubleValue();
+        }
+        try {
+            return Double.valueOf(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new BusinessException("Filter '" + filter + "' must be a number");
+        }
+    }
+
+    // Whole-number filters drop any fraction, as they always have
+    private static Double integer(Map<String, Object> filters, String filter) {
+        Double value = number(filters, filter);
+        return value != null ? (double) value.intValue() : null;
+    }
+
+    private static String likePattern(String term) {
+        StringBuilder pattern = new StringBuilder(term.length() + 2).append('%');
+        for (int i = 0; i < term.length(); i++) {
+            char ch = term.charAt(i);
+            if (ch == '%' || ch == '_' || ch == LIKE_ESCAPE) {
+                pattern.append(LIKE_ESCAPE);
+            }
+            pattern.append(ch);
+        }
+        return pattern.append('%').toString();
+    }
+
+    /**
+     * A candidate matching the plan contains one of the values in one of the columns.
+     */
+    public record RequiredText(List<String> columns, List<String> values) {
+    }
+
+    /**
+     * Skills text must contain any (or all) of the terms, each given as the spellings it may be
+     * written in.
+     */
+    public record SkillMatch(List<Spellings> terms, boolean all) {
+    }
+
+    /**
+     * The lowercased spellings a filter term is looked for under: the ones found anywhere in a
+     * value (the term as written), and the ones the synonym dictionary added, which are only
+     * found as whole words so that "backend > java" does not bring in "javascript".
+     */
+    public record Spellings(List<String> anywhere, List<String> words) {
+
+        // SkillSynonyms.containsWord in SQL: no letter, digit, '+' or '#' on either side
+        private static final String WORD_START = "(^|[^\\p{L}\\p{N}+#])";
+        private static final String WORD_END = "([^\\p{L}\\p{N}+#]|$)";
+
+        /**
+         * The spellings of a skill filter value under the dictionary.
+         */
+        public static Spellings of(String skill, SkillSynonyms synonyms) {
+            String written = skill.trim().toLowerCase(Locale.ROOT);
+            List<String> anywhere = written.isEmpty() ? List.of() : List.of(written);
+            // A spelling containing the written term finds nothing the written term does not
+            List<String> words = synonyms.expand(skill).stream()
+                    .filter(spelling -> written.isEmpty() || !spelling.contains(written))
+                    .toList();
+            return new Spellings(anywhere, words);
+        }
+
+        public List<String> all() {
+            if (words.isEmpty()) {
+                return anywhere;
+            }
+            List<String> all = new ArrayList<>(anywhere);
+            all.addAll(words);
+            return all;
+        }
+
+        /**
+         * Whether the lowercased value holds one of the spellings.
+         */
+        public boolean foundIn(String value) {
+            return anywhere.stream().anyMatch(value::contains)
+                    || words.stream().anyMatch(word -> SkillSynonyms.containsWord(value, word));
+        }
+
+        /**
+         * The same test on a lowercased column. A whole word is checked with REGEXP_LIKE behind a
+         * LIKE on the same spelling, so the regular expression only runs on rows that contain it.
+         */
+        public Predicate toPredicate(Expression<String> column, CriteriaBuilder cb) {
+            List<Predicate> predicates = new ArrayList<>(anywhere.size() + words.size());
+            for (String spelling : anywhere) {
+                predicates.add(cb.like(column, likePattern(spelling), LIKE_ESCAPE));
+            }
+            for (String word : words) {
+                Expression<Integer> regexp = cb.function("regexp_like", Integer.class,
+                        column, cb.literal(WORD_START + regexQuote(word) + WORD_END));
+                predicates.add(cb.and(cb.like(column, likePattern(word), LIKE_ESCAPE), cb.equal(regexp, 1)));
+            }
+            if (predicates.isEmpty()) {
+                return cb.disjunction();
+            }
+            return predicates.size() == 1 ? predicates.get(0) : cb.or(predicates.toArray(new Predicate[0]));
+        }
+
+        /**
+         * Whether every value holding one of these spellings also holds one of the other's: a
+         * spelling covers another it contains, and a whole word only covers a whole word that
+         * it contains at word boundaries.
+         */
+        boolean covers(Spellings other) {
+            return anywhere.stream().allMatch(s -> other.anywhere.stream().anyMatch(s::contains))
+                    && words.stream().allMatch(w -> other.anywhere.stream().anyMatch(w::contains)
+                            || other.words.stream().anyMatch(o -> SkillSynonyms.containsWord(w, o)));
+        }
+
+        Spellings merge(Spellings other) {
+            Set<String> mergedAnywhere = new LinkedHashSet<>(anywhere);
+            mergedAnywhere.addAll(other.anywhere);
+            Set<String> mergedWords = new LinkedHashSet<>(words);
+            mergedWords.addAll(other.words);
+            return new Spellings(List.copyOf(mergedAnywhere), List.copyOf(mergedWords));
+        }
+
+        private static String regexQuote(String word) {
+            StringBuilder quoted = new StringBuilder(word.length() + 8);
+            for (int i = 0; i < word.length(); i++) {
+                char ch = word.charAt(i);
+                if (!Character.isLetterOrDigit(ch) && ch != ' ') {
+                    quoted.append('\\');
+                }
+                quoted.append(ch);
+            }
+            return quoted.toString();
+        }
+    }
+
+    /**
+     * A filter value: the canonical name it is keyed and compared by, and the spellings a
+     * column may contain it under.
+     */
+    private record Term(String canonical, Spellings spellings) {
+
+        static Term literal(String value) {
+            return new Term(value, new Spellings(List.of(value), List.of()));
+        }
+
+        /**
+         * Whether every value containing this term also contains the other one.
+         */
+        boolean covers(Term other) {
+            return spellings.covers(other.spellings);
+        }
+
+        Term merge(Term other) {
+            return new Term(canonical, spellings.merge(other.spellings));
+        }
+
+        @Override
+        public String toString() {
+            // Equal spellings select the same rows, whichever order the dictionary gave them in
+            if (spellings.words().isEmpty() && spellings.anywhere().equals(List.of(canonical))) {
+                return canonical;
+            }
+            return canonical + new TreeSet<>(spellings.anywhere())
+                    + (spellings.words().isEmpty() ? "" : "~" + new TreeSet<>(spellings.words()));
+        }
+    }
+
+    /**
+     * Case-insensitive "contains": any (or all) of the terms in any of the fields.
+     */
+    private record Contains(String facet, List<String> fields, List<Term> terms, boolean all) {
+
+        static Contains of(String facet, List<String> fields, List<Term> terms, boolean all) {
+            // Spellings of one canonical term are interchangeable
+            TreeMap<String, Term> distinct = new TreeMap<>();
+            terms.forEach(term -> distinct.merge(term.canonical(), term, Term::merge));
+            // A value containing a longer term also contains the shorter one, so "any" keeps the
+            // shortest terms and "all" the longest
+            List<Term> reduced = new ArrayList<>();
+            for (Term term : distinct.values()) {
+                boolean redundant = false;
+                for (Term other : distinct.values()) {
+                    if (other != term && (all ? other.covers(term) : term.covers(other))) {
+                        redundant = true;
+                        break;
+                    }
+                }
+                if (!redundant) {
+                    reduced.add(term);
+                }
+            }
+            // A single term is the same clause whether it is "any" or "all"
+            return new Contains(facet, fields, List.copyOf(reduced), all || reduced.size() == 1);
+        }
+
+        /**
+         * Whether every candidate matching this clause also matches the other one.
+         */
+        boolean implies(Contains other) {
+            if (!other.fields.containsAll(fields)) {
+                return false;
+            }
+            if (other.all) {
+                return all
+                        ? other.terms.stream().allMatch(o -> terms.stream().anyMatch(t -> t.covers(o)))
+                        : other.terms.stream().allMatch(o -> terms.stream().allMatch(t -> t.covers(o)));
+            }
+            if (all) {
+                return terms.stream().anyMatch(t -> other.terms.stream().anyMatch(t::covers));
+            }
+            return terms.stream().allMatch(t -> other.terms.stream().anyMatch(t::covers));
+        }
+
+        boolean matches(Candidate candidate) {
+            List<String> values = new ArrayList<>(fields.size());
+            for (String field : fields) {
+                String value = columnText(candidate, field);
+                if (value != null) {
+                    values.add(value.toLowerCase(Locale.ROOT));
+                }
+            }
+            for (Term term : terms) {
+                boolean found = values.stream().anyMatch(term.spellings()::foundIn);
+                if (found != all) {
+                    return found;
+                }
+            }
+            return all;
+        }
+
+        Predicate toPredicate(Root<Candidate> root, CriteriaBuilder cb) {
+            List<Expression<String>> columns = new ArrayList<>(fields.size());
+            for (String field : fields) {
+                columns.add(cb.lower(root.get(field)));
+            }
+            Predicate[] perTerm = new Predicate[terms.size()];
+            for (int i = 0; i < perTerm.length; i++) {
+                Spellings spellings = terms.get(i).spellings();
+                Predicate[] perColumn = new Predicate[columns.size()];
+                for (int c = 0; c < columns.size(); c++) {
+                    perColumn[c] = spellings.toPredicate(columns.get(c), cb);
+                }
+                perTerm[i] = perColumn.length == 1 ? perColumn[0] : cb.or(perColumn);
+            }
+            if (perTerm.length == 1) {
+                return perTerm[0];
+            }
+            return all ? cb.and(perTerm) : cb.or(perTerm);
+        }
+
+        @Override
+        public String toString() {
+            return String.join("+", fields) + (all ? ":all" : ":any") + terms;
+        }
+    }
+
+    /**
+     * Inclusive range on a numeric column; integer columns get truncated bounds.
+     */
+    private record Range(String field, Double min, Double max, boolean keepMissing) {
+
+        boolean isEmpty() {
+            return !keepMissing && min != null && max != null && min > max;
+        }
+
+        boolean matches(Candidate candidate) {
+            Object value = COLUMNS.get(field).apply(candidate);
+            if (value == null) {
+                return keepMissing;
+            }
+            double v = ((Number) value).doubleValue();
+            return (min == null || v >= bound(value.getClass(), min).doubleValue())
+                    && (max == null || v <= bound(value.getClass(), max).doubleValue());
+        }
+
+        Predicate toPredicate(Root<Candidate> root, CriteriaBuilder cb) {
+            Path<Number> value = root.get(field);
+            List<Predicate> bounds = new ArrayList<>(2);
+            if (min != null) {
+                bounds.add(cb.ge(value, bound(value.getJavaType(), min)));
+            }
+            if (max != null) {
+                bounds.add(cb.le(value, bound(value.getJavaType(), max)));
+            }
+            Predicate range = bounds.size() == 1 ? bounds.get(0) : cb.and(bounds.toArray(new Predicate[0]));
+            return keepMissing ? cb.or(cb.isNull(value), range) : range;
+        }
+
+        private static Number bound(Class<?> type, double bound) {
+            if (type == Integer.class) {
+                return (int) bound;
+            }
+            if (type == Float.class) {
+                return (float) bound;
+            }
+            return bound;
+        }
+
+        @Override
+        public String toString() {
+            return field + (keepMissing ? "?" : "") + "[" + (min != null ? min : "") + "," + (max != null ? max : "") + "]";
+        }
+    }
+}
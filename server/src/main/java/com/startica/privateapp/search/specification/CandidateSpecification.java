@@ -2,6 +2,8 @@
 
     import com.startica.privateapp.model.Candidate;
     import com.startica.privateapp.search.dto.CandidateSearchRequest;
+    import com.startica.privateapp.search.index.SkillSynonyms;
+    import com.startica.privateapp.util.CandidateValueParser;
     import org.springframework.data.jpa.domain.Specification;
     import jakarta.persistence.criteria.*;
     import java.util.ArrayList;
@@ -9,7 +11,7 @@
 
     public class CandidateSpecification {
 
-        public static Specification<Candidate> buildSpecification(CandidateSearchRequest request) {
+        public static Specification<Candidate> buildSpecification(CandidateSearchRequest request, SkillSynonyms synonyms) {
             return (root, query, criteriaBuilder) -> {
                 List<Predicate> predicates = new ArrayList<>();
 
@@ -26,42 +28,53 @@
                     predicates.add(textPredicate);
                 }
 
-                // Primary Skills
+                // Primary Skills, each under any of its synonyms
                 if (request.getPrimarySkills() != null && !request.getPrimarySkills().isEmpty()) {
                     List<Predicate> skillPredicates = new ArrayList<>();
                     for (String skill : request.getPrimarySkills()) {
-                        skillPredicates.add(
-                            criteriaBuilder.like(
-                                criteriaBuilder.lower(root.get("skills")),
-                                "%" + skill.toLowerCase() + "%"
-                            )
-                        );
+                        CandidateQueryPlan.Spellings spellings = CandidateQueryPlan.Spellings.of(skill, synonyms);
+                        if (!spellings.all().isEmpty()) {
+                            skillPredicates.add(spellings.toPredicate(criteriaBuilder.lower(root.get("skills")), criteriaBuilder));
+                        }
                     }
 
-                    if ("ANY".equals(request.getPrimarySkillsMatchType())) {
+                    if (skillPredicates.isEmpty()) {
+                        // Only blank entries, which match every candidate
+                    } else if ("ANY".equals(request.getPrimarySkillsMatchType())) {
                         predicates.add(criteriaBuilder.or(skillPredicates.toArray(new Predicate[0])));
                     } else {
                         predicates.add(criteriaBuilder.and(skillPredicates.toArray(new Predicate[0])));
                     }
                 }
 
-                // Experience filtering is handled in-memory in GlobalSearchService due to string storage
-                // Skipping JPA criteria for experience as it's stored as String in database
+                // Experience Range (numeric experience_months column)
+                Integer minExperienceMonths = CandidateValueParser.parseExperienceMonths(request.getMinExperience());
+                if (minExperienceMonths != null) {
+                    predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("experienceMonths"), minExperienceMonths));
+                }
+                Integer maxExperienceMonths = CandidateValueParser.parseExperienceMonths(request.getMaxExperience());
+                if (maxExperienceMonths != null) {
+                    predicates.add(criteriaBuilder.lessThanOrEqualTo(root.get("experienceMonths"), maxExperienceMonths));
+                }
 
                 // Current Package Range
-                if (request.getMinCurrentPackage() != null && !request.getMinCurrentPackage().isEmpty()) {
-                    predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("currentPackage"), request.getMinCurrentPackage()));
+                Double minCurrentPackage = CandidateValueParser.parseAmount(request.getMinCurrentPackage());
+                if (minCurrentPackage != null) {
+                    predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("currentCtcValue"), minCurrentPackage));
                 }
-                if (request.getMaxCurrentPackage() != null && !request.getMaxCurrentPackage().isEmpty()) {
-                    predicates.add(criteriaBuilder.lessThanOrEqualTo(root.get("currentPackage"), request.getMaxCurrentPackage()));
+                Double maxCurrentPackage = CandidateValueParser.parseAmount(request.getMaxCurrentPackage());
+                if (maxCurrentPackage != null) {
+                    predicates.add(criteriaBuilder.lessThanOrEqualTo(root.get("currentCtcValue"), maxCurrentPackage));
                 }
 
                 // Expected CTC Range
-                if (request.getMinExpectedCTC() != null && !request.getMinExpectedCTC().isEmpty()) {
-                    predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("expectedCTC"), request.getMinExpectedCTC()));
+                Double minExpectedCtc = CandidateValueParser.parseAmount(request.getMinExpectedCTC());
+                if (minExpectedCtc != null) {
+                    predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("expectedCtcValue"), minExpectedCtc));
                 }
-                if (request.getMaxExpectedCTC() != null && !request.getMaxExpectedCTC().isEmpty()) {
-                    predicates.add(criteriaBuilder.lessThanOrEqualTo(root.get("expectedCTC"), request.getMaxExpectedCTC()));
+                Double maxExpectedCtc = CandidateValueParser.parseAmount(request.getMaxExpectedCTC());
+                if (maxExpectedCtc != null) {
+                    predicates.add(criteriaBuilder.lessThanOrEqualTo(root.get("expectedCtcValue"), maxExpectedCtc));
                 }
 
                 // Education Percentage Range
@@ -1,14 +1,18 @@
 package com.startica.privateapp.service;
 
+import com.startica.privateapp.candidate.dto.CandidateSummary;
+import com.startica.privateapp.candidate.event.CandidateChangedEvent;
 import com.startica.privateapp.dto.*;
 import com.startica.privateapp.model.Candidate;
 import com.startica.privateapp.model.Role;
 import com.startica.privateapp.model.User;
 import com.startica.privateapp.opening.model.CandidateOpening;
+import com.startica.privateapp.opening.repository.CandidateOpeningRepository;
 import com.startica.privateapp.repository.CandidateRepository;
 import com.startica.privateapp.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -30,6 +34,8 @@ public class HRPerformanceService {
 
     private final CandidateRepository candidateRepository;
     private final UserRepository userRepository;
+    private final CandidateOpeningRepository candidateOpeningRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Get HR Performance Overview for all HR users
@@ -114,13 +120,11 @@ public class HRPerformanceService {
             throw new IllegalArgumentException("User is not an HR");
         }
         
-        // Search candidates for this HR
-        Page<Candidate> candidates = candidateRepository.searchCandidates(search, status, hrId, pageable);
+        // Search candidates for this HR (list columns only)
+        Page<CandidateSummary> candidates = candidateRepository.searchCandidateSummaries(search, status, hrId, pageable);
         
         // Convert to DTOs with admin remarks
-        List<HRCandidateDTO> dtoList = candidates.getContent().stream()
-            .map(c -> convertToCandidateDTO(c, true))
-            .collect(Collectors.toList());
+        List<HRCandidateDTO> dtoList = convertToCandidateDTOs(candidates.getContent(), true);
         
         return new PageImpl<>(dtoList, pageable, candidates.getTotalElements());
     }
@@ -138,6 +142,7 @@ public class HRPerformanceService {
         
         candidate.setAdminRemark(adminRemark);
         candidate = candidateRepository.save(candidate);
+        eventPublisher.publishEvent(CandidateChangedEvent.of(candidate));
         
         log.info("Admin remark updated for candidate ID: {}", candidateId);
         return convertToCandidateDTO(candidate, true);
@@ -156,6 +161,7 @@ public class HRPerformanceService {
         
         candidate.setStatus(status);
         candidate = candidateRepository.save(candidate);
+        eventPublisher.publishEvent(CandidateChangedEvent.of(candidate));
         
         log.info("Status updated for candidate ID: {}", candidateId);
         return convertToCandidateDTO(candidate, true);
@@ -171,14 +177,12 @@ public class HRPerformanceService {
                                                  Pageable pageable) {
         log.info("Fetching my candidates for HR ID: {} with search: '{}', status: {}", hrId, search, status);
         
-        Page<Candidate> candidates = candidateRepository.searchCandidates(search, status, hrId, pageable);
+        Page<CandidateSummary> candidates = candidateRepository.searchCandidateSummaries(search, status, hrId, pageable);
         log.info("Found {} candidates for HR ID: {} (page {} of {})", 
             candidates.getTotalElements(), hrId, candidates.getNumber(), candidates.getTotalPages());
         
         // Convert to DTOs WITHOUT admin remarks
-        List<HRCandidateDTO> dtoList = candidates.getContent().stream()
-            .map(c -> convertToCandidateDTO(c, false))
-            .collect(Collectors.toList());
+        List<HRCandidateDTO> dtoList = convertToCandidateDTOs(candidates.getContent(), false);
         
         return new PageImpl<>(dtoList, pageable, candidates.getTotalElements());
     }
@@ -201,6 +205,7 @@ public class HRPerformanceService {
         
         candidate.setHrRemark(hrRemark);
         candidate = candidateRepository.save(candidate);
+        eventPublisher.publishEvent(CandidateChangedEvent.of(candidate));
         
         log.info("HR remark updated for candidate ID: {}", candidateId);
         return convertToCandidateDTO(candidate, false);
@@ -226,6 +231,7 @@ public class HRPerformanceService {
         
         candidate.setStatus(status);
         candidate = candidateRepository.save(candidate);
+        eventPublisher.publishEvent(CandidateChangedEvent.of(candidate));
         
         log.info("Status updated for candidate ID: {}", candidateId);
         return convertToCandidateDTO(candidate, false);
@@ -296,6 +302,75 @@ public class HRPerformanceService {
         return dto;
     }
 
+    /**
+     * Converts a page of list rows, loading HR names, applied opening titles and the remarks
+     * (which list rows leave out) with one query each instead of per candidate
+     */
+    private List<HRCandidateDTO> convertToCandidateDTOs(List<CandidateSummary> candidates, boolean includeAdminRemark) {
+        if (candidates.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Set<Long> hrIds = candidates.stream()
+            .map(CandidateSummary::getSourceHrId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        Map<Long, String> hrNames = new HashMap<>();
+        userRepository.findAllById(hrIds).forEach(hr -> hrNames.put(hr.getId(), hr.getFullName()));
+
+        List<Long> candidateIds = candidates.stream()
+            .map(CandidateSummary::getId)
+            .collect(Collectors.toList());
+        Map<Long, List<String>> openingsByCandidate = new HashMap<>();
+        for (Object[] row : candidateOpeningRepository.findOpeningTitlesByCandidateIds(candidateIds)) {
+            openingsByCandidate.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+        Map<Long, Object[]> remarksByCandidate = new HashMap<>();
+        for (Object[] row : candidateRepository.findRemarksByIdIn(candidateIds)) {
+            remarksByCandidate.put((Long) row[0], row);
+        }
+
+        List<HRCandidateDTO> dtoList = new ArrayList<>(candidates.size());
+        for (CandidateSummary candidate : candidates) {
+            Object[] remarks = remarksByCandidate.getOrDefault(candidate.getId(), new Object[3]);
+            HRCandidateDTO dto = HRCandidateDTO.builder()
+                .id(candidate.getId())
+                .firstName(candidate.getFirstName())
+                .lastName(candidate.getLastName())
+                .fullName((candidate.getFirstName() != null ? candidate.getFirstName() : "") + " " + 
+                         (candidate.getLastName() != null ? candidate.getLastName() : ""))
+                .email(candidate.getEmail())
+                .phone(candidate.getPhone())
+                .location(candidate.getLocation())
+                .company(candidate.getCompany())
+                .profile(candidate.getProfile())
+                .degree(candidate.getDegree())
+                .passingYear(candidate.getPassingYear())
+                .experience(candidate.getExperience())
+                .currentPackage(candidate.getCurrentPackage())
+                .expectedCTC(candidate.getExpectedCTC())
+                .gap(candidate.getGap())
+                .skills(candidate.getSkills())
+                .resumeUrl(candidate.getResumeUrl())
+                .status(candidate.getStatus())
+                .statusLabel(getStatusLabel(candidate.getStatus()))
+                .sourceHrId(candidate.getSourceHrId())
+                .sourceHrName(hrNames.getOrDefault(candidate.getSourceHrId(), "N/A"))
+                .hrRemark((String) remarks[1])
+                .appliedOpenings(openingsByCandidate.getOrDefault(candidate.getId(), new ArrayList<>()))
+                .createdAt(candidate.getCreatedAt())
+                .updatedAt(candidate.getUpdatedAt())
+                .build();
+
+            // Only include admin remark if admin is viewing
+            if (includeAdminRemark) {
+                dto.setAdminRemark((String) remarks[2]);
+            }
+            dtoList.add(dto);
+        }
+        return dtoList;
+    }
+
     private String getStatusLabel(Candidate.CandidateStatus status) {
         if (status == null) return "Unknown";
         
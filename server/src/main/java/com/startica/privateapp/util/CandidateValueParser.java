@@ -0,0 +1,93 @@
+package com.startica.privateapp.util;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parses the free-text experience and CTC fields of a candidate into numbers.
+ * Used to fill the numeric shadow columns that advanced search filters and sorts on.
+ */
+public final class CandidateValueParser {
+
+    private static final Pattern NUMBER = Pattern.compile("\\d+(\\.\\d+)?");
+
+    private CandidateValueParser() {
+    }
+
+    /**
+     * Parse experience string into decimal years.
+     * Handles formats like "2 years", "2.5 years", "2 years 6 months", "30 months", etc.
+     * Returns null for blank input.
+     */
+    public static Double parseExperienceYears(String expStr) {
+        if (expStr == null || expStr.trim().isEmpty()) return null;
+
+        String cleaned = expStr.toLowerCase().trim();
+
+        // Handle decimal years first (e.g., "2.5 years")
+        if (cleaned.matches(".*\\d+\\.\\d+.*")) {
+            String decimalStr = cleaned.replaceAll("[^0-9.]", "");
+            if (!decimalStr.isEmpty()) {
+                try {
+                    return Double.parseDouble(decimalStr);
+                } catch (NumberFormatException e) {
+                    // Continue with other parsing methods
+                }
+            }
+        }
+
+        Matcher matcher = NUMBER.matcher(cleaned);
+
+        // Handle "X years Y months" format
+        if (cleaned.contains("year") && cleaned.contains("month")) {
+            double years = 0.0;
+            double months = 0.0;
+            int count = 0;
+
+            while (matcher.find() && count < 2) {
+                double number = Double.parseDouble(matcher.group());
+                if (count == 0) {
+                    years = number;
+                } else {
+                    months = number;
+                }
+                count++;
+            }
+
+            return years + (months / 12.0);
+        }
+
+        // Handle "X months" format (plain numbers and "X years" are taken as years)
+        if (matcher.find()) {
+            double number = Double.parseDouble(matcher.group());
+            return !cleaned.contains("year") && cleaned.contains("month") ? number / 12.0 : number;
+        }
+
+        return 0.0;
+    }
+
+    /**
+     * Experience rounded to whole months, or null when the field is blank.
+     */
+    public static Integer parseExperienceMonths(String expStr) {
+        Double years = parseExperienceYears(expStr);
+        return years != null ? (int) Math.round(years * 12) : null;
+    }
+
+    /**
+     * Numeric value of a salary string such as "5.5 LPA" or "5,00,000".
+     * Returns null when the string is blank or does not contain a single number.
+     */
+    public static Double parseAmount(String amount) {
+        if (amount == null || amount.trim().isEmpty()) return null;
+
+        String numStr = amount.replaceAll("[^0-9.]", "");
+        if (numStr.isEmpty()) return null;
+
+        try {
+            return Double.parseDouble(numStr);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.startica.privateapp.util;
+
+import java.util.Locale;
+
+/**
+ * Canonical forms of candidate e-mail addresses and phone numbers, used for duplicate checks.
+ * Two values that reach the same person normalize to the same string.
+ */
+public final class ContactNormalizer {
+
+    private static final int NATIONAL_NUMBER_LENGTH = 10;
+
+    private ContactNormalizer() {
+    }
+
+    /**
+     * Lower-cased address without a "+tag" in the local part; for Gmail the dots in the
+     * local part are dropped as well and googlemail.com is folded into gmail.com.
+     * Returns null for blank input.
+     */
+    public static String canonicalEmail(String email) {
+        if (email == null || email.trim().isEmpty()) {
+            return null;
+        }
+        String value = email.trim().toLowerCase(Locale.ROOT);
+        int at = value.lastIndexOf('@');
+        if (at <= 0) {
+            return value;
+        }
+        String local = value.substring(0, at);
+        String domain = value.substring(at + 1);
+
+        int plus = local.indexOf('+');
+        if (plus > 0) {
+            local = local.substring(0, plus);
+        }
+        if (domain.equals("gmail.com") || domain.equals("googlemail.com")) {
+            local = local.replace(".", "");
+            domain = "gmail.com";
+        }
+        return local + "@" + domain;
+    }
+
+    /**
+     * Digits of the national number: formatting, trunk prefix 0 and country code are removed,
+     * so "+91 98765-43210", "098765 43210" and "9876543210" are equal. Returns null when the
+     * value holds no digits.
+     */
+    public static String canonicalPhone(String phone) {
+        if (phone == null) {
+            return null;
+        }
+        StringBuilder digits = new StringBuilder(phone.length());
+        for (int i = 0; i < phone.length(); i++) {
+            char ch = phone.charAt(i);
+            if (ch >= '0' && ch <= '9') {
+                digits.append(ch);
+            }
+        }
+        int start = 0;
+        while (start < digits.length() && digits.charAt(start) == '0') {
+            start++;
+        }
+        if (digits.length() - start > NATIONAL_NUMBER_LENGTH) {
+            start = digits.length() - NATIONAL_NUMBER_LENGTH;
+        }
+        return start < digits.length() ? digits.substring(start) : null;
+    }
+}
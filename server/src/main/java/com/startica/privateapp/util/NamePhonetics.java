@@ -0,0 +1,77 @@
+package com.startica.privateapp.util;
+
+import java.util.Locale;
+import java.util.StringJoiner;
+
+/**
+ * Phonetic keys for person names, tuned for transliterated Indian names.
+ *
+ * Aspirated consonants lose their 'h' (bh, dh, kh, sh, th...), look-alike letters are merged
+ * (w/v, z/j, q/k, ph/f), vowels after the first letter are dropped and repeated letters
+ * collapse. So "Shrikant" and "Srikant" share "srknt", and "Mohd", "Mohammed" and "Muhammad"
+ * share "md".
+ */
+public final class NamePhonetics {
+
+    private NamePhonetics() {
+    }
+
+    /**
+     * Key of a single name token, empty when the token has no letters.
+     */
+    public static String key(String token) {
+        if (token == null) {
+            return "";
+        }
+        String letters = token.toLowerCase(Locale.ROOT).replaceAll("[^a-z]", "");
+        if (letters.isEmpty()) {
+            return "";
+        }
+
+        String mapped = letters
+                .replace("ph", "f")
+                .replace("ck", "k")
+                .replace('w', 'v')
+                .replace('z', 'j')
+                .replace('q', 'k')
+                .replace("x", "ks");
+
+        StringBuilder key = new StringBuilder(mapped.length());
+        key.append(mapped.charAt(0));
+        char last = mapped.charAt(0);
+        for (int i = 1; i < mapped.length(); i++) {
+            char ch = mapped.charAt(i);
+            if (ch == 'h' || isVowel(ch)) {
+                continue;
+            }
+            if (ch != last) {
+                key.append(ch);
+            }
+            last = ch;
+        }
+        return key.toString();
+    }
+
+    /**
+     * Space separated keys of every token of a full name, null when there are none.
+     */
+    public static String nameKey(String firstName, String lastName) {
+        StringJoiner keys = new StringJoiner(" ");
+        for (String part : new String[] {firstName, lastName}) {
+            if (part == null) {
+                continue;
+            }
+            for (String token : part.split("\\s+")) {
+                String key = key(token);
+                if (!key.isEmpty()) {
+                    keys.add(key);
+                }
+            }
+        }
+        return keys.length() == 0 ? null : keys.toString();
+    }
+
+    private static boolean isVowel(char ch) {
+        return ch == 'a' || ch == 'e' || ch == 'i' || ch == 'o' || ch == 'u' || ch == 'y';
+    }
+}
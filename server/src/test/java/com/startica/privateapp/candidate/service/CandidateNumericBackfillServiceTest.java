@@ -0,0 +1,99 @@
+package com.startica.privateapp.candidate.service;
+
+import com.startica.privateapp.candidate.event.CandidateChangedEvent;
+import com.startica.privateapp.model.Candidate;
+import com.startica.privateapp.repository.CandidateRepository;
+import com.startica.privateapp.util.NamePhonetics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Rows whose source values don't parse keep null derived values, and must still be stamped with
+ * the current version so the next startup doesn't pick them up and publish again.
+ */
+@ExtendWith(MockitoExtension.class)
+class CandidateNumericBackfillServiceTest {
+
+    @Mock
+    private CandidateRepository candidateRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private CandidateNumericBackfillService backfillService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ReflectionTestUtils.setField(backfillService, "batchSize", 100);
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void unparseableRowsAreMarkedCurrentWithoutAnEvent() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(row(1L, null, "Negotiable", "", "", "---", null, null,
+                null, null, null, null, null, null));
+        rows.add(row(2L, null, null, null, null, null, "Asha", "Rao",
+                null, null, null, null, null, NamePhonetics.nameKey("Asha", "Rao")));
+        when(candidateRepository.findRowsWithStaleDerivedValues(eq(0L), eq(Candidate.DERIVED_VERSION), any()))
+                .thenReturn(rows);
+        when(candidateRepository.findRowsWithStaleDerivedValues(eq(2L), eq(Candidate.DERIVED_VERSION), any()))
+                .thenReturn(List.of());
+
+        backfillService.backfill();
+
+        verify(candidateRepository).markDerivedValuesCurrent(List.of(1L, 2L), Candidate.DERIVED_VERSION);
+        verify(candidateRepository, never()).updateDerivedValues(anyLong(), any(), any(), any(), any(), any(), any(), anyInt());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void aNewNumericValuePublishesOneEvent() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(row(7L, "2 years", "5 LPA", null, "asha@example.com", null, null, null,
+                null, null, null, "asha@example.com", null, null));
+        when(candidateRepository.findRowsWithStaleDerivedValues(eq(0L), eq(Candidate.DERIVED_VERSION), any()))
+                .thenReturn(rows);
+        when(candidateRepository.findRowsWithStaleDerivedValues(eq(7L), eq(Candidate.DERIVED_VERSION), any()))
+                .thenReturn(List.of());
+
+        backfillService.backfill();
+
+        verify(candidateRepository).updateDerivedValues(eq(7L), eq(24), any(), eq(null),
+                eq("asha@example.com"), eq(null), eq(null), eq(Candidate.DERIVED_VERSION));
+        verify(candidateRepository, never()).markDerivedValuesCurrent(any(), anyInt());
+        verify(eventPublisher).publishEvent(any(CandidateChangedEvent.class));
+    }
+
+    private static Object[] row(Object... values) {
+        return values;
+    }
+}
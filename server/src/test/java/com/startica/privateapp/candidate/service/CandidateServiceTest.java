@@ -0,0 +1,106 @@
+package com.startica.privateapp.candidate.service;
+
+import com.startica.privateapp.audit.service.AuditService;
+import com.startica.privateapp.candidate.dto.CreateCandidateRequest;
+import com.startica.privateapp.candidate.dto.UpdateCandidateRequest;
+import com.startica.privateapp.common.exception.DuplicateResourceException;
+import com.startica.privateapp.model.Candidate;
+import com.startica.privateapp.model.Role;
+import com.startica.privateapp.model.User;
+import com.startica.privateapp.opening.repository.CandidateOpeningRepository;
+import com.startica.privateapp.repository.CandidateRepository;
+import com.startica.privateapp.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Duplicate contact checks while the canonical columns of older rows are still being backfilled:
+ * such rows only have the raw email and phone, and must still block an exact duplicate.
+ */
+@ExtendWith(MockitoExtension.class)
+class CandidateServiceTest {
+
+    @Mock
+    private CandidateRepository candidateRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private AuditService auditService;
+    @Mock
+    private CandidateOpeningRepository candidateOpeningRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private CandidateDuplicateService candidateDuplicateService;
+
+    @InjectMocks
+    private CandidateService candidateService;
+
+    @Test
+    void createRejectsAnExactEmailWhoseRowHasNoCanonicalValueYet() {
+        CreateCandidateRequest request = createRequest();
+        when(candidateRepository.existsByEmail("Asha.Rao@example.com")).thenReturn(true);
+
+        assertThatThrownBy(() -> candidateService.createCandidate(request, user(Role.HR)))
+                .isInstanceOf(DuplicateResourceException.class)
+                .hasMessageContaining("email");
+        verify(candidateRepository, never()).save(any());
+    }
+
+    @Test
+    void createRejectsAnExactPhoneWhoseRowHasNoCanonicalValueYet() {
+        CreateCandidateRequest request = createRequest();
+        when(candidateRepository.existsByPhone("98765 43210")).thenReturn(true);
+
+        assertThatThrownBy(() -> candidateService.createCandidate(request, user(Role.HR)))
+                .isInstanceOf(DuplicateResourceException.class)
+                .hasMessageContaining("phone");
+        verify(candidateRepository, never()).save(any());
+    }
+
+    @Test
+    void updateRejectsAnExactPhoneOfAnotherCandidate() {
+        Candidate existing = new Candidate();
+        existing.setId(5L);
+        existing.setSourceHrId(2L);
+        existing.setPhone("91234 56789");
+        when(candidateRepository.findById(5L)).thenReturn(Optional.of(existing));
+        when(candidateRepository.existsByPhoneAndIdNot("98765 43210", 5L)).thenReturn(true);
+
+        UpdateCandidateRequest request = new UpdateCandidateRequest();
+        request.setPhone("98765 43210");
+
+        assertThatThrownBy(() -> candidateService.updateCandidate(5L, request, user(Role.ADMIN)))
+                .isInstanceOf(DuplicateResourceException.class)
+                .hasMessageContaining("phone");
+        verify(candidateRepository, never()).save(any());
+    }
+
+    private static CreateCandidateRequest createRequest() {
+        CreateCandidateRequest request = new CreateCandidateRequest();
+        request.setFirstName("Asha");
+        request.setLastName("Rao");
+        request.setEmail("Asha.Rao@example.com");
+        request.setPhone("98765 43210");
+        return request;
+    }
+
+    private static User user(Role role) {
+        User user = new User();
+        user.setId(2L);
+        user.setRole(role);
+        return user;
+    }
+}
@@ -0,0 +1,55 @@
+package com.startica.privateapp.common.pagination;
+
+import com.startica.privateapp.common.exception.BusinessException;
+import com.startica.privateapp.model.Candidate.CandidateStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+
+    @Test
+    void enumSortValueRoundTripsByName() {
+        Sort sort = Sort.by(Sort.Direction.ASC, "status");
+        KeysetCursor cursor = KeysetCursor.decode(
+                KeysetCursor.of(sort, List.of(CandidateStatus.NOT_INTERESTED), 42L).encode());
+
+        assertThat(cursor.matches(sort)).isTrue();
+        assertThat(cursor.getValues()).containsExactly("NOT_INTERESTED");
+        assertThat(cursor.getId()).isEqualTo(42L);
+    }
+
+    @Test
+    void dateAndNullSortValuesRoundTrip() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 10, 15, 30);
+        Sort sort = Sort.by(Sort.Direction.DESC, "createdAt");
+
+        assertThat(KeysetCursor.decode(KeysetCursor.of(sort, List.of(createdAt), 7L).encode()).getValues())
+                .containsExactly(createdAt);
+        assertThat(KeysetCursor.decode(KeysetCursor.of(sort, Arrays.asList((Object) null), 7L).encode()).getValues())
+                .containsExactly((Object) null);
+    }
+
+    @Test
+    void everySortPropertyRoundTripsIncludingSeparatorsInValues() {
+        Sort sort = Sort.by(Sort.Direction.ASC, "firstName", "lastName");
+        KeysetCursor cursor = KeysetCursor.decode(KeysetCursor.of(sort, List.of("Asha|Rao", "D:Souza"), 9L).encode());
+
+        assertThat(cursor.matches(sort)).isTrue();
+        assertThat(cursor.matches(Sort.by(Sort.Direction.ASC, "firstName"))).isFalse();
+        assertThat(cursor.getValues()).containsExactly("Asha|Rao", "D:Souza");
+        assertThat(cursor.getId()).isEqualTo(9L);
+    }
+
+    @Test
+    void garbageCursorIsRejected() {
+        assertThatThrownBy(() -> KeysetCursor.decode("not-a-cursor"))
+                .isInstanceOf(BusinessException.class);
+    }
+}
@@ -0,0 +1,61 @@
+package com.startica.privateapp.common.pagination;
+
+import com.startica.privateapp.candidate.dto.CandidateSummary;
+import com.startica.privateapp.common.exception.BusinessException;
+import com.startica.privateapp.model.Candidate;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetPagerTest {
+
+    private final List<Sort> fetchedSorts = new ArrayList<>();
+
+    @Test
+    void unknownSortPropertyIsABadRequest() {
+        assertThatThrownBy(() -> KeysetPager.fetch(this::rows, (root, query, cb) -> cb.conjunction(),
+                Sort.by(Sort.Direction.ASC, "noSuchField"), CandidateSummary.SORTABLE, "", 10))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("noSuchField");
+        assertThat(fetchedSorts).isEmpty();
+    }
+
+    @Test
+    void everySortPropertyGoesIntoTheOrderAndTheCursor() {
+        Sort sort = Sort.by(Sort.Direction.ASC, "firstName", "lastName");
+
+        KeysetSlice<CandidateSummary> slice = KeysetPager.fetch(this::rows, (root, query, cb) -> cb.conjunction(),
+                sort, CandidateSummary.SORTABLE, "", 2);
+
+        assertThat(fetchedSorts).containsExactly(Sort.by(Sort.Direction.ASC, "firstName", "lastName", "id"));
+        assertThat(slice.getContent()).hasSize(2);
+        KeysetCursor next = KeysetCursor.decode(slice.getNextCursor());
+        assertThat(next.matches(sort)).isTrue();
+        assertThat(next.getValues()).containsExactly("Asha", "Rao");
+        assertThat(next.getId()).isEqualTo(2L);
+    }
+
+    private List<CandidateSummary> rows(Specification<Candidate> spec,
+                                        Sort sort, int limit) {
+        fetchedSorts.add(sort);
+        List<CandidateSummary> rows = new ArrayList<>();
+        rows.add(summary(1L, "Asha", "Iyer"));
+        rows.add(summary(2L, "Asha", "Rao"));
+        rows.add(summary(3L, "Meera", "Nair"));
+        return rows.subList(0, Math.min(limit, rows.size()));
+    }
+
+    private static CandidateSummary summary(long id, String firstName, String lastName) {
+        CandidateSummary summary = new CandidateSummary();
+        summary.setId(id);
+        summary.setFirstName(firstName);
+        summary.setLastName(lastName);
+        return summary;
+    }
+}
@@ -0,0 +1,119 @@
+package com.startica.privateapp.common.pagination;
+
+import com.startica.privateapp.candidate.dto.CandidateSummary;
+import com.startica.privateapp.model.Candidate;
+import com.startica.privateapp.repository.CandidateRepository;
+import com.startica.privateapp.support.MySqlContainerTest;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The candidate list at page 1 and page 1000 with OFFSET paging (page query plus its COUNT, as
+ * the list endpoint serves it) against keyset paging from the previous page's cursor, on 100k
+ * seeded candidates sorted newest first. OFFSET reads and throws away every row before the page;
+ * the cursor seeks straight to it, so its page 1000 should cost about what its page 1 does.
+ *
+ * Run with -Dbenchmarks=true; needs Docker.
+ */
+@Slf4j
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class KeysetPagingBenchmarkTest extends MySqlContainerTest {
+
+    private static final int ROWS = 100_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int DEEP_PAGE = 1000;
+    private static final int WARMUP = 3;
+    private static final int RUNS = 15;
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt");
+    private static final Specification<Candidate> ALL = (root, query, cb) -> cb.conjunction();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CandidateRepository candidateRepository;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET SESSION cte_max_recursion_depth = " + (ROWS + 1));
+                return statement.executeUpdate("""
+                        INSERT INTO candidates (first_name, last_name, email, phone, status, source_hr_id,
+                                                created_at, updated_at)
+                        WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < %d)
+                        SELECT CONCAT('First', n), CONCAT('Last', n), CONCAT('candidate', n, '@example.com'),
+                               LPAD(n, 10, '9'), 'PENDING', 1 + n %% 50,
+                               NOW() - INTERVAL n MINUTE, NOW() - INTERVAL n MINUTE
+                        FROM seq
+                        """.formatted(ROWS));
+            }
+        });
+        jdbcTemplate.execute("ANALYZE TABLE candidates");
+    }
+
+    @Test
+    void cursorPagesCostTheSameAtAnyDepthWhileOffsetPagesGrow() {
+        // Walk to the cursor that opens page 1000, as a client following nextCursor would
+        String deepCursor = "";
+        for (int page = 1; page < DEEP_PAGE; page++) {
+            deepCursor = cursorPage(deepCursor).getNextCursor();
+        }
+        String cursor = deepCursor;
+
+        List<Long> offsetIds = offsetPage(DEEP_PAGE).stream().map(CandidateSummary::getId).toList();
+        List<Long> cursorIds = cursorPage(cursor).getContent().stream().map(CandidateSummary::getId).toList();
+        assertThat(cursorIds).hasSize(PAGE_SIZE).isEqualTo(offsetIds);
+
+        double offsetFirstMs = medianMs(() -> offsetPage(1));
+        double offsetDeepMs = medianMs(() -> offsetPage(DEEP_PAGE));
+        double cursorFirstMs = medianMs(() -> cursorPage(""));
+        double cursorDeepMs = medianMs(() -> cursorPage(cursor));
+
+        log.info("Candidate list over {} rows, {} per page: OFFSET page 1 {} ms, page {} {} ms; "
+                        + "cursor page 1 {} ms, page {} {} ms",
+                ROWS, PAGE_SIZE, offsetFirstMs, DEEP_PAGE, offsetDeepMs, cursorFirstMs, DEEP_PAGE, cursorDeepMs);
+        assertThat(cursorDeepMs).isLessThan(offsetDeepMs);
+    }
+
+    // 1-based page number, as shown to the user
+    private List<CandidateSummary> offsetPage(int page) {
+        return candidateRepository.findSummaries(ALL, PageRequest.of(page - 1, PAGE_SIZE, NEWEST_FIRST)).getContent();
+    }
+
+    private KeysetSlice<CandidateSummary> cursorPage(String cursor) {
+        return KeysetPager.fetch(candidateRepository::findSummaries, ALL, NEWEST_FIRST,
+                CandidateSummary.SORTABLE, cursor, PAGE_SIZE);
+    }
+
+    private static double medianMs(Supplier<?> run) {
+        for (int i = 0; i < WARMUP; i++) {
+            run.get();
+        }
+        long[] nanos = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            run.get();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos[RUNS / 2] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,90 @@
+package com.startica.privateapp.reports.service;
+
+import com.startica.privateapp.reports.dto.CandidateReportResponse;
+import com.startica.privateapp.support.MySqlContainerTest;
+import com.startica.privateapp.support.StatementCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The candidate report runs the same few statements whatever the number of candidates and
+ * applications: the grouped report rows, the HR names, and the two application counts. Needs Docker.
+ */
+@TestPropertySource(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.startica.privateapp.support.StatementCounter")
+class CandidateReportQueryBudgetTest extends MySqlContainerTest {
+
+    private static final int STATEMENT_BUDGET = 4;
+
+    @Autowired
+    private ReportsService reportsService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void candidateReportRunsAFixedNumberOfStatements() {
+        String run = Long.toString(System.nanoTime());
+        long hrId = insertHr("budget-hr-" + run);
+        long openingId = insertOpening(hrId);
+
+        seedCandidates(hrId, openingId, run + "-a", 10);
+        StatementCounter.reset();
+        CandidateReportResponse small = reportsService.getCandidateReport(null, null, null, hrId, null);
+        int smallStatements = StatementCounter.count();
+
+        seedCandidates(hrId, openingId, run + "-b", 500);
+        StatementCounter.reset();
+        CandidateReportResponse large = reportsService.getCandidateReport(null, null, null, hrId, null);
+        int largeStatements = StatementCounter.count();
+
+        assertThat(small.getData()).hasSize(10);
+        assertThat(large.getData()).hasSize(510)
+                .allMatch(item -> item.getApplicationCount() == 1);
+        assertThat(smallStatements).isLessThanOrEqualTo(STATEMENT_BUDGET);
+        assertThat(largeStatements).isEqualTo(smallStatements);
+    }
+
+    private long insertHr(String username) {
+        jdbcTemplate.update("""
+                INSERT INTO accounts (username, password_hash, full_name, role, active, created_at, updated_at)
+                VALUES (?, 'x', 'Budget HR', 'HR', TRUE, NOW(), NOW())
+                """, username);
+        return jdbcTemplate.queryForObject("SELECT id FROM accounts WHERE username = ?", Long.class, username);
+    }
+
+    private long insertOpening(long hrId) {
+        jdbcTemplate.update("""
+                INSERT INTO openings (title, department, location, positions, status, created_by, created_at, updated_at)
+                VALUES ('Budget Opening', 'Engineering', 'Pune', 1, 'ACTIVE', ?, NOW(), NOW())
+                """, hrId);
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM openings WHERE created_by = ?", Long.class, hrId);
+    }
+
+    // Candidates of the HR, each applied to the opening once
+    private void seedCandidates(long hrId, long openingId, String batch, int rows) {
+        jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET SESSION cte_max_recursion_depth = " + (rows + 1));
+                return statement.executeUpdate("""
+                        INSERT INTO candidates (first_name, last_name, email, status, source_hr_id, created_at, updated_at)
+                        WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < %d)
+                        SELECT CONCAT('First', n), CONCAT('Last', n), CONCAT('budget-', '%s-', n, '@example.com'),
+                               'PENDING', %d, NOW(), NOW()
+                        FROM seq
+                        """.formatted(rows, batch, hrId));
+            }
+        });
+        jdbcTemplate.update("""
+                INSERT INTO candidate_openings (candidate_id, opening_id, applied_at, application_status, applied_by)
+                SELECT id, ?, NOW(), 'APPLIED', ? FROM candidates WHERE email LIKE ?
+                """, openingId, hrId, "budget-" + batch + "-%");
+    }
+}
@@ -0,0 +1,103 @@
+package com.startica.privateapp.reports.service;
+
+import com.startica.privateapp.reports.dto.HrActivityReportResponse;
+import com.startica.privateapp.support.MySqlContainerTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The per-HR detail lists of the HR activity report, cut to the newest rows of each HR in one
+ * query per table. Needs Docker.
+ */
+class HrActivityReportTest extends MySqlContainerTest {
+
+    @Autowired
+    private ReportsService reportsService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void detailListsHoldTheNewestRowsOfEachHr() {
+        String run = Long.toString(System.nanoTime());
+        long busyHr = insertHr("activity-busy-" + run);
+        long quietHr = insertHr("activity-quiet-" + run);
+        long oldest = insertCandidate(busyHr, run + "-1", 30);
+        long middle = insertCandidate(busyHr, run + "-2", 20);
+        long newest = insertCandidate(busyHr, run + "-3", 10);
+        long quietOnly = insertCandidate(quietHr, run + "-4", 5);
+        insertOpening(busyHr, "Old opening " + run, 30);
+        long middleOpening = insertOpening(busyHr, "Middle opening " + run, 20);
+        long newestOpening = insertOpening(busyHr, "New opening " + run, 10);
+        jdbcTemplate.update("""
+                INSERT INTO candidate_openings (candidate_id, opening_id, applied_at, application_status, applied_by)
+                VALUES (?, ?, NOW(), 'APPLIED', ?)
+                """, newest, newestOpening, busyHr);
+
+        HrActivityReportResponse report = reportsService.getHrActivityReport(null, null, null, 2);
+
+        HrActivityReportResponse.HrActivityItem busy = item(report, busyHr);
+        assertThat(busy.getCandidatesAdded()).isEqualTo(3L);
+        assertThat(busy.getCandidates()).extracting(HrActivityReportResponse.CandidateDetail::getId)
+                .containsExactly(newest, middle)
+                .doesNotContain(oldest);
+        assertThat(busy.getCandidates().get(0).getApplicationCount()).isEqualTo(1);
+        assertThat(busy.getOpenings()).extracting(HrActivityReportResponse.OpeningDetail::getId)
+                .containsExactly(newestOpening, middleOpening);
+        assertThat(busy.getOpenings().get(0).getApplicationCount()).isEqualTo(1);
+
+        HrActivityReportResponse.HrActivityItem quiet = item(report, quietHr);
+        assertThat(quiet.getCandidates()).extracting(HrActivityReportResponse.CandidateDetail::getId)
+                .containsExactly(quietOnly);
+        assertThat(quiet.getOpenings()).isEmpty();
+    }
+
+    @Test
+    void zeroLimitLeavesTheDetailListsEmpty() {
+        long hrId = insertHr("activity-none-" + System.nanoTime());
+        insertCandidate(hrId, Long.toString(hrId), 1);
+
+        List<HrActivityReportResponse.HrActivityItem> data =
+                reportsService.getHrActivityReport(hrId, null, null, 0).getData();
+
+        assertThat(data).singleElement().satisfies(item -> {
+            assertThat(item.getCandidatesAdded()).isEqualTo(1L);
+            assertThat(item.getCandidates()).isEmpty();
+            assertThat(item.getOpenings()).isEmpty();
+        });
+    }
+
+    private static HrActivityReportResponse.HrActivityItem item(HrActivityReportResponse report, long hrId) {
+        return report.getData().stream().filter(item -> item.getHrId() == hrId).findFirst().orElseThrow();
+    }
+
+    private long insertHr(String username) {
+        jdbcTemplate.update("""
+                INSERT INTO accounts (username, password_hash, full_name, role, active, created_at, updated_at)
+                VALUES (?, 'x', 'Activity HR', 'HR', TRUE, NOW(), NOW())
+                """, username);
+        return jdbcTemplate.queryForObject("SELECT id FROM accounts WHERE username = ?", Long.class, username);
+    }
+
+    private long insertCandidate(long hrId, String key, int minutesAgo) {
+        String email = "activity-" + key + "@example.com";
+        jdbcTemplate.update("""
+                INSERT INTO candidates (first_name, last_name, email, status, source_hr_id, created_at, updated_at)
+                VALUES ('Activity', ?, ?, 'PENDING', ?, NOW() - INTERVAL ? MINUTE, NOW())
+                """, key, email, hrId, minutesAgo);
+        return jdbcTemplate.queryForObject("SELECT id FROM candidates WHERE email = ?", Long.class, email);
+    }
+
+    private long insertOpening(long hrId, String title, int minutesAgo) {
+        jdbcTemplate.update("""
+                INSERT INTO openings (title, department, location, positions, status, created_by, created_at, updated_at)
+                VALUES (?, 'Engineering', 'Pune', 1, 'ACTIVE', ?, NOW() - INTERVAL ? MINUTE, NOW())
+                """, title, hrId, minutesAgo);
+        return jdbcTemplate.queryForObject("SELECT id FROM openings WHERE title = ?", Long.class, title);
+    }
+}
@@ -0,0 +1,100 @@
+package com.startica.privateapp.reports.service;
+
+import com.startica.privateapp.common.exception.ResourceNotFoundException;
+import com.startica.privateapp.model.User;
+import com.startica.privateapp.reports.dto.ReportFormat;
+import com.startica.privateapp.reports.dto.ReportJobRequest;
+import com.startica.privateapp.reports.dto.ReportJobResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * A report file being downloaded survives eviction passes until it is released.
+ */
+class ReportJobServiceTest {
+
+    @TempDir
+    Path spool;
+
+    private final ReportsExportService exportService = mock(ReportsExportService.class);
+    private final ReportJobService service = new ReportJobService(exportService);
+    private final User admin = new User();
+
+    @BeforeEach
+    void start() throws IOException {
+        admin.setId(1L);
+        ReflectionTestUtils.setField(service, "spoolDir", spool.toString());
+        ReflectionTestUtils.setField(service, "workers", 1);
+        ReflectionTestUtils.setField(service, "queueCapacity", 4);
+        ReflectionTestUtils.setField(service, "maxAgeMinutes", 60L);
+        ReflectionTestUtils.setField(service, "maxSpoolMb", 1024L);
+        ReflectionTestUtils.setField(service, "downloadGraceSeconds", 0L);
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(0).write("id,name\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(exportService).writeCandidateReport(any(), eq(ReportFormat.CSV), any(), any(), any(), any(), any());
+        service.start();
+    }
+
+    @AfterEach
+    void shutdown() {
+        service.shutdown();
+    }
+
+    @Test
+    void aFileBeingDownloadedIsEvictedOnlyOnceReleased() throws InterruptedException {
+        String id = completedJob();
+        ReportJobService.ReportFile file = service.getFile(id, admin);
+        // Over the spool limit, so every finished job is due
+        ReflectionTestUtils.setField(service, "maxSpoolMb", 0L);
+
+        service.evict();
+        assertThat(file.path()).exists();
+        assertThat(service.getJob(id, admin).getStatus()).isEqualTo(ReportJobResponse.JobStatus.COMPLETED);
+
+        service.releaseFile(file);
+        service.evict();
+        assertThat(file.path()).doesNotExist();
+        assertThatThrownBy(() -> service.getJob(id, admin)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void aFileJustHandedOutOutlivesItsReleaseForTheGracePeriod() throws InterruptedException {
+        ReflectionTestUtils.setField(service, "downloadGraceSeconds", 60L);
+        String id = completedJob();
+        ReportJobService.ReportFile file = service.getFile(id, admin);
+        service.releaseFile(file);
+        ReflectionTestUtils.setField(service, "maxSpoolMb", 0L);
+
+        service.evict();
+        assertThat(file.path()).exists();
+    }
+
+    private String completedJob() throws InterruptedException {
+        ReportJobRequest request = ReportJobRequest.builder()
+                .type(ReportJobRequest.ReportType.CANDIDATES)
+                .format(ReportFormat.CSV)
+                .build();
+        String id = service.submit(request, admin).getId();
+        for (int i = 0; i < 100 && service.getJob(id, admin).getStatus() != ReportJobResponse.JobStatus.COMPLETED; i++) {
+            Thread.sleep(50);
+        }
+        assertThat(service.getJob(id, admin).getStatus()).isEqualTo(ReportJobResponse.JobStatus.COMPLETED);
+        return id;
+    }
+}
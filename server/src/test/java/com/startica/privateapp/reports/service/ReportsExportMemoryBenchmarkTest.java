@@ -0,0 +1,118 @@
+package com.startica.privateapp.reports.service;
+
+import com.startica.privateapp.reports.dto.ReportFormat;
+import com.startica.privateapp.support.MySqlContainerTest;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Heap held by a 100k-row candidate export in CSV and PDF. Halfway through each export the heap
+ * is collected and measured, so the figure is what the export keeps alive rather than the garbage
+ * it has produced; a report buffered in memory would hold every row (over a million table cells
+ * for the PDF) at that point.
+ *
+ * Run with -Dbenchmarks=true; needs Docker.
+ */
+@Slf4j
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class ReportsExportMemoryBenchmarkTest extends MySqlContainerTest {
+
+    private static final int ROWS = 100_000;
+    private static final long RETAINED_LIMIT_BYTES = 64L * 1024 * 1024;
+
+    @Autowired
+    private ReportsExportService exportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private long hrId;
+
+    @BeforeAll
+    void seed() {
+        String username = "export-benchmark-hr-" + System.nanoTime();
+        jdbcTemplate.update("""
+                INSERT INTO accounts (username, password_hash, full_name, role, active, created_at, updated_at)
+                VALUES (?, 'x', 'Benchmark HR', 'HR', TRUE, NOW(), NOW())
+                """, username);
+        hrId = jdbcTemplate.queryForObject("SELECT id FROM accounts WHERE username = ?", Long.class, username);
+        jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET SESSION cte_max_recursion_depth = " + (ROWS + 1));
+                return statement.executeUpdate("""
+                        INSERT INTO candidates (first_name, last_name, email, phone, status, source_hr_id,
+                                                created_at, updated_at)
+                        WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < %d)
+                        SELECT CONCAT('First', n), CONCAT('Last', n), CONCAT('export-', %d, '-', n, '@example.com'),
+                               LPAD(n, 10, '9'), 'PENDING', %d, NOW(), NOW()
+                        FROM seq
+                        """.formatted(ROWS, hrId, hrId));
+            }
+        });
+    }
+
+    @Test
+    void csvExportHoldsABoundedHeap() throws Exception {
+        measure(ReportFormat.CSV);
+    }
+
+    @Test
+    void pdfExportHoldsABoundedHeap() throws Exception {
+        measure(ReportFormat.PDF);
+    }
+
+    private void measure(ReportFormat format) throws Exception {
+        AtomicLong rowsWritten = new AtomicLong();
+        AtomicLong bytes = new AtomicLong();
+        OutputStream out = new OutputStream() {
+            @Override
+            public void write(int b) {
+                bytes.incrementAndGet();
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                bytes.addAndGet(len);
+            }
+        };
+
+        System.gc();
+        long baseline = memory.getHeapMemoryUsage().getUsed();
+        long start = System.nanoTime();
+        Thread export = new Thread(() -> exportService.writeCandidateReport(
+                out, format, null, null, hrId, null, rowsWritten), "export-benchmark");
+        export.start();
+
+        Long retained = null;
+        while (export.isAlive()) {
+            if (retained == null && rowsWritten.get() >= ROWS / 2) {
+                System.gc();
+                retained = memory.getHeapMemoryUsage().getUsed() - baseline;
+            }
+            Thread.sleep(5);
+        }
+        export.join();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        log.info("{} export of {} rows: {} bytes in {} ms; {} bytes retained halfway",
+                format, rowsWritten.get(), bytes.get(), elapsedMs, retained);
+        assertThat(rowsWritten.get()).isEqualTo(ROWS);
+        assertThat(retained).as("heap retained halfway").isNotNull().isLessThan(RETAINED_LIMIT_BYTES);
+    }
+}
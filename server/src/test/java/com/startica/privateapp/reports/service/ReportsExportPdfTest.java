@@ -0,0 +1,81 @@
+package com.startica.privateapp.reports.service;
+
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import com.startica.privateapp.reports.dto.ReportFormat;
+import com.startica.privateapp.support.MySqlContainerTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The streamed PDF export is a complete document that a PDF reader opens, with the table split
+ * over as many pages as its rows need. Needs Docker.
+ */
+class ReportsExportPdfTest extends MySqlContainerTest {
+
+    private static final int ROWS = 300;
+
+    @Autowired
+    private ReportsExportService exportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void candidateReportIsAReadablePdf() throws IOException {
+        String run = Long.toString(System.nanoTime());
+        long hrId = insertHr("pdf-hr-" + run);
+        seedCandidates(hrId, run, ROWS);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AtomicLong rowsWritten = new AtomicLong();
+        exportService.writeCandidateReport(out, ReportFormat.PDF, null, null, hrId, null, rowsWritten);
+        byte[] pdf = out.toByteArray();
+
+        assertThat(rowsWritten.get()).isEqualTo(ROWS);
+        assertThat(new String(pdf, 0, 5, StandardCharsets.US_ASCII)).isEqualTo("%PDF-");
+        try (PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf)))) {
+            assertThat(document.getNumberOfPages()).isGreaterThan(1);
+            assertThat(PdfTextExtractor.getTextFromPage(document.getFirstPage()))
+                    .contains("Candidate Report", "pdf-" + run + "-1@example.com");
+            // Header cells repeat on every page
+            assertThat(PdfTextExtractor.getTextFromPage(document.getLastPage())).contains("Email");
+        }
+    }
+
+    private long insertHr(String username) {
+        jdbcTemplate.update("""
+                INSERT INTO accounts (username, password_hash, full_name, role, active, created_at, updated_at)
+                VALUES (?, 'x', 'Pdf HR', 'HR', TRUE, NOW(), NOW())
+                """, username);
+        return jdbcTemplate.queryForObject("SELECT id FROM accounts WHERE username = ?", Long.class, username);
+    }
+
+    private void seedCandidates(long hrId, String batch, int rows) {
+        jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET SESSION cte_max_recursion_depth = " + (rows + 1));
+                return statement.executeUpdate("""
+                        INSERT INTO candidates (first_name, last_name, email, phone, status, source_hr_id,
+                                                created_at, updated_at)
+                        WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < %d)
+                        SELECT CONCAT('First', n), CONCAT('Last', n), CONCAT('pdf-', '%s-', n, '@example.com'),
+                               LPAD(n, 10, '9'), 'PENDING', %d, NOW(), NOW()
+                        FROM seq
+                        """.formatted(rows, batch, hrId));
+            }
+        });
+    }
+}
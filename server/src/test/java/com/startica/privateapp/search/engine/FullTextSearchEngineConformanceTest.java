@@ -0,0 +1,34 @@
+package com.startica.privateapp.search.engine;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link SearchEngineConformanceTest} on the MySQL FULLTEXT engine, plus the terms it handles
+ * differently from the in-memory engine. InnoDB indexes the seeded rows as they commit. Needs Docker.
+ */
+@TestPropertySource(properties = "search.engine=fulltext")
+class FullTextSearchEngineConformanceTest extends SearchEngineConformanceTest {
+
+    @Override
+    protected void refresh() {
+        // Indexes exist once the engine is ready; a second call must leave them as they are
+        ((FullTextSearchEngine) searchEngine).ensureIndexes();
+    }
+
+    @Test
+    void termsShorterThanTheMinimumTokenSizeAreDropped() {
+        assertThat(searchEngine.searchCandidates("go branticson", null, 10).ids())
+                .containsExactlyInAnyOrderElementsOf(searchEngine.searchCandidates("branticson", null, 10).ids());
+        assertThat(searchEngine.searchCandidates("go c", null, 10)).isEqualTo(SearchHits.EMPTY);
+    }
+
+    @Test
+    void booleanOperatorsInTheQueryAreTreatedAsSeparators() {
+        assertThat(searchEngine.searchCandidates("-branticson +quillon", null, 10).ids())
+                .containsExactly(branticQuillon);
+        assertThat(searchEngine.searchCandidates("\"rohan\" (django)", null, 10).ids()).containsExactly(brantic);
+    }
+}
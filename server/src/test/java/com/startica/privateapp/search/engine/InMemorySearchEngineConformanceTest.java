@@ -0,0 +1,26 @@
+package com.startica.privateapp.search.engine;
+
+import com.startica.privateapp.search.index.CandidateSearchIndex;
+import com.startica.privateapp.search.index.OpeningSearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * {@link SearchEngineConformanceTest} on the in-memory engine. Rows inserted with SQL bypass the
+ * write hooks, so both indexes are rebuilt after seeding. Needs Docker.
+ */
+@TestPropertySource(properties = "search.engine=memory")
+class InMemorySearchEngineConformanceTest extends SearchEngineConformanceTest {
+
+    @Autowired
+    private CandidateSearchIndex candidateSearchIndex;
+
+    @Autowired
+    private OpeningSearchIndex openingSearchIndex;
+
+    @Override
+    protected void refresh() {
+        candidateSearchIndex.rebuild();
+        openingSearchIndex.rebuild();
+    }
+}
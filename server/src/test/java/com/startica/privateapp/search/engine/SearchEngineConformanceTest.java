@@ -0,0 +1,159 @@
+package com.startica.privateapp.search.engine;
+
+import com.startica.privateapp.support.MySqlContainerTest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The behaviour every {@link SearchEngine} must share, run once per implementation on the same
+ * seeded rows. Query terms are made-up words so rows left by other test classes never match,
+ * and all of them are at least as long as InnoDB's minimum token size, below which the FULLTEXT
+ * engine deliberately differs.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+abstract class SearchEngineConformanceTest extends MySqlContainerTest {
+
+    protected static final long OWNER = 901L;
+    protected static final long OTHER_OWNER = 902L;
+    private static final String EMAIL_DOMAIN = "@conformance.test";
+    private static final String DEPARTMENT = "Quillworks";
+    private static final Duration READY_TIMEOUT = Duration.ofSeconds(60);
+
+    @Autowired
+    protected SearchEngine searchEngine;
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    protected long vesparoEverywhere;
+    protected long vesparoOnce;
+    protected long brantic;
+    protected long branticOtherOwner;
+    protected long branticQuillon;
+    protected long backendOpening;
+    protected long frontendOpening;
+
+    @BeforeAll
+    void seed() throws InterruptedException {
+        removeSeededRows();
+        vesparoEverywhere = insertCandidate("Vesparo", "Nandi", "vesparo, kotlin", "Vesparo platform lead", "Acme", OWNER);
+        vesparoOnce = insertCandidate("Asha", "Kulkarni", "java, spring", "Backend developer", "Vesparo Labs", OWNER);
+        brantic = insertCandidate("Rohan", "Branticson", "python, django", "Data engineer", "Globex", OWNER);
+        branticOtherOwner = insertCandidate("Meera", "Branticson", "python, flask", "Data analyst", "Initech", OTHER_OWNER);
+        branticQuillon = insertCandidate("Quillon", "Branticson", "golang, kafka", "Platform engineer", "Umbrella", OWNER);
+        backendOpening = insertOpening("Zentrova Backend Engineer", "Pune", "java, zentrova", OWNER);
+        frontendOpening = insertOpening("Zentrova Frontend Engineer", "Mumbai", "react, typescript", OTHER_OWNER);
+
+        awaitReady();
+        refresh();
+    }
+
+    @AfterAll
+    void cleanUp() {
+        removeSeededRows();
+    }
+
+    /**
+     * Makes the seeded rows searchable once the engine's startup work has finished.
+     */
+    protected abstract void refresh();
+
+    @Test
+    void everyTermIsRequired() {
+        assertThat(searchEngine.searchCandidates("branticson quillon", null, 10).ids())
+                .containsExactly(branticQuillon);
+        assertThat(searchEngine.searchCandidates("branticson nowhere", null, 10).ids()).isEmpty();
+    }
+
+    @Test
+    void termsMatchAsWordPrefixesInAnyFieldAndCase() {
+        assertThat(searchEngine.searchCandidates("BRANTIC", null, 10).ids())
+                .containsExactlyInAnyOrder(brantic, branticOtherOwner, branticQuillon);
+        // A term must start a word, not sit inside one
+        assertThat(searchEngine.searchCandidates("ranticson", null, 10).ids()).isEmpty();
+        // Name and skill terms combine across fields
+        assertThat(searchEngine.searchCandidates("rohan django", null, 10).ids()).containsExactly(brantic);
+    }
+
+    @Test
+    void ownerFilterKeepsOnlyTheOwnersRows() {
+        assertThat(searchEngine.searchCandidates("branticson", OTHER_OWNER, 10).ids())
+                .containsExactly(branticOtherOwner);
+        assertThat(searchEngine.searchCandidates("branticson", OWNER, 10).ids())
+                .containsExactlyInAnyOrder(brantic, branticQuillon);
+    }
+
+    @Test
+    void limitCutsTheHitsButNotTheTotal() {
+        SearchHits hits = searchEngine.searchCandidates("branticson", null, 2);
+
+        assertThat(hits.ids()).hasSize(2);
+        assertThat(hits.scores()).hasSize(2);
+        assertThat(hits.totalHits()).isEqualTo(3);
+    }
+
+    @Test
+    void hitsAreOrderedByRelevance() {
+        SearchHits hits = searchEngine.searchCandidates("vesparo", null, 10);
+
+        assertThat(hits.ids()).containsExactly(vesparoEverywhere, vesparoOnce);
+        assertThat(hits.scores()[0]).isGreaterThan(hits.scores()[1]);
+    }
+
+    @Test
+    void emptyQueriesAndLimitsReturnNothing() {
+        assertThat(searchEngine.searchCandidates("", null, 10)).isEqualTo(SearchHits.EMPTY);
+        assertThat(searchEngine.searchCandidates("   ", null, 10)).isEqualTo(SearchHits.EMPTY);
+        assertThat(searchEngine.searchCandidates("branticson", null, 0)).isEqualTo(SearchHits.EMPTY);
+    }
+
+    @Test
+    void openingsAreSearchedByTextAndCreator() {
+        assertThat(searchEngine.searchOpenings("zentrova engineer", null, 10).ids())
+                .containsExactlyInAnyOrder(backendOpening, frontendOpening);
+        assertThat(searchEngine.searchOpenings("zentrova mumbai", null, 10).ids()).containsExactly(frontendOpening);
+        assertThat(searchEngine.searchOpenings("zentrova", OWNER, 10).ids()).containsExactly(backendOpening);
+        assertThat(searchEngine.searchOpenings("zentrova", null, 1).totalHits()).isEqualTo(2);
+    }
+
+    private void awaitReady() throws InterruptedException {
+        long deadline = System.nanoTime() + READY_TIMEOUT.toNanos();
+        while (!searchEngine.isReady() && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        assertThat(searchEngine.isReady()).as("search engine ready").isTrue();
+    }
+
+    private long insertCandidate(String firstName, String lastName, String skills, String profile, String company,
+                                 long owner) {
+        String email = (firstName + "." + lastName).toLowerCase() + EMAIL_DOMAIN;
+        jdbcTemplate.update("""
+                INSERT INTO candidates (first_name, last_name, email, skills, profile, company, status,
+                                        source_hr_id, created_at, updated_at)
+                VALUES (?, ?, ?, ?, ?, ?, 'PENDING', ?, NOW(), NOW())
+                """, firstName, lastName, email, skills, profile, company, owner);
+        return jdbcTemplate.queryForObject("SELECT id FROM candidates WHERE email = ?", Long.class, email);
+    }
+
+    private long insertOpening(String title, String location, String skills, long createdBy) {
+        jdbcTemplate.update("""
+                INSERT INTO openings (title, department, location, positions, skills, status, created_by,
+                                      created_at, updated_at)
+                VALUES (?, ?, ?, 1, ?, 'ACTIVE', ?, NOW(), NOW())
+                """, title, DEPARTMENT, location, skills, createdBy);
+        return jdbcTemplate.queryForObject("SELECT id FROM openings WHERE title = ?", Long.class, title);
+    }
+
+    private void removeSeededRows() {
+        jdbcTemplate.update("DELETE FROM candidates WHERE email LIKE ?", "%" + EMAIL_DOMAIN);
+        jdbcTemplate.update("DELETE FROM openings WHERE department = ?", DEPARTMENT);
+    }
+}
@@ -0,0 +1,122 @@
+package com.startica.privateapp.search.index;
+
+import com.startica.privateapp.model.Candidate;
+import com.startica.privateapp.opening.model.Opening;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Top-K scoring of one opening against the whole candidate match index, on synthetic candidates
+ * drawn from 200 skills and 30 cities. minPartitionSize=0 scores on one partition per core,
+ * Integer.MAX_VALUE on the calling thread only, so the pair shows what the partitioning buys.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=com.startica.privateapp.search.index.CandidateMatchIndexBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class CandidateMatchIndexBenchmark {
+
+    private static final int SKILL_POOL = 200;
+    private static final String[] CITIES = {
+            "pune", "mumbai", "bangalore", "hyderabad", "chennai", "delhi", "noida", "gurgaon", "kolkata",
+            "ahmedabad", "jaipur", "indore", "nagpur", "kochi", "coimbatore", "lucknow", "chandigarh", "bhopal",
+            "surat", "vadodara", "nashik", "mysore", "mangalore", "trivandrum", "vizag", "patna", "ranchi",
+            "goa", "dehradun", "remote"};
+
+    @Param({"100000", "1000000"})
+    private int candidates;
+
+    @Param({"0", "2147483647"})
+    private int minPartitionSize;
+
+    @Param({"50"})
+    private int limit;
+
+    private CandidateMatchIndex index;
+    private Opening opening;
+
+    @Setup(Level.Trial)
+    public void buildIndex() {
+        index = new CandidateMatchIndex(null, new SkillTaxonomy(null, null));
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(index, "minPartitionSize", minPartitionSize);
+        ReflectionTestUtils.setField(index, "skillsWeight", 0.5f);
+        ReflectionTestUtils.setField(index, "experienceWeight", 0.2f);
+        ReflectionTestUtils.setField(index, "salaryWeight", 0.2f);
+        ReflectionTestUtils.setField(index, "locationWeight", 0.1f);
+
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        for (long id = 1; id <= candidates; id++) {
+            Candidate candidate = new Candidate();
+            candidate.setId(id);
+            candidate.setSourceHrId(1 + id % 20);
+            candidate.setSkills(randomSkills(random, 3 + random.nextInt(6)));
+            candidate.setLocation(CITIES[random.nextInt(CITIES.length)]);
+            candidate.setExperienceMonths(random.nextInt(240));
+            candidate.setExpectedCtcValue(3 + random.nextInt(40) + random.nextInt(10) / 10.0);
+            candidate.setUpdatedAt(now);
+            index.index(candidate);
+        }
+
+        opening = new Opening();
+        opening.setSkills("skill3, skill17, skill42, skill99, skill150");
+        opening.setExperience("3-6 years");
+        opening.setMaxSalary("18 LPA");
+        opening.setLocation("Pune");
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        index.shutdown();
+    }
+
+    @Benchmark
+    public List<CandidateMatchIndex.Match> matchAllCandidates() {
+        return index.match(opening, null, limit);
+    }
+
+    @Benchmark
+    public List<CandidateMatchIndex.Match> matchOneHrsCandidates() {
+        return index.match(opening, 7L, limit);
+    }
+
+    private static String randomSkills(Random random, int count) {
+        StringBuilder skills = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            skills.append(i == 0 ? "" : ", ").append("skill").append(random.nextInt(SKILL_POOL));
+        }
+        return skills.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CandidateMatchIndexBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,57 @@
+package com.startica.privateapp.search.index;
+
+import com.startica.privateapp.model.Candidate;
+import com.startica.privateapp.search.engine.SearchHits;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CandidateSearchIndexTest {
+
+    private final CandidateSearchIndex index = new CandidateSearchIndex(null);
+
+    @BeforeEach
+    void enable() {
+        ReflectionTestUtils.setField(index, "enabled", true);
+    }
+
+    @Test
+    void aPrefixWithTooManyCompletionsIsMarkedTruncated() {
+        for (int i = 0; i < 100; i++) {
+            index.index(candidate(i + 1L, "Zorvak" + i, "Rao"));
+        }
+
+        SearchHits shortPrefix = index.search("zorvak", null, 1000);
+        assertThat(shortPrefix.truncated()).isTrue();
+        assertThat(shortPrefix.totalHits()).isLessThan(100);
+
+        SearchHits narrowPrefix = index.search("zorvak4", null, 1000);
+        assertThat(narrowPrefix.truncated()).isFalse();
+        assertThat(narrowPrefix.totalHits()).isEqualTo(11);
+    }
+
+    @Test
+    void aPhoneIsFoundByItsNationalNumberWhateverItsFormatting() {
+        Candidate withCountryCode = candidate(1L, "Asha", "Rao");
+        withCountryCode.setPhone("+91 98765-43210");
+        Candidate withTrunkPrefix = candidate(2L, "Meera", "Iyer");
+        withTrunkPrefix.setPhone("098765 43211");
+        index.index(withCountryCode);
+        index.index(withTrunkPrefix);
+
+        assertThat(index.search("9876543210", null, 10).ids()).containsExactly(1L);
+        assertThat(index.search("9876543211", null, 10).ids()).containsExactly(2L);
+        assertThat(index.search("919876543210", null, 10).ids()).containsExactly(1L);
+        assertThat(index.search("98765", null, 10).ids()).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    private static Candidate candidate(long id, String firstName, String lastName) {
+        Candidate candidate = new Candidate();
+        candidate.setId(id);
+        candidate.setFirstName(firstName);
+        candidate.setLastName(lastName);
+        return candidate;
+    }
+}
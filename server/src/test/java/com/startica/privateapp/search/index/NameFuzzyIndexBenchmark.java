@@ -0,0 +1,129 @@
+package com.startica.privateapp.search.index;
+
+import com.startica.privateapp.model.Candidate;
+import com.startica.privateapp.search.engine.SearchHits;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Two-term fuzzy name lookups against the name index, on synthetic candidates whose first and
+ * last names are built from common syllables and drawn with a skew, so a few names are very
+ * frequent and the trigram postings of common syllables are long. The budget is a few
+ * milliseconds per query at 1M candidates.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=com.startica.privateapp.search.index.NameFuzzyIndexBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class NameFuzzyIndexBenchmark {
+
+    private static final String[] SYLLABLES = {
+            "a", "sha", "ra", "ma", "na", "ni", "ka", "ya", "vi", "ja", "an", "ar", "ta", "pri", "su", "de",
+            "pa", "la", "sh", "ri", "ku", "mar", "esh", "ish", "deep", "raj", "dev", "in", "ya", "ee"};
+
+    @Param({"100000", "1000000"})
+    private int candidates;
+
+    @Param({"20"})
+    private int limit;
+
+    private NameFuzzyIndex index;
+    private String[] firstNames;
+    private String[] lastNames;
+    private Random queries;
+
+    @Setup(Level.Trial)
+    public void buildIndex() {
+        index = new NameFuzzyIndex(null);
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(index, "maxExpansions", 200);
+        ReflectionTestUtils.setField(index, "maxVerifications", 500);
+
+        Random random = new Random(42);
+        firstNames = names(random, 20_000);
+        lastNames = names(random, 100_000);
+        for (long id = 1; id <= candidates; id++) {
+            Candidate candidate = new Candidate();
+            candidate.setId(id);
+            candidate.setSourceHrId(1 + id % 20);
+            candidate.setFirstName(firstNames[skewed(random, firstNames.length)]);
+            candidate.setLastName(lastNames[skewed(random, lastNames.length)]);
+            index.index(candidate);
+        }
+        queries = new Random(7);
+    }
+
+    @Benchmark
+    public SearchHits exactFirstAndLastName() {
+        return index.search(firstNames[skewed(queries, firstNames.length)] + " "
+                + lastNames[skewed(queries, lastNames.length)], null, Set.of(), limit);
+    }
+
+    @Benchmark
+    public SearchHits misspelledFirstAndLastName() {
+        return index.search(typo(firstNames[skewed(queries, firstNames.length)]) + " "
+                + typo(lastNames[skewed(queries, lastNames.length)]), null, Set.of(), limit);
+    }
+
+    @Benchmark
+    public SearchHits misspelledNameOfOneHr() {
+        return index.search(typo(firstNames[skewed(queries, firstNames.length)]) + " "
+                + typo(lastNames[skewed(queries, lastNames.length)]), 7L, Set.of(), limit);
+    }
+
+    private static String[] names(Random random, int count) {
+        String[] names = new String[count];
+        for (int i = 0; i < count; i++) {
+            StringBuilder name = new StringBuilder();
+            int syllables = 2 + random.nextInt(3);
+            for (int s = 0; s < syllables; s++) {
+                name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            names[i] = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        }
+        return names;
+    }
+
+    // Low indexes far more often than high ones, like real name frequencies
+    private static int skewed(Random random, int bound) {
+        return random.nextInt(random.nextInt(bound) + 1);
+    }
+
+    // One substituted letter past the first
+    private String typo(String name) {
+        if (name.length() < 4) {
+            return name;
+        }
+        int at = 1 + queries.nextInt(name.length() - 1);
+        return name.substring(0, at) + (char) ('a' + queries.nextInt(26)) + name.substring(at + 1);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(NameFuzzyIndexBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,114 @@
+package com.startica.privateapp.search.index;
+
+import com.startica.privateapp.model.Candidate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NameFuzzyIndexTest {
+
+    private final NameFuzzyIndex index = new NameFuzzyIndex(null);
+
+    @BeforeEach
+    void enable() {
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(index, "maxExpansions", 200);
+        ReflectionTestUtils.setField(index, "maxVerifications", 500);
+    }
+
+    @Test
+    void boundedDistanceAgreesWithFullLevenshteinWithinTheBound() {
+        Random random = new Random(3);
+        for (int i = 0; i < 5_000; i++) {
+            String a = randomWord(random);
+            String b = random.nextBoolean() ? mutate(random, a) : randomWord(random);
+            int max = random.nextInt(3);
+            int distance = levenshtein(a, b);
+            assertThat(NameFuzzyIndex.boundedDistance(a, b, max))
+                    .as("%s / %s within %d", a, b, max)
+                    .isEqualTo(distance <= max ? distance : max + 1);
+        }
+    }
+
+    @Test
+    void twoMisspelledTermsFindTheCandidateCarryingBoth() {
+        index.index(candidate(1L, "Priyanka", "Deshmukh"));
+        index.index(candidate(2L, "Priyanka", "Kulkarni"));
+        index.index(candidate(3L, "Deepak", "Deshmukh"));
+
+        assertThat(index.search("priyanca deshmuk", null, Set.of(), 10).ids()).containsExactly(1L);
+        assertThat(index.search("priyanca deshmuk", 7L, Set.of(), 10).ids()).isEmpty();
+    }
+
+    @Test
+    void theClosestTokensAreStillCheckedWhenManyShareTrigrams() {
+        ReflectionTestUtils.setField(index, "maxVerifications", 5);
+        // Many same-length tokens sharing a trigram or two with the query term
+        for (long id = 1; id <= 200; id++) {
+            index.index(candidate(id, "Sharm" + (char) ('a' + id % 26) + (char) ('a' + id / 26), "Rao"));
+        }
+        index.index(candidate(500L, "Sharmila", "Rao"));
+
+        assertThat(index.search("sharmilla", null, Set.of(), 5).ids()).contains(500L);
+    }
+
+    private static Candidate candidate(long id, String firstName, String lastName) {
+        Candidate candidate = new Candidate();
+        candidate.setId(id);
+        candidate.setSourceHrId(1L);
+        candidate.setFirstName(firstName);
+        candidate.setLastName(lastName);
+        return candidate;
+    }
+
+    private static String randomWord(Random random) {
+        StringBuilder word = new StringBuilder();
+        for (int i = random.nextInt(9); i > 0; i--) {
+            word.append((char) ('a' + random.nextInt(4)));
+        }
+        return word.toString();
+    }
+
+    private static String mutate(Random random, String word) {
+        StringBuilder mutated = new StringBuilder(word);
+        for (int i = random.nextInt(4); i > 0; i--) {
+            int at = mutated.length() == 0 ? 0 : random.nextInt(mutated.length());
+            switch (random.nextInt(3)) {
+                case 0 -> mutated.insert(at, (char) ('a' + random.nextInt(4)));
+                case 1 -> {
+                    if (mutated.length() > 0) {
+                        mutated.deleteCharAt(at);
+                    }
+                }
+                default -> {
+                    if (mutated.length() > 0) {
+                        mutated.setCharAt(at, (char) ('a' + random.nextInt(4)));
+                    }
+                }
+            }
+        }
+        return mutated.toString();
+    }
+
+    private static int levenshtein(String a, String b) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            d[i][0] = i;
+        }
+        for (int j = 0; j <= b.length(); j++) {
+            d[0][j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+}
@@ -0,0 +1,125 @@
+package com.startica.privateapp.search.index;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Highlighting one page of 100 global search results: the Aho-Corasick {@link QueryHighlighter},
+ * compiled once per request, against the highlightMatch method it replaced, which marked only
+ * the first occurrence of the whole query. Both are given the same candidate summary line; the
+ * highlighter additionally marks the five fields of the result.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=com.startica.privateapp.search.index.QueryHighlighterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryHighlighterBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+    private static final String[] SKILLS = {"Java", "Spring Boot", "MySQL", "React", "JavaScript", "Kafka",
+            "Docker", "Kubernetes", "AWS", "Python", "Node.js", "Angular", "Hibernate", "Microservices"};
+    private static final String[] NAMES = {"Aarav", "Priya", "Rohan", "Sneha", "Vikram", "Ananya", "Javed", "Meera"};
+
+    @Param({"java", "java spring", "spring boot kafka docker"})
+    private String query;
+
+    private String[] lines;
+    private Map<String, String>[] fields;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void page() {
+        Random random = new Random(7);
+        lines = new String[PAGE_SIZE];
+        fields = new Map[PAGE_SIZE];
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            String firstName = NAMES[random.nextInt(NAMES.length)];
+            String lastName = NAMES[random.nextInt(NAMES.length)] + "kar";
+            StringBuilder skills = new StringBuilder();
+            for (int s = 0, count = 4 + random.nextInt(6); s < count; s++) {
+                skills.append(s == 0 ? "" : ", ").append(SKILLS[random.nextInt(SKILLS.length)]);
+            }
+            lines[i] = String.format("%s %s - %s", firstName, lastName, skills);
+
+            Map<String, String> resultFields = new LinkedHashMap<>();
+            resultFields.put("name", firstName + " " + lastName);
+            resultFields.put("email", firstName.toLowerCase() + i + "@example.com");
+            resultFields.put("skills", skills.toString());
+            resultFields.put("profile", "Senior Software Engineer, Java and cloud");
+            resultFields.put("company", "Startica Technologies");
+            fields[i] = resultFields;
+        }
+    }
+
+    @Benchmark
+    public void highlightMatchPerResult(Blackhole blackhole) {
+        for (String line : lines) {
+            blackhole.consume(highlightMatch(line, query));
+        }
+    }
+
+    @Benchmark
+    public void automatonSummaryLine(Blackhole blackhole) {
+        QueryHighlighter highlighter = QueryHighlighter.compile(query);
+        for (String line : lines) {
+            blackhole.consume(highlighter.highlight(line));
+        }
+    }
+
+    @Benchmark
+    public void automatonSummaryLineAndFields(Blackhole blackhole) {
+        QueryHighlighter highlighter = QueryHighlighter.compile(query);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            blackhole.consume(highlighter.highlight(lines[i]));
+            blackhole.consume(highlighter.highlightFields(fields[i]));
+        }
+    }
+
+    // GlobalSearchService.highlightMatch before the highlighter replaced it
+    private static String highlightMatch(String text, String query) {
+        if (text == null || query == null) return text;
+
+        String lowerText = text.toLowerCase();
+        String lowerQuery = query.toLowerCase();
+
+        int index = lowerText.indexOf(lowerQuery);
+        if (index >= 0) {
+            String before = text.substring(0, index);
+            String match = text.substring(index, index + query.length());
+            String after = text.substring(index + query.length());
+            return before + "<mark>" + match + "</mark>" + after;
+        }
+
+        return text;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(QueryHighlighterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
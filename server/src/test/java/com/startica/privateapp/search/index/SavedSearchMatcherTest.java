@@ -0,0 +1,104 @@
+package com.startica.privateapp.search.index;
+
+import com.startica.privateapp.model.Candidate;
+import com.startica.privateapp.search.specification.CandidateQueryPlan;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SavedSearchMatcherTest {
+
+    private static final SkillSynonyms SYNONYMS = SkillSynonyms.compile(List.of(
+            "javascript = java script, ecmascript",
+            "typescript = type script",
+            "backend > java, golang"));
+
+    private final SavedSearchMatcher matcher = new SavedSearchMatcher();
+
+    @Test
+    void textTermsMatchAsWordPrefixesInAnyOrder() {
+        register(1, null, "dev rahul", Map.of());
+
+        assertThat(matcher.match(candidate("Rahul", "Backend Developer", "java"))).containsExactly(1L);
+        // Every term is needed, and as the start of a word
+        assertThat(matcher.match(candidate("Rahul", "Engineer", "java"))).isEmpty();
+        assertThat(matcher.match(candidate("Arahul", "Developer", "java"))).isEmpty();
+    }
+
+    @Test
+    void skillFiltersMatchEverySynonym() {
+        register(1, null, null, Map.of("primarySkills", List.of("JavaScript")));
+
+        assertThat(matcher.match(candidate("Asha", "Developer", "EcmaScript, HTML"))).containsExactly(1L);
+        assertThat(matcher.match(candidate("Asha", "Developer", "TypeScript"))).isEmpty();
+    }
+
+    @Test
+    void dictionarySpellingsMatchOnlyAsWholeWords() {
+        register(1, null, null, Map.of("primarySkills", List.of("Backend")));
+
+        assertThat(matcher.match(candidate("Asha", "Developer", "Core Java, SQL"))).containsExactly(1L);
+        assertThat(matcher.match(candidate("Asha", "Developer", "JavaScript, HTML"))).isEmpty();
+        // The value as written still matches anywhere
+        register(2, null, null, Map.of("primarySkills", List.of("java")));
+        assertThat(matcher.match(candidate("Asha", "Developer", "JavaScript, HTML"))).containsExactly(2L);
+    }
+
+    @Test
+    void specializationAndEducationGapAreApplied() {
+        register(1, null, null, Map.of("specialization", "computer science", "educationGap", List.of("no gap")));
+
+        Candidate matching = candidate("Asha", "Developer", "java");
+        matching.setEducation("B.Tech Computer Science");
+        matching.setGap("No gap");
+        assertThat(matcher.match(matching)).containsExactly(1L);
+
+        Candidate otherBranch = candidate("Asha", "Developer", "java");
+        otherBranch.setEducation("B.Tech Mechanical");
+        otherBranch.setGap("No gap");
+        assertThat(matcher.match(otherBranch)).isEmpty();
+
+        Candidate withGap = candidate("Asha", "Developer", "java");
+        withGap.setDegree("Computer Science");
+        withGap.setGap("1 year");
+        assertThat(matcher.match(withGap)).isEmpty();
+    }
+
+    @Test
+    void scopedSearchOnlyMatchesItsHrsCandidates() {
+        register(1, 7L, null, Map.of("primarySkills", List.of("java")));
+
+        Candidate own = candidate("Asha", "Developer", "java");
+        own.setSourceHrId(7L);
+        Candidate other = candidate("Asha", "Developer", "java");
+        other.setSourceHrId(8L);
+
+        assertThat(matcher.match(own)).containsExactly(1L);
+        assertThat(matcher.match(other)).isEmpty();
+    }
+
+    @Test
+    void reRegisteringReplacesTheSearch() {
+        register(1, null, null, Map.of("primarySkills", List.of("java")));
+        register(1, null, null, Map.of("primarySkills", List.of("python")));
+
+        assertThat(matcher.match(candidate("Asha", "Developer", "java"))).isEmpty();
+        assertThat(matcher.match(candidate("Asha", "Developer", "python"))).containsExactly(1L);
+    }
+
+    private void register(long id, Long scopeHrId, String query, Map<String, Object> filters) {
+        matcher.register(id, scopeHrId, CandidateQueryPlan.compile(query, filters, SYNONYMS));
+    }
+
+    private static Candidate candidate(String firstName, String profile, String skills) {
+        Candidate candidate = new Candidate();
+        candidate.setId(100L);
+        candidate.setFirstName(firstName);
+        candidate.setProfile(profile);
+        candidate.setSkills(skills);
+        return candidate;
+    }
+}
@@ -0,0 +1,127 @@
+package com.startica.privateapp.search.service;
+
+import com.startica.privateapp.candidate.dto.CandidateSummary;
+import com.startica.privateapp.repository.CandidateRepository;
+import com.startica.privateapp.support.MySqlContainerTest;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * HR-scoped global search against the company-wide page filtered in Java that it replaced, on
+ * 100k candidates of which the searching HR owns 1%. Every row matches the query, which is the
+ * worst case for post-filtering: a screen of the HR's own rows takes about 100 company pages.
+ *
+ * Run with -Dbenchmarks=true; needs Docker.
+ */
+@Slf4j
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class HrScopedSearchBenchmarkTest extends MySqlContainerTest {
+
+    private static final int ROWS = 100_000;
+    private static final long OWNER = 1L;
+    private static final int PAGE_SIZE = 20;
+    private static final int WARMUP = 3;
+    private static final int RUNS = 15;
+    private static final String QUERY = "java";
+    private static final PageRequest FIRST_PAGE =
+            PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CandidateRepository candidateRepository;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET SESSION cte_max_recursion_depth = " + (ROWS + 1));
+                // Every 100th row belongs to OWNER, the rest to 50 other HRs
+                return statement.executeUpdate("""
+                        INSERT INTO candidates (first_name, last_name, email, phone, skills, status,
+                                                source_hr_id, created_at, updated_at)
+                        WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < %d)
+                        SELECT CONCAT('First', n), CONCAT('Last', n), CONCAT('candidate', n, '@example.com'),
+                               LPAD(n, 10, '9'), 'java, spring boot, mysql', 'PENDING',
+                               IF(n %% 100 = 0, %d, 2 + n %% 50),
+                               NOW() - INTERVAL n MINUTE, NOW() - INTERVAL n MINUTE
+                        FROM seq
+                        """.formatted(ROWS, OWNER));
+            }
+        });
+        jdbcTemplate.execute("ANALYZE TABLE candidates");
+    }
+
+    @Test
+    void scopedQueryFillsTheScreenWithOneQueryAndATrueTotal() {
+        Page<CandidateSummary> scoped = candidateRepository.searchByTextAndSourceHrId(QUERY, OWNER, FIRST_PAGE);
+        assertThat(scoped.getContent()).hasSize(PAGE_SIZE)
+                .allMatch(candidate -> candidate.getSourceHrId() == OWNER);
+        assertThat(scoped.getTotalElements()).isEqualTo(ROWS / 100);
+
+        // The old path: one company-wide page filtered to the HR's rows, its size reported as the total
+        List<CandidateSummary> postFiltered = postFilter(candidateRepository.searchByText(QUERY, FIRST_PAGE));
+        assertThat(postFiltered.size()).isLessThan(PAGE_SIZE);
+
+        double scopedMs = medianMs(() -> candidateRepository.searchByTextAndSourceHrId(QUERY, OWNER, FIRST_PAGE));
+        double onePageMs = medianMs(() -> postFilter(candidateRepository.searchByText(QUERY, FIRST_PAGE)));
+        double fullScreenMs = medianMs(this::postFilterUntilScreenIsFull);
+
+        log.info("HR-scoped search over {} rows, 1% owned: scoped query {} ms; post-filtered page {} ms "
+                        + "({} of {} rows); post-filtered pages until a full screen {} ms",
+                ROWS, scopedMs, onePageMs, postFiltered.size(), PAGE_SIZE, fullScreenMs);
+        assertThat(scopedMs).isLessThan(fullScreenMs);
+    }
+
+    private static List<CandidateSummary> postFilter(Page<CandidateSummary> page) {
+        return page.getContent().stream()
+                .filter(candidate -> candidate.getSourceHrId() != null && candidate.getSourceHrId() == OWNER)
+                .toList();
+    }
+
+    // What a client had to do to show a full screen of its own rows
+    private List<CandidateSummary> postFilterUntilScreenIsFull() {
+        List<CandidateSummary> screen = new ArrayList<>();
+        for (int page = 0; screen.size() < PAGE_SIZE; page++) {
+            Page<CandidateSummary> rows = candidateRepository.searchByText(QUERY, FIRST_PAGE.withPage(page));
+            screen.addAll(postFilter(rows));
+            if (rows.isLast()) {
+                break;
+            }
+        }
+        return screen;
+    }
+
+    private static double medianMs(Supplier<?> run) {
+        for (int i = 0; i < WARMUP; i++) {
+            run.get();
+        }
+        long[] nanos = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            run.get();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos[RUNS / 2] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,143 @@
+package com.startica.privateapp.search.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.startica.privateapp.common.exception.BusinessException;
+import com.startica.privateapp.model.Role;
+import com.startica.privateapp.model.User;
+import com.startica.privateapp.repository.UserRepository;
+import com.startica.privateapp.search.dto.SavedSearchRequest;
+import com.startica.privateapp.search.index.SavedSearchMatcher;
+import com.startica.privateapp.search.index.SkillTaxonomy;
+import com.startica.privateapp.search.model.SavedSearch;
+import com.startica.privateapp.search.repository.SavedSearchMatchRepository;
+import com.startica.privateapp.search.repository.SavedSearchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SavedSearchServiceTest {
+
+    @Mock
+    private SavedSearchRepository savedSearchRepository;
+    @Mock
+    private SavedSearchMatchRepository savedSearchMatchRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private SavedSearchMatcher savedSearchMatcher;
+    @Mock
+    private SkillTaxonomy skillTaxonomy;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private SavedSearchService savedSearchService;
+
+    private final User owner = new User();
+
+    @BeforeEach
+    void setUp() {
+        owner.setId(3L);
+        owner.setRole(Role.HR);
+        owner.setFullName("Asha Rao");
+    }
+
+    @Test
+    void aNewSearchReachesTheMatcherOnlyThroughTheAfterCommitEvent() {
+        when(savedSearchRepository.save(any())).thenAnswer(invocation -> {
+            SavedSearch search = invocation.getArgument(0);
+            search.setId(11L);
+            return search;
+        });
+
+        savedSearchService.createSavedSearch(request("Java in Pune", Map.of("currentLocations", List.of("Pune"))), owner);
+
+        verifyNoInteractions(savedSearchMatcher);
+        ArgumentCaptor<SavedSearchService.MatcherUpdate> update = ArgumentCaptor.forClass(SavedSearchService.MatcherUpdate.class);
+        verify(eventPublisher).publishEvent(update.capture());
+        assertThat(update.getValue().savedSearchId()).isEqualTo(11L);
+        assertThat(update.getValue().scopeHrId()).isEqualTo(3L);
+        assertThat(update.getValue().plan()).isNotNull();
+
+        savedSearchService.onMatcherUpdate(update.getValue());
+        verify(savedSearchMatcher).register(11L, 3L, update.getValue().plan());
+    }
+
+    @Test
+    void unusableFiltersRejectTheWriteBeforeAnythingIsPublished() {
+        when(savedSearchRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertThatThrownBy(() -> savedSearchService.createSavedSearch(
+                request("Bad", Map.of("skillMatchType", "SOME")), owner))
+                .isInstanceOf(BusinessException.class);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void renamingKeepsTheRecordedMatches() {
+        SavedSearch existing = existing(Map.of("currentLocations", List.of("Pune")));
+        when(savedSearchRepository.findById(11L)).thenReturn(Optional.of(existing));
+        when(savedSearchRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        savedSearchService.updateSavedSearch(11L, request("Pune shortlist", Map.of("currentLocations", List.of("Pune"))), owner);
+
+        verify(savedSearchMatchRepository, never()).deleteBySavedSearchId(anyLong());
+        verify(eventPublisher, never()).publishEvent(any());
+        assertThat(existing.getName()).isEqualTo("Pune shortlist");
+    }
+
+    @Test
+    void changedCriteriaClearTheMatchesAndRecompile() {
+        SavedSearch existing = existing(Map.of("currentLocations", List.of("Pune")));
+        when(savedSearchRepository.findById(11L)).thenReturn(Optional.of(existing));
+        when(savedSearchRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        savedSearchService.updateSavedSearch(11L, request("Java in Pune", Map.of("currentLocations", List.of("Mumbai"))), owner);
+
+        verify(savedSearchMatchRepository).deleteBySavedSearchId(11L);
+        verify(eventPublisher).publishEvent(any(SavedSearchService.MatcherUpdate.class));
+        verifyNoInteractions(savedSearchMatcher);
+    }
+
+    private SavedSearch existing(Map<String, Object> filters) {
+        SavedSearch search = SavedSearch.builder().id(11L).userId(3L).scopeHrId(3L).build();
+        search.setName("Java in Pune");
+        search.setSearchType("CANDIDATE");
+        try {
+            search.setFilters(objectMapper.writeValueAsString(filters));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return search;
+    }
+
+    private static SavedSearchRequest request(String name, Map<String, Object> filters) {
+        return SavedSearchRequest.builder()
+                .name(name)
+                .searchType("CANDIDATE")
+                .filters(filters)
+                .build();
+    }
+}
@@ -0,0 +1,87 @@
+package com.startica.privateapp.search.specification;
+
+import com.startica.privateapp.search.index.SkillSynonyms;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning an advanced search request with 13 filters into a {@link CandidateQueryPlan},
+ * alone and together with deriving its cache key, base specification and facet filters, which
+ * is everything the search does with a plan before SQL runs. The synonym dictionary is the one
+ * shipped in skill-synonyms.txt. Query time before and after is measured against MySQL by
+ * CandidateQueryPlanQueryTimeTest.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=com.startica.privateapp.search.specification.CandidateQueryPlanBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CandidateQueryPlanBenchmark {
+
+    private Map<String, Object> filters;
+    private SkillSynonyms synonyms;
+
+    @Setup(Level.Trial)
+    public void request() throws Exception {
+        try (var in = getClass().getResourceAsStream("/skill-synonyms.txt")) {
+            synonyms = SkillSynonyms.compile(new String(in.readAllBytes(), StandardCharsets.UTF_8)
+                    .lines().toList());
+        }
+        filters = new HashMap<>();
+        filters.put("currentLocations", List.of("Pune", "Mumbai", "Bangalore"));
+        filters.put("preferredLocations", List.of("Pune"));
+        filters.put("primarySkills", List.of("Java", "Spring Boot", "JavaScript"));
+        filters.put("skillMatchType", "ANY");
+        filters.put("secondarySkills", List.of("MySQL", "Docker"));
+        filters.put("qualification", "B.E.");
+        filters.put("minPassingYear", 2015);
+        filters.put("maxPassingYear", 2022);
+        filters.put("applicationStatus", List.of("pending", "interested"));
+        filters.put("experienceLevel", List.of("Mid", "Senior"));
+        filters.put("noticePeriod", List.of("Immediate", "30 days"));
+        filters.put("minPercentage", 60);
+        filters.put("minExpectedCTC", 5);
+    }
+
+    @Benchmark
+    public CandidateQueryPlan compile() {
+        return CandidateQueryPlan.compile("backend developer", filters, synonyms);
+    }
+
+    @Benchmark
+    public void compileWithKeyAndSpecifications(Blackhole blackhole) {
+        CandidateQueryPlan plan = CandidateQueryPlan.compile("backend developer", filters, synonyms);
+        blackhole.consume(plan.key());
+        blackhole.consume(plan.baseSpecification());
+        blackhole.consume(plan.facetFilters());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CandidateQueryPlanBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
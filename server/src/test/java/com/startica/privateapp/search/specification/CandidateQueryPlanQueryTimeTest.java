@@ -0,0 +1,154 @@
+package com.startica.privateapp.search.specification;
+
+import com.startica.privateapp.candidate.dto.CandidateSummary;
+import com.startica.privateapp.model.Candidate;
+import com.startica.privateapp.repository.CandidateRepository;
+import com.startica.privateapp.search.index.SkillSynonyms;
+import com.startica.privateapp.support.MySqlContainerTest;
+import jakarta.persistence.criteria.Predicate;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query time of one advanced search page (rows plus count) with the specification compiled from
+ * a {@link CandidateQueryPlan}, against the specification the Map-based code built for the same
+ * filters: a separate OR over location per location filter, lower() per term, and the status
+ * compared as CAST(status AS char). Both must select the same candidates. Runs on 100k seeded
+ * candidates; skill synonyms are left out so the two select the same rows.
+ *
+ * Run with -Dbenchmarks=true; needs Docker.
+ */
+@Slf4j
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class CandidateQueryPlanQueryTimeTest extends MySqlContainerTest {
+
+    private static final int ROWS = 100_000;
+    private static final int WARMUP = 3;
+    private static final int RUNS = 15;
+    private static final PageRequest FIRST_PAGE = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "updatedAt"));
+
+    private static final List<String> CURRENT_LOCATIONS = List.of("Pune", "Mumbai");
+    private static final List<String> PREFERRED_LOCATIONS = List.of("Pune");
+    private static final List<String> PRIMARY_SKILLS = List.of("Java", "Spring");
+    private static final List<String> SECONDARY_SKILLS = List.of("MySQL");
+    private static final List<String> STATUSES = List.of("pending", "interested");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CandidateRepository candidateRepository;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET SESSION cte_max_recursion_depth = " + (ROWS + 1));
+                return statement.executeUpdate("""
+                        INSERT INTO candidates (first_name, last_name, email, location, skills, passing_year,
+                                                status, created_at, updated_at)
+                        WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < %d)
+                        SELECT CONCAT('First', n), CONCAT('Last', n), CONCAT('candidate', n, '@example.com'),
+                               ELT(1 + n %% 5, 'Pune', 'Mumbai', 'Delhi', 'Bangalore', 'Chennai'),
+                               ELT(1 + n %% 7, 'Java, Spring Boot, MySQL', 'Python, Django', 'Java, Hibernate',
+                                   'React, JavaScript', 'MySQL, Docker', 'Kafka, Java, MySQL', 'Node, MongoDB'),
+                               2005 + n %% 20,
+                               ELT(1 + n %% 4, 'PENDING', 'INTERESTED', 'CONTACTED', 'HIRED'),
+                               NOW() - INTERVAL n MINUTE, NOW() - INTERVAL n MINUTE
+                        FROM seq
+                        """.formatted(ROWS));
+            }
+        });
+        jdbcTemplate.execute("ANALYZE TABLE candidates");
+    }
+
+    @Test
+    void planSelectsTheSameCandidatesAsTheMapBasedSpecification() {
+        Specification<Candidate> before = mapBasedSpecification();
+        Specification<Candidate> after = planSpecification();
+
+        Page<CandidateSummary> beforePage = candidateRepository.findSummaries(before, FIRST_PAGE);
+        Page<CandidateSummary> afterPage = candidateRepository.findSummaries(after, FIRST_PAGE);
+        assertThat(afterPage.getTotalElements()).isPositive().isEqualTo(beforePage.getTotalElements());
+        assertThat(afterPage.getContent()).extracting(CandidateSummary::getId)
+                .containsExactlyElementsOf(beforePage.getContent().stream().map(CandidateSummary::getId).toList());
+
+        double beforeMs = medianMs(() -> candidateRepository.findSummaries(before, FIRST_PAGE));
+        double afterMs = medianMs(() -> candidateRepository.findSummaries(after, FIRST_PAGE));
+        log.info("Advanced search page + count over {} rows ({} matches): Map-based specification {} ms, "
+                + "compiled plan {} ms", ROWS, afterPage.getTotalElements(), beforeMs, afterMs);
+    }
+
+    private static Specification<Candidate> planSpecification() {
+        CandidateQueryPlan plan = CandidateQueryPlan.compile(null, Map.of(
+                "currentLocations", CURRENT_LOCATIONS,
+                "preferredLocations", PREFERRED_LOCATIONS,
+                "primarySkills", PRIMARY_SKILLS,
+                "secondarySkills", SECONDARY_SKILLS,
+                "applicationStatus", STATUSES,
+                "minPassingYear", 2010,
+                "maxPassingYear", 2020), SkillSynonyms.EMPTY);
+        Specification<Candidate> spec = plan.baseSpecification();
+        for (Specification<Candidate> facetFilter : plan.facetFilters().values()) {
+            spec = spec.and(facetFilter);
+        }
+        return spec;
+    }
+
+    // The predicates the Map-based advanced search built for the same filters
+    private static Specification<Candidate> mapBasedSpecification() {
+        Specification<Candidate> spec = (root, query, cb) -> cb.conjunction();
+        spec = spec.and(anyLike("location", CURRENT_LOCATIONS));
+        spec = spec.and(anyLike("location", PREFERRED_LOCATIONS));
+        spec = spec.and(anyLike("skills", PRIMARY_SKILLS));
+        spec = spec.and(anyLike("skills", SECONDARY_SKILLS));
+        List<String> statuses = STATUSES.stream().map(String::toUpperCase).toList();
+        spec = spec.and((root, query, cb) -> root.get("status").as(String.class).in(statuses));
+        spec = spec.and((root, query, cb) -> cb.between(root.get("passingYear"), 2010, 2020));
+        return spec;
+    }
+
+    private static Specification<Candidate> anyLike(String field, List<String> values) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            for (String value : values) {
+                predicates.add(cb.like(cb.lower(root.get(field)), "%" + value.toLowerCase() + "%"));
+            }
+            return cb.or(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private static double medianMs(Supplier<?> run) {
+        for (int i = 0; i < WARMUP; i++) {
+            run.get();
+        }
+        long[] nanos = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            run.get();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos[RUNS / 2] / 1_000_000.0;
+    }
+}
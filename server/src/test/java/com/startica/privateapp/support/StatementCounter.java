@@ -0,0 +1,28 @@
+package com.startica.privateapp.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread. Register it with
+ * spring.jpa.properties.hibernate.session_factory.statement_inspector. Hibernate's own statistics
+ * are global to the session factory, so they would also count the statements of the index
+ * builds and backfills that run on their own threads after startup.
+ */
+public class StatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    public static void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    public static int count() {
+        return COUNT.get()[0];
+    }
+}
@@ -16,6 +16,7 @@ import {
   fetchCandidateReport,
   fetchJobOpeningReport,
   fetchHrActivityReport,
+  fetchHrActivityDetails,
   exportCandidateReport,
   exportJobOpeningReport,
   exportHrActivityReport,
@@ -122,22 +123,22 @@ const AdminReports = () => {
   };
 
   // Export reports
-  const handleExportCandidateReport = () => {
-    dispatch(exportCandidateReport(candidateFilters))
+  const handleExportCandidateReport = (format = 'csv') => {
+    dispatch(exportCandidateReport({ ...candidateFilters, format }))
       .unwrap()
       .then(() => toast.success('Candidate report exported successfully'))
       .catch(() => toast.error('Failed to export candidate report'));
   };
 
-  const handleExportOpeningReport = () => {
-    dispatch(exportJobOpeningReport(openingFilters))
+  const handleExportOpeningReport = (format = 'csv') => {
+    dispatch(exportJobOpeningReport({ ...openingFilters, format }))
       .unwrap()
       .then(() => toast.success('Job opening report exported successfully'))
       .catch(() => toast.error('Failed to export job opening report'));
   };
 
-  const handleExportActivityReport = () => {
-    dispatch(exportHrActivityReport(activityFilters))
+  const handleExportActivityReport = (format = 'csv') => {
+    dispatch(exportHrActivityReport({ ...activityFilters, format }))
       .unwrap()
       .then(() => toast.success('HR activity report exported successfully'))
       .catch(() => toast.error('Failed to export HR activity report'));
@@ -296,12 +297,20 @@ const AdminReports = () => {
           <div className="reports-table-container">
             <div className="reports-table-header">
               <h3 className="reports-table-title">Candidate Details</h3>
-              <button
-                className="reports-btn reports-btn-secondary"
-                onClick={handleExportCandidateReport}
-              >
-                📥 Export CSV
-              </button>
+              <div className="reports-export-actions">
+                <button
+                  className="reports-btn reports-btn-secondary"
+                  onClick={() => handleExportCandidateReport('csv')}
+                >
+                  📥 Export CSV
+                </button>
+                <button
+                  className="reports-btn reports-btn-secondary"
+                  onClick={() => handleExportCandidateReport('pdf')}
+                >
+                  📄 Export PDF
+                </button>
+              </div>
             </div>
             
             {/* Table Header with Show Entries */}
@@ -613,12 +622,20 @@ const AdminReports = () => {
           <div className="reports-table-container">
             <div className="reports-table-header">
               <h3 className="reports-table-title">Job Opening Details</h3>
-              <button
-                className="reports-btn reports-btn-secondary"
-                onClick={handleExportOpeningReport}
-              >
-                📥 Export CSV
-              </button>
+              <div className="reports-export-actions">
+                <button
+                  className="reports-btn reports-btn-secondary"
+                  onClick={() => handleExportOpeningReport('csv')}
+                >
+                  📥 Export CSV
+                </button>
+                <button
+                  className="reports-btn reports-btn-secondary"
+                  onClick={() => handleExportOpeningReport('pdf')}
+                >
+                  📄 Export PDF
+                </button>
+              </div>
             </div>
             
             {/* Table Header with Show Entries */}
@@ -833,6 +850,20 @@ const AdminReports = () => {
     }));
   };
 
+  const HR_DETAIL_PAGE_SIZE = 20;
+
+  // Candidates and openings come 20 per HR at a time; the next page is appended to the list
+  const loadMoreHrDetails = (activity, section) => {
+    const loaded = activity[section] ? activity[section].length : 0;
+    dispatch(fetchHrActivityDetails({
+      hrId: activity.hrId,
+      section,
+      page: Math.floor(loaded / HR_DETAIL_PAGE_SIZE),
+      size: HR_DETAIL_PAGE_SIZE,
+      filters: activityFilters,
+    }));
+  };
+
   // Render HR Activity Report Tab
   const renderHrActivityReportTab = () => (
     <div className="reports-tab-content">
@@ -950,12 +981,20 @@ const AdminReports = () => {
           <div className="reports-table-container">
             <div className="reports-table-header">
               <h3 className="reports-table-title">HR Activity Details</h3>
-              <button
-                className="reports-btn reports-btn-secondary"
-                onClick={handleExportActivityReport}
-              >
-                📥 Export Detailed CSV
-              </button>
+              <div className="reports-export-actions">
+                <button
+                  className="reports-btn reports-btn-secondary"
+                  onClick={() => handleExportActivityReport('csv')}
+                >
+                  📥 Export Detailed CSV
+                </button>
+                <button
+                  className="reports-btn reports-btn-secondary"
+                  onClick={() => handleExportActivityReport('pdf')}
+                >
+                  📄 Export PDF
+                </button>
+              </div>
             </div>
             
             {/* Table Header with Show Entries */}
@@ -1045,7 +1084,7 @@ const AdminReports = () => {
                                 {activity.candidates && activity.candidates.length > 0 && (
                                   <div className="details-section">
                                     <h4 className="details-section-title">
-                                      👥 Candidates Added ({activity.candidates.length})
+                                      👥 Candidates Added ({activity.candidatesAdded})
                                     </h4>
                                     <div className="unified-table-wrapper">
                                       <table className="unified-table">
@@ -1083,6 +1122,13 @@ const AdminReports = () => {
                                         </tbody>
                                       </table>
                                     </div>
+                                    {activity.candidates.length < activity.candidatesAdded && (
+                                      <div className="filter-actions">
+                                        <button className="btn-secondary" onClick={() => loadMoreHrDetails(activity, 'candidates')}>
+                                          Load more candidates ({activity.candidates.length} of {activity.candidatesAdded})
+                                        </button>
+                                      </div>
+                                    )}
                                   </div>
                                 )}
 
@@ -1090,7 +1136,7 @@ const AdminReports = () => {
                                 {activity.openings && activity.openings.length > 0 && (
                                   <div className="details-section">
                                     <h4 className="details-section-title">
-                                      💼 Openings Created ({activity.openings.length})
+                                      💼 Openings Created ({activity.openingsCreated})
                                     </h4>
                                     <div className="unified-table-wrapper">
                                       <table className="unified-table">
@@ -1124,6 +1170,13 @@ const AdminReports = () => {
                                         </tbody>
                                       </table>
                                     </div>
+                                    {activity.openings.length < activity.openingsCreated && (
+                                      <div className="filter-actions">
+                                        <button className="btn-secondary" onClick={() => loadMoreHrDetails(activity, 'openings')}>
+                                          Load more openings ({activity.openings.length} of {activity.openingsCreated})
+                                        </button>
+                                      </div>
+                                    )}
                                   </div>
                                 )}
 
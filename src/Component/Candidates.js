@@ -301,9 +301,20 @@ const Candidates = () => {
     navigate(`/candidates/${candidateId}`);
   };
   
-  const handleViewDetails = (candidate) => {
+  const handleViewDetails = async (candidate) => {
+    // List rows carry no notes/employment history/education; load the full record for the modal
     setSelectedCandidate(candidate);
     setShowDetailsModal(true);
+    try {
+      const response = await apiService.get(`/api/hr/candidates/${candidate.id}`);
+      if (response.data.success) {
+        setSelectedCandidate((current) =>
+          current && current.id === candidate.id ? response.data.data : current
+        );
+      }
+    } catch (error) {
+      console.error('Error loading candidate details:', error);
+    }
   };
   
   const closeDetailsModal = () => {
@@ -186,6 +186,7 @@ const GlobalSearch = () => {
               {results.searchTimeMs > 0 && (
                 <div className="search-footer">
                   Search completed in {results.searchTimeMs}ms
+                  {results.partial && ' (some sections ran out of time, results may be incomplete)'}
                 </div>
               )}
             </>
@@ -98,32 +98,69 @@ export const fetchHrActivityReport = createAsyncThunk(
   }
 );
 
+// Fetch the next page of an HR's candidates or openings (the report only has the first page)
+export const fetchHrActivityDetails = createAsyncThunk(
+  'reports/fetchHrActivityDetails',
+  async ({ hrId, section, page, size = 20, filters = {} }, { rejectWithValue }) => {
+    try {
+      const params = new URLSearchParams();
+      if (filters.dateFrom && filters.dateFrom.trim() !== '') params.append('dateFrom', `${filters.dateFrom}T00:00:00`);
+      if (filters.dateTo && filters.dateTo.trim() !== '') params.append('dateTo', `${filters.dateTo}T23:59:59`);
+      params.append('page', page);
+      params.append('size', size);
+
+      const response = await apiService.get(`/admin/reports/hr-activity/${hrId}/${section}?${params}`);
+      return { hrId, section, items: response.data.data || response.data };
+    } catch (error) {
+      return rejectWithValue(error.message || 'Failed to fetch HR activity details');
+    }
+  }
+);
+
 // Export Reports
+// Exports run as background report jobs: queue the job, poll until it finishes, then download the file
+const REPORT_JOB_POLL_MS = 1000;
+
+const downloadReportJob = async (request, filename, format = 'csv') => {
+  const submitted = await apiService.post('/admin/reports/jobs', request);
+  let job = submitted.data.data || submitted.data;
+  while (job.status === 'QUEUED' || job.status === 'RUNNING') {
+    await new Promise((resolve) => setTimeout(resolve, REPORT_JOB_POLL_MS));
+    const polled = await apiService.get(`/admin/reports/jobs/${job.id}`);
+    job = polled.data.data || polled.data;
+  }
+  if (job.status !== 'COMPLETED') {
+    throw new Error(job.error || 'Report generation failed');
+  }
+
+  const { api } = await import('../../services/api');
+  const response = await api.get(`/admin/reports/jobs/${job.id}/download`, {
+    responseType: 'blob'
+  });
+
+  // Create download link
+  const url = window.URL.createObjectURL(new Blob([response.data]));
+  const link = document.createElement('a');
+  link.href = url;
+  link.setAttribute('download', `${filename}-${new Date().toISOString().split('T')[0]}.${format}`);
+  document.body.appendChild(link);
+  link.click();
+  link.remove();
+  window.URL.revokeObjectURL(url);
+};
+
 export const exportCandidateReport = createAsyncThunk(
   'reports/exportCandidateReport',
   async (filters = {}, { rejectWithValue }) => {
     try {
-      const params = new URLSearchParams();
-      if (filters.dateFrom) params.append('dateFrom', `${filters.dateFrom}T00:00:00`);
-      if (filters.dateTo) params.append('dateTo', `${filters.dateTo}T23:59:59`);
-      if (filters.active !== null && filters.active !== undefined) params.append('active', filters.active);
-      if (filters.hrId) params.append('hrId', filters.hrId);
-      if (filters.openingId) params.append('openingId', filters.openingId);
-
-      const { api } = await import('../../services/api');
-      const response = await api.get(`/admin/reports/candidates/export?${params}`, {
-        responseType: 'blob'
-      });
-
-      // Create download link
-      const url = window.URL.createObjectURL(new Blob([response.data]));
-      const link = document.createElement('a');
-      link.href = url;
-      link.setAttribute('download', `candidate-report-${new Date().toISOString().split('T')[0]}.csv`);
-      document.body.appendChild(link);
-      link.click();
-      link.remove();
-      window.URL.revokeObjectURL(url);
+      await downloadReportJob({
+        type: 'CANDIDATES',
+        format: (filters.format || 'csv').toUpperCase(),
+        dateFrom: filters.dateFrom ? `${filters.dateFrom}T00:00:00` : null,
+        dateTo: filters.dateTo ? `${filters.dateTo}T23:59:59` : null,
+        hrId: filters.hrId || null,
+        openingId: filters.openingId || null,
+      }, 'candidate-report', filters.format || 'csv');
 
       return 'exported';
     } catch (error) {
@@ -136,25 +173,14 @@ export const exportJobOpeningReport = createAsyncThunk(
   'reports/exportJobOpeningReport',
   async (filters = {}, { rejectWithValue }) => {
     try {
-      const params = new URLSearchParams();
-      if (filters.dateFrom) params.append('dateFrom', `${filters.dateFrom}T00:00:00`);
-      if (filters.dateTo) params.append('dateTo', `${filters.dateTo}T23:59:59`);
-      if (filters.status) params.append('status', filters.status);
-      if (filters.hrId) params.append('hrId', filters.hrId);
-
-      const { api } = await import('../../services/api');
-      const response = await api.get(`/admin/reports/openings/export?${params}`, {
-        responseType: 'blob'
-      });
-
-      const url = window.URL.createObjectURL(new Blob([response.data]));
-      const link = document.createElement('a');
-      link.href = url;
-      link.setAttribute('download', `job-opening-report-${new Date().toISOString().split('T')[0]}.csv`);
-      document.body.appendChild(link);
-      link.click();
-      link.remove();
-      window.URL.revokeObjectURL(url);
+      await downloadReportJob({
+        type: 'OPENINGS',
+        format: (filters.format || 'csv').toUpperCase(),
+        dateFrom: filters.dateFrom ? `${filters.dateFrom}T00:00:00` : null,
+        dateTo: filters.dateTo ? `${filters.dateTo}T23:59:59` : null,
+        status: filters.status || null,
+        hrId: filters.hrId || null,
+      }, 'job-opening-report', filters.format || 'csv');
 
       return 'exported';
     } catch (error) {
@@ -167,24 +193,13 @@ export const exportHrActivityReport = createAsyncThunk(
   'reports/exportHrActivityReport',
   async (filters = {}, { rejectWithValue }) => {
     try {
-      const params = new URLSearchParams();
-      if (filters.hrId) params.append('hrId', filters.hrId);
-      if (filters.dateFrom) params.append('dateFrom', `${filters.dateFrom}T00:00:00`);
-      if (filters.dateTo) params.append('dateTo', `${filters.dateTo}T23:59:59`);
-
-      const { api } = await import('../../services/api');
-      const response = await api.get(`/admin/reports/hr-activity/export?${params}`, {
-        responseType: 'blob'
-      });
-
-      const url = window.URL.createObjectURL(new Blob([response.data]));
-      const link = document.createElement('a');
-      link.href = url;
-      link.setAttribute('download', `hr-activity-report-${new Date().toISOString().split('T')[0]}.csv`);
-      document.body.appendChild(link);
-      link.click();
-      link.remove();
-      window.URL.revokeObjectURL(url);
+      await downloadReportJob({
+        type: 'HR_ACTIVITY',
+        format: (filters.format || 'csv').toUpperCase(),
+        hrId: filters.hrId || null,
+        dateFrom: filters.dateFrom ? `${filters.dateFrom}T00:00:00` : null,
+        dateTo: filters.dateTo ? `${filters.dateTo}T23:59:59` : null,
+      }, 'hr-activity-report', filters.format || 'csv');
 
       return 'exported';
     } catch (error) {
@@ -280,6 +295,16 @@ const reportsSlice = createSlice({
       .addCase(fetchHrActivityReport.rejected, (state, action) => {
         state.hrActivityReportLoading = false;
         state.hrActivityReportError = action.payload;
+      })
+      .addCase(fetchHrActivityDetails.fulfilled, (state, action) => {
+        const { hrId, section, items } = action.payload;
+        const activity = state.hrActivityReport?.data?.find(item => item.hrId === hrId);
+        if (activity) {
+          activity[section] = [...(activity[section] || []), ...items];
+        }
+      })
+      .addCase(fetchHrActivityDetails.rejected, (state, action) => {
+        state.hrActivityReportError = action.payload;
       });
   },
 });